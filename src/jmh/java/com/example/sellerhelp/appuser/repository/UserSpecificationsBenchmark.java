@@ -0,0 +1,63 @@
+package com.example.sellerhelp.appuser.repository;
+
+import com.example.sellerhelp.appuser.dto.UserFilterDto;
+import com.example.sellerhelp.appuser.entity.User;
+import com.example.sellerhelp.appuser.search.UserSearchIndex;
+import com.example.sellerhelp.constant.ActiveStatus;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Composition cost of {@link UserSpecifications#withFilter} for an empty filter and for one with
+ * every field set. Only the specification tree is built; turning it into SQL is Hibernate's cost
+ * and is covered by the load test. The search index is a stub returning a constant predicate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class UserSpecificationsBenchmark {
+
+    private static final UserSearchIndex STUB_INDEX = new UserSearchIndex() {
+        @Override
+        public Specification<User> matchesAnyField(String query) {
+            return (root, cq, cb) -> cb.conjunction();
+        }
+
+        @Override
+        public Specification<User> fieldContains(String field, String value) {
+            return (root, cq, cb) -> cb.conjunction();
+        }
+
+        @Override
+        public void index(User user) {
+        }
+    };
+
+    private UserFilterDto emptyFilter;
+    private UserFilterDto fullFilter;
+
+    @Setup
+    public void setUp() {
+        emptyFilter = new UserFilterDto();
+        fullFilter = new UserFilterDto();
+        fullFilter.setName("bench");
+        fullFilter.setEmail("example.com");
+        fullFilter.setPhone("98765");
+        fullFilter.setStatus(ActiveStatus.ACTIVE);
+        fullFilter.setRoleId("5");
+        fullFilter.setFactoryId("F-000001");
+        fullFilter.setBayId("B-000001");
+    }
+
+    @Benchmark
+    public Specification<User> emptyFilter() {
+        return UserSpecifications.withFilter(emptyFilter, STUB_INDEX);
+    }
+
+    @Benchmark
+    public Specification<User> fullFilter() {
+        return UserSpecifications.withFilter(fullFilter, STUB_INDEX);
+    }
+}
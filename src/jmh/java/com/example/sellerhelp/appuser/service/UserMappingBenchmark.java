@@ -0,0 +1,65 @@
+package com.example.sellerhelp.appuser.service;
+
+import com.example.sellerhelp.appuser.dto.UserDto;
+import com.example.sellerhelp.appuser.entity.Role;
+import com.example.sellerhelp.appuser.entity.User;
+import com.example.sellerhelp.constant.ActiveStatus;
+import com.example.sellerhelp.constant.UserRole;
+import com.example.sellerhelp.factory.entity.Factory;
+import com.example.sellerhelp.factory.entity.FactoryBay;
+import com.example.sellerhelp.factory.entity.UserFactoryMapping;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link UserService#toDto(User)} for a worker with one factory and bay assignment, and for a
+ * dealer with none. Runs on every user returned by the list and detail endpoints.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class UserMappingBenchmark {
+
+    private User worker;
+    private User dealer;
+
+    @Setup
+    public void setUp() {
+        Factory factory = Factory.builder().id(1L).factoryId("F-000001").name("North Works").build();
+        FactoryBay bay = FactoryBay.builder().id(1).bayId("B-000001").name("Assembly").factory(factory).build();
+
+        worker = user(1L, UserRole.WORKER);
+        worker.getFactoryMappings().add(UserFactoryMapping.builder().user(worker).factory(factory).bay(bay).build());
+        dealer = user(2L, UserRole.DEALER);
+    }
+
+    @Benchmark
+    public UserDto workerWithAssignment() {
+        return UserService.toDto(worker);
+    }
+
+    @Benchmark
+    public UserDto dealerWithoutAssignment() {
+        return UserService.toDto(dealer);
+    }
+
+    private static User user(long id, UserRole role) {
+        LocalDateTime now = LocalDateTime.now();
+        return User.builder()
+                .id(id)
+                .userId("U-%06d".formatted(id))
+                .name("Bench User " + id)
+                .email("bench.user" + id + "@example.com")
+                .phone("98765432%02d".formatted(id))
+                .role(Role.builder().name(role).build())
+                .isActive(ActiveStatus.ACTIVE)
+                .factoryMappings(new ArrayList<>(List.of()))
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+}
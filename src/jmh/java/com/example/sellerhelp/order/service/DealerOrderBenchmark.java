@@ -0,0 +1,63 @@
+package com.example.sellerhelp.order.service;
+
+import com.example.sellerhelp.appuser.entity.User;
+import com.example.sellerhelp.constant.DealerOrderStatus;
+import com.example.sellerhelp.order.dto.DealerOrderDto;
+import com.example.sellerhelp.order.entity.DealerOrder;
+import com.example.sellerhelp.order.entity.DealerOrderMapping;
+import com.example.sellerhelp.product.entity.Product;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-line work in {@link OrderService#createDealerOrder} and the order endpoints, by order size.
+ * <ul>
+ *     <li>{@code orderTotal} - the BigDecimal price total computed when an order is placed.</li>
+ *     <li>{@code toDto} - mapping a loaded order with its lines to the response.</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class DealerOrderBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int lines;
+
+    private DealerOrder order;
+
+    @Setup
+    public void setUp() {
+        User dealer = User.builder().id(1L).userId("U-000001").name("Bench Dealer").build();
+        order = DealerOrder.builder()
+                .id(1L).orderId("DO-000001").dealer(dealer)
+                .status(DealerOrderStatus.PENDING).createdAt(LocalDateTime.now())
+                .build();
+
+        List<DealerOrderMapping> mappings = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            // Prices with two decimals and varying scale, as entered in the catalogue
+            BigDecimal unitPrice = BigDecimal.valueOf(1_999 + i * 37L, 2);
+            Product product = Product.builder().id((long) i).productId("P-%06d".formatted(i)).unitPrice(unitPrice).build();
+            mappings.add(DealerOrderMapping.builder()
+                    .order(order).product(product).quantity(1L + i % 50).unitPrice(unitPrice).build());
+        }
+        order.setItems(mappings);
+        order.setTotalPrice(OrderService.orderTotal(mappings));
+    }
+
+    @Benchmark
+    public BigDecimal orderTotal() {
+        return OrderService.orderTotal(order.getItems());
+    }
+
+    @Benchmark
+    public DealerOrderDto toDto() {
+        return OrderService.toDto(order);
+    }
+}
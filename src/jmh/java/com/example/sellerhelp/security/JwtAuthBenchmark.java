@@ -0,0 +1,75 @@
+package com.example.sellerhelp.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request token handling cost in the JWT filter.
+ * <ul>
+ *     <li>{@code legacy} - the previous path: key derivation and parser construction on every call,
+ *     three full parses (subject, then subject and expiry again in isTokenValid).</li>
+ *     <li>{@code verifyColdCache} - one parse with the prebuilt parser, as on a cache miss.</li>
+ *     <li>{@code verifyWarmCache} - a repeat token answered from the verified-token cache.</li>
+ *     <li>{@code generate} - signing a new token, as on every login.</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class JwtAuthBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+    private static final String EMAIL = "bench.user@example.com";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 10_000);
+        token = jwtUtil.generateToken(EMAIL);
+        jwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public boolean legacy() {
+        String email = legacyClaims(token).getSubject();
+        String again = legacyClaims(token).getSubject();
+        Date expiration = legacyClaims(token).getExpiration();
+        return email.equals(again) && !expiration.before(new Date());
+    }
+
+    @Benchmark
+    public boolean verifyColdCache() {
+        jwtUtil.nativeCache().invalidateAll();
+        VerifiedToken verified = jwtUtil.verify(token);
+        return jwtUtil.isTokenValid(verified, verified.subject());
+    }
+
+    @Benchmark
+    public boolean verifyWarmCache() {
+        VerifiedToken verified = jwtUtil.verify(token);
+        return jwtUtil.isTokenValid(verified, verified.subject());
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtil.generateToken(EMAIL);
+    }
+
+    private static Claims legacyClaims(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
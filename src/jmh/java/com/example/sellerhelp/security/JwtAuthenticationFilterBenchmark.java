@@ -0,0 +1,75 @@
+package com.example.sellerhelp.security;
+
+import com.example.sellerhelp.constant.ActiveStatus;
+import com.example.sellerhelp.constant.UserRole;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The filter's decision path per request, with the principal and verified-token caches warm, as
+ * they are for an active user.
+ * <ul>
+ *     <li>{@code authenticated} - a valid bearer token: verify, principal lookup, security context.</li>
+ *     <li>{@code missingToken} - no Authorization header, answered with 401.</li>
+ *     <li>{@code malformedToken} - a token that fails verification, answered with 401.</li>
+ * </ul>
+ * The user repository is never reached: the principal is seeded into the cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+    private static final String EMAIL = "bench.user@example.com";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {};
+
+    private JwtAuthenticationFilter filter;
+    private String bearer;
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 10_000);
+        PrincipalCache principalCache = new PrincipalCache(null, 10_000, Duration.ofHours(1));
+        principalCache.nativeCache().put(EMAIL,
+                new AuthenticatedPrincipal(1L, "U-000001", EMAIL, UserRole.DEALER, ActiveStatus.ACTIVE));
+        filter = new JwtAuthenticationFilter(jwtUtil, principalCache, new CurrentUserResolver(null, null));
+        bearer = "Bearer " + jwtUtil.generateToken(EMAIL);
+    }
+
+    @Benchmark
+    public int authenticated() throws Exception {
+        return run(bearer);
+    }
+
+    @Benchmark
+    public int missingToken() throws Exception {
+        return run(null);
+    }
+
+    @Benchmark
+    public int malformedToken() throws Exception {
+        return run("Bearer not-a-token");
+    }
+
+    private int run(String authorization) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders/dealer");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, NO_OP_CHAIN);
+        } finally {
+            // As the security filter chain does at the end of every request
+            SecurityContextHolder.clearContext();
+        }
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.sellerhelp.tool.service;
+
+import com.example.sellerhelp.appuser.entity.User;
+import com.example.sellerhelp.constant.ToolIssuanceStatus;
+import com.example.sellerhelp.factory.entity.Factory;
+import com.example.sellerhelp.tool.dto.ToolDto;
+import com.example.sellerhelp.tool.dto.ToolIssuanceDto;
+import com.example.sellerhelp.tool.dto.ToolStockDto;
+import com.example.sellerhelp.tool.entity.Tool;
+import com.example.sellerhelp.tool.entity.ToolCategory;
+import com.example.sellerhelp.tool.entity.ToolIssuance;
+import com.example.sellerhelp.tool.entity.ToolStock;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@link ToolService} mappers behind the tool catalogue, factory stock and issuance endpoints.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ToolMappingBenchmark {
+
+    private Tool tool;
+    private ToolStock stock;
+    private ToolIssuance issuance;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        Factory factory = Factory.builder().id(1L).factoryId("F-000001").name("North Works").build();
+        tool = Tool.builder()
+                .id(1L).toolId("T-000001").name("Torque Wrench")
+                .category(ToolCategory.builder().id(1L).name("Hand tools").build())
+                .threshold(5L).createdAt(now).build();
+        stock = ToolStock.builder()
+                .factory(factory).tool(tool)
+                .totalQuantity(40L).availableQuantity(25L).issuedQuantity(15L).lastUpdatedAt(now).build();
+        issuance = ToolIssuance.builder()
+                .id(1L).factory(factory).tool(tool).quantity(1L)
+                .worker(User.builder().id(1L).name("Bench Worker").build())
+                .issuer(User.builder().id(2L).name("Bench Supervisor").build())
+                .status(ToolIssuanceStatus.ISSUED)
+                .issuedAt(now).returnDate(now.plusDays(7)).build();
+    }
+
+    @Benchmark
+    public ToolDto toolDto() {
+        return ToolService.toToolDto(tool);
+    }
+
+    @Benchmark
+    public ToolStockDto toolStockDto() {
+        return ToolService.toToolStockDto(stock);
+    }
+
+    @Benchmark
+    public ToolIssuanceDto toolIssuanceDto() {
+        return ToolService.toToolIssuanceDto(issuance);
+    }
+}
@@ -0,0 +1,446 @@
+package com.example.sellerhelp.loadtest;
+
+import com.example.sellerhelp.common.BusinessIdGenerator;
+import com.example.sellerhelp.common.BusinessIdType;
+import com.example.sellerhelp.constant.DealerOrderStatus;
+import com.example.sellerhelp.constant.ToolIssuanceStatus;
+import com.example.sellerhelp.constant.UserRole;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+/**
+ * Writes a {@link SeedPlan} worth of data with plain JDBC batches. Catalogue rows (factories,
+ * bays, tools, products) are few and inserted one by one to read back their ids; everything
+ * else is cut into {@code batch-size} chunks that run in parallel, one transaction per chunk.
+ * Child rows refer to their parents by business key through a subselect, so chunks never wait on
+ * each other's generated ids. Public ids come from {@link BusinessIdGenerator}, so the running
+ * application keeps issuing ids after the seeded ones.
+ * <p>
+ * Every row is derived from its index with a fixed random seed, so two runs of the same plan
+ * produce the same shape of data.
+ */
+@Slf4j
+final class DataSeeder {
+
+    private static final long RANDOM_SEED = 0x5E11E2L;
+    private static final long PRODUCT_STOCK = 1_000_000_000L;
+    private static final long TOOL_STOCK_AVAILABLE = 1_000L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BusinessIdGenerator businessIdGenerator;
+    private final SeedPlan plan;
+    private final String passwordHash;
+    private final String orderMappingId;
+    private final LocalDateTime now = LocalDateTime.now().withNano(0);
+
+    private final Map<UserRole, Integer> roleIds = new EnumMap<>(UserRole.class);
+    private final List<Ref> factories = new ArrayList<>();
+    private final List<List<Ref>> bays = new ArrayList<>();
+    private final List<Ref> tools = new ArrayList<>();
+    private final List<Ref> products = new ArrayList<>();
+    private final List<BigDecimal> prices = new ArrayList<>();
+    private final Map<LocalDate, Map<Long, LongAdder>> salesByDay = new ConcurrentHashMap<>();
+
+    /**
+     * @param passwordHash   encoded password shared by every seeded user, hashed once by the caller
+     * @param orderMappingId the dialect's next-value expression for {@code dealer_order_mapping_id_seq}
+     */
+    DataSeeder(JdbcTemplate jdbcTemplate,
+               TransactionTemplate transactionTemplate,
+               BusinessIdGenerator businessIdGenerator,
+               SeedPlan plan,
+               String passwordHash,
+               String orderMappingId) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.businessIdGenerator = businessIdGenerator;
+        this.plan = plan;
+        this.passwordHash = passwordHash;
+        this.orderMappingId = orderMappingId;
+    }
+
+    SeedManifest seed() {
+        Integer seeded = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE email LIKE ?",
+                Integer.class, "%" + SeedPlan.EMAIL_DOMAIN);
+        if (seeded != null && seeded > 0) {
+            throw new IllegalStateException("The database already holds " + seeded + " seeded users; start from an empty one");
+        }
+
+        long start = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(plan.threads());
+        try {
+            insertRoles();
+            insertCatalogue();
+            insertUsers(pool);
+            insertStock(pool);
+            insertIssuances(pool);
+            insertOrders(pool);
+            insertProduction(pool);
+            insertSalesRollup();
+        } finally {
+            pool.shutdownNow();
+        }
+        log.info("Seeded the load test data set in {} s", (System.nanoTime() - start) / 1_000_000_000);
+
+        return new SeedManifest(plan,
+                factories.stream().map(Ref::businessId).toList(),
+                products.stream().map(Ref::businessId).toList());
+    }
+
+    // --- catalogue ---
+
+    private void insertRoles() {
+        jdbcTemplate.query("SELECT id, name FROM role",
+                rs -> { roleIds.put(UserRole.valueOf(rs.getString("name")), rs.getInt("id")); });
+        for (UserRole role : UserRole.values()) {
+            roleIds.computeIfAbsent(role, missing -> (int) insert(
+                    "INSERT INTO role (name, description) VALUES (?, ?)", missing.name(), "Created by the load test seeder"));
+        }
+    }
+
+    private void insertCatalogue() {
+        Timestamp created = Timestamp.valueOf(now);
+        long toolCategory = insert("INSERT INTO tool_category (name, description) VALUES (?, ?)",
+                "Load test tools", "Created by the load test seeder");
+        long productCategory = insert("INSERT INTO product_category (name, description) VALUES (?, ?)",
+                "Load test products", "Created by the load test seeder");
+
+        for (int f = 0; f < plan.factories(); f++) {
+            String factoryId = businessIdGenerator.next(BusinessIdType.FACTORY);
+            long id = insert("INSERT INTO factory (factory_id, name, city, is_active, created_at, updated_at) VALUES (?, ?, ?, 'ACTIVE', ?, ?)",
+                    factoryId, "Load Test Works " + f, "City " + f, created, created);
+            factories.add(new Ref(id, factoryId));
+
+            List<Ref> factoryBays = new ArrayList<>();
+            for (int b = 0; b < plan.baysPerFactory(); b++) {
+                String bayId = "LT-BAY-" + f + "-" + b;
+                factoryBays.add(new Ref(insert("INSERT INTO factory_bay (bay_id, name, factory_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?)",
+                        bayId, "Bay " + b, id, created, created), bayId));
+            }
+            bays.add(factoryBays);
+        }
+
+        for (int t = 0; t < plan.tools(); t++) {
+            String toolId = businessIdGenerator.next(BusinessIdType.TOOL);
+            tools.add(new Ref(insert("INSERT INTO tools (tool_id, name, category_id, is_perishable, is_expensive, threshold, created_at, updated_at) "
+                            + "VALUES (?, ?, ?, ?, ?, 5, ?, ?)",
+                    toolId, "Load Test Tool " + t, toolCategory,
+                    t % 5 == 0 ? "PERISHABLE" : "NON_PERISHABLE", t % 10 == 0 ? "EXPENSIVE" : "INEXPENSIVE",
+                    created, created), toolId));
+        }
+
+        SplittableRandom random = new SplittableRandom(RANDOM_SEED);
+        for (int p = 0; p < plan.products(); p++) {
+            String productId = businessIdGenerator.next(BusinessIdType.PRODUCT);
+            BigDecimal price = BigDecimal.valueOf(random.nextLong(1_000, 500_000), 2);
+            products.add(new Ref(insert("INSERT INTO product (product_id, name, unit_price, category_id, is_active, created_at, updated_at) "
+                            + "VALUES (?, ?, ?, ?, 'FULFILLED', ?, ?)",
+                    productId, "Load Test Product " + p, price, productCategory, created, created), productId));
+            prices.add(price);
+        }
+        log.info("Seeded {} factories, {} tools and {} products", factories.size(), tools.size(), products.size());
+    }
+
+    // --- users ---
+
+    private void insertUsers(ExecutorService pool) {
+        int spf = plan.supervisorsPerFactory();
+        int wpf = plan.workersPerFactory();
+        insertUsers(pool, UserRole.ADMIN, plan.admins(), SeedPlan::adminEmail, n -> null);
+        insertUsers(pool, UserRole.CENTRAL_OFFICE_HEAD, plan.centralOfficeHeads(), SeedPlan::centralOfficeEmail, n -> null);
+        insertUsers(pool, UserRole.DEALER, plan.dealers(), SeedPlan::dealerEmail, n -> null);
+        insertUsers(pool, UserRole.CHIEF_SUPERVISOR, plan.factories() * spf,
+                i -> SeedPlan.supervisorEmail(i / spf, i % spf),
+                i -> new Assignment(factories.get(i / spf).id(), null));
+        insertUsers(pool, UserRole.WORKER, plan.factories() * wpf,
+                i -> SeedPlan.workerEmail(i / wpf, i % wpf),
+                i -> new Assignment(factories.get(i / wpf).id(), bayFor(i / wpf, i % wpf)));
+    }
+
+    private void insertUsers(ExecutorService pool, UserRole role, int count,
+                             IntFunction<String> email, IntFunction<Assignment> assignment) {
+        Integer roleId = roleIds.get(role);
+        Timestamp created = Timestamp.valueOf(now);
+        inChunks(pool, role.name().toLowerCase() + " users", count, (from, to) -> {
+            List<Object[]> users = new ArrayList<>(to - from);
+            List<Object[]> mappings = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                String address = email.apply(i);
+                users.add(new Object[]{businessIdGenerator.next(BusinessIdType.USER), displayName(role, i), address,
+                        passwordHash, "9%09d".formatted(i), roleId, created, created});
+                Assignment target = assignment.apply(i);
+                if (target != null) {
+                    mappings.add(new Object[]{address, target.factoryId(), target.bayId(), roleId});
+                }
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO users (user_id, name, email, password, phone, role_id, is_active, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, 'ACTIVE', ?, ?)", users);
+            if (!mappings.isEmpty()) {
+                jdbcTemplate.batchUpdate("INSERT INTO user_factory_mapping (user_id, factory_id, bay_id, assigned_role) "
+                        + "VALUES ((SELECT id FROM users WHERE email = ?), ?, ?, ?)", mappings);
+            }
+        });
+    }
+
+    private Integer bayFor(int factory, int worker) {
+        List<Ref> factoryBays = bays.get(factory);
+        return factoryBays.isEmpty() ? null : (int) factoryBays.get(worker % factoryBays.size()).id();
+    }
+
+    private static String displayName(UserRole role, int index) {
+        String kind = switch (role) {
+            case ADMIN -> "Admin";
+            case CENTRAL_OFFICE_HEAD -> "Central Office";
+            case DEALER -> "Dealer";
+            case CHIEF_SUPERVISOR -> "Supervisor";
+            default -> "Worker";
+        };
+        return kind + " " + SeedPlan.FIRST_NAMES[index % SeedPlan.FIRST_NAMES.length] + " " + index;
+    }
+
+    // --- stock and issuances ---
+
+    private void insertStock(ExecutorService pool) {
+        Timestamp updated = Timestamp.valueOf(now);
+        int toolCount = tools.size();
+        inChunks(pool, "tool stock rows", factories.size() * toolCount, (from, to) -> {
+            List<Object[]> rows = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                long issued = issuedCount(i % toolCount);
+                rows.add(new Object[]{factories.get(i / toolCount).id(), tools.get(i % toolCount).id(),
+                        TOOL_STOCK_AVAILABLE + issued, TOOL_STOCK_AVAILABLE, issued, updated});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO tool_stock (factory_id, tool_id, total_quantity, available_quantity, issued_quantity, last_updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)", rows);
+        });
+
+        int productCount = products.size();
+        inChunks(pool, "product stock rows", factories.size() * productCount, (from, to) -> {
+            List<Object[]> rows = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                rows.add(new Object[]{products.get(i % productCount).id(), factories.get(i / productCount).id(), PRODUCT_STOCK});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO product_stock (product_id, factory_id, quantity) VALUES (?, ?, ?)", rows);
+        });
+    }
+
+    /**
+     * Issuance {@code k} of worker {@code n}: which tool, and whether it is open, overdue or returned.
+     * Shared by the issuance rows and the tool stock counters so the two agree.
+     */
+    private int issuanceTool(int worker, int k) {
+        return (worker * plan.issuancesPerWorker() + k) % tools.size();
+    }
+
+    private static IssuanceState issuanceState(int worker, int k) {
+        int bucket = (worker + k) % 20;
+        return bucket < 3 ? IssuanceState.OVERDUE : bucket < 8 ? IssuanceState.RETURNED : IssuanceState.OPEN;
+    }
+
+    // Open issuances of one tool in one factory; every factory has the same pattern
+    private long issuedCount(int tool) {
+        long issued = 0;
+        for (int n = 0; n < plan.workersPerFactory(); n++) {
+            for (int k = 0; k < plan.issuancesPerWorker(); k++) {
+                if (issuanceTool(n, k) == tool && issuanceState(n, k) != IssuanceState.RETURNED) {
+                    issued++;
+                }
+            }
+        }
+        return issued;
+    }
+
+    private void insertIssuances(ExecutorService pool) {
+        if (tools.isEmpty()) {
+            return;
+        }
+        int perWorker = plan.issuancesPerWorker();
+        int perFactory = plan.workersPerFactory() * perWorker;
+        inChunks(pool, "tool issuances", factories.size() * perFactory, (from, to) -> {
+            List<Object[]> rows = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                int factory = i / perFactory;
+                int worker = i % perFactory / perWorker;
+                int k = i % perWorker;
+                SplittableRandom random = new SplittableRandom(RANDOM_SEED + i);
+
+                IssuanceState state = issuanceState(worker, k);
+                LocalDateTime issuedAt = now.minusDays(random.nextInt(1, 30)).minusMinutes(random.nextInt(1_440));
+                LocalDateTime returnDate = state == IssuanceState.OVERDUE
+                        ? now.minusDays(random.nextInt(1, 10))
+                        : now.plusDays(random.nextInt(1, 14));
+                LocalDateTime returnedAt = state == IssuanceState.RETURNED ? issuedAt.plusDays(1) : null;
+                String issuer = plan.supervisorsPerFactory() > 0
+                        ? SeedPlan.supervisorEmail(factory, worker % plan.supervisorsPerFactory())
+                        : null;
+
+                rows.add(new Object[]{factories.get(factory).id(), SeedPlan.workerEmail(factory, worker), issuer,
+                        tools.get(issuanceTool(worker, k)).id(), state.status.name(),
+                        Timestamp.valueOf(issuedAt), Timestamp.valueOf(returnDate),
+                        returnedAt != null ? Timestamp.valueOf(returnedAt) : null});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO tool_issuance (factory_id, worker_id, issuer_id, tool_id, quantity, issuance_status, issued_at, return_date, returned_at) "
+                    + "VALUES (?, (SELECT id FROM users WHERE email = ?), (SELECT id FROM users WHERE email = ?), ?, 1, ?, ?, ?, ?)", rows);
+        });
+    }
+
+    // --- orders and production ---
+
+    private void insertOrders(ExecutorService pool) {
+        if (products.isEmpty() || plan.dealers() == 0) {
+            return;
+        }
+        String mappingSql = "INSERT INTO dealer_order_mapping (id, order_id, product_id, quantity, unit_price) "
+                + "VALUES (" + orderMappingId + ", (SELECT id FROM dealer_order WHERE order_id = ?), ?, ?, ?)";
+        inChunks(pool, "dealer orders", plan.dealers() * plan.ordersPerDealer(), (from, to) -> {
+            List<Object[]> orders = new ArrayList<>(to - from);
+            List<Object[]> lines = new ArrayList<>();
+            for (int i = from; i < to; i++) {
+                SplittableRandom random = new SplittableRandom(RANDOM_SEED + i);
+                String orderId = businessIdGenerator.next(BusinessIdType.DEALER_ORDER);
+                LocalDateTime createdAt = now.minusDays(random.nextInt(plan.historyDays() + 1)).minusMinutes(random.nextInt(1_440));
+                // Orders from the last two days are still waiting for the central office
+                boolean approved = createdAt.isBefore(now.minusDays(2)) && random.nextInt(10) > 0;
+
+                int lineCount = 1 + random.nextInt(Math.max(1, Math.min(plan.maxLinesPerOrder(), products.size())));
+                int first = random.nextInt(products.size());
+                BigDecimal total = BigDecimal.ZERO;
+                for (int line = 0; line < lineCount; line++) {
+                    int product = (first + line) % products.size();
+                    long quantity = 1 + random.nextInt(50);
+                    BigDecimal price = prices.get(product);
+                    total = total.add(price.multiply(BigDecimal.valueOf(quantity)));
+                    lines.add(new Object[]{orderId, products.get(product).id(), quantity, price});
+                    if (approved) {
+                        salesByDay.computeIfAbsent(createdAt.toLocalDate(), day -> new ConcurrentHashMap<>())
+                                .computeIfAbsent(products.get(product).id(), id -> new LongAdder())
+                                .add(quantity);
+                    }
+                }
+
+                orders.add(new Object[]{orderId, SeedPlan.dealerEmail(i % plan.dealers()), total,
+                        (approved ? DealerOrderStatus.APPROVED : DealerOrderStatus.PENDING).name(),
+                        Timestamp.valueOf(createdAt), Timestamp.valueOf(createdAt)});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO dealer_order (order_id, dealer_id, total_price, status, created_at, updated_at) "
+                    + "VALUES (?, (SELECT id FROM users WHERE email = ?), ?, ?, ?, ?)", orders);
+            jdbcTemplate.batchUpdate(mappingSql, lines);
+        });
+    }
+
+    private void insertProduction(ExecutorService pool) {
+        if (products.isEmpty()) {
+            return;
+        }
+        int perDay = Math.min(plan.productsPerDay(), products.size());
+        int perFactory = plan.historyDays() * perDay;
+        LocalDate today = now.toLocalDate();
+        inChunks(pool, "production records", factories.size() * perFactory, (from, to) -> {
+            List<Object[]> rows = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                int factory = i / perFactory;
+                int day = i % perFactory / perDay;
+                int product = (day * perDay + i % perDay) % products.size();
+                long quantity = new SplittableRandom(RANDOM_SEED + i).nextLong(10, 500);
+                rows.add(new Object[]{factories.get(factory).id(), products.get(product).id(), quantity,
+                        Date.valueOf(today.minusDays(day))});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO factory_production (factory_id, product_id, production_quantity, production_date) "
+                    + "VALUES (?, ?, ?, ?)", rows);
+        });
+    }
+
+    // Same rollup rows a live fulfilment would have written, so the rankings have history. Each
+    // (product, day) is written once, so a plain insert is enough and also works on H2
+    private void insertSalesRollup() {
+        List<Object[]> rows = new ArrayList<>();
+        salesByDay.forEach((day, sales) -> sales.forEach((productId, quantity) ->
+                rows.add(new Object[]{productId, Date.valueOf(day), quantity.sum()})));
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                "INSERT INTO product_sales_rollup (product_id, sale_date, quantity_sold) VALUES (?, ?, ?)", rows));
+        log.info("Seeded {} sales rollup rows", rows.size());
+    }
+
+    // --- helpers ---
+
+    /**
+     * Runs {@code writer} over {@code [0, count)} in {@code batch-size} chunks on the pool, one
+     * transaction per chunk, and waits for all of them.
+     */
+    private void inChunks(ExecutorService pool, String what, int count, ChunkWriter writer) {
+        long start = System.nanoTime();
+        List<Future<?>> chunks = new ArrayList<>();
+        for (int from = 0; from < count; from += plan.batchSize()) {
+            int chunkFrom = from;
+            int chunkTo = Math.min(from + plan.batchSize(), count);
+            chunks.add(pool.submit(() -> transactionTemplate.executeWithoutResult(status -> writer.write(chunkFrom, chunkTo))));
+        }
+        try {
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while seeding " + what, e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        }
+        log.info("Seeded {} {} in {} ms", count, what, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private long insert(String sql, Object... args) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql, new String[]{"id"});
+            for (int i = 0; i < args.length; i++) {
+                statement.setObject(i + 1, args[i]);
+            }
+            return statement;
+        }, keyHolder);
+        return keyHolder.getKeyAs(Number.class).longValue();
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter {
+        void write(int from, int to);
+    }
+
+    private record Ref(long id, String businessId) {}
+
+    private record Assignment(long factoryId, Integer bayId) {}
+
+    private enum IssuanceState {
+        OPEN(ToolIssuanceStatus.ISSUED),
+        OVERDUE(ToolIssuanceStatus.ISSUED),
+        RETURNED(ToolIssuanceStatus.RETURNED);
+
+        private final ToolIssuanceStatus status;
+
+        IssuanceState(ToolIssuanceStatus status) {
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.sellerhelp.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Keeps every latency sample per endpoint while recording is on, and summarises them into
+ * throughput and exact percentiles at the end. A run of a few minutes is a few million samples
+ * at most, so raw samples are cheaper and more accurate than a bucketed histogram here.
+ */
+final class LatencyRecorder {
+
+    private final Map<String, Samples> samples = new ConcurrentSkipListMap<>();
+    private volatile boolean recording;
+
+    void start() {
+        recording = true;
+    }
+
+    void stop() {
+        recording = false;
+    }
+
+    void record(String endpoint, long nanos, boolean success) {
+        if (recording) {
+            samples.computeIfAbsent(endpoint, name -> new Samples()).add(nanos, success);
+        }
+    }
+
+    /**
+     * One line per endpoint, in name order, with rates computed over {@code window}.
+     */
+    List<EndpointStats> summarize(Duration window) {
+        double seconds = window.toNanos() / 1e9;
+        return samples.entrySet().stream()
+                .map(entry -> entry.getValue().summarize(entry.getKey(), seconds))
+                .toList();
+    }
+
+    record EndpointStats(String endpoint, long requests, long errors, double throughput,
+                         double p50Ms, double p95Ms, double p99Ms, double maxMs) {}
+
+    private static final class Samples {
+
+        private long[] nanos = new long[1024];
+        private int count;
+        private long errors;
+
+        synchronized void add(long value, boolean success) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = value;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        synchronized EndpointStats summarize(String endpoint, double seconds) {
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+            return new EndpointStats(endpoint, count, errors, count / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                    count == 0 ? 0 : sorted[count - 1] / 1e6);
+        }
+
+        // Nearest-rank percentile, in milliseconds
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(p * sorted.length);
+            return sorted[Math.max(rank - 1, 0)] / 1e6;
+        }
+    }
+}
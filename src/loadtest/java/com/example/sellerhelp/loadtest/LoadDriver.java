@@ -0,0 +1,356 @@
+package com.example.sellerhelp.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-model load driver: {@code concurrency} virtual users each pick a scenario from the
+ * weighted {@code mix}, call the running application (see {@link LoadTestServer}) and go again
+ * until {@code duration} is over. Samples from the {@code warmup} period are dropped. At the end
+ * it prints requests, errors, throughput and p50/p95/p99/max latency per endpoint and writes the
+ * same numbers to {@code report} as JSON.
+ * <p>
+ * Scenarios: {@code login}, {@code my-tools} (worker), {@code overdue} (chief supervisor),
+ * {@code order-create} (dealer), {@code order-fulfill} (central office, on orders created during
+ * the run), {@code dashboard} (central office) and {@code user-search} (admin). Every scenario,
+ * fulfilment included, runs on both the default H2 database and PostgreSQL.
+ */
+public final class LoadDriver {
+
+    private static final String DEFAULT_MIX =
+            "login:5,my-tools:25,overdue:15,order-create:20,order-fulfill:10,dashboard:10,user-search:15";
+    private static final int SESSIONS_PER_ROLE = 50;
+    private static final int MAX_PENDING_ORDERS = 10_000;
+
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final URI baseUrl;
+    private final SeedManifest manifest;
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final Map<Scenario, Integer> mix;
+    private final Map<Role, List<String>> tokens = new EnumMap<>(Role.class);
+    private final Queue<String> pendingOrders = new ConcurrentLinkedQueue<>();
+
+    LoadDriver(URI baseUrl, SeedManifest manifest, Map<Scenario, Integer> mix, ObjectMapper objectMapper) {
+        this.baseUrl = baseUrl;
+        this.manifest = manifest;
+        this.mix = mix;
+        this.objectMapper = objectMapper;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestArgs arguments = new LoadTestArgs(args);
+        ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+        SeedManifest manifest = objectMapper.readValue(
+                Path.of(arguments.stringValue("manifest", SeedManifest.DEFAULT_PATH)).toFile(), SeedManifest.class);
+
+        LoadDriver driver = new LoadDriver(
+                URI.create(arguments.stringValue("base-url", "http://localhost:8080")),
+                manifest,
+                parseMix(arguments.stringValue("mix", DEFAULT_MIX)),
+                objectMapper);
+        Duration warmup = arguments.duration("warmup", "15s");
+        Duration duration = arguments.duration("duration", "60s");
+
+        driver.logInSessions();
+        List<LatencyRecorder.EndpointStats> stats = driver.run(arguments.intValue("concurrency", 32), warmup, duration);
+
+        print(stats, duration, System.out);
+        Path report = Path.of(arguments.stringValue("report", "target/loadtest/load-report.json"));
+        Files.createDirectories(report.toAbsolutePath().getParent());
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("warmup", warmup.toString());
+        json.put("duration", duration.toString());
+        json.put("mix", driver.mix);
+        json.put("endpoints", stats);
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(report.toFile(), json);
+        System.out.println("Report written to " + report.toAbsolutePath());
+    }
+
+    /**
+     * Logs in a few users per role up front, so the measured scenarios reuse tokens the way real
+     * clients do. Logging in is measured separately by the {@code login} scenario.
+     */
+    void logInSessions() throws IOException, InterruptedException {
+        SeedPlan plan = manifest.plan();
+        for (Role role : Role.values()) {
+            int available = role.count(plan);
+            int sessions = Math.min(available, SESSIONS_PER_ROLE);
+            List<String> roleTokens = new ArrayList<>(sessions);
+            for (int i = 0; i < sessions; i++) {
+                // Spread the sessions over the whole range, so workers and supervisors span every factory
+                roleTokens.add(login(role.email(plan, (int) ((long) i * available / sessions))));
+            }
+            tokens.put(role, roleTokens);
+        }
+    }
+
+    List<LatencyRecorder.EndpointStats> run(int concurrency, Duration warmup, Duration duration) throws Exception {
+        List<Scenario> weighted = new ArrayList<>();
+        mix.forEach((scenario, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(scenario);
+            }
+        });
+        if (weighted.isEmpty()) {
+            throw new IllegalArgumentException("The mix has no scenario with a positive weight");
+        }
+
+        long warmupEnd = System.nanoTime() + warmup.toNanos();
+        long end = warmupEnd + duration.toNanos();
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> loops = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                loops.add(users.submit(() -> {
+                    while (System.nanoTime() < end) {
+                        Scenario scenario = weighted.get(ThreadLocalRandom.current().nextInt(weighted.size()));
+                        try {
+                            scenario.run(this);
+                        } catch (IOException e) {
+                            // Already recorded as a failed request; keep the virtual user going
+                        }
+                    }
+                    return null;
+                }));
+            }
+            Thread.sleep(warmup.toMillis());
+            recorder.start();
+            Thread.sleep(Math.max(0, (end - System.nanoTime()) / 1_000_000));
+            recorder.stop();
+            for (Future<?> loop : loops) {
+                loop.get();
+            }
+        }
+        return recorder.summarize(duration);
+    }
+
+    // --- scenarios ---
+
+    enum Scenario {
+        LOGIN("login") {
+            @Override
+            void run(LoadDriver driver) throws IOException, InterruptedException {
+                SeedPlan plan = driver.manifest.plan();
+                Role role = Role.values()[ThreadLocalRandom.current().nextInt(Role.values().length)];
+                int count = role.count(plan);
+                if (count > 0) {
+                    driver.login(role.email(plan, ThreadLocalRandom.current().nextInt(count)));
+                }
+            }
+        },
+        MY_TOOLS("my-tools") {
+            @Override
+            void run(LoadDriver driver) throws IOException, InterruptedException {
+                driver.get(this, Role.WORKER, "/api/worker/my-tools?page=0&size=20");
+            }
+        },
+        OVERDUE("overdue") {
+            @Override
+            void run(LoadDriver driver) throws IOException, InterruptedException {
+                driver.get(this, Role.SUPERVISOR, "/api/tool-issuances/overdue?page=0&size=20");
+            }
+        },
+        ORDER_CREATE("order-create") {
+            @Override
+            void run(LoadDriver driver) throws IOException, InterruptedException {
+                driver.createOrder();
+            }
+        },
+        ORDER_FULFILL("order-fulfill") {
+            @Override
+            void run(LoadDriver driver) throws IOException, InterruptedException {
+                String orderId = driver.pendingOrders.poll();
+                if (orderId == null) {
+                    // Nothing to fulfil yet; place an order instead so the queue fills up
+                    driver.createOrder();
+                    return;
+                }
+                List<String> factoryIds = driver.manifest.factoryIds();
+                String factoryId = factoryIds.get(ThreadLocalRandom.current().nextInt(factoryIds.size()));
+                driver.post(this, Role.CENTRAL_OFFICE, "/api/orders/dealer/" + orderId + "/fulfill",
+                        Map.of("factoryId", factoryId));
+            }
+        },
+        DASHBOARD("dashboard") {
+            @Override
+            void run(LoadDriver driver) throws IOException, InterruptedException {
+                driver.get(this, Role.CENTRAL_OFFICE, "/api/dashboard/central-office");
+            }
+        },
+        USER_SEARCH("user-search") {
+            @Override
+            void run(LoadDriver driver) throws IOException, InterruptedException {
+                String term = SeedPlan.FIRST_NAMES[ThreadLocalRandom.current().nextInt(SeedPlan.FIRST_NAMES.length)];
+                driver.get(this, Role.ADMIN, "/api/users/search?q=" + URLEncoder.encode(term, StandardCharsets.UTF_8) + "&page=0&size=20");
+            }
+        };
+
+        private final String label;
+
+        Scenario(String label) {
+            this.label = label;
+        }
+
+        abstract void run(LoadDriver driver) throws IOException, InterruptedException;
+
+        static Scenario fromLabel(String label) {
+            for (Scenario scenario : values()) {
+                if (scenario.label.equals(label)) {
+                    return scenario;
+                }
+            }
+            throw new IllegalArgumentException("Unknown scenario: " + label);
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    /**
+     * The seeded logins each scenario acts as.
+     */
+    enum Role {
+        ADMIN, CENTRAL_OFFICE, DEALER, SUPERVISOR, WORKER;
+
+        int count(SeedPlan plan) {
+            return switch (this) {
+                case ADMIN -> plan.admins();
+                case CENTRAL_OFFICE -> plan.centralOfficeHeads();
+                case DEALER -> plan.dealers();
+                case SUPERVISOR -> plan.factories() * plan.supervisorsPerFactory();
+                case WORKER -> plan.factories() * plan.workersPerFactory();
+            };
+        }
+
+        String email(SeedPlan plan, int index) {
+            return switch (this) {
+                case ADMIN -> SeedPlan.adminEmail(index);
+                case CENTRAL_OFFICE -> SeedPlan.centralOfficeEmail(index);
+                case DEALER -> SeedPlan.dealerEmail(index);
+                case SUPERVISOR -> SeedPlan.supervisorEmail(index / plan.supervisorsPerFactory(), index % plan.supervisorsPerFactory());
+                case WORKER -> SeedPlan.workerEmail(index / plan.workersPerFactory(), index % plan.workersPerFactory());
+            };
+        }
+    }
+
+    // --- HTTP ---
+
+    private String login(String email) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = send(Scenario.LOGIN, HttpRequest.newBuilder(baseUrl.resolve("/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(json(Map.of("email", email, "password", manifest.plan().password()))));
+        return objectMapper.readTree(response.body()).path("data").path("token").asText();
+    }
+
+    private void createOrder() throws IOException, InterruptedException {
+        List<String> productIds = manifest.productIds();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int lines = 1 + random.nextInt(Math.min(manifest.plan().maxLinesPerOrder(), productIds.size()));
+        int first = random.nextInt(productIds.size());
+        List<Map<String, Object>> items = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            items.add(Map.of("productId", productIds.get((first + i) % productIds.size()), "quantity", 1 + random.nextInt(20)));
+        }
+        HttpResponse<byte[]> response = post(Scenario.ORDER_CREATE, Role.DEALER, "/api/orders/dealer",
+                Map.of("products", items, "comment", "load test"));
+        if (response.statusCode() == 201 && pendingOrders.size() < MAX_PENDING_ORDERS) {
+            JsonNode orderId = objectMapper.readTree(response.body()).path("data").path("orderId");
+            if (orderId.isTextual()) {
+                pendingOrders.add(orderId.asText());
+            }
+        }
+    }
+
+    private HttpResponse<byte[]> get(Scenario scenario, Role role, String path) throws IOException, InterruptedException {
+        return send(scenario, authorized(role, path).GET());
+    }
+
+    private HttpResponse<byte[]> post(Scenario scenario, Role role, String path, Object body) throws IOException, InterruptedException {
+        return send(scenario, authorized(role, path).header("Content-Type", "application/json").POST(json(body)));
+    }
+
+    private HttpRequest.Builder authorized(Role role, String path) {
+        List<String> roleTokens = tokens.get(role);
+        if (roleTokens == null || roleTokens.isEmpty()) {
+            throw new IllegalStateException("The seed manifest has no " + role + " users");
+        }
+        return HttpRequest.newBuilder(baseUrl.resolve(path))
+                .header("Authorization", "Bearer " + roleTokens.get(ThreadLocalRandom.current().nextInt(roleTokens.size())));
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+    }
+
+    private HttpResponse<byte[]> send(Scenario scenario, HttpRequest.Builder request) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = client.send(request.timeout(Duration.ofSeconds(30)).build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            recorder.record(scenario.toString(), System.nanoTime() - start, response.statusCode() < 400);
+            return response;
+        } catch (IOException e) {
+            recorder.record(scenario.toString(), System.nanoTime() - start, false);
+            throw e;
+        }
+    }
+
+    // --- arguments and output ---
+
+    static Map<Scenario, Integer> parseMix(String mix) {
+        Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected scenario:weight in the mix but got: " + entry);
+            }
+            weights.put(Scenario.fromLabel(parts[0]), Integer.parseInt(parts[1]));
+        }
+        return weights;
+    }
+
+    private static void print(List<LatencyRecorder.EndpointStats> stats, Duration duration, PrintStream out) {
+        out.printf("%nMeasured over %d s%n", duration.toSeconds());
+        out.printf("%-14s %10s %8s %10s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        long requests = 0;
+        double throughput = 0;
+        for (LatencyRecorder.EndpointStats s : stats) {
+            out.printf("%-14s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                    s.endpoint(), s.requests(), s.errors(), s.throughput(), s.p50Ms(), s.p95Ms(), s.p99Ms(), s.maxMs());
+            requests += s.requests();
+            throughput += s.throughput();
+        }
+        out.printf("%-14s %10d %8s %10.1f%n", "total", requests, "", throughput);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.sellerhelp.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code key=value} arguments for the load test mains; a leading {@code --} is accepted too.
+ * Keys starting with {@code spring.} are not ours and are handed to the Spring application.
+ */
+final class LoadTestArgs {
+
+    private final Map<String, String> values = new LinkedHashMap<>();
+    private final List<String> springArgs = new ArrayList<>();
+
+    LoadTestArgs(String[] args) {
+        for (String arg : args) {
+            String option = arg.startsWith("--") ? arg.substring(2) : arg;
+            int separator = option.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value but got: " + arg);
+            }
+            if (option.startsWith("spring.") || option.startsWith("server.")) {
+                springArgs.add("--" + option);
+            } else {
+                values.put(option.substring(0, separator), option.substring(separator + 1));
+            }
+        }
+    }
+
+    int intValue(String key, int defaultValue) {
+        String value = values.get(key);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+
+    String stringValue(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    Duration duration(String key, String defaultValue) {
+        return DurationStyle.detectAndParse(values.getOrDefault(key, defaultValue));
+    }
+
+    /**
+     * The {@code spring.*} and {@code server.*} arguments as {@code --key=value}, with the loadtest
+     * profile active unless the caller picked the profiles.
+     */
+    String[] springArgs() {
+        List<String> args = new ArrayList<>(springArgs);
+        if (args.stream().noneMatch(arg -> arg.startsWith("--spring.profiles.active="))) {
+            args.add("--spring.profiles.active=loadtest");
+        }
+        return args.toArray(String[]::new);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.sellerhelp.loadtest;
+
+import com.example.sellerhelp.SellerHelpApplication;
+import com.example.sellerhelp.common.BusinessIdGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Starts the application without its web server, creates the schema through Hibernate, writes
+ * the data set described by {@link SeedPlan} and saves a {@link SeedManifest} for the driver.
+ * Takes the plan's {@code key=value} counts (e.g. {@code workers-per-factory=500}),
+ * {@code manifest=<path>}, and any {@code spring.*} override such as a PostgreSQL
+ * {@code spring.datasource.url}.
+ */
+public final class LoadTestSeeder {
+
+    private LoadTestSeeder() {}
+
+    public static void main(String[] args) throws IOException {
+        LoadTestArgs arguments = new LoadTestArgs(args);
+        SeedPlan plan = SeedPlan.from(arguments);
+        Path manifestPath = Path.of(arguments.stringValue("manifest", SeedManifest.DEFAULT_PATH));
+
+        SpringApplication application = new SpringApplication(SellerHelpApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        try (ConfigurableApplicationContext context = application.run(arguments.springArgs())) {
+            SessionFactoryImplementor sessionFactory = context.getBean(EntityManagerFactory.class)
+                    .unwrap(SessionFactoryImplementor.class);
+            String orderMappingId = sessionFactory.getJdbcServices().getDialect().getSequenceSupport()
+                    .getSelectSequenceNextValString("dealer_order_mapping_id_seq");
+
+            DataSeeder seeder = new DataSeeder(
+                    context.getBean(JdbcTemplate.class),
+                    new TransactionTemplate(context.getBean(PlatformTransactionManager.class)),
+                    context.getBean(BusinessIdGenerator.class),
+                    plan,
+                    context.getBean(PasswordEncoder.class).encode(plan.password()),
+                    orderMappingId);
+            SeedManifest manifest = seeder.seed();
+
+            Files.createDirectories(manifestPath.toAbsolutePath().getParent());
+            context.getBean(ObjectMapper.class).writerWithDefaultPrettyPrinter().writeValue(manifestPath.toFile(), manifest);
+        }
+    }
+}
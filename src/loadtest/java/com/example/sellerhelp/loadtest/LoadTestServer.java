@@ -0,0 +1,17 @@
+package com.example.sellerhelp.loadtest;
+
+import com.example.sellerhelp.SellerHelpApplication;
+
+/**
+ * Starts the application with the loadtest profile from {@code src/loadtest/resources}, so it
+ * serves the database written by {@link LoadTestSeeder}. Accepts the same {@code spring.*} and
+ * {@code server.*} overrides as the seeder.
+ */
+public final class LoadTestServer {
+
+    private LoadTestServer() {}
+
+    public static void main(String[] args) {
+        SellerHelpApplication.main(new LoadTestArgs(args).springArgs());
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.sellerhelp.loadtest;
+
+import java.util.List;
+
+/**
+ * What {@link LoadTestSeeder} wrote, saved as JSON next to the database so {@link LoadDriver}
+ * knows which logins exist and which factories and products to order from.
+ */
+record SeedManifest(SeedPlan plan, List<String> factoryIds, List<String> productIds) {
+
+    static final String DEFAULT_PATH = "target/loadtest/seed-manifest.json";
+}
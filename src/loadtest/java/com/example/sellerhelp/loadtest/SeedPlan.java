@@ -0,0 +1,91 @@
+package com.example.sellerhelp.loadtest;
+
+/**
+ * How much data the seeder writes, and the deterministic logins it creates. Saved in the
+ * {@link SeedManifest}, so the load driver logs in as users that exist.
+ *
+ * @param factories            factories, each with its own bays, staff and stock
+ * @param baysPerFactory       bays per factory; workers are spread across them
+ * @param supervisorsPerFactory chief supervisors per factory
+ * @param workersPerFactory    workers per factory
+ * @param issuancesPerWorker   tool issuances per worker, a share of them overdue or returned
+ * @param tools                tools in the catalogue, stocked in every factory
+ * @param products             products in the catalogue, stocked in every factory
+ * @param dealers              dealers placing orders
+ * @param ordersPerDealer      historical orders per dealer
+ * @param maxLinesPerOrder     upper bound of lines per order
+ * @param historyDays          days of order and production history
+ * @param productsPerDay       products each factory records production for per day
+ * @param centralOfficeHeads   central office heads, who fulfil orders and read the dashboard
+ * @param admins               admins, who run user searches
+ * @param threads              writer threads
+ * @param batchSize            rows per JDBC batch and per transaction
+ * @param password             password of every seeded user
+ */
+record SeedPlan(int factories,
+                int baysPerFactory,
+                int supervisorsPerFactory,
+                int workersPerFactory,
+                int issuancesPerWorker,
+                int tools,
+                int products,
+                int dealers,
+                int ordersPerDealer,
+                int maxLinesPerOrder,
+                int historyDays,
+                int productsPerDay,
+                int centralOfficeHeads,
+                int admins,
+                int threads,
+                int batchSize,
+                String password) {
+
+    static final String EMAIL_DOMAIN = "@loadtest.local";
+
+    // Seeded display names cycle through these, which gives user search realistic hit rates
+    static final String[] FIRST_NAMES = {
+            "Aarav", "Bianca", "Chen", "Divya", "Emeka", "Fatima", "Goran", "Hana", "Ishaan", "Jonas",
+            "Kavya", "Luis", "Meera", "Nikhil", "Olga", "Priya", "Quentin", "Rohan", "Sara", "Tariq"
+    };
+
+    static SeedPlan from(LoadTestArgs args) {
+        return new SeedPlan(
+                args.intValue("factories", 5),
+                args.intValue("bays-per-factory", 4),
+                args.intValue("supervisors-per-factory", 2),
+                args.intValue("workers-per-factory", 200),
+                args.intValue("issuances-per-worker", 5),
+                args.intValue("tools", 200),
+                args.intValue("products", 500),
+                args.intValue("dealers", 200),
+                args.intValue("orders-per-dealer", 20),
+                args.intValue("max-lines-per-order", 10),
+                args.intValue("history-days", 90),
+                args.intValue("products-per-day", 20),
+                args.intValue("central-office-heads", 5),
+                args.intValue("admins", 2),
+                args.intValue("threads", Runtime.getRuntime().availableProcessors()),
+                args.intValue("batch-size", 500),
+                args.stringValue("password", "loadtest"));
+    }
+
+    static String adminEmail(int n) {
+        return "admin." + n + EMAIL_DOMAIN;
+    }
+
+    static String centralOfficeEmail(int n) {
+        return "central-office." + n + EMAIL_DOMAIN;
+    }
+
+    static String dealerEmail(int n) {
+        return "dealer." + n + EMAIL_DOMAIN;
+    }
+
+    static String supervisorEmail(int factory, int n) {
+        return "supervisor." + factory + "." + n + EMAIL_DOMAIN;
+    }
+
+    static String workerEmail(int factory, int n) {
+        return "worker." + factory + "." + n + EMAIL_DOMAIN;
+    }
+}
@@ -6,15 +6,36 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.web.config.EnableSpringDataWebSupport;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.Map;
 
 @SpringBootApplication
 @EnableJpaAuditing
 @EnableAsync
+@EnableScheduling
 @EnableSpringDataWebSupport(pageSerializationMode = EnableSpringDataWebSupport.PageSerializationMode.VIA_DTO)
 public class SellerHelpApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(SellerHelpApplication.class, args);
+		SpringApplication application = new SpringApplication(SellerHelpApplication.class);
+		application.setDefaultProperties(metricsDefaults());
+		application.run(args);
+	}
+
+	/**
+	 * Scrape endpoint and latency percentiles, as defaults so the environment can still override them.
+	 */
+	static Map<String, Object> metricsDefaults() {
+		String percentiles = "0.5,0.95,0.99";
+		return Map.of(
+				"management.endpoints.web.exposure.include", "health,prometheus",
+				"management.metrics.distribution.percentiles-histogram.http.server.requests", "true",
+				"management.metrics.distribution.percentiles.http.server.requests", percentiles,
+				"management.metrics.distribution.percentiles.sellerhelp.service", percentiles,
+				"management.metrics.distribution.percentiles.sellerhelp.repository", percentiles,
+				"management.metrics.distribution.percentiles.hikaricp.connections.acquire", percentiles,
+				"management.metrics.distribution.slo.http.server.requests", "50ms,200ms,1s");
 	}
 
 }
@@ -12,4 +12,8 @@ public class PageableDto {
     private int size = 10;
     private String sortBy = "user_id";
     private String sortDir = "asc";
+
+    // Only read by the /scroll endpoints: leave empty for the first slice, then send back the
+    // returned nextCursor. page is ignored there and no total count is computed.
+    private String cursor;
 }
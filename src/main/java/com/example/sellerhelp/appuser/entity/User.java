@@ -54,7 +54,7 @@ public class User {
     private ActiveStatus isActive = ActiveStatus.ACTIVE;
 
     @CreatedBy
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by")
     private User createdBy;
 
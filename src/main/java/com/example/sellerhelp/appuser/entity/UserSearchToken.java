@@ -0,0 +1,29 @@
+package com.example.sellerhelp.appuser.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * One trigram of a user's searchable fields. Only used by the portable search index
+ * (H2 and other databases without {@code pg_trgm}).
+ */
+@Entity
+@Table(
+        name = "user_search_token",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "token"}),
+        indexes = @Index(name = "idx_user_search_token_token_user", columnList = "token, user_id")
+)
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class UserSearchToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false, length = 3)
+    private String token;
+}
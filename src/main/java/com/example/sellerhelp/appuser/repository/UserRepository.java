@@ -7,6 +7,8 @@ import com.example.sellerhelp.constant.UserRole;
 import com.example.sellerhelp.factory.entity.Factory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
@@ -14,6 +16,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,7 +28,17 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
     boolean existsByUserId(String userId);
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // List endpoints fetch the role in the same select instead of one lookup per row
+    @Override
+    @EntityGraph(attributePaths = "role")
+    Page<User> findAll(Specification<User> spec, Pageable pageable);
+
     // NEW DERIVED QUERY to replace the @Query version for dealers
+    @EntityGraph(attributePaths = "role")
     Page<User> findByRole_NameAndIsActive(UserRole roleName, ActiveStatus status, Pageable pageable);
 
     Page<User> findByRole_Name(UserRole roleName, Pageable pageable);
@@ -0,0 +1,16 @@
+package com.example.sellerhelp.appuser.repository;
+
+import com.example.sellerhelp.appuser.entity.UserSearchToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserSearchTokenRepository extends JpaRepository<UserSearchToken, Long> {
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM UserSearchToken t WHERE t.user.id = :userId")
+    void deleteByUserId(@Param("userId") Long userId);
+}
@@ -2,6 +2,7 @@ package com.example.sellerhelp.appuser.repository;
 
 import com.example.sellerhelp.appuser.dto.UserFilterDto;
 import com.example.sellerhelp.appuser.entity.User;
+import com.example.sellerhelp.appuser.search.UserSearchIndex;
 import com.example.sellerhelp.constant.ActiveStatus;
 import com.example.sellerhelp.constant.UserRole;
 import jakarta.persistence.criteria.JoinType;
@@ -17,17 +18,17 @@ public final class UserSpecifications {
 
     //Public Entry Points
 
-    public static Specification<User> withFilter(UserFilterDto filter) {
+    public static Specification<User> withFilter(UserFilterDto filter, UserSearchIndex search) {
         List<Specification<User>> specs = new ArrayList<>();
 
         if (StringUtils.hasText(filter.getName())) {
-            specs.add(hasName(filter.getName()));
+            specs.add(search.fieldContains("name", filter.getName()));
         }
         if (StringUtils.hasText(filter.getEmail())) {
-            specs.add(hasEmail(filter.getEmail()));
+            specs.add(search.fieldContains("email", filter.getEmail()));
         }
         if (StringUtils.hasText(filter.getPhone())) {
-            specs.add(hasPhone(filter.getPhone()));
+            specs.add(search.fieldContains("phone", filter.getPhone()));
         }
         if (filter.getStatus() != null) {
             specs.add(hasStatus(filter.getStatus()));
@@ -45,21 +46,11 @@ public final class UserSpecifications {
         return combineAll(specs);
     }
 
-    public static Specification<User> globalSearch(String query) {
+    public static Specification<User> globalSearch(String query, UserSearchIndex search) {
         if (!StringUtils.hasText(query)) {
             return (root, cq, cb) -> cb.conjunction(); // Always true
         }
-
-        String lowerQuery = query.toLowerCase();
-        String pattern = "%" + lowerQuery + "%";
-        String phonePattern = "%" + query + "%";
-
-        return (root, cq, cb) -> cb.or(
-                cb.like(cb.lower(root.get("name")), pattern),
-                cb.like(cb.lower(root.get("email")), pattern),
-                cb.like(root.get("phone"), phonePattern),
-                cb.like(cb.lower(root.get("userId")), pattern)
-        );
+        return search.matchesAnyField(query);
     }
 
     public static Specification<User> isWorkerInFactory(String factoryId) {
@@ -82,18 +73,6 @@ public final class UserSpecifications {
 
     // Helper Specifications
 
-    private static Specification<User> hasName(String name) {
-        return likeIgnoreCase("name", name);
-    }
-
-    private static Specification<User> hasEmail(String email) {
-        return likeIgnoreCase("email", email);
-    }
-
-    private static Specification<User> hasPhone(String phone) {
-        return (root, query, cb) -> cb.like(root.get("phone"), "%" + phone + "%");
-    }
-
     private static Specification<User> hasStatus(ActiveStatus status) {
         return (root, query, cb) -> cb.equal(root.get("isActive"), status);
     }
@@ -112,11 +91,6 @@ public final class UserSpecifications {
 
     // === Utility Methods ===
 
-    private static Specification<User> likeIgnoreCase(String field, String value) {
-        String pattern = "%" + value.toLowerCase() + "%";
-        return (root, query, cb) -> cb.like(cb.lower(root.get(field)), pattern);
-    }
-
     private static Specification<User> hasJoinMapping(String joinField, String idField, String idValue) {
         return (root, query, cb) -> {
             var subquery = query.subquery(Long.class);
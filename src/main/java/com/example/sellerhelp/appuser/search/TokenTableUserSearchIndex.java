@@ -0,0 +1,122 @@
+package com.example.sellerhelp.appuser.search;
+
+import com.example.sellerhelp.appuser.entity.User;
+import com.example.sellerhelp.appuser.entity.UserSearchToken;
+import com.example.sellerhelp.appuser.repository.UserSearchTokenRepository;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Portable search over a normalised {@code user_search_token} table holding each user's distinct
+ * trigrams. Candidates are users owning every trigram of the query (an index range scan on
+ * {@code (token, user_id)}); a LIKE on the candidates then confirms the actual substring match.
+ */
+@Slf4j
+@RequiredArgsConstructor
+class TokenTableUserSearchIndex implements UserSearchIndex {
+
+    static final int BACKFILL_PAGE_SIZE = 500;
+
+    // Users without any token yet, in id order so each page resumes after the previous one
+    private static final String UNINDEXED_USERS_SQL =
+            "SELECT u.id, u.user_id, u.name, u.email, u.phone FROM users u " +
+            "WHERE u.id > ? AND NOT EXISTS (SELECT 1 FROM user_search_token t WHERE t.user_id = u.id) " +
+            "ORDER BY u.id LIMIT " + BACKFILL_PAGE_SIZE;
+    private static final String INSERT_TOKEN_SQL = "INSERT INTO user_search_token (user_id, token) VALUES (?, ?)";
+
+    private final UserSearchTokenRepository tokenRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public Specification<User> matchesAnyField(String query) {
+        String normalized = UserSearchTerms.normalize(query);
+        String pattern = "%" + UserSearchTerms.escape(normalized) + "%";
+        Set<String> grams = UserSearchTerms.trigrams(normalized);
+        return (root, cq, cb) -> {
+            UserSearchTerms.rankIfUnordered(root, cq, cb, normalized);
+            return withCandidates(root, cq, cb, grams, UserSearchTerms.anyFieldLike(root, cb, pattern));
+        };
+    }
+
+    @Override
+    public Specification<User> fieldContains(String field, String value) {
+        String normalized = UserSearchTerms.normalize(value);
+        String pattern = "%" + UserSearchTerms.escape(normalized) + "%";
+        Set<String> grams = UserSearchTerms.trigrams(normalized);
+        return (root, cq, cb) -> withCandidates(root, cq, cb, grams,
+                cb.like(UserSearchTerms.searchable(root, cb, field), pattern, UserSearchTerms.LIKE_ESCAPE));
+    }
+
+    @Override
+    public void index(User user) {
+        tokenRepository.deleteByUserId(user.getId());
+        List<UserSearchToken> tokens = UserSearchTerms.trigrams(user).stream()
+                .map(token -> UserSearchToken.builder().user(user).token(token).build())
+                .toList();
+        tokenRepository.saveAll(tokens);
+    }
+
+    /**
+     * Builds tokens for every user that has none, e.g. on a fresh schema or for rows written
+     * outside the services. Works in pages of {@value #BACKFILL_PAGE_SIZE} users, each committed
+     * with one batch insert, so an interrupted run picks up where it stopped on the next start.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMissing() {
+        long lastId = 0;
+        int indexed = 0;
+        while (true) {
+            long after = lastId;
+            List<User> page = jdbcTemplate.query(UNINDEXED_USERS_SQL, (rs, rowNum) -> User.builder()
+                    .id(rs.getLong("id"))
+                    .userId(rs.getString("user_id"))
+                    .name(rs.getString("name"))
+                    .email(rs.getString("email"))
+                    .phone(rs.getString("phone"))
+                    .build(), after);
+            if (page.isEmpty()) {
+                break;
+            }
+            List<Object[]> rows = new ArrayList<>();
+            for (User user : page) {
+                UserSearchTerms.trigrams(user).forEach(token -> rows.add(new Object[]{user.getId(), token}));
+            }
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_TOKEN_SQL, rows));
+            indexed += page.size();
+            lastId = page.get(page.size() - 1).getId();
+        }
+        if (indexed > 0) {
+            log.info("Built user search tokens for {} users", indexed);
+        }
+    }
+
+    // Queries shorter than a trigram have nothing to look up and fall back to the LIKE alone
+    private static Predicate withCandidates(Root<User> root, CriteriaQuery<?> cq, CriteriaBuilder cb,
+                                            Set<String> grams, Predicate like) {
+        if (grams.isEmpty() || cq == null) {
+            return like;
+        }
+        Subquery<Long> candidates = cq.subquery(Long.class);
+        Root<UserSearchToken> token = candidates.from(UserSearchToken.class);
+        candidates.select(token.get("user").get("id"))
+                .where(token.get("token").in(grams))
+                .groupBy(token.get("user").get("id"))
+                .having(cb.equal(cb.countDistinct(token.get("token")), (long) grams.size()));
+        return cb.and(root.get("id").in(candidates), like);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.sellerhelp.appuser.search;
+
+import com.example.sellerhelp.appuser.entity.User;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * PostgreSQL search served by {@code pg_trgm} GIN indexes on the lower-cased columns
+ * (see db/postgres/006_user_search_trigram.sql). The predicates are plain LIKEs on exactly the
+ * indexed expressions, so the planner combines the per-column indexes with a BitmapOr.
+ * Queries shorter than one trigram keep the same substring semantics; GIN cannot narrow them
+ * down, so PostgreSQL scans for those, as the token index does on other databases.
+ */
+class TrigramUserSearchIndex implements UserSearchIndex {
+
+    @Override
+    public Specification<User> matchesAnyField(String query) {
+        String normalized = UserSearchTerms.normalize(query);
+        String pattern = pattern(normalized);
+        return (root, cq, cb) -> {
+            UserSearchTerms.rankIfUnordered(root, cq, cb, normalized);
+            return UserSearchTerms.anyFieldLike(root, cb, pattern);
+        };
+    }
+
+    @Override
+    public Specification<User> fieldContains(String field, String value) {
+        String pattern = pattern(UserSearchTerms.normalize(value));
+        return (root, cq, cb) -> cb.like(UserSearchTerms.searchable(root, cb, field), pattern, UserSearchTerms.LIKE_ESCAPE);
+    }
+
+    @Override
+    public void index(User user) {
+        // Maintained by PostgreSQL as part of the row write
+    }
+
+    private static String pattern(String normalized) {
+        return "%" + UserSearchTerms.escape(normalized) + "%";
+    }
+}
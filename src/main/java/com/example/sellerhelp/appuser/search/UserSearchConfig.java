@@ -0,0 +1,51 @@
+package com.example.sellerhelp.appuser.search;
+
+import com.example.sellerhelp.appuser.repository.UserSearchTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/**
+ * Picks the user search index: {@code pg_trgm} on PostgreSQL, the token table everywhere else.
+ * {@code search.users.strategy} ({@code auto}, {@code trigram} or {@code token}) overrides the detection.
+ */
+@Slf4j
+@Configuration
+public class UserSearchConfig {
+
+    @Bean
+    public UserSearchIndex userSearchIndex(DataSource dataSource,
+                                           UserSearchTokenRepository tokenRepository,
+                                           JdbcTemplate jdbcTemplate,
+                                           PlatformTransactionManager transactionManager,
+                                           @Value("${search.users.strategy:auto}") String strategy) {
+        boolean trigram = switch (strategy) {
+            case "trigram" -> true;
+            case "token" -> false;
+            default -> isPostgres(dataSource);
+        };
+        log.info("User search uses the {} index", trigram ? "pg_trgm" : "token table");
+        return trigram
+                ? new TrigramUserSearchIndex()
+                : new TokenTableUserSearchIndex(tokenRepository, jdbcTemplate, new TransactionTemplate(transactionManager));
+    }
+
+    private static boolean isPostgres(DataSource dataSource) {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equalsIgnoreCase(product);
+        } catch (MetaDataAccessException e) {
+            log.warn("Could not detect the database product, falling back to the token search index", e);
+            return false;
+        }
+    }
+}
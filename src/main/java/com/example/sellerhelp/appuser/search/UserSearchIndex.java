@@ -0,0 +1,27 @@
+package com.example.sellerhelp.appuser.search;
+
+import com.example.sellerhelp.appuser.entity.User;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Substring search over users' name, email, phone and public user id, backed by an n-gram index.
+ * Which index is used depends on the database; see {@link UserSearchConfig}.
+ */
+public interface UserSearchIndex {
+
+    /**
+     * Users with {@code query} in any searchable field. When the caller does not sort the
+     * query itself, results are ordered by match quality (exact, then prefix, then substring).
+     */
+    Specification<User> matchesAnyField(String query);
+
+    /**
+     * Users whose {@code field} ("name", "email" or "phone") contains {@code value}.
+     */
+    Specification<User> fieldContains(String field, String value);
+
+    /**
+     * Brings the index up to date for a user that was created or whose searchable fields changed.
+     */
+    void index(User user);
+}
@@ -0,0 +1,79 @@
+package com.example.sellerhelp.appuser.search;
+
+import com.example.sellerhelp.appuser.entity.User;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Normalisation, trigram extraction and the match-quality ranking shared by the search indexes.
+ */
+final class UserSearchTerms {
+
+    static final int GRAM_SIZE = 3;
+    static final char LIKE_ESCAPE = '\\';
+    static final List<String> SEARCHABLE_FIELDS = List.of("name", "email", "phone", "userId");
+
+    private UserSearchTerms() {}
+
+    static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    static Set<String> trigrams(String normalized) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + GRAM_SIZE));
+        }
+        return grams;
+    }
+
+    static Set<String> trigrams(User user) {
+        Set<String> grams = new LinkedHashSet<>();
+        grams.addAll(trigrams(normalize(user.getName())));
+        grams.addAll(trigrams(normalize(user.getEmail())));
+        grams.addAll(trigrams(normalize(user.getPhone())));
+        grams.addAll(trigrams(normalize(user.getUserId())));
+        return grams;
+    }
+
+    // Phone numbers are stored as typed; the other fields are matched case-insensitively
+    static Expression<String> searchable(Root<User> root, CriteriaBuilder cb, String field) {
+        Expression<String> path = root.get(field);
+        return "phone".equals(field) ? path : cb.lower(path);
+    }
+
+    static Predicate anyFieldLike(Root<User> root, CriteriaBuilder cb, String pattern) {
+        return cb.or(SEARCHABLE_FIELDS.stream()
+                .map(field -> cb.like(searchable(root, cb, field), pattern, LIKE_ESCAPE))
+                .toArray(Predicate[]::new));
+    }
+
+    /**
+     * Orders by match quality unless the query already has an explicit order. Count queries
+     * are left alone.
+     */
+    static void rankIfUnordered(Root<User> root, CriteriaQuery<?> query, CriteriaBuilder cb, String normalized) {
+        if (query == null || Long.class.equals(query.getResultType()) || !query.getOrderList().isEmpty()) {
+            return;
+        }
+        Expression<Integer> rank = cb.<Integer>selectCase()
+                .when(cb.or(SEARCHABLE_FIELDS.stream()
+                        .map(field -> cb.equal(searchable(root, cb, field), normalized))
+                        .toArray(Predicate[]::new)), 0)
+                .when(anyFieldLike(root, cb, escape(normalized) + "%"), 1)
+                .otherwise(2);
+        query.orderBy(cb.asc(rank), cb.asc(root.get("name")), cb.asc(root.get("id")));
+    }
+
+    static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
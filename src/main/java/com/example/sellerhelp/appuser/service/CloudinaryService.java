@@ -1,31 +0,0 @@
-package com.example.sellerhelp.appuser.service;
-
-import com.cloudinary.Cloudinary;
-import com.cloudinary.utils.ObjectUtils;
-import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
-
-import java.io.IOException;
-import java.util.Map;
-
-@Service
-public class CloudinaryService {
-
-    private final Cloudinary cloudinary;
-
-    public CloudinaryService(Cloudinary cloudinary) {
-        this.cloudinary = cloudinary;
-    }
-
-    public String uploadFile(MultipartFile file) {
-        try {
-            Map<?, ?> result = cloudinary.uploader().upload(
-                    file.getBytes(),
-                    ObjectUtils.asMap("folder", "sellerhelp/users")
-            );
-            return result.get("secure_url").toString();
-        } catch (IOException e) {
-            throw new RuntimeException("Image upload failed", e);
-        }
-    }
-}
\ No newline at end of file
@@ -6,24 +6,29 @@ import com.example.sellerhelp.appuser.dto.LinkedCustomerDto;
 import com.example.sellerhelp.appuser.dto.PageableDto;
 import com.example.sellerhelp.appuser.entity.Role;
 import com.example.sellerhelp.appuser.entity.User;
-import com.example.sellerhelp.appuser.repository.RoleRepository;
 import com.example.sellerhelp.appuser.repository.UserRepository;
+import com.example.sellerhelp.appuser.search.UserSearchIndex;
+import com.example.sellerhelp.common.BusinessIdGenerator;
+import com.example.sellerhelp.common.BusinessIdType;
+import com.example.sellerhelp.common.ReferenceDataCache;
 import com.example.sellerhelp.constant.ActiveStatus;
 import com.example.sellerhelp.constant.UserRole;
 import com.example.sellerhelp.exception.ConflictException;
 import com.example.sellerhelp.exception.ResourceNotFoundException;
 import com.example.sellerhelp.order.entity.CustomerDealerMapping;
 import com.example.sellerhelp.order.repository.CustomerDealerMappingRepository;
+import com.example.sellerhelp.security.PasswordHashingService;
+import com.example.sellerhelp.security.PrincipalCache;
 import com.example.sellerhelp.security.SecurityService;
-import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @RequiredArgsConstructor
@@ -32,34 +37,41 @@ public class DealerService {
 
     private final UserRepository userRepository;
     private final CustomerDealerMappingRepository customerDealerMappingRepository;
-    private final RoleRepository roleRepository;
-    private final PasswordEncoder passwordEncoder;
-    private final EntityManager entityManager;
+    private final PasswordHashingService passwordHashingService;
+    private final BusinessIdGenerator businessIdGenerator;
     private final SecurityService securityService;
+    private final PrincipalCache principalCache;
+    private final UserSearchIndex userSearchIndex;
+    private final ReferenceDataCache referenceDataCache;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional
+    // Validates and hashes before the insert transaction opens, so no connection is held for the BCrypt work
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public DealerDto createDealer(CreateDealerDto dto) {
         if (userRepository.existsByEmail(dto.getEmail())) {
             throw new ConflictException("A user with this email already exists.");
         }
 
-        Role dealerRole = roleRepository.findByName(UserRole.DEALER)
+        Role dealerRole = referenceDataCache.findRole(UserRole.DEALER)
                 .orElseThrow(() -> new IllegalStateException("this role not found in database. Please seed roles."));
-
-        User dealerUser = User.builder()
-                .name(dto.getName())
-                .email(dto.getEmail())
-                .password(passwordEncoder.encode(dto.getPassword()))
-                .phone(dto.getPhone())
-                .role(dealerRole)
-                .isActive(ActiveStatus.ACTIVE)
-                .build();
-
-        // Save, flush, and refresh to get the database-generated userId
-        User savedDealer = userRepository.saveAndFlush(dealerUser);
-        entityManager.refresh(savedDealer);
-
-        return toDto(savedDealer);
+        String passwordHash = passwordHashingService.encode(dto.getPassword());
+
+        return transactionTemplate.execute(status -> {
+            User dealerUser = User.builder()
+                    .userId(businessIdGenerator.next(BusinessIdType.USER))
+                    .name(dto.getName())
+                    .email(dto.getEmail())
+                    .password(passwordHash)
+                    .phone(dto.getPhone())
+                    .role(dealerRole)
+                    .isActive(ActiveStatus.ACTIVE)
+                    .build();
+
+            User savedDealer = userRepository.save(dealerUser);
+            userSearchIndex.index(savedDealer);
+
+            return toDto(savedDealer);
+        });
     }
 
     public Page<DealerDto> getAllDealers(PageableDto pageReq) {
@@ -83,12 +95,14 @@ public class DealerService {
     public void suspendDealer(String userId) {
         // We can reuse the existing service method from UserService for this
         userRepository.updateUserStatus(userId, ActiveStatus.INACTIVE);
+        principalCache.invalidateByUserId(userId);
     }
 
     @Transactional
     public void approveDealer(String userId) {
         // A simple "approve" action is just activating them
         userRepository.updateUserStatus(userId, ActiveStatus.ACTIVE);
+        principalCache.invalidateByUserId(userId);
     }
 
     /**
@@ -3,72 +3,94 @@ package com.example.sellerhelp.appuser.service;
 import com.example.sellerhelp.appuser.dto.*;
 import com.example.sellerhelp.appuser.entity.Role;
 import com.example.sellerhelp.appuser.entity.User;
-import com.example.sellerhelp.appuser.repository.RoleRepository;
 import com.example.sellerhelp.appuser.repository.UserRepository;
 import com.example.sellerhelp.appuser.repository.UserSpecifications;
+import com.example.sellerhelp.appuser.search.UserSearchIndex;
+import com.example.sellerhelp.common.BusinessIdGenerator;
+import com.example.sellerhelp.common.BusinessIdType;
+import com.example.sellerhelp.common.CursorPageDto;
+import com.example.sellerhelp.common.KeysetCursor;
+import com.example.sellerhelp.common.ReferenceDataCache;
 import com.example.sellerhelp.constant.ActiveStatus;
 import com.example.sellerhelp.constant.UserRole;
+import com.example.sellerhelp.exception.BadRequestException;
 import com.example.sellerhelp.exception.ResourceNotFoundException;
+import com.example.sellerhelp.factory.dto.UserFactoryAssignmentDto;
 import com.example.sellerhelp.factory.entity.Factory;
 import com.example.sellerhelp.factory.entity.UserFactoryMapping;
-import com.example.sellerhelp.factory.repository.FactoryRepository;
 import com.example.sellerhelp.factory.repository.UserFactoryMappingRepository;
+import com.example.sellerhelp.media.MediaUploadService;
+import com.example.sellerhelp.security.PasswordHashingService;
+import com.example.sellerhelp.security.PrincipalCache;
 import lombok.RequiredArgsConstructor;
-import org.apache.coyote.BadRequestException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
 @Transactional(readOnly = true)
 public class UserService {
 
+    private static final int MAX_BULK_USERS = 1000;
+    private static final String USER_IMAGE_FOLDER = "sellerhelp/users";
+
     private final UserRepository userRepo;
-    private final PasswordEncoder passwordEncoder;
-    private final RoleRepository roleRepository;
+    private final PasswordHashingService passwordHashingService;
     private final UserFactoryMappingRepository userFactoryMappingRepository;
-    private final FactoryRepository factoryRepository;
-    private final CloudinaryService cloudinaryService;
+    private final MediaUploadService mediaUploadService;
+    private final PrincipalCache principalCache;
+    private final UserSearchIndex userSearchIndex;
+    private final BusinessIdGenerator businessIdGenerator;
+    private final ReferenceDataCache referenceDataCache;
+    private final TransactionTemplate transactionTemplate;
 
     //  filters + pagination + sorting
     public Page<UserDto> searchEmployees(UserFilterDto filter, String query, PageableDto pageReq) {
-        Specification<User> spec = UserSpecifications.withFilter(filter);
-        if (!query.isBlank()){ spec = spec.and(UserSpecifications.globalSearch(query));}
-        return userRepo.findAll(spec, toPageable(pageReq)).map(UserService::toDto);
+        return toDtoPage(userRepo.findAll(employeeSearch(filter, query), toPageable(pageReq)));
+    }
+
+    // Keyset variant of searchEmployees for deep scrolling; see PageableDto#getCursor
+    public CursorPageDto<UserDto> scrollEmployees(UserFilterDto filter, String query, PageableDto pageReq) {
+        return scrollUsers(employeeSearch(filter, query), pageReq);
     }
 
     // globalSearch is also simplified
     public Page<UserDto> globalSearch(String query, PageableDto pageReq) {
-        Specification<User> spec = UserSpecifications.globalSearch(query);
-        return userRepo.findAll(spec, toPageable(pageReq)).map(UserService::toDto);
+        Specification<User> spec = UserSpecifications.globalSearch(query, userSearchIndex);
+        return toDtoPage(userRepo.findAll(spec, toPageable(pageReq)));
+    }
+
+    public CursorPageDto<UserDto> scrollGlobalSearch(String query, PageableDto pageReq) {
+        return scrollUsers(UserSpecifications.globalSearch(query, userSearchIndex), pageReq);
     }
 
     // getFactoryWorkers uses its own specific spec
     public Page<UserDto> getFactoryWorkers(String factoryId, PageableDto pageReq) {
         Specification<User> spec = UserSpecifications.isWorkerInFactory(factoryId);
-        return userRepo.findAll(spec, toPageable(pageReq)).map(UserService::toDto);
+        return toDtoPage(userRepo.findAll(spec, toPageable(pageReq)));
     }
 
     // getBayWorkers uses its spec
     public Page<UserDto> getBayWorkers(String bayId, PageableDto pageReq) {
         Specification<User> spec = UserSpecifications.isWorkerInBay(bayId);
-        return userRepo.findAll(spec, toPageable(pageReq)).map(UserService::toDto);
+        return toDtoPage(userRepo.findAll(spec, toPageable(pageReq)));
     }
 
     // Get all dealers
     public Page<UserDto> getAllDealers(PageableDto pageReq) {
-        return userRepo.findByRole_NameAndIsActive(UserRole.DEALER, ActiveStatus.ACTIVE, toPageable(pageReq))
-                .map(UserService::toDto);
+        return toDtoPage(userRepo.findByRole_NameAndIsActive(UserRole.DEALER, ActiveStatus.ACTIVE, toPageable(pageReq)));
     }
 
     // Dashboard counts
@@ -81,21 +103,74 @@ public class UserService {
                 .build();
     }
 
-    // Convert entity to DTO
-    private static UserDto toDto(User u) {
-        List<String> factories = u.getFactoryMappings() == null ? List.of() :
+    private Specification<User> employeeSearch(UserFilterDto filter, String query) {
+        Specification<User> spec = UserSpecifications.withFilter(filter, userSearchIndex);
+        if (StringUtils.hasText(query)) {
+            spec = spec.and(UserSpecifications.globalSearch(query, userSearchIndex));
+        }
+        return spec;
+    }
+
+    private CursorPageDto<UserDto> scrollUsers(Specification<User> spec, PageableDto pageReq) {
+        // A cursor records the last row's sort key, and relevance order has none to resume from
+        if ("relevance".equalsIgnoreCase(pageReq.getSortBy())) {
+            throw new BadRequestException(
+                    "Relevance sorting is not supported with cursor pagination; sort by a field instead");
+        }
+        Sort sort = toPageable(pageReq).getSort();
+        ScrollPosition position = KeysetCursor.decode(pageReq.getCursor(), sort);
+        Window<User> window = userRepo.findBy(spec, q -> q.sortBy(sort)
+                .limit(pageReq.getSize())
+                .project("role")
+                .scroll(position));
+        return KeysetCursor.toPage(window, sort, this::toDtos);
+    }
+
+    private Page<UserDto> toDtoPage(Page<User> users) {
+        return new PageImpl<>(toDtos(users.getContent()), users.getPageable(), users.getTotalElements());
+    }
+
+    /**
+     * Maps a page of users with one extra select for all of their factory and bay names,
+     * so list endpoints cost the same number of statements whatever the page size.
+     */
+    private List<UserDto> toDtos(List<User> users) {
+        if (users.isEmpty()) {
+            return List.of();
+        }
+        List<Long> userIds = users.stream().map(User::getId).toList();
+        Map<Long, List<UserFactoryAssignmentDto>> assignmentsByUser = new HashMap<>();
+        for (UserFactoryAssignmentDto assignment : userFactoryMappingRepository.findAssignmentsByUserIdIn(userIds)) {
+            assignmentsByUser.computeIfAbsent(assignment.getUserId(), id -> new ArrayList<>()).add(assignment);
+        }
+        return users.stream()
+                .map(u -> toDto(u, assignmentsByUser.getOrDefault(u.getId(), List.of())))
+                .toList();
+    }
+
+    // Convert entity to DTO; package-private for the JMH benchmarks
+    static UserDto toDto(User u) {
+        List<UserFactoryAssignmentDto> assignments = u.getFactoryMappings() == null ? List.of() :
                 u.getFactoryMappings().stream()
-                        .map(m -> m.getFactory() != null ? m.getFactory().getName() : null)
-                        .filter(Objects::nonNull)
-                        .distinct()
+                        .map(m -> new UserFactoryAssignmentDto(u.getId(),
+                                m.getFactory() != null ? m.getFactory().getName() : null,
+                                m.getBay() != null ? m.getBay().getName() : null))
                         .toList();
+        return toDto(u, assignments);
+    }
 
-        String bay = u.getFactoryMappings() == null ? null :
-                u.getFactoryMappings().stream()
-                        .map(m -> m.getBay() != null ? m.getBay().getName() : null)
-                        .filter(Objects::nonNull)
-                        .findFirst()
-                        .orElse(null);
+    private static UserDto toDto(User u, List<UserFactoryAssignmentDto> assignments) {
+        List<String> factories = assignments.stream()
+                .map(UserFactoryAssignmentDto::getFactoryName)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+
+        String bay = assignments.stream()
+                .map(UserFactoryAssignmentDto::getBayName)
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse(null);
 
         return UserDto.builder()
                 .userId(u.getUserId())
@@ -113,6 +188,11 @@ public class UserService {
     }
 
     private Pageable toPageable(PageableDto dto) {
+        // "relevance" leaves the order to the search index, which ranks by match quality
+        if ("relevance".equalsIgnoreCase(dto.getSortBy())) {
+            return PageRequest.of(dto.getPage(), dto.getSize());
+        }
+
         String sortField = "user_id".equalsIgnoreCase(dto.getSortBy())
                 ? "userId"
                 : dto.getSortBy();
@@ -134,14 +214,55 @@ public class UserService {
 
 
     /**
-     * Creates a new user with optional single factory assignment.
+     * Creates a new user with optional single factory assignment. The request is validated and
+     * the password hashed before the insert transaction opens, so no connection is held for the
+     * BCrypt work.
      */
-    @Transactional
-    public UserDto createUser(CreateUserRequestDto dto) throws BadRequestException {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UserDto createUser(CreateUserRequestDto dto) {
         if (userRepo.existsByEmail(dto.getEmail())) {
             throw new BadRequestException("Email already exists");
         }
+        NewUser newUser = validateNewUser(dto);
+        String passwordHash = passwordHashingService.encode(dto.getPassword());
+        return transactionTemplate.execute(status -> insertUsers(List.of(newUser), List.of(passwordHash)).get(0));
+    }
 
+    /**
+     * Bulk onboarding. Every entry is validated up front and nothing is created if any of them
+     * is invalid; the passwords are then hashed in parallel across the hashing pool and all users
+     * and factory mappings are inserted in one transaction.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<UserDto> createUsers(List<CreateUserRequestDto> dtos) {
+        if (dtos.isEmpty()) {
+            throw new BadRequestException("No users to create");
+        }
+        if (dtos.size() > MAX_BULK_USERS) {
+            throw new BadRequestException("At most " + MAX_BULK_USERS + " users can be created per request");
+        }
+
+        Set<String> emails = new HashSet<>();
+        for (CreateUserRequestDto dto : dtos) {
+            if (!emails.add(dto.getEmail())) {
+                throw new BadRequestException("Email appears more than once: " + dto.getEmail());
+            }
+        }
+        List<String> existing = userRepo.findExistingEmails(emails);
+        if (!existing.isEmpty()) {
+            throw new BadRequestException("Email already exists: " + String.join(", ", existing));
+        }
+
+        List<NewUser> newUsers = new ArrayList<>(dtos.size());
+        for (CreateUserRequestDto dto : dtos) {
+            newUsers.add(validateNewUser(dto));
+        }
+        List<String> passwordHashes = passwordHashingService.encodeAll(
+                dtos.stream().map(CreateUserRequestDto::getPassword).toList());
+        return transactionTemplate.execute(status -> insertUsers(newUsers, passwordHashes));
+    }
+
+    private NewUser validateNewUser(CreateUserRequestDto dto) {
         UserRole roleEnum;
         try {
             roleEnum = UserRole.valueOf(dto.getRoleName().toUpperCase());
@@ -149,38 +270,56 @@ public class UserService {
             throw new BadRequestException("Invalid role: " + dto.getRoleName());
         }
 
-        Role role = roleRepository.findByName(roleEnum)
+        Role role = referenceDataCache.findRole(roleEnum)
                 .orElseThrow(() -> new BadRequestException("Role not found: " + dto.getRoleName()));
-        User user = User.builder()
-                .name(dto.getName())
-                .email(dto.getEmail())
-                .password(passwordEncoder.encode(dto.getPassword()))
-                .phone(dto.getPhone())
-                .role(role)
-                .isActive(ActiveStatus.ACTIVE)
-                .factoryMappings(new ArrayList<>())
-                .build();
-
-        User savedUser = userRepo.save(user);
 
         // Assign to ONE factory only
+        Factory factory = null;
         if (StringUtils.hasText(dto.getFactoryId())) {
-            Factory factory = factoryRepository.findByFactoryId(dto.getFactoryId())
+            factory = referenceDataCache.findFactory(dto.getFactoryId())
                     .orElseThrow(() -> new BadRequestException("Factory not found: " + dto.getFactoryId()));
+        }
+        return new NewUser(dto, role, factory);
+    }
 
-            UserFactoryMapping mapping = UserFactoryMapping.builder()
-                    .user(savedUser)
-                    .factory(factory)
-                    .assignedRole(role)
-                    .build();
-
-            userFactoryMappingRepository.save(mapping);
-            savedUser.getFactoryMappings().add(mapping); // for toDto()
+    private List<UserDto> insertUsers(List<NewUser> newUsers, List<String> passwordHashes) {
+        List<User> users = new ArrayList<>(newUsers.size());
+        for (int i = 0; i < newUsers.size(); i++) {
+            CreateUserRequestDto dto = newUsers.get(i).dto();
+            users.add(User.builder()
+                    .userId(businessIdGenerator.next(BusinessIdType.USER))
+                    .name(dto.getName())
+                    .email(dto.getEmail())
+                    .password(passwordHashes.get(i))
+                    .phone(dto.getPhone())
+                    .role(newUsers.get(i).role())
+                    .isActive(ActiveStatus.ACTIVE)
+                    .factoryMappings(new ArrayList<>())
+                    .build());
+        }
+        List<User> savedUsers = userRepo.saveAll(users);
+
+        List<UserFactoryMapping> mappings = new ArrayList<>();
+        for (int i = 0; i < savedUsers.size(); i++) {
+            NewUser newUser = newUsers.get(i);
+            if (newUser.factory() != null) {
+                UserFactoryMapping mapping = UserFactoryMapping.builder()
+                        .user(savedUsers.get(i))
+                        .factory(newUser.factory())
+                        .assignedRole(newUser.role())
+                        .build();
+                mappings.add(mapping);
+                savedUsers.get(i).getFactoryMappings().add(mapping); // for toDto()
+            }
         }
+        userFactoryMappingRepository.saveAll(mappings);
+        savedUsers.forEach(userSearchIndex::index);
 
-        return toDto(savedUser);
+        return savedUsers.stream().map(UserService::toDto).toList();
     }
 
+    private record NewUser(CreateUserRequestDto dto, Role role, Factory factory) {}
+
     @Transactional
     public void deactivateUser(String userId) {
         User user = userRepo.findByUserId(userId)
@@ -192,6 +331,8 @@ public class UserService {
             // This is a safety net in case the user was deleted between the exists check and the update
             throw new NoSuchElementException("User not found with ID: " + userId);
         }
+        principalCache.invalidate(user.getEmail());
+        referenceDataCache.invalidateFactoriesHeadedBy(user.getId());
     }
 
 //    @Transactional
@@ -215,7 +356,7 @@ public class UserService {
         if (StringUtils.hasText(dto.getRoleName())) {
             try {
                 UserRole roleEnum = UserRole.valueOf(dto.getRoleName().toUpperCase());
-                newRole = roleRepository.findByName(roleEnum)
+                newRole = referenceDataCache.findRole(roleEnum)
                         .orElseThrow(() -> new NoSuchElementException("Role not found: " + dto.getRoleName()));
             } catch (IllegalArgumentException e) {
                 throw new IllegalArgumentException("Invalid role provided: " + dto.getRoleName());
@@ -227,23 +368,31 @@ public class UserService {
         String newImageUrl = dto.getImageUrl() != null ? dto.getImageUrl() : user.getImageUrl();
 
         userRepo.updateUserProfile(userId, newName, newPhone, newImageUrl, newRole);
+        principalCache.invalidate(user.getEmail());
+        referenceDataCache.invalidateFactoriesHeadedBy(user.getId());
 
         User updatedUser = userRepo.findByUserId(userId)
                 .orElseThrow(() -> new IllegalStateException("Failed to refetch user after update."));
+        userSearchIndex.index(updatedUser);
 
         return toDto(updatedUser);
     }
 
 
-    @Transactional
-    public String uploadUserImage(String userId, MultipartFile file) {
+    /**
+     * Spools the image and hands it to the media upload pool, so neither the request thread's
+     * transaction nor a database connection is held during the network upload. The image URL is
+     * written in a short transaction of its own once the upload completes.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<String> uploadUserImage(String userId, MultipartFile file) {
         if (!userRepo.existsByUserId(userId)) {
             throw new ResourceNotFoundException("User not found with ID: " + userId);
         }
-        String imageUrl = cloudinaryService.uploadFile(file);
-
-        userRepo.updateUserImageUrl(userId, imageUrl);
-
-        return imageUrl;
+        return mediaUploadService.upload(file, USER_IMAGE_FOLDER)
+                .thenApply(imageUrl -> {
+                    transactionTemplate.executeWithoutResult(status -> userRepo.updateUserImageUrl(userId, imageUrl));
+                    return imageUrl;
+                });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,35 @@
+package com.example.sellerhelp.common;
+
+/**
+ * How the ids of one {@link BusinessIdType} are rendered: a prefix followed by the sequence
+ * number, zero-padded to {@code width} digits.
+ */
+public record BusinessIdFormat(String prefix, int width) {
+
+    public String format(long value) {
+        String digits = Long.toString(value);
+        return digits.length() >= width
+                ? prefix + digits
+                : prefix + "0".repeat(width - digits.length()) + digits;
+    }
+
+    /**
+     * The format an existing id was written in: everything before its trailing digits is the
+     * prefix and the number of trailing digits the width. New numbers are always larger than the
+     * existing ones, so an id without leading zeros still yields a width that never over-pads.
+     * Falls back to {@code fallback} when there is no sample or it does not end in digits.
+     */
+    public static BusinessIdFormat of(String sample, BusinessIdFormat fallback) {
+        if (sample == null) {
+            return fallback;
+        }
+        int digitsStart = sample.length();
+        while (digitsStart > 0 && Character.isDigit(sample.charAt(digitsStart - 1))) {
+            digitsStart--;
+        }
+        if (digitsStart == sample.length()) {
+            return fallback;
+        }
+        return new BusinessIdFormat(sample.substring(0, digitsStart), sample.length() - digitsStart);
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.sellerhelp.common;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hands out public identifiers (order ids, invoice ids, request numbers, ...) in memory so
+ * entities carry their business id before they are persisted, instead of reading back a value
+ * written by an insert trigger.
+ * <p>
+ * Each type is backed by a sequence with {@code INCREMENT BY business-id.block-size}. One
+ * {@code nextval} reserves a whole block {@code [value, value + blockSize)} for this node, which is
+ * then consumed locally; blocks never overlap, so ids stay unique across app nodes. A restart
+ * abandons the rest of the current block, so ids have gaps but are never reused.
+ * <p>
+ * Ids are rendered in the format already used in each table (see {@link BusinessIdFormat#of}).
+ */
+@Slf4j
+@Component
+public class BusinessIdGenerator {
+
+    private static final BigInteger MAX_NUMBER = BigInteger.valueOf(Long.MAX_VALUE - 1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Dialect dialect;
+    private final int blockSize;
+    private final Map<BusinessIdType, Block> blocks = new EnumMap<>(BusinessIdType.class);
+    private final Map<BusinessIdType, BusinessIdFormat> formats = new EnumMap<>(BusinessIdType.class);
+
+    public BusinessIdGenerator(JdbcTemplate jdbcTemplate,
+                               EntityManagerFactory entityManagerFactory,
+                               @Value("${business-id.block-size:50}") int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalStateException("business-id.block-size must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        this.blockSize = blockSize;
+        for (BusinessIdType type : BusinessIdType.values()) {
+            blocks.put(type, new Block());
+        }
+    }
+
+    /**
+     * Prepares every type before the first id is handed out. A missing sequence (a fresh schema,
+     * or H2) is created seeded past the ids already in its table; an existing one must have
+     * {@code INCREMENT BY} equal to the block size, or blocks from different nodes would overlap.
+     * Any failure stops startup rather than risk issuing duplicate ids.
+     */
+    @PostConstruct
+    void initialise() {
+        for (BusinessIdType type : BusinessIdType.values()) {
+            Long increment = sequenceIncrement(type);
+            if (increment == null) {
+                long start = highestIssuedNumber(type) + 1;
+                jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + type.getSequenceName()
+                        + " START WITH " + start + " INCREMENT BY " + blockSize);
+                log.info("Created sequence {} starting at {}", type.getSequenceName(), start);
+                increment = sequenceIncrement(type);
+            }
+            if (increment == null || increment != blockSize) {
+                throw new IllegalStateException("Sequence " + type.getSequenceName() + " has INCREMENT BY " + increment
+                        + " but business-id.block-size is " + blockSize + "; they must be equal");
+            }
+            formats.put(type, BusinessIdFormat.of(newestId(type), type.getDefaultFormat()));
+        }
+    }
+
+    public String next(BusinessIdType type) {
+        Block block = blocks.get(type);
+        synchronized (block) {
+            if (block.next >= block.end) {
+                long start = allocateBlock(type);
+                block.next = start;
+                block.end = start + blockSize;
+            }
+            return formats.get(type).format(block.next++);
+        }
+    }
+
+    // nextval is never rolled back, so the block stays reserved even if the caller's transaction fails
+    private long allocateBlock(BusinessIdType type) {
+        Long start = jdbcTemplate.queryForObject(
+                dialect.getSequenceSupport().getSequenceNextValString(type.getSequenceName()), Long.class);
+        if (start == null) {
+            throw new IllegalStateException("Sequence " + type.getSequenceName() + " returned no value");
+        }
+        return start;
+    }
+
+    private Long sequenceIncrement(BusinessIdType type) {
+        List<String> increments = jdbcTemplate.queryForList(
+                "SELECT increment FROM information_schema.sequences " +
+                "WHERE LOWER(sequence_name) = ? AND LOWER(sequence_schema) = LOWER(CURRENT_SCHEMA)",
+                String.class, type.getSequenceName());
+        return increments.isEmpty() ? null : Long.valueOf(increments.get(0).trim());
+    }
+
+    // Same rule as the migration: the largest number found in any existing id, whatever its prefix
+    private long highestIssuedNumber(BusinessIdType type) {
+        long[] highest = {0};
+        jdbcTemplate.query("SELECT " + type.getColumnName() + " FROM " + type.getTableName(), rs -> {
+            String digits = rs.getString(1) == null ? "" : rs.getString(1).replaceAll("\\D", "");
+            if (!digits.isEmpty()) {
+                highest[0] = Math.max(highest[0], new BigInteger(digits).min(MAX_NUMBER).longValue());
+            }
+        });
+        return highest[0];
+    }
+
+    private String newestId(BusinessIdType type) {
+        List<String> ids = jdbcTemplate.queryForList(
+                "SELECT " + type.getColumnName() + " FROM " + type.getTableName() +
+                " WHERE id = (SELECT MAX(id) FROM " + type.getTableName() + ")", String.class);
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+
+    private static final class Block {
+        private long next;
+        private long end;
+    }
+}
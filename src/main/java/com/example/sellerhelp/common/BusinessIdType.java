@@ -0,0 +1,42 @@
+package com.example.sellerhelp.common;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The public identifier families and the column each one fills. Every type draws its numbers
+ * from its own database sequence (see {@code db/postgres/007_business_id_sequences.sql}).
+ * <p>
+ * Ids keep the format the legacy insert triggers wrote, which {@link BusinessIdGenerator} reads
+ * from the newest existing row at startup. The default format only applies to a table that has
+ * no ids yet.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum BusinessIdType {
+
+    USER("USR-", "users", "user_id"),
+    FACTORY("FAC-", "factory", "factory_id"),
+    PRODUCT("PRD-", "product", "product_id"),
+    TOOL("TL-", "tools", "tool_id"),
+    DEALER_ORDER("DO-", "dealer_order", "order_id"),
+    DEALER_INVOICE("DINV-", "dealer_invoice", "invoice_id"),
+    CUSTOMER_ORDER("CO-", "customer_order", "order_id"),
+    CUSTOMER_INVOICE("CINV-", "customer_invoice", "invoice_id"),
+    PRODUCT_REQUEST("PR-", "product_request", "request_number"),
+    TOOL_REQUEST("TR-", "tool_request", "request_number");
+
+    private static final int DEFAULT_WIDTH = 6;
+
+    private final String defaultPrefix;
+    private final String tableName;
+    private final String columnName;
+
+    public String getSequenceName() {
+        return tableName + "_business_id_seq";
+    }
+
+    public BusinessIdFormat getDefaultFormat() {
+        return new BusinessIdFormat(defaultPrefix, DEFAULT_WIDTH);
+    }
+}
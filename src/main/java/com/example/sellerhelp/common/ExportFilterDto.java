@@ -0,0 +1,58 @@
+package com.example.sellerhelp.common;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Query parameters shared by the export endpoints. Each export applies the filters that make sense
+ * for it and ignores the rest; {@code from} and {@code to} are inclusive calendar days.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class ExportFilterDto {
+    private String factoryId;
+    private String dealerId;
+    private String productId;
+    private String status;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+
+    // csv or ndjson
+    private String format = "csv";
+
+    public LocalDateTime fromStartOfDay() {
+        return from != null ? from.atStartOfDay() : null;
+    }
+
+    // Exclusive upper bound, so timestamps anywhere on the last day are included
+    public LocalDateTime toEndOfDay() {
+        return to != null ? to.plusDays(1).atStartOfDay() : null;
+    }
+
+    public <E extends Enum<E>> E statusAs(Class<E> type) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, status.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown status: " + status);
+        }
+    }
+
+    public void validateRange() {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'.");
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.sellerhelp.common;
+
+import com.example.sellerhelp.exception.BadRequestException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Counterpart of {@link ImportRowReader}: writes export rows straight to the response as they come
+ * off the database cursor, either as CSV with a header line or as one JSON object per line. Only
+ * the output buffer is held in memory.
+ */
+public final class ExportRowWriter implements Closeable {
+
+    /**
+     * Where the export goes. Opened only once the filters have been resolved, so an unknown id
+     * still produces a normal error response instead of a half-written file.
+     */
+    @FunctionalInterface
+    public interface Target {
+        OutputStream open(MediaType mediaType) throws IOException;
+    }
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    /**
+     * A target that sends the export as a file download named {@code baseName.csv} or {@code baseName.ndjson}.
+     */
+    public static Target attachment(HttpServletResponse response, String baseName) {
+        return mediaType -> {
+            String extension = TEXT_CSV.includes(mediaType) ? "csv" : "ndjson";
+            response.setContentType(mediaType.toString());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.attachment().filename(baseName + "." + extension).build().toString());
+            return response.getOutputStream();
+        };
+    }
+
+    private final Writer writer;
+    private final JsonGenerator json;
+    private final List<String> columns;
+    private long rows;
+
+    public ExportRowWriter(OutputStream out, MediaType mediaType, ObjectMapper objectMapper, List<String> columns) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        this.columns = columns;
+        if (TEXT_CSV.includes(mediaType)) {
+            this.json = null;
+            writeCsvLine(columns.toArray());
+        } else {
+            this.json = objectMapper.createGenerator(writer);
+            // Each object ends its own line; drop Jackson's default space between root values
+            json.setPrettyPrinter(new MinimalPrettyPrinter(""));
+        }
+    }
+
+    /**
+     * @return the media type for a {@code format} request parameter ({@code csv} or {@code ndjson})
+     */
+    public static MediaType mediaType(String format) {
+        if (format == null || format.equalsIgnoreCase("csv")) {
+            return TEXT_CSV;
+        }
+        if (format.equalsIgnoreCase("ndjson")) {
+            return MediaType.APPLICATION_NDJSON;
+        }
+        throw new BadRequestException("Unsupported export format: " + format + ". Use csv or ndjson.");
+    }
+
+    /**
+     * Writes one row; values are given in column order.
+     */
+    public void write(Object... values) {
+        try {
+            if (json == null) {
+                writeCsvLine(values);
+            } else {
+                json.writeStartObject();
+                for (int i = 0; i < columns.size(); i++) {
+                    json.writeObjectField(columns.get(i), values[i]);
+                }
+                json.writeEndObject();
+                json.writeRaw('\n');
+            }
+            rows++;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write export row " + (rows + 1), e);
+        }
+    }
+
+    public long rowCount() {
+        return rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (json != null) {
+            json.close();
+        } else {
+            writer.close();
+        }
+    }
+
+    private void writeCsvLine(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeCsvField(values[i]);
+        }
+        writer.write("\r\n");
+    }
+
+    // RFC 4180: quote fields holding a separator, quote or line break, doubling embedded quotes
+    private void writeCsvField(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.sellerhelp.common;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import: how many rows were applied and, per rejected row, its line number
+ * and the reason. Only the first {@code maxErrors} rejections are listed so a badly broken
+ * upload cannot blow up the response.
+ */
+@Getter
+public class ImportResultDto {
+
+    private long importedRows;
+    private long rejectedRows;
+    private boolean errorsTruncated;
+    private final List<RowError> errors = new ArrayList<>();
+
+    @JsonIgnore
+    private final int maxErrors;
+
+    public ImportResultDto(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    public long getTotalRows() {
+        return importedRows + rejectedRows;
+    }
+
+    public void imported(int rows) {
+        importedRows += rows;
+    }
+
+    public void reject(long lineNumber, String message) {
+        rejectedRows++;
+        if (errors.size() < maxErrors) {
+            errors.add(new RowError(lineNumber, message));
+        } else {
+            errorsTruncated = true;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
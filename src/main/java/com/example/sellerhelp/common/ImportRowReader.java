@@ -0,0 +1,186 @@
+package com.example.sellerhelp.common;
+
+import com.example.sellerhelp.exception.BadRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads a bulk upload one line at a time, so an import never holds more than the current line
+ * in memory. CSV uploads start with a header line naming the columns; NDJSON uploads carry one
+ * JSON object per line. Blank lines are skipped, and a line that cannot be parsed comes back as
+ * a row with an error instead of aborting the whole upload.
+ */
+public final class ImportRowReader implements Closeable {
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType(TEXT_CSV_VALUE);
+
+    /**
+     * One uploaded line: its 1-based line number and either its fields or a parse error.
+     * The {@code require*} accessors throw IllegalArgumentException with a message fit for the
+     * row's entry in the import report.
+     */
+    public record Row(long lineNumber, Map<String, String> fields, String error) {
+
+        public String requireText(String name) {
+            String value = fields.get(name);
+            if (value == null || value.isBlank()) {
+                throw new IllegalArgumentException(name + " is required.");
+            }
+            return value.trim();
+        }
+
+        public long requirePositiveLong(String name) {
+            String value = requireText(name);
+            try {
+                long number = Long.parseLong(value);
+                if (number < 1) {
+                    throw new IllegalArgumentException(name + " must be at least 1.");
+                }
+                return number;
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(name + " must be a whole number, got '" + value + "'.");
+            }
+        }
+
+        public LocalDate requireDate(String name) {
+            String value = requireText(name);
+            try {
+                return LocalDate.parse(value);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException(name + " must be an ISO date (yyyy-MM-dd), got '" + value + "'.");
+            }
+        }
+    }
+
+    private final BufferedReader reader;
+    private final boolean csv;
+    private final ObjectMapper objectMapper;
+    private List<String> header;
+    private long lineNumber;
+
+    public ImportRowReader(InputStream body, String contentType, ObjectMapper objectMapper) {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        this.csv = TEXT_CSV.includes(mediaType);
+        if (!csv && !MediaType.APPLICATION_NDJSON.includes(mediaType)) {
+            throw new BadRequestException("Unsupported import format: " + contentType + ". Use text/csv or application/x-ndjson.");
+        }
+        Charset charset = mediaType.getCharset() != null ? mediaType.getCharset() : StandardCharsets.UTF_8;
+        this.reader = new BufferedReader(new InputStreamReader(body, charset));
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * The next row, or null at the end of the upload.
+     */
+    public Row next() {
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (csv && header == null) {
+                    // Spreadsheet exports often start with a byte order mark
+                    String headerLine = line.charAt(0) == '\uFEFF' ? line.substring(1) : line;
+                    header = splitCsv(headerLine).stream().map(String::trim).toList();
+                    continue;
+                }
+                return csv ? csvRow(line) : jsonRow(line);
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read import upload at line " + lineNumber, e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private Row csvRow(String line) {
+        List<String> values = splitCsv(line);
+        if (values.size() != header.size()) {
+            return error("Expected " + header.size() + " columns but found " + values.size() + ".");
+        }
+        Map<String, String> fields = new LinkedHashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            fields.put(header.get(i), values.get(i));
+        }
+        return new Row(lineNumber, fields, null);
+    }
+
+    private Row jsonRow(String line) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            return error("Invalid JSON: " + e.getOriginalMessage());
+        }
+        if (!node.isObject()) {
+            return error("Expected a JSON object.");
+        }
+        Map<String, String> fields = new LinkedHashMap<>();
+        for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = it.next();
+            if (!field.getValue().isNull()) {
+                fields.put(field.getKey(), field.getValue().asText());
+            }
+        }
+        return new Row(lineNumber, fields, null);
+    }
+
+    private Row error(String message) {
+        return new Row(lineNumber, Map.of(), message);
+    }
+
+    // RFC 4180 fields: commas inside double quotes, and "" for a literal quote. Records may not span lines.
+    private static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+}
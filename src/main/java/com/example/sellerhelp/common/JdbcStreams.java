@@ -0,0 +1,33 @@
+package com.example.sellerhelp.common;
+
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Forward-only, read-only JDBC queries for exports. The driver fetches {@link #FETCH_SIZE} rows per
+ * round trip instead of materialising the whole result, so memory stays flat however many rows
+ * match. PostgreSQL only uses a cursor inside a transaction, so callers must consume the stream in
+ * one (a read-only one is enough) and close it when done.
+ */
+public final class JdbcStreams {
+
+    public static final int FETCH_SIZE = 1000;
+
+    private JdbcStreams() {
+    }
+
+    public static <T> Stream<T> forwardOnly(JdbcTemplate jdbcTemplate, String sql, List<Object> args, RowMapper<T> rowMapper) {
+        return jdbcTemplate.queryForStream(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(FETCH_SIZE);
+            new ArgumentPreparedStatementSetter(args.toArray()).setValues(statement);
+            return statement;
+        }, rowMapper);
+    }
+}
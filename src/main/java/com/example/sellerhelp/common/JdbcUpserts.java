@@ -0,0 +1,79 @@
+package com.example.sellerhelp.common;
+
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Portable batched upsert for counter rows behind a unique key: an UPDATE batch for every row,
+ * then an INSERT batch for the rows the update did not touch. Works the same on PostgreSQL and H2,
+ * unlike {@code ON CONFLICT} or {@code MERGE}.
+ * <p>
+ * When a concurrent transaction inserts one of the missing rows first, the unique key rejects our
+ * insert. The inserts run under a savepoint, so they are rolled back without aborting the caller's
+ * transaction, and the update is retried against the row that now exists. Must be called inside a
+ * transaction, and the table must have a unique constraint on the key the statements use.
+ */
+public final class JdbcUpserts {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private JdbcUpserts() {
+    }
+
+    /**
+     * @param updateArgs arguments for {@code updateSql}, one array per row
+     * @param insertArgs arguments for {@code insertSql}, in the same row order as {@code updateArgs}
+     */
+    public static void updateOrInsert(JdbcTemplate jdbcTemplate, String updateSql, List<Object[]> updateArgs,
+                                      String insertSql, List<Object[]> insertArgs) {
+        List<Integer> pending = new ArrayList<>(updateArgs.size());
+        for (int i = 0; i < updateArgs.size(); i++) {
+            pending.add(i);
+        }
+
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            int[] counts = jdbcTemplate.batchUpdate(updateSql, select(updateArgs, pending));
+            List<Integer> missing = new ArrayList<>();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 0) {
+                    missing.add(pending.get(i));
+                }
+            }
+            if (missing.isEmpty() || insertUnderSavepoint(jdbcTemplate, insertSql, select(insertArgs, missing))) {
+                return;
+            }
+            if (attempt == MAX_ATTEMPTS) {
+                throw new ConcurrencyFailureException("Rows kept being inserted concurrently: " + insertSql);
+            }
+            pending = missing;
+        }
+    }
+
+    private static boolean insertUnderSavepoint(JdbcTemplate jdbcTemplate, String insertSql, List<Object[]> args) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            try {
+                jdbcTemplate.batchUpdate(insertSql, args);
+            } catch (DuplicateKeyException e) {
+                connection.rollback(savepoint);
+                return false;
+            }
+            connection.releaseSavepoint(savepoint);
+            return true;
+        }));
+    }
+
+    private static List<Object[]> select(List<Object[]> rows, List<Integer> indexes) {
+        List<Object[]> selected = new ArrayList<>(indexes.size());
+        for (Integer index : indexes) {
+            selected.add(rows.get(index));
+        }
+        return selected;
+    }
+}
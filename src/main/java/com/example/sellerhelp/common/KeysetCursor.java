@@ -0,0 +1,123 @@
+package com.example.sellerhelp.common;
+
+import com.example.sellerhelp.exception.BadRequestException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Encodes keyset scroll positions as opaque, URL-safe continuation tokens.
+ * A token carries the sort it was issued for and is rejected if replayed against a different sort.
+ */
+public final class KeysetCursor {
+
+    private static final String VERSION = "v1";
+    private static final String FIELD_SEPARATOR = "|";
+    private static final String TYPE_SEPARATOR = ":";
+
+    private KeysetCursor() {}
+
+    /**
+     * The position to resume from: the start of the list when no cursor was sent.
+     */
+    public static ScrollPosition decode(String cursor, Sort sort) {
+        if (!StringUtils.hasText(cursor)) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + FIELD_SEPARATOR, -1);
+            if (parts.length < 2 || !VERSION.equals(parts[0])) {
+                throw new BadRequestException("Invalid pagination cursor.");
+            }
+            if (!sortKey(sort).equals(unescape(parts[1]))) {
+                throw new BadRequestException("Pagination cursor was issued for a different sort order.");
+            }
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (int i = 2; i < parts.length; i++) {
+                String[] entry = parts[i].split(TYPE_SEPARATOR, 3);
+                keys.put(unescape(entry[0]), decodeValue(entry[1], unescape(entry[2])));
+            }
+            return ScrollPosition.forward(keys);
+        } catch (BadRequestException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            // Malformed base64, missing fields or unparsable values
+            throw new BadRequestException("Invalid pagination cursor.");
+        }
+    }
+
+    public static String encode(KeysetScrollPosition position, Sort sort) {
+        StringBuilder raw = new StringBuilder(VERSION).append(FIELD_SEPARATOR).append(escape(sortKey(sort)));
+        position.getKeys().forEach((key, value) -> raw.append(FIELD_SEPARATOR)
+                .append(escape(key)).append(TYPE_SEPARATOR)
+                .append(typeTag(key, value)).append(TYPE_SEPARATOR)
+                .append(value == null ? "" : escape(value.toString())));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static <T, R> CursorPageDto<R> toPage(Window<T> window, Sort sort, Function<List<T>, List<R>> mapper) {
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            nextCursor = encode((KeysetScrollPosition) window.positionAt(window.size() - 1), sort);
+        }
+        return CursorPageDto.<R>builder()
+                .content(mapper.apply(window.getContent()))
+                .size(window.size())
+                .hasNext(window.hasNext())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private static String sortKey(Sort sort) {
+        return sort.toString();
+    }
+
+    private static String typeTag(String key, Object value) {
+        if (value == null) return "N";
+        if (value instanceof String) return "S";
+        if (value instanceof Long) return "L";
+        if (value instanceof Integer) return "I";
+        if (value instanceof LocalDateTime) return "T";
+        if (value instanceof LocalDate) return "D";
+        if (value instanceof BigDecimal) return "B";
+        if (value instanceof Boolean) return "Z";
+        throw new BadRequestException("Cursor pagination is not supported when sorting by '" + key + "'.");
+    }
+
+    private static Object decodeValue(String tag, String value) {
+        return switch (tag) {
+            case "N" -> null;
+            case "S" -> value;
+            case "L" -> Long.valueOf(value);
+            case "I" -> Integer.valueOf(value);
+            case "T" -> LocalDateTime.parse(value);
+            case "D" -> LocalDate.parse(value);
+            case "B" -> new BigDecimal(value);
+            case "Z" -> Boolean.valueOf(value);
+            default -> throw new IllegalArgumentException("Unknown cursor value type: " + tag);
+        };
+    }
+
+    private static String escape(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String unescape(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+}
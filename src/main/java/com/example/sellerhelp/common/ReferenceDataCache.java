@@ -0,0 +1,227 @@
+package com.example.sellerhelp.common;
+
+import com.example.sellerhelp.appuser.entity.Role;
+import com.example.sellerhelp.constant.UserRole;
+import com.example.sellerhelp.factory.entity.Factory;
+import com.example.sellerhelp.product.entity.Product;
+import com.example.sellerhelp.product.entity.ProductCategory;
+import com.example.sellerhelp.tool.entity.Tool;
+import com.example.sellerhelp.tool.entity.ToolCategory;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-evicting cache of the small, rarely changing lookup tables: factories, products and
+ * tools by their public id, roles by name, and the tool and product category lists.
+ * <p>
+ * Entries are loaded through a short-lived EntityManager, so they are always detached and never
+ * join a caller's persistence context. Callers may read them and use them as association targets,
+ * but must not modify them: writers load the row through the repository and then call one of the
+ * invalidate methods.
+ * <p>
+ * A cached factory also carries its plant head, whose name, email and status belong to the user
+ * row; whoever changes that user calls {@link #invalidateFactoriesHeadedBy}.
+ */
+@Slf4j
+@Component
+public class ReferenceDataCache {
+
+    private static final String ALL = "all";
+    // Product's associations are lazy; fetch the ones its DTO reads so detached entries are usable
+    private static final String PRODUCT_SELECT = "SELECT p FROM Product p LEFT JOIN FETCH p.category "
+            + "LEFT JOIN FETCH p.createdBy LEFT JOIN FETCH p.updatedBy";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final long maxSize;
+    private final Duration ttl;
+
+    private final Cache<String, Factory> factories;
+    private final Cache<String, Product> products;
+    private final Cache<String, Tool> tools;
+    private final Cache<UserRole, Role> roles;
+    private final Cache<String, List<ToolCategory>> toolCategories;
+    private final Cache<String, List<ProductCategory>> productCategories;
+
+    public ReferenceDataCache(EntityManagerFactory entityManagerFactory,
+                              @Value("${reference-data.max-size:10000}") long maxSize,
+                              @Value("${reference-data.ttl:10m}") Duration ttl) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.factories = newCache();
+        this.products = newCache();
+        this.tools = newCache();
+        this.roles = newCache();
+        this.toolCategories = newCache();
+        this.productCategories = newCache();
+    }
+
+    /**
+     * Lookups return empty for unknown ids; misses are not cached, so a row created later is
+     * found immediately.
+     */
+    public Optional<Factory> findFactory(String factoryId) {
+        return Optional.ofNullable(factories.get(factoryId, id -> single(em -> em
+                .createQuery("SELECT f FROM Factory f WHERE f.factoryId = :id", Factory.class)
+                .setParameter("id", id))));
+    }
+
+    public Optional<Product> findProduct(String productId) {
+        return Optional.ofNullable(products.get(productId, id -> single(em -> em
+                .createQuery(PRODUCT_SELECT + " WHERE p.productId = :id", Product.class)
+                .setParameter("id", id))));
+    }
+
+    public Optional<Tool> findTool(String toolId) {
+        return Optional.ofNullable(tools.get(toolId, id -> single(em -> em
+                .createQuery("SELECT t FROM Tool t WHERE t.toolId = :id", Tool.class)
+                .setParameter("id", id))));
+    }
+
+    public Optional<Role> findRole(UserRole name) {
+        return Optional.ofNullable(roles.get(name, key -> single(em -> em
+                .createQuery("SELECT r FROM Role r WHERE r.name = :name", Role.class)
+                .setParameter("name", key))));
+    }
+
+    public List<ToolCategory> toolCategories() {
+        return toolCategories.get(ALL, key -> query(em -> List.copyOf(em
+                .createQuery("SELECT c FROM ToolCategory c ORDER BY c.id", ToolCategory.class)
+                .getResultList())));
+    }
+
+    public List<ProductCategory> productCategories() {
+        return productCategories.get(ALL, key -> query(em -> List.copyOf(em
+                .createQuery("SELECT c FROM ProductCategory c ORDER BY c.name", ProductCategory.class)
+                .getResultList())));
+    }
+
+    public Optional<ToolCategory> findToolCategory(Long id) {
+        return toolCategories().stream().filter(category -> category.getId().equals(id)).findFirst();
+    }
+
+    public Optional<ProductCategory> findProductCategory(Long id) {
+        return productCategories().stream().filter(category -> category.getId().equals(id)).findFirst();
+    }
+
+    public void invalidateFactory(String factoryId) {
+        runNowAndAfterCommit(() -> factories.invalidate(factoryId));
+    }
+
+    /**
+     * Drops every cached factory whose plant head is this user, after their profile, role or
+     * status changed.
+     */
+    public void invalidateFactoriesHeadedBy(Long userId) {
+        runNowAndAfterCommit(() -> factories.asMap().values().removeIf(factory ->
+                factory.getPlantHead() != null && userId.equals(factory.getPlantHead().getId())));
+    }
+
+    public void invalidateProduct(String productId) {
+        runNowAndAfterCommit(() -> products.invalidate(productId));
+    }
+
+    public void invalidateTool(String toolId) {
+        runNowAndAfterCommit(() -> tools.invalidate(toolId));
+    }
+
+    public void invalidateToolCategories() {
+        runNowAndAfterCommit(() -> toolCategories.invalidate(ALL));
+    }
+
+    public void invalidateProductCategories() {
+        runNowAndAfterCommit(() -> productCategories.invalidate(ALL));
+    }
+
+    /**
+     * The underlying caches by name, for the admin stats endpoint and metrics binding.
+     */
+    public Map<String, Cache<?, ?>> nativeCaches() {
+        Map<String, Cache<?, ?>> caches = new LinkedHashMap<>();
+        caches.put("factories", factories);
+        caches.put("products", products);
+        caches.put("tools", tools);
+        caches.put("roles", roles);
+        caches.put("toolCategories", toolCategories);
+        caches.put("productCategories", productCategories);
+        return caches;
+    }
+
+    /**
+     * Loads every table up front so the first requests after a deploy do not all miss.
+     * Tables larger than the cache bound are cut down by the normal size eviction.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long start = System.nanoTime();
+        query(em -> {
+            em.createQuery("SELECT f FROM Factory f", Factory.class).getResultList()
+                    .forEach(f -> factories.put(f.getFactoryId(), f));
+            em.createQuery(PRODUCT_SELECT, Product.class).getResultList()
+                    .forEach(p -> products.put(p.getProductId(), p));
+            em.createQuery("SELECT t FROM Tool t", Tool.class).getResultList()
+                    .forEach(t -> tools.put(t.getToolId(), t));
+            em.createQuery("SELECT r FROM Role r", Role.class).getResultList()
+                    .forEach(r -> roles.put(r.getName(), r));
+            return null;
+        });
+        toolCategories();
+        productCategories();
+        log.info("Warmed reference data cache ({} factories, {} products, {} tools) in {} ms",
+                factories.estimatedSize(), products.estimatedSize(), tools.estimatedSize(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private <K, V> Cache<K, V> newCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    private <T> T single(Function<EntityManager, TypedQuery<T>> query) {
+        return query(em -> query.apply(em).getResultStream().findFirst().orElse(null));
+    }
+
+    // Runs outside any caller transaction and closes the EntityManager, so results come back detached
+    private <T> T query(Function<EntityManager, T> work) {
+        EntityManager em = entityManagerFactory.createEntityManager();
+        try {
+            return work.apply(em);
+        } finally {
+            em.close();
+        }
+    }
+
+    // Evict immediately, and again once the writing transaction commits, so a concurrent
+    // request cannot re-populate the cache with the pre-commit row.
+    private void runNowAndAfterCommit(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
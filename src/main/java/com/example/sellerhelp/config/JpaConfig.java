@@ -0,0 +1,36 @@
+package com.example.sellerhelp.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JpaConfig {
+
+    /**
+     * Groups inserts and updates into JDBC batches. Entities with IDENTITY ids are still
+     * inserted one by one, so the high-volume mapping tables use pooled sequences instead.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingCustomizer(
+            @Value("${app.jpa.batch-size:50}") int batchSize) {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+            properties.put(AvailableSettings.ORDER_INSERTS, true);
+            properties.put(AvailableSettings.ORDER_UPDATES, true);
+            properties.put(AvailableSettings.BATCH_VERSIONED_DATA, true);
+        };
+    }
+
+    /**
+     * Turns on Hibernate statistics, which back the statement, entity load and cache hit meters.
+     * The counters are cheap; set {@code app.jpa.statistics=false} to drop them.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer statisticsCustomizer(
+            @Value("${app.jpa.statistics:true}") boolean statistics) {
+        return properties -> properties.put(AvailableSettings.GENERATE_STATISTICS, statistics);
+    }
+}
@@ -1,3 +1,3 @@
 package com.example.sellerhelp.constant;
 
-public enum EmailStatus {SENT, FAILED}
+public enum EmailStatus {PENDING, SENDING, SENT, FAILED}
@@ -0,0 +1,3 @@
+package com.example.sellerhelp.constant;
+
+public enum InvoiceType { DEALER, CUSTOMER }
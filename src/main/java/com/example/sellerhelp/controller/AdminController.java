@@ -0,0 +1,96 @@
+package com.example.sellerhelp.controller;
+
+import com.example.sellerhelp.common.ApiResponseDto;
+import com.example.sellerhelp.common.ReferenceDataCache;
+import com.example.sellerhelp.dashboard.service.DashboardService;
+import com.example.sellerhelp.dashboard.service.ProductSalesRollupBackfill;
+import com.example.sellerhelp.media.MediaUploadService;
+import com.example.sellerhelp.order.invoice.InvoiceRenderingService;
+import com.example.sellerhelp.security.JwtUtil;
+import com.example.sellerhelp.security.PasswordHashingService;
+import com.example.sellerhelp.security.PrincipalCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminController {
+
+    private final PrincipalCache principalCache;
+    private final JwtUtil jwtUtil;
+    private final DashboardService dashboardService;
+    private final ProductSalesRollupBackfill productSalesRollupBackfill;
+    private final ReferenceDataCache referenceDataCache;
+    private final PasswordHashingService passwordHashingService;
+    private final MediaUploadService mediaUploadService;
+    private final InvoiceRenderingService invoiceRenderingService;
+
+    /**
+     * Hit, miss and eviction counters for the in-process caches.
+     */
+    @GetMapping("/caches")
+    public ResponseEntity<ApiResponseDto<Map<String, Map<String, Object>>>> getCacheStats() {
+        Map<String, Map<String, Object>> caches = new LinkedHashMap<>();
+        caches.put("principals", toMap(principalCache.stats(), principalCache.estimatedSize()));
+        caches.put("verifiedTokens", toMap(jwtUtil.verifiedCacheStats(), jwtUtil.nativeCache().estimatedSize()));
+        caches.put("dashboardSnapshot", toMap(dashboardService.stats(), dashboardService.nativeCache().estimatedSize()));
+        referenceDataCache.nativeCaches().forEach((name, cache) ->
+                caches.put("referenceData." + name, toMap(cache.stats(), cache.estimatedSize())));
+        return ResponseEntity.ok(ApiResponseDto.ok(caches));
+    }
+
+    /**
+     * Pool size, queue depth, wait time and rejections of the password hashing pool.
+     */
+    @GetMapping("/password-hashing")
+    public ResponseEntity<ApiResponseDto<Map<String, Object>>> getPasswordHashingStats() {
+        return ResponseEntity.ok(ApiResponseDto.ok(passwordHashingService.stats()));
+    }
+
+    /**
+     * Upload pool usage, outcomes and circuit breaker state of the media pipeline.
+     */
+    @GetMapping("/media-uploads")
+    public ResponseEntity<ApiResponseDto<Map<String, Object>>> getMediaUploadStats() {
+        return ResponseEntity.ok(ApiResponseDto.ok(mediaUploadService.stats()));
+    }
+
+    /**
+     * Queue depth, outcomes and average render time of invoice PDF generation.
+     */
+    @GetMapping("/invoice-rendering")
+    public ResponseEntity<ApiResponseDto<Map<String, Object>>> getInvoiceRenderingStats() {
+        return ResponseEntity.ok(ApiResponseDto.ok(invoiceRenderingService.stats()));
+    }
+
+    /**
+     * Recomputes the product sales rollup from the order history, e.g. after a manual data fix.
+     */
+    @PostMapping("/product-sales-rollup/rebuild")
+    public ResponseEntity<ApiResponseDto<Map<String, Integer>>> rebuildProductSalesRollup() {
+        int rows = productSalesRollupBackfill.rebuild();
+        return ResponseEntity.ok(ApiResponseDto.ok(Map.of("rows", rows), "Product sales rollup rebuilt."));
+    }
+
+    private static Map<String, Object> toMap(CacheStats stats, long size) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("size", size);
+        map.put("hits", stats.hitCount());
+        map.put("misses", stats.missCount());
+        map.put("hitRate", stats.hitRate());
+        map.put("evictions", stats.evictionCount());
+        map.put("loadFailures", stats.loadFailureCount());
+        return map;
+    }
+}
@@ -2,12 +2,14 @@ package com.example.sellerhelp.controller;
 
 import com.example.sellerhelp.common.ApiResponseDto;
 import com.example.sellerhelp.dashboard.dto.CentralOfficeDashboardDto;
+import com.example.sellerhelp.dashboard.dto.ProductRankingsDto;
 import com.example.sellerhelp.dashboard.service.DashboardService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -20,13 +22,22 @@ public class DashboardController {
     /**
      * Retrieves all aggregated data for the Central Office dashboard.
      * This includes card metrics, sales overviews, and product insights.
-     * Accessible only by users with the CENTRAL_OFFICE or ADMIN role.
+     * Accessible only by users with the CENTRAL_OFFICE_HEAD or ADMIN role.
      * @return A DTO containing all dashboard metrics.
      */
     @GetMapping
-    @PreAuthorize("hasAnyRole('ADMIN', 'CENTRAL_OFFICE')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'CENTRAL_OFFICE_HEAD')")
     public ResponseEntity<ApiResponseDto<CentralOfficeDashboardDto>> getCentralOfficeDashboard() {
         CentralOfficeDashboardDto dashboardData = dashboardService.getDashboardData();
         return ResponseEntity.ok(ApiResponseDto.ok(dashboardData, "Dashboard data fetched successfully."));
     }
-}
\ No newline at end of file
+
+    /**
+     * Fast and slow moving products over a trailing window of days (e.g. 7, 30 or 90).
+     */
+    @GetMapping("/product-rankings")
+    @PreAuthorize("hasAnyRole('ADMIN', 'CENTRAL_OFFICE_HEAD')")
+    public ResponseEntity<ApiResponseDto<ProductRankingsDto>> getProductRankings(@RequestParam(defaultValue = "30") int days) {
+        return ResponseEntity.ok(ApiResponseDto.ok(dashboardService.getProductRankings(days)));
+    }
+}
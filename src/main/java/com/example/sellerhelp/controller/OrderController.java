@@ -2,11 +2,16 @@ package com.example.sellerhelp.controller;
 
 import com.example.sellerhelp.appuser.dto.PageableDto;
 import com.example.sellerhelp.common.ApiResponseDto;
+import com.example.sellerhelp.common.CursorPageDto;
+import com.example.sellerhelp.common.ExportFilterDto;
+import com.example.sellerhelp.common.ExportRowWriter;
 import com.example.sellerhelp.order.dto.CreateDealerOrderDto;
 import com.example.sellerhelp.order.dto.DealerInvoiceDto;
 import com.example.sellerhelp.order.dto.DealerOrderDto;
 import com.example.sellerhelp.order.dto.FulfillOrderDto;
+import com.example.sellerhelp.order.service.DealerOrderExportService;
 import com.example.sellerhelp.order.service.OrderService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -15,12 +20,15 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+
 @RestController
 @RequestMapping("/api/orders/dealer")
 @RequiredArgsConstructor
 public class OrderController {
 
     private final OrderService orderService;
+    private final DealerOrderExportService dealerOrderExportService;
 
 
     /**
@@ -37,11 +45,11 @@ public class OrderController {
     }
 
     /**
-     * Fulfills a pending dealer order. Accessible only by CENTRAL_OFFICE users.
+     * Fulfills a pending dealer order. Accessible only by CENTRAL_OFFICE_HEAD users.
      * This action checks stock, updates inventory, and generates an invoice.
      */
     @PostMapping("/{orderId}/fulfill")
-    @PreAuthorize("hasRole('CENTRAL_OFFICE')")
+    @PreAuthorize("hasRole('CENTRAL_OFFICE_HEAD')")
     public ResponseEntity<ApiResponseDto<DealerInvoiceDto>> fulfillDealerOrder(
             @PathVariable String orderId,
             @Valid @RequestBody FulfillOrderDto dto) {
@@ -51,22 +59,43 @@ public class OrderController {
 
     /**
      * Retrieves a paginated list of all dealer orders. For administrative review.
-     * Accessible by ADMIN and CENTRAL_OFFICE users.
+     * Accessible by ADMIN and CENTRAL_OFFICE_HEAD users.
      */
     @GetMapping
-    @PreAuthorize("hasAnyRole('ADMIN', 'CENTRAL_OFFICE')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'CENTRAL_OFFICE_HEAD')")
     public ResponseEntity<ApiResponseDto<Page<DealerOrderDto>>> getAllDealerOrders(@ModelAttribute PageableDto pageableDto) {
         Page<DealerOrderDto> orders = orderService.getAllDealerOrders(pageableDto);
         return ResponseEntity.ok(ApiResponseDto.ok(orders));
     }
 
+    /**
+     * Keyset-paginated variant of {@link #getAllDealerOrders} for deep scrolling. Send the
+     * returned {@code nextCursor} back as {@code cursor} to get the next slice.
+     */
+    @GetMapping("/scroll")
+    @PreAuthorize("hasAnyRole('ADMIN', 'CENTRAL_OFFICE_HEAD')")
+    public ResponseEntity<ApiResponseDto<CursorPageDto<DealerOrderDto>>> scrollAllDealerOrders(@ModelAttribute PageableDto pageableDto) {
+        return ResponseEntity.ok(ApiResponseDto.ok(orderService.scrollAllDealerOrders(pageableDto)));
+    }
+
+    /**
+     * Downloads every dealer order matching the filters as CSV or NDJSON ({@code format}),
+     * streamed in a single response. Supports {@code dealerId}, {@code status}, {@code from} and {@code to}.
+     * Accessible by ADMIN and CENTRAL_OFFICE_HEAD.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'CENTRAL_OFFICE_HEAD')")
+    public void exportDealerOrders(@ModelAttribute ExportFilterDto filter, HttpServletResponse response) throws IOException {
+        dealerOrderExportService.exportDealerOrders(filter, ExportRowWriter.attachment(response, "dealer-orders"));
+    }
+
 
     /**
      * Retrieves a single dealer order by its public ID.
-     * Accessible by ADMIN and CENTRAL_OFFICE. A Dealer should have a separate "my-orders" endpoint.
+     * Accessible by ADMIN and CENTRAL_OFFICE_HEAD. A Dealer should have a separate "my-orders" endpoint.
      */
     @GetMapping("/{orderId}")
-    @PreAuthorize("hasAnyRole('ADMIN', 'CENTRAL_OFFICE')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'CENTRAL_OFFICE_HEAD')")
     public ResponseEntity<ApiResponseDto<DealerOrderDto>> getDealerOrderById(@PathVariable String orderId) {
         DealerOrderDto order = orderService.getDealerOrderById(orderId);
         return ResponseEntity.ok(ApiResponseDto.ok(order));
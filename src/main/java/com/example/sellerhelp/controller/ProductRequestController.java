@@ -2,6 +2,7 @@ package com.example.sellerhelp.controller;
 
 import com.example.sellerhelp.appuser.dto.PageableDto;
 import com.example.sellerhelp.common.ApiResponseDto;
+import com.example.sellerhelp.common.CursorPageDto;
 import com.example.sellerhelp.product.dto.CreateProductRequestDto;
 import com.example.sellerhelp.product.dto.ProductRequestDto;
 import com.example.sellerhelp.product.service.ProductRequestService;
@@ -21,12 +22,12 @@ public class ProductRequestController {
     private final ProductRequestService productRequestService;
 
     /**
-     * Creates a new product request. Accessible only by CENTRAL_OFFICE users.
+     * Creates a new product request. Accessible only by CENTRAL_OFFICE_HEAD users.
      * @param dto The request body containing the factory and product details.
      * @return The newly created product request.
      */
     @PostMapping
-    @PreAuthorize("hasRole('CENTRAL_OFFICE')")
+    @PreAuthorize("hasRole('CENTRAL_OFFICE_HEAD')")
     public ResponseEntity<ApiResponseDto<ProductRequestDto>> createProductRequest(@Valid @RequestBody CreateProductRequestDto dto) {
         ProductRequestDto createdRequest = productRequestService.createProductRequest(dto);
         return new ResponseEntity<>(ApiResponseDto.ok(createdRequest, "Product request created successfully."), HttpStatus.CREATED);
@@ -42,6 +43,16 @@ public class ProductRequestController {
         return ResponseEntity.ok(ApiResponseDto.ok(requests));
     }
 
+    /**
+     * Keyset-paginated variant of {@link #getAllProductRequests}. Send the returned
+     * {@code nextCursor} back as {@code cursor} to get the next slice.
+     */
+    @GetMapping("/scroll")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponseDto<CursorPageDto<ProductRequestDto>>> scrollAllProductRequests(@ModelAttribute PageableDto pageableDto) {
+        return ResponseEntity.ok(ApiResponseDto.ok(productRequestService.scrollAllProductRequests(pageableDto)));
+    }
+
     /**
      * Retrieves a paginated list of product requests for a specific factory.
      * Accessible by ADMIN and PLANT_HEAD.
@@ -57,10 +68,10 @@ public class ProductRequestController {
 
     /**
      * Retrieves a single product request by its ID.
-     * Accessible by ADMIN, PLANT_HEAD, and CENTRAL_OFFICE.
+     * Accessible by ADMIN, PLANT_HEAD, and CENTRAL_OFFICE_HEAD.
      */
     @GetMapping("/{requestId}")
-    @PreAuthorize("hasAnyRole('ADMIN', 'PLANT_HEAD', 'CENTRAL_OFFICE')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'PLANT_HEAD', 'CENTRAL_OFFICE_HEAD')")
     public ResponseEntity<ApiResponseDto<ProductRequestDto>> getProductRequestById(@PathVariable Long requestId) {
         ProductRequestDto request = productRequestService.getProductRequestById(requestId);
         return ResponseEntity.ok(ApiResponseDto.ok(request));
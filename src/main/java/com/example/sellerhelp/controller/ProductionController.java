@@ -2,18 +2,30 @@ package com.example.sellerhelp.controller;
 
 import com.example.sellerhelp.appuser.dto.PageableDto;
 import com.example.sellerhelp.common.ApiResponseDto;
+import com.example.sellerhelp.common.CursorPageDto;
+import com.example.sellerhelp.common.ExportFilterDto;
+import com.example.sellerhelp.common.ExportRowWriter;
+import com.example.sellerhelp.common.ImportResultDto;
+import com.example.sellerhelp.common.ImportRowReader;
 import com.example.sellerhelp.product.dto.FactoryProductionDto;
 import com.example.sellerhelp.product.dto.ProductStockDto;
 import com.example.sellerhelp.product.dto.RecordProductionDto;
+import com.example.sellerhelp.product.service.ProductionExportService;
+import com.example.sellerhelp.product.service.ProductionImportService;
 import com.example.sellerhelp.product.service.ProductionService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -22,6 +34,8 @@ import java.util.List;
 public class ProductionController {
 
     private final ProductionService productionService;
+    private final ProductionImportService productionImportService;
+    private final ProductionExportService productionExportService;
 
     /**
      * Records a new production entry for the Plant Head's own factory.
@@ -34,6 +48,21 @@ public class ProductionController {
         return new ResponseEntity<>(ApiResponseDto.ok(recordedProduction, "Production recorded successfully."), HttpStatus.CREATED);
     }
 
+    /**
+     * Bulk production entry for the caller's own factory: a CSV upload with header
+     * {@code productId,productionQuantity,productionDate}, or NDJSON with the same fields.
+     * Rejected rows are listed in the response; all other rows are recorded.
+     */
+    @PostMapping(value = "/production/import",
+            consumes = {ImportRowReader.TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasAnyRole('PLANT_HEAD', 'CHIEF_SUPERVISOR')")
+    public ResponseEntity<ApiResponseDto<ImportResultDto>> importProduction(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        ImportResultDto result = productionImportService.importProduction(body, contentType);
+        return ResponseEntity.ok(ApiResponseDto.ok(result, "Production import finished."));
+    }
+
     /**
      * Gets a paginated list of all product stock for a specific factory.
      * Accessible by ADMIN and PLANT_HEAD.
@@ -60,13 +89,40 @@ public class ProductionController {
         return ResponseEntity.ok(ApiResponseDto.ok(recordsPage));
     }
 
+    /**
+     * Keyset-paginated variant of {@link #getProductionRecordsByFactory}. Send the returned
+     * {@code nextCursor} back as {@code cursor} to get the next slice.
+     */
+    @GetMapping("/factories/{factoryId}/production-records/scroll")
+    @PreAuthorize("hasAnyRole('ADMIN', 'PLANT_HEAD')")
+    public ResponseEntity<ApiResponseDto<CursorPageDto<FactoryProductionDto>>> scrollProductionRecordsByFactory(
+            @PathVariable String factoryId,
+            @ModelAttribute PageableDto pageableDto) {
+        return ResponseEntity.ok(ApiResponseDto.ok(productionService.scrollProductionRecordsByFactory(factoryId, pageableDto)));
+    }
+
+    /**
+     * Downloads all production records of a factory as CSV or NDJSON ({@code format}), streamed
+     * in a single response. Supports {@code productId}, {@code from} and {@code to}.
+     * Accessible by ADMIN and PLANT_HEAD.
+     */
+    @GetMapping("/factories/{factoryId}/production-records/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'PLANT_HEAD')")
+    public void exportProductionRecords(
+            @PathVariable String factoryId,
+            @ModelAttribute ExportFilterDto filter,
+            HttpServletResponse response) throws IOException {
+        productionExportService.exportProduction(factoryId, filter,
+                ExportRowWriter.attachment(response, "production-" + factoryId));
+    }
+
     /**
      * Gets a consolidated list of stock levels for a single product across all factories.
      * Crucial for Central Office fulfillment decisions.
-     * Accessible by ADMIN and CENTRAL_OFFICE users.
+     * Accessible by ADMIN and CENTRAL_OFFICE_HEAD users.
      */
     @GetMapping("/products/{productId}/stock-levels")
-    @PreAuthorize("hasAnyRole('ADMIN', 'CENTRAL_OFFICE')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'CENTRAL_OFFICE_HEAD')")
     public ResponseEntity<ApiResponseDto<Page<ProductStockDto>>> getStockLevelsForProduct(@PathVariable String productId,
     @ModelAttribute PageableDto pageableDto) {
         Page<ProductStockDto> stockLevels = productionService.getStockLevelsForProduct(productId, pageableDto);
@@ -2,16 +2,22 @@ package com.example.sellerhelp.controller;
 
 import com.example.sellerhelp.appuser.dto.PageableDto;
 import com.example.sellerhelp.common.ApiResponseDto;
+import com.example.sellerhelp.common.ImportResultDto;
+import com.example.sellerhelp.common.ImportRowReader;
 import com.example.sellerhelp.tool.dto.*;
 import com.example.sellerhelp.tool.service.ToolService;
+import com.example.sellerhelp.tool.service.ToolStockImportService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -21,6 +27,7 @@ import java.util.Map;
 public class ToolController {
 
     private final ToolService toolService;
+    private final ToolStockImportService toolStockImportService;
 
     // --- CATEGORY MANAGEMENT (ADMIN, PLANT_HEAD) ---
 
@@ -65,6 +72,21 @@ public class ToolController {
         return ResponseEntity.ok(ApiResponseDto.ok(updatedStock, "Stock added to factory successfully."));
     }
 
+    /**
+     * Bulk stock import for a factory: a CSV upload with header {@code toolId,quantity}, or NDJSON
+     * with the same fields. Rejected rows are listed in the response; all other rows are applied.
+     */
+    @PostMapping(value = "/stock/factory/{factoryId}/import",
+            consumes = {ImportRowReader.TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasAnyRole('ADMIN', 'PLANT_HEAD')")
+    public ResponseEntity<ApiResponseDto<ImportResultDto>> importStockToFactory(
+            @PathVariable String factoryId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        ImportResultDto result = toolStockImportService.importStock(factoryId, body, contentType);
+        return ResponseEntity.ok(ApiResponseDto.ok(result, "Stock import finished."));
+    }
+
 
 
     // --- TOOL RETURN & CONFISCATION (CHIEF_SUPERVISOR) ---
@@ -2,9 +2,14 @@ package com.example.sellerhelp.controller;
 
 import com.example.sellerhelp.appuser.dto.PageableDto;
 import com.example.sellerhelp.common.ApiResponseDto;
+import com.example.sellerhelp.common.ExportFilterDto;
+import com.example.sellerhelp.common.ExportRowWriter;
 import com.example.sellerhelp.tool.dto.ApproveExtensionDto;
+import com.example.sellerhelp.tool.dto.OverdueToolCountDto;
 import com.example.sellerhelp.tool.dto.ToolIssuanceDto;
+import com.example.sellerhelp.tool.service.ToolIssuanceExportService;
 import com.example.sellerhelp.tool.service.ToolService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -12,12 +17,15 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+
 @RestController
 @RequestMapping("/api/tool-issuances")
 @RequiredArgsConstructor
 public class ToolIssuanceController {
 
     private final ToolService toolService;
+    private final ToolIssuanceExportService toolIssuanceExportService;
 
     /**
      * Endpoint for a WORKER to request an extension on a borrowed tool.
@@ -52,4 +60,24 @@ public class ToolIssuanceController {
         Page<ToolIssuanceDto> overdueTools = toolService.getOverdueTools(pageableDto);
         return ResponseEntity.ok(ApiResponseDto.ok(overdueTools));
     }
+
+    /**
+     * Endpoint for a CHIEF_SUPERVISOR or PLANT_HEAD to get the number of overdue tools in their
+     * factory, as maintained by the background overdue scan.
+     */
+    @GetMapping("/overdue/count")
+    @PreAuthorize("hasAnyRole('CHIEF_SUPERVISOR', 'PLANT_HEAD')")
+    public ResponseEntity<ApiResponseDto<OverdueToolCountDto>> getOverdueToolCount() {
+        return ResponseEntity.ok(ApiResponseDto.ok(toolService.getOverdueToolCount()));
+    }
+
+    /**
+     * Downloads every tool issuance matching the filters as CSV or NDJSON ({@code format}),
+     * streamed in a single response. Supports {@code factoryId}, {@code status}, {@code from} and {@code to}.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'PLANT_HEAD', 'CHIEF_SUPERVISOR')")
+    public void exportIssuances(@ModelAttribute ExportFilterDto filter, HttpServletResponse response) throws IOException {
+        toolIssuanceExportService.exportIssuances(filter, ExportRowWriter.attachment(response, "tool-issuances"));
+    }
 }
\ No newline at end of file
@@ -3,9 +3,10 @@ package com.example.sellerhelp.controller;
 import com.example.sellerhelp.appuser.dto.*;
 import com.example.sellerhelp.appuser.service.UserService;
 import com.example.sellerhelp.common.ApiResponseDto;
+import com.example.sellerhelp.common.CursorPageDto;
+import com.example.sellerhelp.exception.BadRequestException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.apache.coyote.BadRequestException;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -13,6 +14,9 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
@@ -35,6 +39,22 @@ public class UserController {
         return new ResponseEntity<>(ApiResponseDto.ok(createdUser, "User created successfully"), HttpStatus.CREATED);
     }
 
+    /**
+     * Bulk onboarding: all users are created, or none if any entry is invalid.
+     */
+    @PostMapping("/bulk")
+    @PreAuthorize("hasAnyRole('ADMIN', 'PLANT_HEAD')")
+    public ResponseEntity<ApiResponseDto<List<UserDto>>> createUsers(@Valid @RequestBody List<@Valid CreateUserRequestDto> requestDtos) {
+        List<UserDto> createdUsers;
+        try {
+            createdUsers = userService.createUsers(requestDtos);
+        } catch (BadRequestException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponseDto.error(e.getMessage(), HttpStatus.BAD_REQUEST));
+        }
+        return new ResponseEntity<>(ApiResponseDto.ok(createdUsers, createdUsers.size() + " users created successfully"), HttpStatus.CREATED);
+    }
+
     @PutMapping("/update/{userId}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponseDto<UserDto>> updateUser(
@@ -61,6 +81,15 @@ public class UserController {
         return ResponseEntity.ok(ApiResponseDto.ok(usersPage));
     }
 
+    // Keyset variant of searchEmployees; send the returned nextCursor back as cursor
+    @GetMapping("/employees/scroll")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponseDto<CursorPageDto<UserDto>>> scrollEmployees(
+            @ModelAttribute UserFilterDto filter, @RequestParam(value = "q", required = false) String query,
+            @ModelAttribute PageableDto pageableDto) {
+        return ResponseEntity.ok(ApiResponseDto.ok(userService.scrollEmployees(filter, query, pageableDto)));
+    }
+
 
     @GetMapping("/{userId}")
     @PreAuthorize("isAuthenticated()")
@@ -79,6 +108,15 @@ public class UserController {
         return ResponseEntity.ok(ApiResponseDto.ok(usersPage));
     }
 
+    // Keyset variant of globalSearch; relevance ordering is not available here
+    @GetMapping("/search/scroll")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponseDto<CursorPageDto<UserDto>>> scrollGlobalSearch(
+            @RequestParam("q") String query,
+            @ModelAttribute PageableDto pageableDto) {
+        return ResponseEntity.ok(ApiResponseDto.ok(userService.scrollGlobalSearch(query, pageableDto)));
+    }
+
 
 
     @GetMapping("/factory/{factoryId}/workers")
@@ -100,7 +138,7 @@ public class UserController {
     }
 
     @GetMapping("/dealers")
-    @PreAuthorize("hasAnyRole('ADMIN', 'CENTRAL_OFFICE')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'CENTRAL_OFFICE_HEAD')")
     public ResponseEntity<ApiResponseDto<Page<UserDto>>> getDealers(
             @ModelAttribute PageableDto pageableDto) {
         Page<UserDto> usersPage = userService.getAllDealers(pageableDto);
@@ -114,11 +152,12 @@ public class UserController {
         return ResponseEntity.ok(ApiResponseDto.ok(data, "Dashboard counts fetched successfully"));
     }
     @PostMapping("/{userId}/upload-image")
-    public ResponseEntity<ApiResponseDto<String>> uploadImage(
+    public CompletableFuture<ResponseEntity<ApiResponseDto<String>>> uploadImage(
             @PathVariable String userId,
             @RequestParam("file") MultipartFile file
     ) {
-        String imageUrl = userService.uploadUserImage(userId, file);
-        return ResponseEntity.ok(ApiResponseDto.ok(imageUrl, "Image uploaded successfully"));
+        // Completes asynchronously, so the servlet thread is released while the upload runs
+        return userService.uploadUserImage(userId, file)
+                .thenApply(imageUrl -> ResponseEntity.ok(ApiResponseDto.ok(imageUrl, "Image uploaded successfully")));
     }
 }
\ No newline at end of file
@@ -7,7 +7,7 @@ import java.math.BigDecimal;
 import java.util.List;
 
 @Getter
-@Builder
+@Builder(toBuilder = true)
 public class CentralOfficeDashboardDto {
     private long pendingDealerOrders;
     private long pendingProductRequests;
@@ -0,0 +1,14 @@
+package com.example.sellerhelp.dashboard.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class ProductRankingsDto {
+    private int windowDays;
+    private List<ProductSalesDataDto> fastMovingProducts;
+    private List<ProductSalesDataDto> slowMovingProducts;
+}
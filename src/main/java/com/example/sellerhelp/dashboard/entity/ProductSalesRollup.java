@@ -0,0 +1,36 @@
+package com.example.sellerhelp.dashboard.entity;
+
+import com.example.sellerhelp.product.entity.Product;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Units of a product sold to dealers on one day. Maintained by order fulfilment and read by the
+ * dashboard rankings, so those never have to aggregate the raw order lines.
+ */
+@Entity
+@Table(
+        name = "product_sales_rollup",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"product_id", "sale_date"}),
+        indexes = @Index(name = "idx_product_sales_rollup_date_product", columnList = "sale_date, product_id, quantity_sold")
+)
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class ProductSalesRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id", nullable = false)
+    private Product product;
+
+    @Column(name = "sale_date", nullable = false)
+    private LocalDate saleDate;
+
+    @Builder.Default
+    @Column(name = "quantity_sold", nullable = false)
+    private Long quantitySold = 0L;
+}
@@ -0,0 +1,116 @@
+package com.example.sellerhelp.dashboard.repository;
+
+import com.example.sellerhelp.dashboard.dto.ProductSalesDataDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Aggregate queries behind the central-office dashboard. Each method is a single round trip.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DashboardQueryRepository {
+
+    private static final String COUNTS_AND_SALES_SQL = """
+            SELECT
+                (SELECT COUNT(*) FROM dealer_order WHERE status = 'PENDING') AS pending_dealer_orders,
+                (SELECT COUNT(*) FROM product_request WHERE status = 'REQUESTED') AS pending_product_requests,
+                (SELECT COUNT(*) FROM dealer_invoice) AS total_invoices,
+                COALESCE(SUM(CASE WHEN o.created_at >= :today THEN o.total_price END), 0) AS sales_today,
+                COALESCE(SUM(CASE WHEN o.created_at >= :weekStart THEN o.total_price END), 0) AS sales_week,
+                COALESCE(SUM(CASE WHEN o.created_at >= :monthStart THEN o.total_price END), 0) AS sales_month
+            FROM dealer_order o
+            WHERE o.status = 'APPROVED' AND o.created_at >= :earliest
+            """;
+
+    // Both rankings in one pass over the rollup. Products without sales in the window rank as zero,
+    // so they show up as slow movers; ties are broken by product id so the result is stable.
+    private static final String RANKINGS_SQL = """
+            WITH sales AS (
+                SELECT product_id, SUM(quantity_sold) AS quantity
+                FROM product_sales_rollup
+                WHERE sale_date >= :since
+                GROUP BY product_id
+            ), ranked AS (
+                SELECT p.name, COALESCE(s.quantity, 0) AS quantity,
+                       ROW_NUMBER() OVER (ORDER BY COALESCE(s.quantity, 0) DESC, p.id) AS fast_rank,
+                       ROW_NUMBER() OVER (ORDER BY COALESCE(s.quantity, 0) ASC, p.id) AS slow_rank
+                FROM product p
+                LEFT JOIN sales s ON s.product_id = p.id
+                WHERE p.is_active <> 'INACTIVE'
+            )
+            SELECT name, quantity, fast_rank, slow_rank
+            FROM ranked
+            WHERE fast_rank <= :limit OR slow_rank <= :limit
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public CountsAndSales findCountsAndSales(LocalDateTime today, LocalDateTime weekStart, LocalDateTime monthStart) {
+        LocalDateTime earliest = weekStart.isBefore(monthStart) ? weekStart : monthStart;
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("today", today)
+                .addValue("weekStart", weekStart)
+                .addValue("monthStart", monthStart)
+                .addValue("earliest", earliest);
+
+        return jdbcTemplate.queryForObject(COUNTS_AND_SALES_SQL, params, (rs, rowNum) -> new CountsAndSales(
+                rs.getLong("pending_dealer_orders"),
+                rs.getLong("pending_product_requests"),
+                rs.getLong("total_invoices"),
+                rs.getBigDecimal("sales_today"),
+                rs.getBigDecimal("sales_week"),
+                rs.getBigDecimal("sales_month")
+        ));
+    }
+
+    /**
+     * Fastest and slowest moving products by units sold on or after {@code since}.
+     */
+    public Rankings findRankings(LocalDate since, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("since", since)
+                .addValue("limit", limit);
+        List<RankedProduct> rows = jdbcTemplate.query(RANKINGS_SQL, params,
+                (rs, rowNum) -> new RankedProduct(
+                        new ProductSalesDataDto(rs.getString("name"), rs.getLong("quantity")),
+                        rs.getLong("fast_rank"),
+                        rs.getLong("slow_rank")
+                ));
+
+        List<RankedProduct> fast = new ArrayList<>();
+        List<RankedProduct> slow = new ArrayList<>();
+        for (RankedProduct row : rows) {
+            if (row.fastRank() <= limit) fast.add(row);
+            if (row.slowRank() <= limit) slow.add(row);
+        }
+        fast.sort((a, b) -> Long.compare(a.fastRank(), b.fastRank()));
+        slow.sort((a, b) -> Long.compare(a.slowRank(), b.slowRank()));
+        return new Rankings(
+                fast.stream().map(RankedProduct::product).toList(),
+                slow.stream().map(RankedProduct::product).toList()
+        );
+    }
+
+    public record CountsAndSales(long pendingDealerOrders,
+                                 long pendingProductRequests,
+                                 long totalInvoices,
+                                 BigDecimal salesToday,
+                                 BigDecimal salesThisWeek,
+                                 BigDecimal salesThisMonth) {
+    }
+
+    public record Rankings(List<ProductSalesDataDto> fastMoving, List<ProductSalesDataDto> slowMoving) {
+    }
+
+    private record RankedProduct(ProductSalesDataDto product, long fastRank, long slowRank) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.sellerhelp.dashboard.repository;
+
+import com.example.sellerhelp.dashboard.entity.ProductSalesRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProductSalesRollupRepository extends JpaRepository<ProductSalesRollup, Long>, ProductSalesRollupRepositoryCustom {
+}
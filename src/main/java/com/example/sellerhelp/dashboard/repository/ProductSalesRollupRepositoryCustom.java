@@ -0,0 +1,23 @@
+package com.example.sellerhelp.dashboard.repository;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+public interface ProductSalesRollupRepositoryCustom {
+
+    /**
+     * Adds the given quantities to each product's row for {@code saleDate}, creating rows as needed.
+     * Must run inside the caller's transaction (see {@link com.example.sellerhelp.common.JdbcUpserts}).
+     */
+    void addSales(LocalDate saleDate, Map<Long, Long> quantitiesByProductId);
+
+    /**
+     * Replaces every rollup row with totals recomputed from the approved dealer orders, in one
+     * transaction. Idempotent; returns the number of rows written. A fulfilment committing at the
+     * same moment can make it fail on the unique key, in which case it is safe to run again.
+     */
+    @Transactional
+    int rebuildFromOrders();
+}
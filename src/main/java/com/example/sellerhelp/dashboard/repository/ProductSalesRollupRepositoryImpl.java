@@ -0,0 +1,53 @@
+package com.example.sellerhelp.dashboard.repository;
+
+import com.example.sellerhelp.common.JdbcUpserts;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+class ProductSalesRollupRepositoryImpl implements ProductSalesRollupRepositoryCustom {
+
+    private static final String ADD_SQL =
+            "UPDATE product_sales_rollup SET quantity_sold = quantity_sold + ? WHERE product_id = ? AND sale_date = ?";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO product_sales_rollup (product_id, sale_date, quantity_sold) VALUES (?, ?, ?)";
+
+    private static final String CLEAR_SQL = "DELETE FROM product_sales_rollup";
+
+    // An order's sale day is the day it was approved; updated_at is stamped by the fulfilment
+    private static final String REBUILD_SQL = """
+            INSERT INTO product_sales_rollup (product_id, sale_date, quantity_sold)
+            SELECT m.product_id, CAST(COALESCE(o.updated_at, o.created_at) AS DATE), SUM(m.quantity)
+            FROM dealer_order_mapping m
+            JOIN dealer_order o ON o.id = m.order_id
+            WHERE o.status = 'APPROVED'
+            GROUP BY m.product_id, CAST(COALESCE(o.updated_at, o.created_at) AS DATE)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void addSales(LocalDate saleDate, Map<Long, Long> quantitiesByProductId) {
+        Date day = Date.valueOf(saleDate);
+        List<Object[]> updates = new ArrayList<>(quantitiesByProductId.size());
+        List<Object[]> inserts = new ArrayList<>(quantitiesByProductId.size());
+        quantitiesByProductId.forEach((productId, quantity) -> {
+            updates.add(new Object[]{quantity, productId, day});
+            inserts.add(new Object[]{productId, day, quantity});
+        });
+        JdbcUpserts.updateOrInsert(jdbcTemplate, ADD_SQL, updates, INSERT_SQL, inserts);
+    }
+
+    @Override
+    public int rebuildFromOrders() {
+        jdbcTemplate.update(CLEAR_SQL);
+        return jdbcTemplate.update(REBUILD_SQL);
+    }
+}
@@ -1,92 +1,214 @@
 package com.example.sellerhelp.dashboard.service;
 
-import com.example.sellerhelp.constant.DealerOrderStatus;
 import com.example.sellerhelp.constant.ProductRequestStatus;
+import com.example.sellerhelp.exception.BadRequestException;
 import com.example.sellerhelp.dashboard.dto.CentralOfficeDashboardDto;
-import com.example.sellerhelp.dashboard.dto.ProductIdSalesDto;
-import com.example.sellerhelp.dashboard.dto.ProductSalesDataDto;
-import com.example.sellerhelp.order.repository.DealerInvoiceRepository;
-import com.example.sellerhelp.order.repository.DealerOrderMappingRepository;
-import com.example.sellerhelp.order.repository.DealerOrderRepository;
-import com.example.sellerhelp.product.entity.Product;
-import com.example.sellerhelp.product.repository.ProductRepository;
-import com.example.sellerhelp.product.repository.ProductRequestRepository;
-import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
+import com.example.sellerhelp.dashboard.dto.ProductRankingsDto;
+import com.example.sellerhelp.dashboard.repository.DashboardQueryRepository;
+import com.example.sellerhelp.order.event.DealerOrderFulfilledEvent;
+import com.example.sellerhelp.order.event.DealerOrderPlacedEvent;
+import com.example.sellerhelp.product.event.ProductRequestStatusChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.math.BigDecimal;
+import java.time.Clock;
 import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
-import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.time.LocalDateTime;
+import java.util.function.UnaryOperator;
 
+/**
+ * Serves the central-office dashboard from a short-lived snapshot. The snapshot is built with two
+ * aggregate queries; concurrent viewers that miss share the same load. Counters and sales totals are
+ * patched in place when orders and product requests commit, while the product rankings (read from
+ * the daily sales rollup) are only recomputed when the snapshot expires.
+ */
 @Service
-@RequiredArgsConstructor
-@Transactional(readOnly = true)
 public class DashboardService {
 
-    private final DealerOrderRepository dealerOrderRepository;
-    private final DealerOrderMappingRepository dealerOrderMappingRepository;
-    private final DealerInvoiceRepository dealerInvoiceRepository;
-    private final ProductRequestRepository productRequestRepository;
-    private final ProductRepository productRepository;
+    private static final String SNAPSHOT_KEY = "central-office";
+    private static final int RANKING_LIMIT = 5;
+    private static final int MAX_RANKING_WINDOW_DAYS = 366;
 
-    public CentralOfficeDashboardDto getDashboardData() {
-        long pendingDealerOrders = dealerOrderRepository.countByStatus(DealerOrderStatus.PENDING);
-        long pendingProductRequests = productRequestRepository.countByStatus(ProductRequestStatus.REQUESTED);
-        long totalInvoices = dealerInvoiceRepository.count();
-
-        LocalDate today = LocalDate.now();
-        BigDecimal salesToday = dealerOrderRepository.sumTotalPriceByStatusAndDate(
-                DealerOrderStatus.APPROVED, today.atStartOfDay());
-        BigDecimal salesThisWeek = dealerOrderRepository.sumTotalPriceByStatusAndDate(
-                DealerOrderStatus.APPROVED, today.with(DayOfWeek.MONDAY).atStartOfDay());
-        BigDecimal salesThisMonth = dealerOrderRepository.sumTotalPriceByStatusAndDate(
-                DealerOrderStatus.APPROVED, today.withDayOfMonth(1).atStartOfDay());
-
-        List<ProductSalesDataDto> fastMovingProducts = getProductSalesData(5, "fast");
-        List<ProductSalesDataDto> slowMovingProducts = getProductSalesData(5, "slow"); // <-- CALL FOR SLOW-MOVING
-
-        return CentralOfficeDashboardDto.builder()
-                .pendingDealerOrders(pendingDealerOrders)
-                .pendingProductRequests(pendingProductRequests)
-                .totalInvoicesGenerated(totalInvoices)
-                .salesToday(salesToday)
-                .salesThisWeek(salesThisWeek)
-                .salesThisMonth(salesThisMonth)
-                .fastMovingProducts(fastMovingProducts)
-                .slowMovingProducts(slowMovingProducts) // <-- ADD TO BUILDER
+    private final DashboardQueryRepository dashboardQueryRepository;
+    private final Clock clock;
+    private final int rankingWindowDays;
+    private final Cache<String, Snapshot> cache;
+    private final Cache<RankingKey, ProductRankingsDto> rankingsCache;
+
+    public DashboardService(DashboardQueryRepository dashboardQueryRepository,
+                            @Value("${dashboard.snapshot.ttl:30s}") Duration ttl,
+                            @Value("${dashboard.rankings.window-days:30}") int rankingWindowDays) {
+        this.dashboardQueryRepository = dashboardQueryRepository;
+        this.clock = Clock.systemDefaultZone();
+        this.rankingWindowDays = rankingWindowDays;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfter(new ExpireAfterCreate(ttl))
+                .recordStats()
+                .build();
+        this.rankingsCache = Caffeine.newBuilder()
+                .maximumSize(16)
+                .expireAfterWrite(ttl)
                 .build();
     }
 
-    private List<ProductSalesDataDto> getProductSalesData(int limit, String type) {
-        List<ProductIdSalesDto> productIdsAndSales;
+    public CentralOfficeDashboardDto getDashboardData() {
+        LocalDate today = LocalDate.now(clock);
+        Snapshot snapshot = cache.get(SNAPSHOT_KEY, key -> load(today));
+        if (!snapshot.day().equals(today)) {
+            // Day rolled over: the today/week/month windows have moved, so start from a fresh load
+            cache.asMap().remove(SNAPSHOT_KEY, snapshot);
+            snapshot = cache.get(SNAPSHOT_KEY, key -> load(today));
+        }
+        return snapshot.dashboard();
+    }
 
-        if ("fast".equalsIgnoreCase(type)) {
-            productIdsAndSales = dealerOrderMappingRepository.findFastMovingProductIds(PageRequest.of(0, limit));
-        } else {
-            productIdsAndSales = dealerOrderMappingRepository.findSlowMovingProductIds(PageRequest.of(0, limit));
+    /**
+     * Fast and slow moving products over the last {@code windowDays} days, today included.
+     */
+    public ProductRankingsDto getProductRankings(int windowDays) {
+        if (windowDays < 1 || windowDays > MAX_RANKING_WINDOW_DAYS) {
+            throw new BadRequestException("Ranking window must be between 1 and " + MAX_RANKING_WINDOW_DAYS + " days.");
         }
+        LocalDate today = LocalDate.now(clock);
+        return rankingsCache.get(new RankingKey(today, windowDays), key -> loadRankings(today, windowDays));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onDealerOrderPlaced(DealerOrderPlacedEvent event) {
+        patch(dto -> dto.toBuilder()
+                .pendingDealerOrders(dto.getPendingDealerOrders() + 1)
+                .build());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onDealerOrderFulfilled(DealerOrderFulfilledEvent event) {
+        patch(dto -> {
+            LocalDate today = LocalDate.now(clock);
+            LocalDateTime placed = event.orderCreatedAt();
+            BigDecimal amount = event.totalPrice();
+            return dto.toBuilder()
+                    .pendingDealerOrders(Math.max(0, dto.getPendingDealerOrders() - 1))
+                    .totalInvoicesGenerated(dto.getTotalInvoicesGenerated() + 1)
+                    .salesToday(addIfSince(dto.getSalesToday(), amount, placed, startOfToday(today)))
+                    .salesThisWeek(addIfSince(dto.getSalesThisWeek(), amount, placed, startOfWeek(today)))
+                    .salesThisMonth(addIfSince(dto.getSalesThisMonth(), amount, placed, startOfMonth(today)))
+                    .build();
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onProductRequestStatusChanged(ProductRequestStatusChangedEvent event) {
+        long delta = 0;
+        if (event.newStatus() == ProductRequestStatus.REQUESTED) delta++;
+        if (event.previousStatus() == ProductRequestStatus.REQUESTED) delta--;
+        if (delta == 0) {
+            return;
+        }
+        long change = delta;
+        patch(dto -> dto.toBuilder()
+                .pendingProductRequests(Math.max(0, dto.getPendingProductRequests() + change))
+                .build());
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Exposes the underlying cache so it can be bound to a metrics registry.
+     */
+    public Cache<String, Snapshot> nativeCache() {
+        return cache;
+    }
+
+    // Applies a delta to the cached snapshot, if there is one. A snapshot from an earlier day is
+    // dropped instead, since its sales windows no longer line up.
+    private void patch(UnaryOperator<CentralOfficeDashboardDto> delta) {
+        LocalDate today = LocalDate.now(clock);
+        cache.asMap().computeIfPresent(SNAPSHOT_KEY, (key, snapshot) ->
+                snapshot.day().equals(today) ? new Snapshot(today, delta.apply(snapshot.dashboard())) : null);
+    }
+
+    private Snapshot load(LocalDate today) {
+        DashboardQueryRepository.CountsAndSales totals = dashboardQueryRepository.findCountsAndSales(
+                startOfToday(today), startOfWeek(today), startOfMonth(today));
+        ProductRankingsDto rankings = loadRankings(today, rankingWindowDays);
 
-        if (productIdsAndSales.isEmpty()) {
-            return List.of();
+        CentralOfficeDashboardDto dashboard = CentralOfficeDashboardDto.builder()
+                .pendingDealerOrders(totals.pendingDealerOrders())
+                .pendingProductRequests(totals.pendingProductRequests())
+                .totalInvoicesGenerated(totals.totalInvoices())
+                .salesToday(totals.salesToday())
+                .salesThisWeek(totals.salesThisWeek())
+                .salesThisMonth(totals.salesThisMonth())
+                .fastMovingProducts(rankings.getFastMovingProducts())
+                .slowMovingProducts(rankings.getSlowMovingProducts())
+                .build();
+        return new Snapshot(today, dashboard);
+    }
+
+    private ProductRankingsDto loadRankings(LocalDate today, int windowDays) {
+        DashboardQueryRepository.Rankings rankings =
+                dashboardQueryRepository.findRankings(today.minusDays(windowDays - 1L), RANKING_LIMIT);
+        return ProductRankingsDto.builder()
+                .windowDays(windowDays)
+                .fastMovingProducts(rankings.fastMoving())
+                .slowMovingProducts(rankings.slowMoving())
+                .build();
+    }
+
+    private static BigDecimal addIfSince(BigDecimal total, BigDecimal amount, LocalDateTime placed, LocalDateTime since) {
+        if (amount == null || placed == null || placed.isBefore(since)) {
+            return total;
         }
+        return total.add(amount);
+    }
 
-        List<Long> productIds = productIdsAndSales.stream()
-                .map(ProductIdSalesDto::getProductId)
-                .toList();
+    private static LocalDateTime startOfToday(LocalDate today) {
+        return today.atStartOfDay();
+    }
 
-        Map<Long, String> productNames = productRepository.findAllById(productIds).stream()
-                .collect(Collectors.toMap(Product::getId, Product::getName));
+    private static LocalDateTime startOfWeek(LocalDate today) {
+        return today.with(DayOfWeek.MONDAY).atStartOfDay();
+    }
+
+    private static LocalDateTime startOfMonth(LocalDate today) {
+        return today.withDayOfMonth(1).atStartOfDay();
+    }
 
-        return productIdsAndSales.stream()
-                .map(idDto -> new ProductSalesDataDto(
-                        productNames.getOrDefault(idDto.getProductId(), "Unknown Product"),
-                        idDto.getQuantitySold()
-                ))
-                .toList();
+    public record Snapshot(LocalDate day, CentralOfficeDashboardDto dashboard) {
+    }
+
+    private record RankingKey(LocalDate day, int windowDays) {
+    }
+
+    // Expires a snapshot a fixed time after it was loaded; in-place patches do not extend its life,
+    // so the rankings are still recomputed on schedule under a steady stream of updates.
+    private record ExpireAfterCreate(Duration ttl) implements Expiry<String, Snapshot> {
+
+        @Override
+        public long expireAfterCreate(String key, Snapshot value, long currentTime) {
+            return ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Snapshot value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Snapshot value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
-}
\ No newline at end of file
+}
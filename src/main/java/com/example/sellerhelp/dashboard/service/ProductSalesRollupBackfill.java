@@ -0,0 +1,38 @@
+package com.example.sellerhelp.dashboard.service;
+
+import com.example.sellerhelp.dashboard.repository.ProductSalesRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds {@code product_sales_rollup} from the existing order history. Runs once at startup when
+ * the table is still empty, and can be re-run on demand from the admin API.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSalesRollupBackfill {
+
+    private final ProductSalesRollupRepository productSalesRollupRepository;
+
+    @Value("${dashboard.rollup.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (backfillOnStartup && productSalesRollupRepository.count() == 0) {
+            rebuild();
+        }
+    }
+
+    // The repository clears and refills the table in its own transaction
+    public int rebuild() {
+        int rows = productSalesRollupRepository.rebuildFromOrders();
+        log.info("Rebuilt product_sales_rollup from dealer orders: {} rows", rows);
+        return rows;
+    }
+}
@@ -13,11 +13,13 @@ import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 import org.springframework.web.servlet.NoHandlerFoundException;
 import org.springframework.web.servlet.resource.NoResourceFoundException;
 
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 @ControllerAdvice
@@ -76,6 +78,23 @@ public class GlobalExceptionHandler {
                 .body(ApiResponseDto.error("Could not execute this statement, maybe a resource is missing", HttpStatus.NOT_FOUND));
     }
 
+    // 503 - A bounded worker pool (e.g. password hashing) is saturated; the client should retry
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ApiResponseDto<Map<String, String>>> overloaded(RejectedExecutionException ex) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ApiResponseDto.error("The server is busy, please retry shortly.", HttpStatus.SERVICE_UNAVAILABLE));
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiResponseDto<Map<String, String>>> unavailable(ServiceUnavailableException ex) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(ApiResponseDto.error(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE));
+    }
+
     // 500 - Server Error
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponseDto<Map<String, String>>> serverError(Exception ex) {
@@ -85,7 +104,7 @@ public class GlobalExceptionHandler {
     }
 
     // 400 - Bad Request
-    @ExceptionHandler({MethodArgumentNotValidException.class, IllegalArgumentException.class})
+    @ExceptionHandler({MethodArgumentNotValidException.class, HandlerMethodValidationException.class, IllegalArgumentException.class})
     public ResponseEntity<ApiResponseDto<Map<String, Object>>> badRequest(Exception ex) {
         Map<String, Object> errors = new HashMap<>();
 
@@ -95,6 +114,12 @@ public class GlobalExceptionHandler {
                             err -> ((FieldError) err).getField(),
                             err -> Objects.requireNonNullElse(err.getDefaultMessage(), "Invalid")
                     )));
+        } else if (ex instanceof HandlerMethodValidationException methodEx) {
+            // e.g. List<@Valid Dto> bodies, where each error names the offending element
+            errors.put("fields", methodEx.getAllErrors().stream()
+                    .map(err -> (err instanceof FieldError fieldError ? fieldError.getField() + ": " : "")
+                            + Objects.requireNonNullElse(err.getDefaultMessage(), "Invalid"))
+                    .toList());
         } else {
             errors.put("error", ex.getMessage());
         }
@@ -0,0 +1,15 @@
+package com.example.sellerhelp.factory.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One factory (and optional bay) assignment of a user, flattened for list screens.
+ */
+@Getter
+@AllArgsConstructor
+public class UserFactoryAssignmentDto {
+    private Long userId;
+    private String factoryName;
+    private String bayName;
+}
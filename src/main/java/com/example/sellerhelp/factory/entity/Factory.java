@@ -7,6 +7,7 @@ import com.example.sellerhelp.constant.ActiveStatus;
 import com.example.sellerhelp.tool.entity.Bucket;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -54,6 +55,11 @@ public class Factory {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Maintained only by FactoryRepository.adjustOverdueToolCount, never written through the entity
+    @ColumnDefault("0")
+    @Column(name = "overdue_tool_count", nullable = false, insertable = false, updatable = false)
+    private Long overdueToolCount;
+
     @OneToMany(mappedBy = "factory", cascade = CascadeType.ALL)
     private List<FactoryBay> bays = new ArrayList<>();
 
@@ -3,6 +3,9 @@ package com.example.sellerhelp.factory.repository;
 import com.example.sellerhelp.factory.entity.Factory;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -13,5 +16,12 @@ public interface FactoryRepository extends JpaRepository<Factory, Long>, JpaSpec
         Optional<Factory> findByFactoryId(String factoryId);
 
         boolean existsByNameIgnoreCase(String name);
+
+        @Query("SELECT f.overdueToolCount FROM Factory f WHERE f.id = :factoryId")
+        Optional<Long> findOverdueToolCount(@Param("factoryId") Long factoryId);
+
+        @Modifying
+        @Query(value = "UPDATE factory SET overdue_tool_count = overdue_tool_count + :delta WHERE id = :factoryId", nativeQuery = true)
+        int adjustOverdueToolCount(@Param("factoryId") Long factoryId, @Param("delta") long delta);
 }
 
@@ -1,12 +1,24 @@
 package com.example.sellerhelp.factory.repository;
 
 import com.example.sellerhelp.appuser.entity.User;
+import com.example.sellerhelp.factory.dto.UserFactoryAssignmentDto;
 import com.example.sellerhelp.factory.entity.Factory;
 import com.example.sellerhelp.factory.entity.UserFactoryMapping;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface UserFactoryMappingRepository extends JpaRepository<UserFactoryMapping, Long> {
     boolean existsByUserAndFactory(User user, Factory factory);
+
+    // Factory and bay names for a whole page of users in one select
+    @Query("SELECT new com.example.sellerhelp.factory.dto.UserFactoryAssignmentDto(m.user.id, f.name, b.name) " +
+            "FROM UserFactoryMapping m JOIN m.factory f LEFT JOIN m.bay b " +
+            "WHERE m.user.id IN :userIds ORDER BY m.id")
+    List<UserFactoryAssignmentDto> findAssignmentsByUserIdIn(@Param("userIds") Collection<Long> userIds);
 }
\ No newline at end of file
@@ -4,6 +4,9 @@ import com.cloudinary.api.exceptions.AlreadyExists;
 import com.example.sellerhelp.appuser.dto.PageableDto;
 import com.example.sellerhelp.appuser.entity.User;
 import com.example.sellerhelp.appuser.repository.UserRepository;
+import com.example.sellerhelp.common.BusinessIdGenerator;
+import com.example.sellerhelp.common.BusinessIdType;
+import com.example.sellerhelp.common.ReferenceDataCache;
 import com.example.sellerhelp.constant.ActiveStatus;
 import com.example.sellerhelp.constant.UserRole;
 import com.example.sellerhelp.factory.dto.*;
@@ -12,7 +15,6 @@ import com.example.sellerhelp.factory.entity.UserFactoryMapping;
 import com.example.sellerhelp.factory.repository.FactoryRepository;
 import com.example.sellerhelp.factory.repository.FactorySpecifications;
 import com.example.sellerhelp.factory.repository.UserFactoryMappingRepository;
-import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -33,7 +35,8 @@ public class FactoryService {
     private final FactoryRepository factoryRepository;
     private final UserRepository userRepository;
     private final UserFactoryMappingRepository userFactoryMappingRepository;
-    private final EntityManager entityManager;
+    private final BusinessIdGenerator businessIdGenerator;
+    private final ReferenceDataCache referenceDataCache;
 
     @Transactional
     public FactoryDetailsDto createFactory(CreateFactoryDto dto) throws AlreadyExists {
@@ -45,6 +48,7 @@ public class FactoryService {
         if (!plantHead.getRole().getName().name().equals("PLANT_HEAD")) throw new IllegalArgumentException("This user is not a plant head");
 
         Factory factory = Factory.builder()
+                .factoryId(businessIdGenerator.next(BusinessIdType.FACTORY))
                 .name(dto.getName())
                 .city(dto.getCity())
                 .address(dto.getAddress())
@@ -53,9 +57,7 @@ public class FactoryService {
                 .build();
 
         Factory savedFactory = factoryRepository.save(factory);
-        factoryRepository.flush();
-        entityManager.refresh(savedFactory);
-//        savedFactory.setFactoryId(factoryRepository.findByFactoryId(savedFactory.getFactoryId()).orElseThrow(()-> new IllegalArgumentException("there was some problem fetching factory id")).getFactoryId());
+        referenceDataCache.invalidateFactory(savedFactory.getFactoryId());
         if (plantHead != null) {
             createUserFactoryMapping(plantHead, savedFactory);
         }
@@ -71,14 +73,14 @@ public class FactoryService {
     }
 
     public FactoryDetailsDto getFactoryById(String factoryId) {
-        return factoryRepository.findByFactoryId(factoryId)
+        return referenceDataCache.findFactory(factoryId)
                 .map(this::toDetailsDto)
                 .orElseThrow(() -> new NoSuchElementException("Factory not found with ID: " + factoryId));
     }
 
     // Placeholder for your new DTO
     public FactoryToolDetailsDto getFactoryToolDetails(String factoryId) {
-        Factory factory = factoryRepository.findByFactoryId(factoryId)
+        Factory factory = referenceDataCache.findFactory(factoryId)
                 .orElseThrow(() -> new NoSuchElementException("Factory not found with ID: " + factoryId));
 
         // In the future, we will add logic here to fetch the tools and product stock
@@ -110,7 +112,9 @@ public class FactoryService {
             createUserFactoryMapping(newPlantHead, factory);
         }
 
-        return toDetailsDto(factoryRepository.save(factory));
+        Factory savedFactory = factoryRepository.save(factory);
+        referenceDataCache.invalidateFactory(factoryId);
+        return toDetailsDto(savedFactory);
     }
 
     // --- Helper Methods ---
@@ -163,5 +167,6 @@ public class FactoryService {
 
         factory.setIsActive(ActiveStatus.INACTIVE);
         factoryRepository.save(factory);
+        referenceDataCache.invalidateFactory(factoryId);
     }
 }
\ No newline at end of file
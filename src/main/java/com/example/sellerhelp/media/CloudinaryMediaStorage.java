@@ -0,0 +1,44 @@
+package com.example.sellerhelp.media;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Default storage. Cloudinary reads the spooled file itself, so the image is streamed from disk
+ * rather than loaded onto the heap, and the HTTP client gives up after {@code media.upload.timeout}.
+ */
+@Component
+@ConditionalOnProperty(name = "media.storage", havingValue = "cloudinary", matchIfMissing = true)
+public class CloudinaryMediaStorage implements MediaStorage {
+
+    private final Cloudinary cloudinary;
+    private final Duration timeout;
+
+    public CloudinaryMediaStorage(Cloudinary cloudinary,
+                                  @Value("${media.upload.timeout:30s}") Duration timeout) {
+        this.cloudinary = cloudinary;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public String store(Path file, String folder, String contentType) {
+        try {
+            Map<?, ?> result = cloudinary.uploader().upload(file.toFile(), ObjectUtils.asMap(
+                    "folder", folder,
+                    "timeout", (int) timeout.toSeconds()
+            ));
+            return result.get("secure_url").toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Image upload failed", e);
+        }
+    }
+}
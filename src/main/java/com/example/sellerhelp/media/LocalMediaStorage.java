@@ -0,0 +1,44 @@
+package com.example.sellerhelp.media;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+/**
+ * Filesystem stand-in for Cloudinary, for local runs and tests ({@code media.storage=local}).
+ * Files are copied under {@code media.local.directory} and returned as {@code file:} URLs.
+ */
+@Component
+@ConditionalOnProperty(name = "media.storage", havingValue = "local")
+public class LocalMediaStorage implements MediaStorage {
+
+    private final Path root;
+
+    public LocalMediaStorage(@Value("${media.local.directory:${java.io.tmpdir}/sellerhelp-media}") Path root) {
+        this.root = root;
+    }
+
+    @Override
+    public String store(Path file, String folder, String contentType) {
+        try {
+            Path directory = Files.createDirectories(root.resolve(folder));
+            Path target = directory.resolve(UUID.randomUUID() + extension(file));
+            Files.copy(file, target);
+            return target.toUri().toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Image upload failed", e);
+        }
+    }
+
+    private static String extension(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? "" : name.substring(dot);
+    }
+}
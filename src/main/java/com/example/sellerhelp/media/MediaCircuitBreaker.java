@@ -0,0 +1,73 @@
+package com.example.sellerhelp.media;
+
+import java.time.Duration;
+
+/**
+ * Consecutive-failure circuit breaker around the storage provider. After {@code failureThreshold}
+ * failed uploads in a row it opens and uploads are refused outright; once {@code openDuration} has
+ * passed a single trial upload is let through, and its outcome closes or re-opens the circuit.
+ */
+final class MediaCircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    MediaCircuitBreaker(int failureThreshold, Duration openDuration) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = openDuration.toNanos();
+    }
+
+    /**
+     * @return true if the caller may try an upload; it must then report exactly one of
+     * {@link #onSuccess}, {@link #onFailure} or {@link #release}
+     */
+    synchronized boolean tryAcquire() {
+        return switch (state()) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                trialInFlight = true;
+                yield true;
+            }
+        };
+    }
+
+    synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    synchronized void onFailure() {
+        trialInFlight = false;
+        if (++consecutiveFailures >= failureThreshold) {
+            openedAt = System.nanoTime();
+        }
+    }
+
+    /**
+     * The upload never reached the provider (e.g. the queue was full), so it says nothing about its health.
+     */
+    synchronized void release() {
+        trialInFlight = false;
+    }
+
+    synchronized State state() {
+        if (consecutiveFailures < failureThreshold) {
+            return State.CLOSED;
+        }
+        if (trialInFlight || System.nanoTime() - openedAt < openNanos) {
+            return State.OPEN;
+        }
+        return State.HALF_OPEN;
+    }
+
+    synchronized int consecutiveFailures() {
+        return consecutiveFailures;
+    }
+}
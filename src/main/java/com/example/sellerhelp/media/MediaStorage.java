@@ -0,0 +1,18 @@
+package com.example.sellerhelp.media;
+
+import java.nio.file.Path;
+
+/**
+ * Where uploaded media ends up. Implementations stream the file from disk and return the public
+ * URL of the stored copy; they are called from the media upload pool, never on a request thread.
+ */
+public interface MediaStorage {
+
+    /**
+     * @param file        spooled upload; the caller deletes it afterwards
+     * @param folder      logical folder, e.g. {@code sellerhelp/users}
+     * @param contentType content type reported by the client, may be null
+     * @return public URL of the stored file
+     */
+    String store(Path file, String folder, String contentType);
+}
@@ -0,0 +1,186 @@
+package com.example.sellerhelp.media;
+
+import com.example.sellerhelp.exception.ServiceUnavailableException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Uploads files to {@link MediaStorage} off the request thread. The multipart body is first spooled
+ * to a temp file, which the storage then streams from, so an image is never held on the heap. The
+ * upload runs on a small bounded pool: a full queue rejects with a RejectedExecutionException, and
+ * after repeated provider failures a circuit breaker fails uploads fast with a 503 rather than
+ * letting every request wait out the provider timeout.
+ * <p>
+ * The whole upload, queue wait included, is bounded by {@code media.upload.timeout}. An upload that
+ * still finishes after the caller has timed out is left unreferenced in storage.
+ * <p>
+ * Callers must not hold a transaction across the returned future; write the result in a short
+ * transaction of its own once it completes.
+ */
+@Slf4j
+@Service
+public class MediaUploadService {
+
+    private final MediaStorage storage;
+    private final ThreadPoolExecutor executor;
+    private final MediaCircuitBreaker circuitBreaker;
+    private final Duration timeout;
+    private final Path spoolDirectory;
+    private final AtomicLong uploaded = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong shortCircuited = new AtomicLong();
+
+    public MediaUploadService(MediaStorage storage,
+                              @Value("${media.upload.threads:4}") int threads,
+                              @Value("${media.upload.queue-capacity:32}") int queueCapacity,
+                              @Value("${media.upload.timeout:30s}") Duration timeout,
+                              @Value("${media.upload.spool-directory:${java.io.tmpdir}}") Path spoolDirectory,
+                              @Value("${media.circuit-breaker.failure-threshold:5}") int failureThreshold,
+                              @Value("${media.circuit-breaker.open-duration:30s}") Duration openDuration) {
+        this.storage = storage;
+        this.timeout = timeout;
+        this.spoolDirectory = spoolDirectory;
+        this.circuitBreaker = new MediaCircuitBreaker(failureThreshold, openDuration);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory(), (task, pool) -> {
+                    rejected.incrementAndGet();
+                    throw new RejectedExecutionException("Media upload queue is full");
+                });
+        log.info("Media upload pool: {} threads, queue capacity {}, storage {}", threads, queueCapacity,
+                storage.getClass().getSimpleName());
+    }
+
+    /**
+     * Spools the file on the calling thread, then uploads it on the pool.
+     *
+     * @return the public URL of the stored file. The future fails with a ServiceUnavailableException
+     * if the provider times out or is failing; the storage exception is passed through otherwise.
+     */
+    public CompletableFuture<String> upload(MultipartFile file, String folder) {
+        if (!circuitBreaker.tryAcquire()) {
+            shortCircuited.incrementAndGet();
+            throw new ServiceUnavailableException("Image storage is temporarily unavailable, please retry later.");
+        }
+        Path spooled;
+        try {
+            spooled = spool(file);
+        } catch (RuntimeException e) {
+            circuitBreaker.release();
+            throw e;
+        }
+        String contentType = file.getContentType();
+        try {
+            return CompletableFuture.supplyAsync(() -> store(spooled, folder, contentType), executor)
+                    .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .exceptionallyCompose(ex -> CompletableFuture.failedFuture(
+                            ex instanceof TimeoutException
+                                    ? new ServiceUnavailableException("Image upload timed out, please retry later.")
+                                    : ex));
+        } catch (RejectedExecutionException e) {
+            circuitBreaker.release();
+            deleteQuietly(spooled);
+            throw e;
+        }
+    }
+
+    /**
+     * Pool, queue and circuit breaker counters, for the admin endpoint.
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("storage", storage.getClass().getSimpleName());
+        stats.put("poolSize", executor.getMaximumPoolSize());
+        stats.put("active", executor.getActiveCount());
+        stats.put("queued", executor.getQueue().size());
+        stats.put("queueRemainingCapacity", executor.getQueue().remainingCapacity());
+        stats.put("uploaded", uploaded.get());
+        stats.put("failed", failed.get());
+        stats.put("rejected", rejected.get());
+        stats.put("shortCircuited", shortCircuited.get());
+        stats.put("circuitState", circuitBreaker.state().name());
+        stats.put("consecutiveFailures", circuitBreaker.consecutiveFailures());
+        return stats;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private Path spool(MultipartFile file) {
+        Path spooled = null;
+        try {
+            spooled = Files.createTempFile(spoolDirectory, "upload-", suffix(file.getOriginalFilename()));
+            // Moves the container's own temp file where possible instead of copying it
+            file.transferTo(spooled);
+            return spooled;
+        } catch (IOException e) {
+            if (spooled != null) {
+                deleteQuietly(spooled);
+            }
+            throw new UncheckedIOException("Could not read the uploaded file", e);
+        }
+    }
+
+    private String store(Path spooled, String folder, String contentType) {
+        long start = System.nanoTime();
+        try {
+            String url = storage.store(spooled, folder, contentType);
+            circuitBreaker.onSuccess();
+            uploaded.incrementAndGet();
+            log.debug("Uploaded {} to {} in {} ms", spooled.getFileName(), folder, (System.nanoTime() - start) / 1_000_000);
+            return url;
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure();
+            failed.incrementAndGet();
+            log.warn("Upload to {} failed after {} ms: {}", folder, (System.nanoTime() - start) / 1_000_000, e.getMessage());
+            throw e;
+        } finally {
+            deleteQuietly(spooled);
+        }
+    }
+
+    private static String suffix(String originalFilename) {
+        String extension = StringUtils.getFilenameExtension(originalFilename);
+        return extension == null || !extension.matches("[A-Za-z0-9]{1,8}") ? ".tmp" : "." + extension;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete spooled upload {}", file, e);
+        }
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, "media-upload-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
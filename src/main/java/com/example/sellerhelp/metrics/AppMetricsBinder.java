@@ -0,0 +1,66 @@
+package com.example.sellerhelp.metrics;
+
+import com.example.sellerhelp.common.ReferenceDataCache;
+import com.example.sellerhelp.dashboard.service.DashboardService;
+import com.example.sellerhelp.media.MediaUploadService;
+import com.example.sellerhelp.order.invoice.InvoiceRenderingService;
+import com.example.sellerhelp.security.JwtUtil;
+import com.example.sellerhelp.security.PasswordHashingService;
+import com.example.sellerhelp.security.PrincipalCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Exposes the in-process caches and the bounded worker pools that the admin endpoints already
+ * report: Caffeine hit/miss/eviction meters per cache, and one {@code sellerhelp.pool} gauge per
+ * numeric pool counter, tagged with the pool and the counter name.
+ */
+@Component
+@RequiredArgsConstructor
+public class AppMetricsBinder implements MeterBinder {
+
+    private final ReferenceDataCache referenceDataCache;
+    private final PrincipalCache principalCache;
+    private final JwtUtil jwtUtil;
+    private final DashboardService dashboardService;
+    private final PasswordHashingService passwordHashingService;
+    private final MediaUploadService mediaUploadService;
+    private final InvoiceRenderingService invoiceRenderingService;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        referenceDataCache.nativeCaches().forEach((name, cache) -> monitor(registry, cache, "reference." + name));
+        monitor(registry, principalCache.nativeCache(), "principals");
+        monitor(registry, jwtUtil.nativeCache(), "verifiedTokens");
+        monitor(registry, dashboardService.nativeCache(), "dashboard");
+
+        pool(registry, "passwordHashing", passwordHashingService::stats);
+        pool(registry, "mediaUpload", mediaUploadService::stats);
+        pool(registry, "invoiceRendering", invoiceRenderingService::stats);
+    }
+
+    private static <K, V> void monitor(MeterRegistry registry, Cache<K, V> cache, String name) {
+        CaffeineCacheMetrics.monitor(registry, cache, name);
+    }
+
+    private static void pool(MeterRegistry registry, String pool, Supplier<Map<String, Object>> stats) {
+        stats.get().forEach((stat, initial) -> {
+            if (initial instanceof Number) {
+                Gauge.builder("sellerhelp.pool", stats, current -> current.get().get(stat) instanceof Number number
+                                ? number.doubleValue() : Double.NaN)
+                        .tag("pool", pool)
+                        .tag("stat", stat)
+                        .strongReference(true)
+                        .register(registry);
+            }
+        });
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.sellerhelp.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the session factory's {@link Statistics} as {@code sellerhelp.hibernate.*} meters:
+ * statements, queries, entity and collection loads, and second-level and query cache hits. The
+ * counters are only populated while {@code app.jpa.statistics} is on.
+ */
+@Component
+public class HibernateStatisticsMetrics implements MeterBinder {
+
+    private final Statistics statistics;
+
+    public HibernateStatisticsMetrics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        counter(registry, "statements", "prepared", "JDBC statements prepared", Statistics::getPrepareStatementCount);
+        counter(registry, "statements", "closed", "JDBC statements closed", Statistics::getCloseStatementCount);
+        counter(registry, "queries", "executed", "HQL and native queries executed", Statistics::getQueryExecutionCount);
+        counter(registry, "flushes", null, "Session flushes", Statistics::getFlushCount);
+        counter(registry, "transactions", null, "Transactions completed", Statistics::getTransactionCount);
+
+        counter(registry, "entities", "loaded", "Entities loaded", Statistics::getEntityLoadCount);
+        counter(registry, "entities", "fetched", "Entities fetched lazily", Statistics::getEntityFetchCount);
+        counter(registry, "entities", "inserted", "Entities inserted", Statistics::getEntityInsertCount);
+        counter(registry, "entities", "updated", "Entities updated", Statistics::getEntityUpdateCount);
+        counter(registry, "entities", "deleted", "Entities deleted", Statistics::getEntityDeleteCount);
+        counter(registry, "collections", "loaded", "Collections loaded", Statistics::getCollectionLoadCount);
+        counter(registry, "collections", "fetched", "Collections fetched lazily", Statistics::getCollectionFetchCount);
+
+        counter(registry, "second.level.cache.requests", "hit", "Second-level cache hits", Statistics::getSecondLevelCacheHitCount);
+        counter(registry, "second.level.cache.requests", "miss", "Second-level cache misses", Statistics::getSecondLevelCacheMissCount);
+        counter(registry, "query.cache.requests", "hit", "Query cache hits", Statistics::getQueryCacheHitCount);
+        counter(registry, "query.cache.requests", "miss", "Query cache misses", Statistics::getQueryCacheMissCount);
+        counter(registry, "optimistic.failures", null, "Optimistic lock failures", Statistics::getOptimisticFailureCount);
+
+        Gauge.builder("sellerhelp.hibernate.query.max.time", statistics, Statistics::getQueryExecutionMaxTime)
+                .description("Slowest query since startup")
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("sellerhelp.hibernate.sessions.open", statistics,
+                        stats -> stats.getSessionOpenCount() - stats.getSessionCloseCount())
+                .description("Sessions currently open")
+                .register(registry);
+    }
+
+    private void counter(MeterRegistry registry, String name, String type, String description,
+                         ToDoubleFunction<Statistics> count) {
+        FunctionCounter.Builder<Statistics> builder = FunctionCounter.builder("sellerhelp.hibernate." + name, statistics, count)
+                .description(description);
+        if (type != null) {
+            builder.tag("type", type);
+        }
+        builder.register(registry);
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.sellerhelp.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every Spring Data repository call as {@code sellerhelp.repository}, tagged with the
+ * repository interface and method, and records how many rows came back as
+ * {@code sellerhelp.repository.rows}. Counts, flags, void methods, streams and calls that throw
+ * have no row count and only get the timer.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryMetricsAspect {
+
+    static final String METRIC = "sellerhelp.repository";
+    static final String ROWS_METRIC = "sellerhelp.repository.rows";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Around("target(org.springframework.data.repository.Repository)")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        String repository = repositoryNames.computeIfAbsent(joinPoint.getTarget().getClass(), RepositoryMetricsAspect::repositoryName);
+        String method = joinPoint.getSignature().getName();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            Object result = joinPoint.proceed();
+            // Only a completed query has a row count; void methods and failures get the timer alone
+            if (((MethodSignature) joinPoint.getSignature()).getReturnType() != void.class) {
+                recordRows(repository, method, result);
+            }
+            return result;
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(METRIC)
+                    .tag("repository", repository)
+                    .tag("method", method)
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    private void recordRows(String repository, String method, Object result) {
+        long rows = rowCount(result);
+        if (rows >= 0) {
+            DistributionSummary.builder(ROWS_METRIC)
+                    .baseUnit("rows")
+                    .tag("repository", repository)
+                    .tag("method", method)
+                    .register(meterRegistry)
+                    .record(rows);
+        }
+    }
+
+    /**
+     * Rows in a query result, or -1 when the result is not a row set. A {@code null} result of a
+     * single-row finder counts as no rows.
+     */
+    static long rowCount(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Window<?> window) {
+            return window.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Number || result instanceof Boolean || result instanceof AutoCloseable) {
+            return -1;
+        }
+        return result.getClass().getName().startsWith("com.example.sellerhelp.") ? 1 : -1;
+    }
+
+    /**
+     * The application interface a repository proxy implements, e.g. {@code ToolRepository}.
+     */
+    private static String repositoryName(Class<?> proxyClass) {
+        return Arrays.stream(proxyClass.getInterfaces())
+                .filter(type -> type.getName().startsWith("com.example.sellerhelp."))
+                .map(Class::getSimpleName)
+                .findFirst()
+                .orElse(proxyClass.getSimpleName());
+    }
+}
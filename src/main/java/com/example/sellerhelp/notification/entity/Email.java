@@ -2,39 +2,73 @@ package com.example.sellerhelp.notification.entity;
 
 import com.example.sellerhelp.appuser.entity.User;
 import com.example.sellerhelp.constant.EmailStatus;
+import com.example.sellerhelp.notification.template.NotificationKind;
 import jakarta.persistence.*;
 import lombok.*;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
-import java.time.ZonedDateTime;
 
+/**
+ * Outbox row for an outgoing email. Written in the same transaction as the business change
+ * and drained asynchronously by {@code EmailDispatcher}.
+ */
 @Entity
-@Table(name = "email")
+@Table(name = "email", indexes = @Index(name = "idx_email_status_next_attempt", columnList = "status, next_attempt_at"))
 @EntityListeners(AuditingEntityListener.class)
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class Email {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "email_seq")
+    @SequenceGenerator(name = "email_seq", sequenceName = "email_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne @JoinColumn(name = "user_id")
     private User user;
 
+    @Column(nullable = false)
+    private String recipient;
+
     @Column(length = 500)
     private String subject;
 
+    // Either a pre-rendered body, or a template kind plus its JSON model rendered at dispatch.
+    // Both are cleared by the dispatcher once the row is SENT or FAILED.
     @Column(columnDefinition = "TEXT")
     private String body;
 
+    @Enumerated(EnumType.STRING)
+    @Column(length = 50)
+    private NotificationKind template;
+
+    @Column(columnDefinition = "TEXT")
+    private String model;
+
+    @Builder.Default
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
-    private EmailStatus status = EmailStatus.SENT;
+    private EmailStatus status = EmailStatus.PENDING;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    // Lease held by the dispatcher while a batch is in flight; an expired lease is reclaimed
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
 
     @CreatedDate
-    @Column(name = "sent_at", nullable = false)
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
     private LocalDateTime sentAt;
 }
-
@@ -0,0 +1,33 @@
+package com.example.sellerhelp.notification.repository;
+
+import com.example.sellerhelp.constant.EmailStatus;
+import com.example.sellerhelp.notification.entity.Email;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailRepository extends JpaRepository<Email, Long> {
+
+    /**
+     * Ids of rows that are due: pending and past their backoff, or stuck in SENDING with an
+     * expired lease. SKIP LOCKED lets several dispatcher instances drain the outbox in parallel.
+     */
+    @Query(value = "SELECT id FROM email " +
+            "WHERE (status = 'PENDING' AND next_attempt_at <= :now) " +
+            "   OR (status = 'SENDING' AND locked_until < :now) " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> findDueIdsForUpdate(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Email e SET e.status = com.example.sellerhelp.constant.EmailStatus.SENDING, e.lockedUntil = :lockedUntil WHERE e.id IN :ids")
+    int lease(@Param("ids") Collection<Long> ids, @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    long countByStatus(EmailStatus status);
+}
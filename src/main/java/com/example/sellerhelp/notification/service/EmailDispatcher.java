@@ -0,0 +1,193 @@
+package com.example.sellerhelp.notification.service;
+
+import com.example.sellerhelp.constant.EmailStatus;
+import com.example.sellerhelp.notification.entity.Email;
+import com.example.sellerhelp.notification.repository.EmailRepository;
+import com.example.sellerhelp.notification.template.NotificationRenderer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Drains the email outbox. Each run leases a batch of due rows, sends them over a single SMTP
+ * connection and records the outcome per row. Failed rows are retried with exponential backoff
+ * until {@code mail.outbox.max-attempts} is reached, then marked FAILED. Body and model are
+ * cleared as soon as a row is SENT or FAILED.
+ */
+@Slf4j
+@Component
+public class EmailDispatcher {
+
+    private final EmailRepository emailRepository;
+    private final JavaMailSender mailSender;
+    private final NotificationRenderer notificationRenderer;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    public EmailDispatcher(EmailRepository emailRepository,
+                           JavaMailSender mailSender,
+                           NotificationRenderer notificationRenderer,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${mail.outbox.batch-size:50}") int batchSize,
+                           @Value("${mail.outbox.max-attempts:6}") int maxAttempts,
+                           @Value("${mail.outbox.lease:5m}") Duration lease,
+                           @Value("${mail.outbox.initial-backoff:30s}") Duration initialBackoff,
+                           @Value("${mail.outbox.max-backoff:1h}") Duration maxBackoff) {
+        this.emailRepository = emailRepository;
+        this.mailSender = mailSender;
+        this.notificationRenderer = notificationRenderer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.lease = lease;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-interval:5s}")
+    public void dispatchPending() {
+        int claimed;
+        do {
+            claimed = dispatchBatch();
+        } while (claimed == batchSize);
+    }
+
+    /**
+     * Sends one batch and returns the number of rows it picked up.
+     */
+    public int dispatchBatch() {
+        List<Email> batch = claimBatch();
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<MimeMessage, Email> messages = new LinkedHashMap<>();
+        Map<Long, String> failures = new HashMap<>();
+        for (Email email : batch) {
+            try {
+                messages.put(toMimeMessage(email), email);
+            } catch (MessagingException | RuntimeException e) {
+                // Covers template rendering errors too; the row is retried and eventually FAILED
+                failures.put(email.getId(), e.getMessage());
+            }
+        }
+
+        if (!messages.isEmpty()) {
+            try {
+                // JavaMailSenderImpl sends the whole array over one connection
+                mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                Map<Object, Exception> failed = e.getFailedMessages();
+                if (failed.isEmpty()) {
+                    messages.values().forEach(email -> failures.put(email.getId(), e.getMessage()));
+                }
+                failed.forEach((message, cause) -> {
+                    Email email = messages.get(message);
+                    if (email != null) {
+                        failures.put(email.getId(), cause.getMessage());
+                    }
+                });
+            } catch (MailException e) {
+                messages.values().forEach(email -> failures.put(email.getId(), e.getMessage()));
+            }
+        }
+
+        recordOutcome(batch, failures);
+        log.info("Email outbox: dispatched {} message(s), {} failed", batch.size() - failures.size(), failures.size());
+        return batch.size();
+    }
+
+    private List<Email> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> ids = emailRepository.findDueIdsForUpdate(now, batchSize);
+            if (ids.isEmpty()) {
+                return List.<Email>of();
+            }
+            emailRepository.lease(ids, now.plus(lease));
+            return emailRepository.findAllById(ids);
+        });
+    }
+
+    private void recordOutcome(List<Email> batch, Map<Long, String> failures) {
+        List<Long> ids = batch.stream().map(Email::getId).toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            // Re-read as managed entities so the outcome is flushed as one batch of updates
+            for (Email email : emailRepository.findAllById(ids)) {
+                email.setLockedUntil(null);
+                email.setAttempts(email.getAttempts() + 1);
+                String error = failures.get(email.getId());
+                if (error == null) {
+                    email.setStatus(EmailStatus.SENT);
+                    email.setSentAt(now);
+                    email.setLastError(null);
+                    clearContent(email);
+                } else if (email.getAttempts() >= maxAttempts) {
+                    email.setStatus(EmailStatus.FAILED);
+                    email.setLastError(truncate(error));
+                    clearContent(email);
+                    log.error("Giving up on email {} to {} after {} attempts: {}", email.getId(), email.getRecipient(), email.getAttempts(), error);
+                } else {
+                    email.setStatus(EmailStatus.PENDING);
+                    email.setNextAttemptAt(now.plus(backoff(email.getAttempts())));
+                    email.setLastError(truncate(error));
+                    log.warn("Email {} to {} failed (attempt {}), will retry: {}", email.getId(), email.getRecipient(), email.getAttempts(), error);
+                }
+            }
+        });
+    }
+
+    /**
+     * Drops the rendered body and the template model once a row is final. They can carry
+     * personal data and are never read again; recipient, subject and status stay for auditing.
+     */
+    private static void clearContent(Email email) {
+        email.setBody(null);
+        email.setModel(null);
+    }
+
+    private MimeMessage toMimeMessage(Email email) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, "utf-8");
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
+        String html = email.getTemplate() != null
+                ? notificationRenderer.render(email.getTemplate(), email.getModel())
+                : email.getBody();
+        helper.setText(html, true); // true indicates the body is HTML
+        return mimeMessage;
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+}
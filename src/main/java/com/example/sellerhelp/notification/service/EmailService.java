@@ -1,44 +1,87 @@
 package com.example.sellerhelp.notification.service;
 
+import com.example.sellerhelp.constant.EmailStatus;
+import com.example.sellerhelp.notification.entity.Email;
+import com.example.sellerhelp.notification.repository.EmailRepository;
+import com.example.sellerhelp.notification.template.Notification;
+import com.example.sellerhelp.notification.template.NotificationRenderer;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
-@Slf4j // For logging
 public class EmailService {
 
-    private final JavaMailSender mailSender;
+    private final EmailRepository emailRepository;
+    private final NotificationRenderer notificationRenderer;
 
     /**
-     * Sends an email asynchronously.
+     * Queues a templated notification. Only the typed model is stored here; the HTML is
+     * rendered by the dispatcher, outside the business transaction.
+     */
+    @Transactional
+    public void send(String to, Notification notification) {
+        emailRepository.save(pending(to, notification, notificationRenderer.serialize(notification)));
+    }
+
+    /**
+     * Queues the same notification for several recipients with one batched insert.
+     */
+    @Transactional
+    public void sendToAll(Collection<String> recipients, Notification notification) {
+        String model = notificationRenderer.serialize(notification);
+        List<Email> emails = recipients.stream()
+                .map(to -> pending(to, notification, model))
+                .toList();
+        emailRepository.saveAll(emails);
+    }
+
+    /**
+     * Queues an email in the outbox. The row joins the caller's transaction, so the mail is
+     * only sent if the business change commits; delivery is done by {@link EmailDispatcher}.
      * @param to The recipient's email address.
      * @param subject The subject of the email.
      * @param htmlBody The HTML content of the email.
      */
-    @Async // This annotation makes the email sending non-blocking
+    @Transactional
     public void sendEmail(String to, String subject, String htmlBody) {
-        try {
-            MimeMessage mimeMessage = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, "utf-8");
+        emailRepository.save(pending(to, subject, htmlBody));
+    }
 
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(htmlBody, true); // true indicates the body is HTML
+    /**
+     * Queues the same email for several recipients with one batched insert.
+     */
+    @Transactional
+    public void sendEmails(Collection<String> recipients, String subject, String htmlBody) {
+        List<Email> emails = recipients.stream()
+                .map(to -> pending(to, subject, htmlBody))
+                .toList();
+        emailRepository.saveAll(emails);
+    }
 
-            mailSender.send(mimeMessage);
-            log.info("Email sent successfully to {}", to);
+    private Email pending(String to, Notification notification, String model) {
+        return Email.builder()
+                .recipient(to)
+                .subject(notification.subject())
+                .template(notification.kind())
+                .model(model)
+                .status(EmailStatus.PENDING)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
 
-        } catch (MessagingException e) {
-            log.error("Failed to send email to {}: {}", to, e.getMessage());
-            // In a real application, you might save the failed email to a database table to retry later.
-        }
+    private Email pending(String to, String subject, String htmlBody) {
+        return Email.builder()
+                .recipient(to)
+                .subject(subject)
+                .body(htmlBody)
+                .status(EmailStatus.PENDING)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,80 @@
+package com.example.sellerhelp.notification.template;
+
+import java.util.List;
+
+/**
+ * Typed model for each notification. Services build one of these inside their transaction;
+ * the HTML is only rendered by the dispatcher, from the template named by {@link #kind()}.
+ */
+public sealed interface Notification {
+
+    NotificationKind kind();
+
+    String subject();
+
+    record DealerOrderReceived(String dealerName, String orderId) implements Notification {
+        public NotificationKind kind() { return NotificationKind.DEALER_ORDER_RECEIVED; }
+        public String subject() { return "Your Order has been Received: " + orderId; }
+    }
+
+    record DealerOrderPlaced(String orderId, String dealerName, String dealerEmail) implements Notification {
+        public NotificationKind kind() { return NotificationKind.DEALER_ORDER_PLACED; }
+        public String subject() { return "New Dealer Order Received: " + orderId; }
+    }
+
+    record DealerOrderFulfilled(String dealerName, String orderId, String invoiceId) implements Notification {
+        public NotificationKind kind() { return NotificationKind.DEALER_ORDER_FULFILLED; }
+        public String subject() { return "Your Order has been Fulfilled: " + orderId; }
+    }
+
+    record CustomerWelcome(String customerName, String email, String temporaryPassword) implements Notification {
+        public NotificationKind kind() { return NotificationKind.CUSTOMER_WELCOME; }
+        public String subject() { return "Welcome to SellerHelp! Your account has been created."; }
+    }
+
+    record ToolRequestPending(String supervisorName, String workerName, String requestNumber) implements Notification {
+        public NotificationKind kind() { return NotificationKind.TOOL_REQUEST_PENDING; }
+        public String subject() { return "New Tool Request Pending Approval: " + requestNumber; }
+    }
+
+    record ToolRequestApproved(String workerName, String requestNumber) implements Notification {
+        public NotificationKind kind() { return NotificationKind.TOOL_REQUEST_APPROVED; }
+        public String subject() { return "Your Tool Request has been Approved: " + requestNumber; }
+    }
+
+    record ToolRequestRejected(String workerName, String requestNumber, String reason) implements Notification {
+        public NotificationKind kind() { return NotificationKind.TOOL_REQUEST_REJECTED; }
+        public String subject() { return "Your Tool Request has been Rejected: " + requestNumber; }
+    }
+
+    record ProductRequestCreated(String plantHeadName, String factoryName, String requestNumber) implements Notification {
+        public NotificationKind kind() { return NotificationKind.PRODUCT_REQUEST_CREATED; }
+        public String subject() { return "New Product Request Received: " + requestNumber; }
+    }
+
+    record ProductRequestApproved(String officerName, String requestNumber, String factoryName) implements Notification {
+        public NotificationKind kind() { return NotificationKind.PRODUCT_REQUEST_APPROVED; }
+        public String subject() { return "Product Request Approved: " + requestNumber; }
+    }
+
+    record ProductRequestRejected(String officerName, String requestNumber, String factoryName) implements Notification {
+        public NotificationKind kind() { return NotificationKind.PRODUCT_REQUEST_REJECTED; }
+        public String subject() { return "Product Request Rejected: " + requestNumber; }
+    }
+
+    record OverdueToolsDigest(String supervisorName, List<OverdueTool> tools) implements Notification {
+        public NotificationKind kind() { return NotificationKind.OVERDUE_TOOLS_DIGEST; }
+        public String subject() { return tools.size() + " tool issuance(s) are now overdue"; }
+    }
+
+    record OverdueToolsEscalation(String plantHeadName, long overdueDays, List<OverdueTool> tools) implements Notification {
+        public NotificationKind kind() { return NotificationKind.OVERDUE_TOOLS_ESCALATION; }
+        public String subject() { return "Escalation: " + tools.size() + " tool issuance(s) overdue for " + overdueDays + "+ days"; }
+    }
+
+    /**
+     * One line of an overdue digest; the due date is pre-formatted so the stored model stays plain text.
+     */
+    record OverdueTool(String factoryName, String toolName, String workerName, Long quantity, String dueDate) {
+    }
+}
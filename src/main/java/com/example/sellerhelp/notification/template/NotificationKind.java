@@ -0,0 +1,28 @@
+package com.example.sellerhelp.notification.template;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Every notification the application sends, with the Thymeleaf template that renders it
+ * (under {@code templates/}) and the model type queued in the outbox.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum NotificationKind {
+    DEALER_ORDER_RECEIVED("mail/dealer-order-received", Notification.DealerOrderReceived.class),
+    DEALER_ORDER_PLACED("mail/dealer-order-placed", Notification.DealerOrderPlaced.class),
+    DEALER_ORDER_FULFILLED("mail/dealer-order-fulfilled", Notification.DealerOrderFulfilled.class),
+    CUSTOMER_WELCOME("mail/customer-welcome", Notification.CustomerWelcome.class),
+    TOOL_REQUEST_PENDING("mail/tool-request-pending", Notification.ToolRequestPending.class),
+    TOOL_REQUEST_APPROVED("mail/tool-request-approved", Notification.ToolRequestApproved.class),
+    TOOL_REQUEST_REJECTED("mail/tool-request-rejected", Notification.ToolRequestRejected.class),
+    PRODUCT_REQUEST_CREATED("mail/product-request-created", Notification.ProductRequestCreated.class),
+    PRODUCT_REQUEST_APPROVED("mail/product-request-approved", Notification.ProductRequestApproved.class),
+    PRODUCT_REQUEST_REJECTED("mail/product-request-rejected", Notification.ProductRequestRejected.class),
+    OVERDUE_TOOLS_DIGEST("mail/overdue-tools-digest", Notification.OverdueToolsDigest.class),
+    OVERDUE_TOOLS_ESCALATION("mail/overdue-tools-escalation", Notification.OverdueToolsEscalation.class);
+
+    private final String template;
+    private final Class<? extends Notification> modelType;
+}
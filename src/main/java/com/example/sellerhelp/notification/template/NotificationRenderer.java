@@ -0,0 +1,57 @@
+package com.example.sellerhelp.notification.template;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Serialises notification models for the outbox and renders them to HTML at dispatch time.
+ * Thymeleaf caches each parsed template, and every template is parsed once at startup.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationRenderer {
+
+    private static final TypeReference<Map<String, Object>> MODEL_TYPE = new TypeReference<>() {};
+
+    private final ITemplateEngine templateEngine;
+    private final ObjectMapper objectMapper;
+
+    public String serialize(Notification notification) {
+        try {
+            return objectMapper.writeValueAsString(notification);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not serialise " + notification.kind() + " notification", e);
+        }
+    }
+
+    public String render(NotificationKind kind, String modelJson) {
+        try {
+            Map<String, Object> model = objectMapper.readValue(modelJson, MODEL_TYPE);
+            return templateEngine.process(kind.getTemplate(), new Context(Locale.ENGLISH, model));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Corrupt model for " + kind + " notification", e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmTemplateCache() {
+        long start = System.nanoTime();
+        for (NotificationKind kind : NotificationKind.values()) {
+            templateEngine.process(kind.getTemplate(), new Context(Locale.ENGLISH));
+        }
+        log.info("Parsed {} notification templates in {} ms",
+                NotificationKind.values().length, (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -14,5 +14,6 @@ public class CustomerInvoiceDto {
     private String customerName;
     private String dealerId;
     private String dealerName;
+    private String pdfUrl;
     private LocalDateTime createdAt;
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.example.sellerhelp.order.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One dealer order as exported, read straight from JDBC without loading the entity.
+ */
+public record DealerOrderExportRow(
+        String orderId,
+        String dealerId,
+        String dealerName,
+        String status,
+        BigDecimal totalPrice,
+        String comment,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+    public static final List<String> COLUMNS = List.of(
+            "orderId", "dealerId", "dealerName", "status", "totalPrice", "comment", "createdAt", "updatedAt");
+
+    public Object[] values() {
+        return new Object[]{orderId, dealerId, dealerName, status, totalPrice, comment, createdAt, updatedAt};
+    }
+}
@@ -32,6 +32,10 @@ public class CustomerInvoice {
     @Column
     private String url;
 
+    // SHA-256 of the rendered PDF in the invoice file store; null until rendering has finished
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -11,8 +11,10 @@ import java.math.BigDecimal;
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class CustomerOrderMapping {
 
+    // Sequence ids (pooled by 50) so Hibernate can batch the line-item inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customer_order_mapping_seq")
+    @SequenceGenerator(name = "customer_order_mapping_seq", sequenceName = "customer_order_mapping_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -11,8 +11,10 @@ import java.math.BigDecimal;
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class DealerOrderMapping {
 
+    // Sequence ids (pooled by 50) so Hibernate can batch the line-item inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "dealer_order_mapping_seq")
+    @SequenceGenerator(name = "dealer_order_mapping_seq", sequenceName = "dealer_order_mapping_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne @JoinColumn(name = "order_id", nullable = false)
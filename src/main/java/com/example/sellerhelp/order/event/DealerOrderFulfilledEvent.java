@@ -0,0 +1,10 @@
+package com.example.sellerhelp.order.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Published when a dealer order is approved and its invoice generated.
+ */
+public record DealerOrderFulfilledEvent(String orderId, BigDecimal totalPrice, LocalDateTime orderCreatedAt) {
+}
@@ -0,0 +1,7 @@
+package com.example.sellerhelp.order.event;
+
+/**
+ * Published when a dealer places a new (PENDING) order.
+ */
+public record DealerOrderPlacedEvent(String orderId) {
+}
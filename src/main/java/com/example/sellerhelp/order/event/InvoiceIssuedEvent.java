@@ -0,0 +1,9 @@
+package com.example.sellerhelp.order.event;
+
+import com.example.sellerhelp.constant.InvoiceType;
+
+/**
+ * Published when a dealer or customer invoice row is created; its PDF is rendered after commit.
+ */
+public record InvoiceIssuedEvent(InvoiceType type, String invoiceId) {
+}
@@ -0,0 +1,31 @@
+package com.example.sellerhelp.order.invoice;
+
+import com.example.sellerhelp.constant.InvoiceType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Detached snapshot of everything printed on an invoice, read in a short transaction so the PDF
+ * itself is rendered with no connection held.
+ */
+public record InvoiceDocument(
+        InvoiceType type,
+        String invoiceId,
+        String orderId,
+        LocalDateTime issuedAt,
+        String billToId,
+        String billToName,
+        String billToEmail,
+        List<Line> lines,
+        BigDecimal total
+) {
+
+    public record Line(String productId, String productName, long quantity, BigDecimal unitPrice) {
+
+        public BigDecimal amount() {
+            return unitPrice.multiply(BigDecimal.valueOf(quantity));
+        }
+    }
+}
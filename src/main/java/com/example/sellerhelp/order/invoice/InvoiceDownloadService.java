@@ -0,0 +1,86 @@
+package com.example.sellerhelp.order.invoice;
+
+import com.example.sellerhelp.appuser.entity.User;
+import com.example.sellerhelp.constant.InvoiceType;
+import com.example.sellerhelp.constant.UserRole;
+import com.example.sellerhelp.exception.ServiceUnavailableException;
+import com.example.sellerhelp.order.entity.CustomerInvoice;
+import com.example.sellerhelp.order.entity.DealerInvoice;
+import com.example.sellerhelp.order.repository.CustomerDealerMappingRepository;
+import com.example.sellerhelp.order.repository.CustomerInvoiceRepository;
+import com.example.sellerhelp.order.repository.DealerInvoiceRepository;
+import com.example.sellerhelp.security.SecurityService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Resolves an invoice download to its stored PDF, after checking the caller may see it: office
+ * roles see every invoice, a dealer their own invoices and those of their customers, and a
+ * customer their own. An invoice whose PDF is not stored yet is queued for rendering and the
+ * caller is asked to retry.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class InvoiceDownloadService {
+
+    private final DealerInvoiceRepository dealerInvoiceRepository;
+    private final CustomerInvoiceRepository customerInvoiceRepository;
+    private final CustomerDealerMappingRepository customerDealerMappingRepository;
+    private final InvoiceFileStore fileStore;
+    private final InvoiceRenderingService renderingService;
+    private final SecurityService securityService;
+
+    /**
+     * A stored invoice: the file to send and its content hash, which is also its ETag.
+     */
+    public record StoredInvoice(String invoiceId, Path file, String contentHash) {
+    }
+
+    public StoredInvoice findPdf(InvoiceType type, String invoiceId) {
+        User currentUser = securityService.getCurrentUser();
+        String contentHash = type == InvoiceType.DEALER
+                ? authorizedDealerInvoice(invoiceId, currentUser).getContentHash()
+                : authorizedCustomerInvoice(invoiceId, currentUser).getContentHash();
+
+        return fileStore.find(contentHash)
+                .map(file -> new StoredInvoice(invoiceId, file, contentHash))
+                .orElseGet(() -> {
+                    renderingService.schedule(type, invoiceId);
+                    throw new ServiceUnavailableException("Invoice " + invoiceId + " is still being generated, please retry shortly.");
+                });
+    }
+
+    private DealerInvoice authorizedDealerInvoice(String invoiceId, User currentUser) {
+        DealerInvoice invoice = dealerInvoiceRepository.findByInvoiceId(invoiceId)
+                .orElseThrow(() -> new NoSuchElementException("Dealer invoice not found with ID: " + invoiceId));
+        UserRole role = currentUser.getRole().getName();
+        if (!isOfficeRole(role) && !(role == UserRole.DEALER && Objects.equals(invoice.getDealer().getId(), currentUser.getId()))) {
+            throw new AccessDeniedException("You are not allowed to view this invoice.");
+        }
+        return invoice;
+    }
+
+    private CustomerInvoice authorizedCustomerInvoice(String invoiceId, User currentUser) {
+        CustomerInvoice invoice = customerInvoiceRepository.findByInvoiceId(invoiceId)
+                .orElseThrow(() -> new NoSuchElementException("Customer invoice not found with ID: " + invoiceId));
+        UserRole role = currentUser.getRole().getName();
+        boolean allowed = isOfficeRole(role)
+                || role == UserRole.CUSTOMER && Objects.equals(invoice.getCustomer().getId(), currentUser.getId())
+                || role == UserRole.DEALER && customerDealerMappingRepository.existsByDealerAndCustomer(currentUser, invoice.getCustomer());
+        if (!allowed) {
+            throw new AccessDeniedException("You are not allowed to view this invoice.");
+        }
+        return invoice;
+    }
+
+    private static boolean isOfficeRole(UserRole role) {
+        return role == UserRole.ADMIN || role == UserRole.CENTRAL_OFFICE_HEAD;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.sellerhelp.order.invoice;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Content-addressed store for rendered invoices: a file is named after the SHA-256 of its bytes,
+ * under a two-character fan-out directory. Identical content is stored once, files never change
+ * once written, and the hash is a ready-made ETag. Writes go to a temp file first and are moved
+ * into place, so readers never see a partial file.
+ */
+@Component
+public class InvoiceFileStore {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final Path root;
+
+    public InvoiceFileStore(@Value("${invoices.store.directory:${java.io.tmpdir}/sellerhelp-invoices}") Path root) {
+        this.root = root;
+    }
+
+    /**
+     * Stores the content unless a file with the same hash already exists.
+     *
+     * @return the SHA-256 of the content, in lower-case hex
+     */
+    public String put(byte[] content) {
+        String hash = sha256(content);
+        Path target = path(hash);
+        if (Files.exists(target)) {
+            return hash;
+        }
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), hash, ".tmp");
+            try {
+                Files.write(temp, content);
+                move(temp, target);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store invoice " + hash, e);
+        }
+        return hash;
+    }
+
+    /**
+     * @return the stored file for a hash, if present
+     */
+    public Optional<Path> find(String hash) {
+        if (hash == null || !hash.matches("[0-9a-f]{64}")) {
+            return Optional.empty();
+        }
+        Path file = path(hash);
+        return Files.isRegularFile(file) ? Optional.of(file) : Optional.empty();
+    }
+
+    private Path path(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash + ".pdf");
+    }
+
+    private static void move(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            try {
+                Files.move(temp, target);
+            } catch (FileAlreadyExistsException alreadyStored) {
+                // Same content written concurrently; either copy is fine
+            }
+        }
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HEX.formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.sellerhelp.order.invoice;
+
+import com.example.sellerhelp.constant.InvoiceType;
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSString;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDDocumentInformation;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.GregorianCalendar;
+
+/**
+ * Lays out an invoice as a plain A4 PDF with the standard Helvetica fonts, continuing the line
+ * table onto further pages as needed. Output is deterministic for a given invoice (fixed
+ * document id and dates), so re-rendering an unchanged invoice lands on the same stored file.
+ */
+@Component
+public class InvoicePdfRenderer {
+
+    private static final float MARGIN = 50;
+    private static final float LINE_HEIGHT = 16;
+    private static final float[] COLUMNS = {MARGIN, 150, 350, 410, 480};
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("dd MMM yyyy");
+
+    private final PDFont regular = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+    private final PDFont bold = new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD);
+
+    public byte[] render(InvoiceDocument invoice) {
+        try (PDDocument document = new PDDocument()) {
+            describe(document, invoice);
+
+            Page page = new Page(document);
+            page.text(bold, 20, MARGIN, "INVOICE");
+            page.advance(LINE_HEIGHT * 2);
+            page.text(regular, 10, MARGIN, "Invoice no.: " + invoice.invoiceId());
+            if (invoice.issuedAt() != null) {
+                page.text(regular, 10, 330, "Date: " + DATE.format(invoice.issuedAt()));
+            }
+            page.advance(LINE_HEIGHT);
+            page.text(regular, 10, MARGIN, "Order no.: " + invoice.orderId());
+            page.advance(LINE_HEIGHT * 2);
+
+            page.text(bold, 11, MARGIN, invoice.type() == InvoiceType.DEALER ? "Bill to (dealer)" : "Bill to (customer)");
+            page.advance(LINE_HEIGHT);
+            page.text(regular, 10, MARGIN, invoice.billToName() + " (" + invoice.billToId() + ")");
+            page.advance(LINE_HEIGHT);
+            page.text(regular, 10, MARGIN, invoice.billToEmail());
+            page.advance(LINE_HEIGHT * 2);
+
+            tableHeader(page);
+            for (InvoiceDocument.Line line : invoice.lines()) {
+                if (page.remaining() < LINE_HEIGHT * 3) {
+                    page = page.next(document);
+                    tableHeader(page);
+                }
+                page.text(regular, 10, COLUMNS[0], line.productId());
+                page.text(regular, 10, COLUMNS[1], truncate(line.productName(), 38));
+                page.text(regular, 10, COLUMNS[2], Long.toString(line.quantity()));
+                page.text(regular, 10, COLUMNS[3], money(line.unitPrice()));
+                page.text(regular, 10, COLUMNS[4], money(line.amount()));
+                page.advance(LINE_HEIGHT);
+            }
+            page.rule();
+            page.advance(LINE_HEIGHT);
+            page.text(bold, 11, COLUMNS[3], "Total");
+            page.text(bold, 11, COLUMNS[4], money(invoice.total()));
+            page.close();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(8 * 1024);
+            document.save(out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not render invoice " + invoice.invoiceId(), e);
+        }
+    }
+
+    private void tableHeader(Page page) throws IOException {
+        page.text(bold, 10, COLUMNS[0], "Product");
+        page.text(bold, 10, COLUMNS[1], "Description");
+        page.text(bold, 10, COLUMNS[2], "Qty");
+        page.text(bold, 10, COLUMNS[3], "Unit price");
+        page.text(bold, 10, COLUMNS[4], "Amount");
+        page.advance(6);
+        page.rule();
+        page.advance(LINE_HEIGHT);
+    }
+
+    // Fixed metadata and document id; otherwise PDFBox derives the id from the current time
+    private static void describe(PDDocument document, InvoiceDocument invoice) {
+        PDDocumentInformation info = document.getDocumentInformation();
+        info.setTitle("Invoice " + invoice.invoiceId());
+        info.setProducer("SellerHelp");
+        if (invoice.issuedAt() != null) {
+            info.setCreationDate(GregorianCalendar.from(invoice.issuedAt().atZone(ZoneId.systemDefault())));
+        }
+
+        byte[] id = invoice.invoiceId().getBytes(StandardCharsets.UTF_8);
+        COSArray documentId = new COSArray();
+        documentId.add(new COSString(id));
+        documentId.add(new COSString(id));
+        document.getDocument().getTrailer().setItem(COSName.ID, documentId);
+    }
+
+    private static String money(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).toPlainString();
+    }
+
+    private static String truncate(String text, int max) {
+        return text.length() <= max ? text : text.substring(0, max - 3) + "...";
+    }
+
+    // The standard 14 fonts only cover WinAnsi; anything outside Latin-1 is replaced
+    private static String printable(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder(text.length());
+        text.codePoints().forEach(c -> out.append((c >= 0x20 && c <= 0x7E) || (c >= 0xA0 && c <= 0xFF) ? (char) c : '?'));
+        return out.toString();
+    }
+
+    /**
+     * Current page and vertical cursor.
+     */
+    private static final class Page {
+
+        private final PDPage page;
+        private final PDPageContentStream content;
+        private float y;
+
+        Page(PDDocument document) throws IOException {
+            this.page = new PDPage(PDRectangle.A4);
+            document.addPage(page);
+            this.content = new PDPageContentStream(document, page);
+            this.y = page.getMediaBox().getHeight() - MARGIN;
+        }
+
+        Page next(PDDocument document) throws IOException {
+            close();
+            return new Page(document);
+        }
+
+        void text(PDFont font, float size, float x, String text) throws IOException {
+            content.beginText();
+            content.setFont(font, size);
+            content.newLineAtOffset(x, y);
+            content.showText(printable(text));
+            content.endText();
+        }
+
+        void rule() throws IOException {
+            content.moveTo(MARGIN, y);
+            content.lineTo(page.getMediaBox().getWidth() - MARGIN, y);
+            content.stroke();
+        }
+
+        void advance(float height) {
+            y -= height;
+        }
+
+        float remaining() {
+            return y - MARGIN;
+        }
+
+        void close() throws IOException {
+            content.close();
+        }
+    }
+}
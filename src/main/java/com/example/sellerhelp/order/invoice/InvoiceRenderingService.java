@@ -0,0 +1,180 @@
+package com.example.sellerhelp.order.invoice;
+
+import com.example.sellerhelp.constant.InvoiceType;
+import com.example.sellerhelp.order.entity.CustomerInvoice;
+import com.example.sellerhelp.order.entity.CustomerOrder;
+import com.example.sellerhelp.order.entity.DealerInvoice;
+import com.example.sellerhelp.order.entity.DealerOrder;
+import com.example.sellerhelp.order.event.InvoiceIssuedEvent;
+import com.example.sellerhelp.order.repository.CustomerInvoiceRepository;
+import com.example.sellerhelp.order.repository.DealerInvoiceRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Renders invoice PDFs off the request thread. Fulfilment and customer sales only insert the
+ * invoice row; once that commits, the invoice is queued here, read in a short read-only
+ * transaction, rendered, put in the {@link InvoiceFileStore}, and its content hash written back.
+ * <p>
+ * The queue is bounded and a full queue drops the job rather than blocking the committing
+ * request. Dropped or lost renders are picked up again by the first download, which calls
+ * {@link #schedule} for invoices without a stored file.
+ */
+@Slf4j
+@Service
+public class InvoiceRenderingService {
+
+    private final DealerInvoiceRepository dealerInvoiceRepository;
+    private final CustomerInvoiceRepository customerInvoiceRepository;
+    private final InvoicePdfRenderer renderer;
+    private final InvoiceFileStore fileStore;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicLong rendered = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong renderNanos = new AtomicLong();
+
+    public InvoiceRenderingService(DealerInvoiceRepository dealerInvoiceRepository,
+                                   CustomerInvoiceRepository customerInvoiceRepository,
+                                   InvoicePdfRenderer renderer,
+                                   InvoiceFileStore fileStore,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${invoices.render.threads:2}") int threads,
+                                   @Value("${invoices.render.queue-capacity:500}") int queueCapacity) {
+        this.dealerInvoiceRepository = dealerInvoiceRepository;
+        this.customerInvoiceRepository = customerInvoiceRepository;
+        this.renderer = renderer;
+        this.fileStore = fileStore;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onInvoiceIssued(InvoiceIssuedEvent event) {
+        schedule(event.type(), event.invoiceId());
+    }
+
+    /**
+     * Queues a render unless one for the same invoice is already queued or running.
+     */
+    public void schedule(InvoiceType type, String invoiceId) {
+        String key = type + ":" + invoiceId;
+        if (!inFlight.add(key)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    render(type, invoiceId);
+                } finally {
+                    inFlight.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key);
+            dropped.incrementAndGet();
+            log.warn("Invoice render queue is full, {} will be rendered on first download", invoiceId);
+        }
+    }
+
+    /**
+     * Pool and outcome counters, for the admin endpoint.
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("poolSize", executor.getMaximumPoolSize());
+        stats.put("active", executor.getActiveCount());
+        stats.put("queued", executor.getQueue().size());
+        stats.put("rendered", rendered.get());
+        stats.put("failed", failed.get());
+        stats.put("dropped", dropped.get());
+        long count = rendered.get();
+        stats.put("avgRenderMs", count == 0 ? 0.0 : renderNanos.get() / 1_000_000.0 / count);
+        return stats;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    void render(InvoiceType type, String invoiceId) {
+        long start = System.nanoTime();
+        try {
+            InvoiceDocument document = readTransaction.execute(status -> load(type, invoiceId));
+            String hash = fileStore.put(renderer.render(document));
+            writeTransaction.executeWithoutResult(status -> {
+                if (type == InvoiceType.DEALER) {
+                    dealerInvoiceRepository.updateContentHash(invoiceId, hash);
+                } else {
+                    customerInvoiceRepository.updateContentHash(invoiceId, hash);
+                }
+            });
+            rendered.incrementAndGet();
+            renderNanos.addAndGet(System.nanoTime() - start);
+            log.debug("Rendered invoice {} as {} in {} ms", invoiceId, hash, (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+            log.error("Failed to render invoice {}", invoiceId, e);
+        }
+    }
+
+    private InvoiceDocument load(InvoiceType type, String invoiceId) {
+        if (type == InvoiceType.DEALER) {
+            DealerInvoice invoice = dealerInvoiceRepository.findForRendering(invoiceId)
+                    .orElseThrow(() -> new NoSuchElementException("Dealer invoice not found with ID: " + invoiceId));
+            DealerOrder order = invoice.getOrder();
+            return new InvoiceDocument(type, invoice.getInvoiceId(), order.getOrderId(), invoice.getCreatedAt(),
+                    invoice.getDealer().getUserId(), invoice.getDealer().getName(), invoice.getDealer().getEmail(),
+                    order.getItems().stream()
+                            .map(item -> new InvoiceDocument.Line(item.getProduct().getProductId(), item.getProduct().getName(),
+                                    item.getQuantity(), item.getUnitPrice()))
+                            .toList(),
+                    order.getTotalPrice());
+        }
+        CustomerInvoice invoice = customerInvoiceRepository.findForRendering(invoiceId)
+                .orElseThrow(() -> new NoSuchElementException("Customer invoice not found with ID: " + invoiceId));
+        CustomerOrder order = invoice.getOrder();
+        return new InvoiceDocument(type, invoice.getInvoiceId(), order.getOrderId(), invoice.getCreatedAt(),
+                invoice.getCustomer().getUserId(), invoice.getCustomer().getName(), invoice.getCustomer().getEmail(),
+                order.getItems().stream()
+                        .map(item -> new InvoiceDocument.Line(item.getProduct().getProductId(), item.getProduct().getName(),
+                                item.getQuantity(), item.getUnitPrice()))
+                        .toList(),
+                order.getTotalPrice());
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, "invoice-render-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
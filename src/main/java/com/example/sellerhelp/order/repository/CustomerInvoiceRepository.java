@@ -2,9 +2,24 @@ package com.example.sellerhelp.order.repository;
 
 import com.example.sellerhelp.order.entity.CustomerInvoice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface CustomerInvoiceRepository extends JpaRepository<CustomerInvoice, Long> {
 
-}
\ No newline at end of file
+    Optional<CustomerInvoice> findByInvoiceId(String invoiceId);
+
+    // Everything the PDF needs in one select: order, line items and their products
+    @Query("SELECT i FROM CustomerInvoice i JOIN FETCH i.customer JOIN FETCH i.order o " +
+            "LEFT JOIN FETCH o.items it LEFT JOIN FETCH it.product WHERE i.invoiceId = :invoiceId")
+    Optional<CustomerInvoice> findForRendering(@Param("invoiceId") String invoiceId);
+
+    @Modifying
+    @Query("UPDATE CustomerInvoice i SET i.contentHash = :contentHash WHERE i.invoiceId = :invoiceId")
+    int updateContentHash(@Param("invoiceId") String invoiceId, @Param("contentHash") String contentHash);
+}
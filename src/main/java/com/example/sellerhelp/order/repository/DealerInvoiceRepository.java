@@ -2,6 +2,9 @@ package com.example.sellerhelp.order.repository;
 
 import com.example.sellerhelp.order.entity.DealerInvoice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -9,4 +12,13 @@ import java.util.Optional;
 @Repository
 public interface DealerInvoiceRepository extends JpaRepository<DealerInvoice, Long> {
     Optional<DealerInvoice> findByInvoiceId(String invoiceId);
-}
\ No newline at end of file
+
+    // Everything the PDF needs in one select: order, line items and their products
+    @Query("SELECT i FROM DealerInvoice i JOIN FETCH i.dealer JOIN FETCH i.order o " +
+            "LEFT JOIN FETCH o.items it LEFT JOIN FETCH it.product WHERE i.invoiceId = :invoiceId")
+    Optional<DealerInvoice> findForRendering(@Param("invoiceId") String invoiceId);
+
+    @Modifying
+    @Query("UPDATE DealerInvoice i SET i.contentHash = :contentHash WHERE i.invoiceId = :invoiceId")
+    int updateContentHash(@Param("invoiceId") String invoiceId, @Param("contentHash") String contentHash);
+}
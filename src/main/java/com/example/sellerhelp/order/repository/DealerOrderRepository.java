@@ -2,8 +2,10 @@ package com.example.sellerhelp.order.repository;
 
 import com.example.sellerhelp.constant.DealerOrderStatus;
 import com.example.sellerhelp.order.entity.DealerOrder;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -13,8 +15,15 @@ import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
-public interface DealerOrderRepository extends JpaRepository<DealerOrder, Long>, JpaSpecificationExecutor<DealerOrder> {
+public interface DealerOrderRepository extends JpaRepository<DealerOrder, Long>, JpaSpecificationExecutor<DealerOrder>,
+        DealerOrderRepositoryCustom {
     Optional<DealerOrder> findByOrderId(String orderId);
+
+    // Row lock so two fulfillers cannot both see the order as PENDING
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM DealerOrder o WHERE o.orderId = :orderId")
+    Optional<DealerOrder> findByOrderIdForUpdate(@Param("orderId") String orderId);
+
     long countByStatus(DealerOrderStatus status);
 
     @Query("SELECT COALESCE(SUM(o.totalPrice), 0) FROM DealerOrder o WHERE o.status = :status AND o.createdAt >= :startDate")
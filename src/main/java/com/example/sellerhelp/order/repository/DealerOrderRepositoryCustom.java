@@ -0,0 +1,23 @@
+package com.example.sellerhelp.order.repository;
+
+import com.example.sellerhelp.constant.DealerOrderStatus;
+import com.example.sellerhelp.order.dto.DealerOrderExportRow;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Forward-only reads of {@code dealer_order} for exports.
+ */
+public interface DealerOrderRepositoryCustom {
+
+    /**
+     * Streams dealer orders in id order over a JDBC cursor. Every filter is optional (null means
+     * no restriction). Must be consumed inside a transaction and closed.
+     *
+     * @param dealerId primary key of the dealer
+     * @param from     inclusive lower bound on {@code created_at}
+     * @param to       exclusive upper bound on {@code created_at}
+     */
+    Stream<DealerOrderExportRow> streamForExport(Long dealerId, DealerOrderStatus status, LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,54 @@
+package com.example.sellerhelp.order.repository;
+
+import com.example.sellerhelp.common.JdbcStreams;
+import com.example.sellerhelp.constant.DealerOrderStatus;
+import com.example.sellerhelp.order.dto.DealerOrderExportRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+class DealerOrderRepositoryImpl implements DealerOrderRepositoryCustom {
+
+    private static final String EXPORT_SQL =
+            "SELECT o.order_id, u.user_id, u.name, o.status, o.total_price, o.comment, o.created_at, o.updated_at " +
+            "FROM dealer_order o JOIN users u ON u.id = o.dealer_id WHERE 1 = 1";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Stream<DealerOrderExportRow> streamForExport(Long dealerId, DealerOrderStatus status, LocalDateTime from, LocalDateTime to) {
+        StringBuilder sql = new StringBuilder(EXPORT_SQL);
+        List<Object> args = new ArrayList<>();
+        if (dealerId != null) {
+            sql.append(" AND o.dealer_id = ?");
+            args.add(dealerId);
+        }
+        if (status != null) {
+            sql.append(" AND o.status = ?");
+            args.add(status.name());
+        }
+        if (from != null) {
+            sql.append(" AND o.created_at >= ?");
+            args.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND o.created_at < ?");
+            args.add(Timestamp.valueOf(to));
+        }
+        sql.append(" ORDER BY o.id");
+
+        return JdbcStreams.forwardOnly(jdbcTemplate, sql.toString(), args, (rs, rowNum) -> new DealerOrderExportRow(
+                rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getBigDecimal(5), rs.getString(6),
+                toLocalDateTime(rs.getTimestamp(7)), toLocalDateTime(rs.getTimestamp(8))));
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
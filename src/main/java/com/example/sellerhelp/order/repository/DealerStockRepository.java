@@ -6,10 +6,14 @@ import com.example.sellerhelp.product.entity.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface DealerStockRepository extends JpaRepository<DealerStock, Long> {
+public interface DealerStockRepository extends JpaRepository<DealerStock, Long>, DealerStockRepositoryCustom {
 
     Optional<DealerStock> findByDealerAndProduct(User dealer, Product product);
-}
\ No newline at end of file
+
+    List<DealerStock> findByDealerAndProductIn(User dealer, Collection<Product> products);
+}
@@ -0,0 +1,29 @@
+package com.example.sellerhelp.order.repository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set-based stock writes for {@code dealer_stock}, executed as single JDBC batches.
+ */
+public interface DealerStockRepositoryCustom {
+
+    /**
+     * Decrements the dealer's stock for every product in one batch. A row is only updated when
+     * it still holds at least the requested quantity.
+     *
+     * @param dealerUserId          public user id of the dealer ({@code dealer_stock.dealer_id})
+     * @param quantitiesByProductId quantity to remove, keyed by product primary key
+     * @return product ids whose row was not updated (missing or insufficient stock)
+     */
+    List<Long> decrementQuantities(String dealerUserId, Map<Long, Long> quantitiesByProductId);
+
+    /**
+     * Adds stock to the dealer for every product: one UPDATE batch, then an INSERT batch for the
+     * products the dealer did not hold yet (see {@link com.example.sellerhelp.common.JdbcUpserts}).
+     *
+     * @param dealerUserId          public user id of the dealer ({@code dealer_stock.dealer_id})
+     * @param quantitiesByProductId quantity to add, keyed by product primary key
+     */
+    void incrementQuantities(String dealerUserId, Map<Long, Long> quantitiesByProductId);
+}
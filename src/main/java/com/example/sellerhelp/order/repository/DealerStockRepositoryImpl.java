@@ -0,0 +1,56 @@
+package com.example.sellerhelp.order.repository;
+
+import com.example.sellerhelp.common.JdbcUpserts;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+class DealerStockRepositoryImpl implements DealerStockRepositoryCustom {
+
+    private static final String DECREMENT_SQL =
+            "UPDATE dealer_stock SET quantity = quantity - ? " +
+            "WHERE dealer_id = ? AND product_id = ? AND quantity >= ?";
+
+    private static final String ADD_SQL =
+            "UPDATE dealer_stock SET quantity = quantity + ? WHERE dealer_id = ? AND product_id = ?";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO dealer_stock (dealer_id, product_id, quantity) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Long> decrementQuantities(String dealerUserId, Map<Long, Long> quantitiesByProductId) {
+        List<Long> productIds = new ArrayList<>(quantitiesByProductId.keySet());
+        List<Object[]> args = new ArrayList<>(productIds.size());
+        for (Long productId : productIds) {
+            Long quantity = quantitiesByProductId.get(productId);
+            args.add(new Object[]{quantity, dealerUserId, productId, quantity});
+        }
+
+        int[] counts = jdbcTemplate.batchUpdate(DECREMENT_SQL, args);
+
+        List<Long> shortRows = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                shortRows.add(productIds.get(i));
+            }
+        }
+        return shortRows;
+    }
+
+    @Override
+    public void incrementQuantities(String dealerUserId, Map<Long, Long> quantitiesByProductId) {
+        List<Object[]> updates = new ArrayList<>(quantitiesByProductId.size());
+        List<Object[]> inserts = new ArrayList<>(quantitiesByProductId.size());
+        quantitiesByProductId.forEach((productId, quantity) -> {
+            updates.add(new Object[]{quantity, dealerUserId, productId});
+            inserts.add(new Object[]{dealerUserId, productId, quantity});
+        });
+        JdbcUpserts.updateOrInsert(jdbcTemplate, ADD_SQL, updates, INSERT_SQL, inserts);
+    }
+}
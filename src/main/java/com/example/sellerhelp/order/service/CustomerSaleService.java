@@ -2,31 +2,45 @@ package com.example.sellerhelp.order.service;
 
 import com.example.sellerhelp.appuser.entity.Role;
 import com.example.sellerhelp.appuser.entity.User;
-import com.example.sellerhelp.appuser.repository.RoleRepository;
 import com.example.sellerhelp.appuser.repository.UserRepository;
+import com.example.sellerhelp.appuser.search.UserSearchIndex;
+import com.example.sellerhelp.common.BusinessIdGenerator;
+import com.example.sellerhelp.common.BusinessIdType;
+import com.example.sellerhelp.common.ReferenceDataCache;
+import com.example.sellerhelp.constant.InvoiceType;
 import com.example.sellerhelp.constant.UserRole;
 import com.example.sellerhelp.exception.ConflictException;
 import com.example.sellerhelp.exception.ResourceNotFoundException;
 import com.example.sellerhelp.notification.service.EmailService;
+import com.example.sellerhelp.notification.template.Notification;
 import com.example.sellerhelp.order.dto.CreateCustomerSaleDto;
 import com.example.sellerhelp.order.dto.CustomerDetailsDto;
 import com.example.sellerhelp.order.dto.CustomerInvoiceDto;
 import com.example.sellerhelp.order.dto.OrderItemDto;
 import com.example.sellerhelp.order.entity.*;
+import com.example.sellerhelp.order.event.InvoiceIssuedEvent;
 import com.example.sellerhelp.order.repository.*;
 import com.example.sellerhelp.product.entity.Product;
 import com.example.sellerhelp.product.repository.ProductRepository;
+import com.example.sellerhelp.security.PasswordHashingService;
 import com.example.sellerhelp.security.SecurityService;
-import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.RandomStringUtils;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -34,8 +48,7 @@ import java.util.List;
 public class CustomerSaleService {
 
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final ProductRepository productRepository;
     private final DealerStockRepository dealerStockRepository;
     private final CustomerOrderRepository customerOrderRepository;
@@ -43,43 +56,55 @@ public class CustomerSaleService {
     private final CustomerDealerMappingRepository customerDealerMappingRepository;
     private final SecurityService securityService;
     private final EmailService emailService;
-    private final EntityManager entityManager;
-
+    private final BusinessIdGenerator businessIdGenerator;
+    private final UserSearchIndex userSearchIndex;
+    private final ReferenceDataCache referenceDataCache;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // A first-time customer gets a temporary password, hashed before the sale transaction opens
+    // so no connection is held for the BCrypt work
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public CustomerInvoiceDto createCustomerSale(CreateCustomerSaleDto dto) {
+        TemporaryPassword temporaryPassword = userRepository.existsByEmail(dto.getCustomer().getEmail())
+                ? null : newTemporaryPassword();
+        return transactionTemplate.execute(status -> recordSale(dto, temporaryPassword));
+    }
+
+    private CustomerInvoiceDto recordSale(CreateCustomerSaleDto dto, TemporaryPassword temporaryPassword) {
         User dealer = securityService.getCurrentUser();
         CustomerDetailsDto customerDetails = dto.getCustomer();
 
         // Step 1: Find or create the Customer User record.
+        // The customer may have been deleted since the check above; then hash inline as a fallback.
         User customer = userRepository.findByEmail(customerDetails.getEmail())
-                .orElseGet(() -> createNewCustomer(customerDetails));
+                .orElseGet(() -> createNewCustomer(customerDetails,
+                        temporaryPassword != null ? temporaryPassword : newTemporaryPassword()));
 
         // Step 2: Create the mapping between this Dealer and Customer.
         createCustomerDealerMapping(dealer, customer);
 
         // Step 3: Create the Customer Order and check/decrement the Dealer's stock.
         CustomerOrder order = CustomerOrder.builder()
+                .orderId(businessIdGenerator.next(BusinessIdType.CUSTOMER_ORDER))
                 .customer(customer)
                 .build();
 
         BigDecimal totalPrice = BigDecimal.ZERO;
         List<CustomerOrderMapping> mappings = new ArrayList<>();
 
-        for (OrderItemDto item : dto.getProducts()) {
-            Product product = productRepository.findByProductId(item.getProductId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + item.getProductId()));
+        Map<String, Product> products = findProductsByProductId(dto.getProducts());
 
-            // --- CRITICAL LOGIC: Check and decrement the DEALER's stock ---
-            DealerStock dealerStock = dealerStockRepository.findByDealerAndProduct(dealer, product)
-                    .orElseThrow(() -> new ConflictException("You do not have stock for product: " + product.getName()));
-
-            if (dealerStock.getQuantity() < item.getQuantity()) {
-                throw new ConflictException("Insufficient stock for '" + product.getName() +
-                        "'. Required: " + item.getQuantity() + ", You have: " + dealerStock.getQuantity());
-            }
-            dealerStock.setQuantity(dealerStock.getQuantity() - item.getQuantity());
-            dealerStockRepository.save(dealerStock);
+        // --- CRITICAL LOGIC: Check and decrement the DEALER's stock ---
+        Map<Long, Long> requiredByProduct = new LinkedHashMap<>();
+        for (OrderItemDto item : dto.getProducts()) {
+            requiredByProduct.merge(products.get(item.getProductId()).getId(), item.getQuantity(), Long::sum);
+        }
+        decrementDealerStock(dealer, products.values(), requiredByProduct);
+        // --- End of stock logic ---
 
-            // --- End of stock logic ---
+        for (OrderItemDto item : dto.getProducts()) {
+            Product product = products.get(item.getProductId());
 
             BigDecimal itemPrice = product.getUnitPrice().multiply(new BigDecimal(item.getQuantity()));
             totalPrice = totalPrice.add(itemPrice);
@@ -95,55 +120,95 @@ public class CustomerSaleService {
 
         order.setTotalPrice(totalPrice);
         order.setItems(mappings);
-        CustomerOrder savedOrder = customerOrderRepository.saveAndFlush(order);
-        entityManager.refresh(savedOrder);
+        CustomerOrder savedOrder = customerOrderRepository.save(order);
 
         // Step 4: Create the Customer Invoice
+        String invoiceId = businessIdGenerator.next(BusinessIdType.CUSTOMER_INVOICE);
         CustomerInvoice invoice = CustomerInvoice.builder()
+                .invoiceId(invoiceId)
                 .customer(customer)
                 .order(savedOrder)
+                .url("/api/invoices/customer/" + invoiceId + "/pdf")
                 .build();
 
-        CustomerInvoice savedInvoice = customerInvoiceRepository.saveAndFlush(invoice);
-        entityManager.refresh(savedInvoice);
+        CustomerInvoice savedInvoice = customerInvoiceRepository.save(invoice);
+        // The PDF is rendered after commit, off this thread
+        eventPublisher.publishEvent(new InvoiceIssuedEvent(InvoiceType.CUSTOMER, invoiceId));
 
         return toDto(savedInvoice, dealer);
     }
 
-    private User createNewCustomer(CustomerDetailsDto customerDetails) {
-        Role customerRole = roleRepository.findByName(UserRole.CUSTOMER)
-                .orElseThrow(() -> new IllegalStateException("CUSTOMER role not found. Please seed roles."));
+    /**
+     * Loads every product referenced by the sale with a single IN query.
+     */
+    private Map<String, Product> findProductsByProductId(List<OrderItemDto> items) {
+        Set<String> productIds = items.stream()
+                .map(OrderItemDto::getProductId)
+                .collect(Collectors.toSet());
+
+        Map<String, Product> products = productRepository.findByProductIdIn(productIds).stream()
+                .collect(Collectors.toMap(Product::getProductId, Function.identity()));
+
+        for (OrderItemDto item : items) {
+            if (!products.containsKey(item.getProductId())) {
+                throw new ResourceNotFoundException("Product not found with ID: " + item.getProductId());
+            }
+        }
+        return products;
+    }
+
+    /**
+     * Validates the dealer's stock with one query, then applies every decrement as a single
+     * guarded batch update. A row that no longer has enough stock (e.g. a concurrent sale)
+     * fails the whole sale.
+     */
+    private void decrementDealerStock(User dealer, Collection<Product> products, Map<Long, Long> requiredByProduct) {
+        Map<Long, DealerStock> stockByProduct = dealerStockRepository.findByDealerAndProductIn(dealer, products).stream()
+                .collect(Collectors.toMap(stock -> stock.getProduct().getId(), Function.identity()));
+
+        for (Product product : products) {
+            DealerStock dealerStock = stockByProduct.get(product.getId());
+            if (dealerStock == null) {
+                throw new ConflictException("You do not have stock for product: " + product.getName());
+            }
+            Long required = requiredByProduct.get(product.getId());
+            if (dealerStock.getQuantity() < required) {
+                throw new ConflictException("Insufficient stock for '" + product.getName() +
+                        "'. Required: " + required + ", You have: " + dealerStock.getQuantity());
+            }
+        }
 
-        // Generate a random temporary password
-        String tempPassword = RandomStringUtils.randomAlphanumeric(10);
+        List<Long> shortProducts = dealerStockRepository.decrementQuantities(dealer.getUserId(), requiredByProduct);
+        if (!shortProducts.isEmpty()) {
+            throw new ConflictException("Stock changed while the sale was being processed. Please retry.");
+        }
+    }
+
+    private TemporaryPassword newTemporaryPassword() {
+        // Generate a random temporary password from a SecureRandom
+        String tempPassword = RandomStringUtils.secure().nextAlphanumeric(10);
+        return new TemporaryPassword(tempPassword, passwordHashingService.encode(tempPassword));
+    }
+
+    private User createNewCustomer(CustomerDetailsDto customerDetails, TemporaryPassword temporaryPassword) {
+        Role customerRole = referenceDataCache.findRole(UserRole.CUSTOMER)
+                .orElseThrow(() -> new IllegalStateException("CUSTOMER role not found. Please seed roles."));
 
         User newCustomer = User.builder()
+                .userId(businessIdGenerator.next(BusinessIdType.USER))
                 .name(customerDetails.getName())
                 .email(customerDetails.getEmail())
                 .phone(customerDetails.getPhone())
-                .password(passwordEncoder.encode(tempPassword))
+                .password(temporaryPassword.hash())
                 .role(customerRole)
                 .build();
 
-        User savedCustomer = userRepository.saveAndFlush(newCustomer);
-        entityManager.refresh(savedCustomer);
+        User savedCustomer = userRepository.save(newCustomer);
+        userSearchIndex.index(savedCustomer);
 
         // Send welcome email with temporary password
-        String subject = "Welcome to SellerHelp! Your account has been created.";
-        String body = String.format(
-                "<p>Hello %s,</p>" +
-                        "<p>An account has been created for you by one of our dealers.</p>" +
-                        "<p>You can log in using the following credentials:</p>" +
-                        "<ul>" +
-                        "<li><b>Username:</b> %s</li>" +
-                        "<li><b>Temporary Password:</b> %s</li>" +
-                        "</ul>" +
-                        "<p>We recommend you change your password after your first login.</p>",
-                savedCustomer.getName(),
-                savedCustomer.getEmail(),
-                tempPassword
-        );
-        emailService.sendEmail(savedCustomer.getEmail(), subject, body);
+        emailService.send(savedCustomer.getEmail(),
+                new Notification.CustomerWelcome(savedCustomer.getName(), savedCustomer.getEmail(), temporaryPassword.raw()));
 
         return savedCustomer;
     }
@@ -166,7 +231,10 @@ public class CustomerSaleService {
                 .customerName(invoice.getCustomer().getName())
                 .dealerId(dealer.getUserId())
                 .dealerName(dealer.getName())
+                .pdfUrl(invoice.getUrl())
                 .createdAt(invoice.getCreatedAt())
                 .build();
     }
-}
\ No newline at end of file
+
+    private record TemporaryPassword(String raw, String hash) {}
+}
@@ -4,17 +4,26 @@ import com.example.sellerhelp.appuser.dto.PageableDto;
 import com.example.sellerhelp.appuser.entity.User;
 import com.example.sellerhelp.constant.UserRole;
 import com.example.sellerhelp.appuser.repository.UserRepository;
+import com.example.sellerhelp.common.BusinessIdGenerator;
+import com.example.sellerhelp.common.BusinessIdType;
+import com.example.sellerhelp.common.CursorPageDto;
+import com.example.sellerhelp.common.KeysetCursor;
+import com.example.sellerhelp.common.ReferenceDataCache;
 import com.example.sellerhelp.constant.DealerOrderStatus;
+import com.example.sellerhelp.constant.InvoiceType;
+import com.example.sellerhelp.dashboard.repository.ProductSalesRollupRepository;
 import com.example.sellerhelp.exception.ConflictException;
 import com.example.sellerhelp.exception.ResourceNotFoundException;
 import com.example.sellerhelp.factory.entity.Factory;
-import com.example.sellerhelp.factory.repository.FactoryRepository;
 import com.example.sellerhelp.notification.service.EmailService;
+import com.example.sellerhelp.notification.template.Notification;
 import com.example.sellerhelp.order.dto.*;
 import com.example.sellerhelp.order.entity.DealerInvoice;
 import com.example.sellerhelp.order.entity.DealerOrder;
 import com.example.sellerhelp.order.entity.DealerOrderMapping;
-import com.example.sellerhelp.order.entity.DealerStock;
+import com.example.sellerhelp.order.event.DealerOrderFulfilledEvent;
+import com.example.sellerhelp.order.event.InvoiceIssuedEvent;
+import com.example.sellerhelp.order.event.DealerOrderPlacedEvent;
 import com.example.sellerhelp.order.repository.DealerInvoiceRepository;
 import com.example.sellerhelp.order.repository.DealerOrderRepository;
 import com.example.sellerhelp.order.repository.DealerStockRepository;
@@ -23,19 +32,29 @@ import com.example.sellerhelp.product.entity.ProductStock;
 import com.example.sellerhelp.product.repository.ProductRepository;
 import com.example.sellerhelp.product.repository.ProductStockRepository;
 import com.example.sellerhelp.security.SecurityService;
-import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -48,31 +67,30 @@ public class OrderService {
     private final ProductRepository productRepository;
     private final ProductStockRepository productStockRepository;
     private final SecurityService securityService;
-    private final EntityManager entityManager;
-    private final FactoryRepository factoryRepository;
+    private final BusinessIdGenerator businessIdGenerator;
+    private final ReferenceDataCache referenceDataCache;
     private final EmailService emailService;
     private final UserRepository userRepository;
+    private final ProductSalesRollupRepository productSalesRollupRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public DealerOrderDto createDealerOrder(CreateDealerOrderDto dto) {
         User dealer = securityService.getCurrentUser();
 
         DealerOrder order = DealerOrder.builder()
+                .orderId(businessIdGenerator.next(BusinessIdType.DEALER_ORDER))
                 .dealer(dealer)
                 .status(DealerOrderStatus.PENDING)
                 .comment(dto.getComment())
                 .build();
 
-        BigDecimal totalPrice = BigDecimal.ZERO;
         List<DealerOrderMapping> mappings = new ArrayList<>();
 
-        for (OrderItemDto item : dto.getProducts()) {
-            Product product = productRepository.findByProductId(item.getProductId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + item.getProductId()));
+        Map<String, Product> products = findProductsByProductId(dto.getProducts());
 
-            BigDecimal quantityBigDecimal = new BigDecimal(item.getQuantity());
-            BigDecimal itemPrice = product.getUnitPrice().multiply(quantityBigDecimal);
-            totalPrice = totalPrice.add(itemPrice);
+        for (OrderItemDto item : dto.getProducts()) {
+            Product product = products.get(item.getProductId());
 
             DealerOrderMapping mapping = DealerOrderMapping.builder()
                     .order(order)
@@ -83,35 +101,20 @@ public class OrderService {
             mappings.add(mapping);
         }
 
-        order.setTotalPrice(totalPrice);
+        order.setTotalPrice(orderTotal(mappings));
         order.setItems(mappings);
 
-        DealerOrder savedOrder = dealerOrderRepository.saveAndFlush(order);
-        entityManager.refresh(savedOrder);
+        DealerOrder savedOrder = dealerOrderRepository.save(order);
 
-        String subjectToDealer = "Your Order has been Received: " + savedOrder.getOrderId();
-        String bodyToDealer = String.format(
-                "<p>Hello %s,</p>" +
-                        "<p>Thank you for your business. We have successfully received your order <b>%s</b>.</p>" +
-                        "<p>You will be notified again once the order has been fulfilled by our team.</p>",
-                dealer.getName(),
-                savedOrder.getOrderId()
-        );
-        emailService.sendEmail(dealer.getEmail(), subjectToDealer, bodyToDealer);
+        emailService.send(dealer.getEmail(),
+                new Notification.DealerOrderReceived(dealer.getName(), savedOrder.getOrderId()));
 
         Page<User> centralOfficeStaffPage = userRepository.findByRole_Name(UserRole.CENTRAL_OFFICE_HEAD, Pageable.unpaged());
         List<User> centralOfficeStaff = centralOfficeStaffPage.getContent();
-        String subjectToCO = "New Dealer Order Received: " + savedOrder.getOrderId();
-        String bodyToCO = String.format(
-                "<p>A new order (<b>%s</b>) has been placed by dealer <b>%s (%s)</b>.</p>" +
-                        "<p>Please log in to the SellerHelp application to view the details and fulfill the order.</p>",
-                savedOrder.getOrderId(),
-                dealer.getName(),
-                dealer.getEmail()
-        );
-        for (User staff : centralOfficeStaff) {
-            emailService.sendEmail(staff.getEmail(), subjectToCO, bodyToCO);
-        }
+        emailService.sendToAll(centralOfficeStaff.stream().map(User::getEmail).toList(),
+                new Notification.DealerOrderPlaced(savedOrder.getOrderId(), dealer.getName(), dealer.getEmail()));
+
+        eventPublisher.publishEvent(new DealerOrderPlacedEvent(savedOrder.getOrderId()));
 
         return toDto(savedOrder);
     }
@@ -119,71 +122,110 @@ public class OrderService {
     @Transactional
     public DealerInvoiceDto fulfillDealerOrder(String orderId, FulfillOrderDto dto) {
         User centralOfficer = securityService.getCurrentUser();
-        DealerOrder order = dealerOrderRepository.findByOrderId(orderId)
+        DealerOrder order = dealerOrderRepository.findByOrderIdForUpdate(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Dealer Order not found with ID: " + orderId));
 
         if (order.getStatus() != DealerOrderStatus.PENDING) {
             throw new ConflictException("This order has already been processed. Current status: " + order.getStatus());
         }
 
-        Factory fulfillingFactory = factoryRepository.findByFactoryId(dto.getFactoryId())
+        Factory fulfillingFactory = referenceDataCache.findFactory(dto.getFactoryId())
                 .orElseThrow(() -> new ResourceNotFoundException("Fulfilling factory not found with ID: " + dto.getFactoryId()));
 
         User dealer = order.getDealer();
 
+        // Sorted by product id so concurrent fulfilments lock rows in the same order
+        Map<Long, Long> requiredByProduct = new TreeMap<>();
+        Map<Long, Product> productsById = new HashMap<>();
         for (DealerOrderMapping mapping : order.getItems()) {
-            Product product = mapping.getProduct();
-            Long requiredQuantity = mapping.getQuantity();
-
-            // Step 1: Decrement the Factory's stock (existing logic)
-            ProductStock factoryStock = productStockRepository.findByFactoryAndProduct(fulfillingFactory, product)
-                    .orElseThrow(() -> new ConflictException("Factory '" + fulfillingFactory.getName() + "' has no stock record for product: " + product.getName()));
+            requiredByProduct.merge(mapping.getProduct().getId(), mapping.getQuantity(), Long::sum);
+            productsById.put(mapping.getProduct().getId(), mapping.getProduct());
+        }
 
-            if (factoryStock.getQuantity() < requiredQuantity) {
-                throw new ConflictException("Insufficient stock at factory '" + fulfillingFactory.getName() + "' for product '" + product.getName() + "'. Required: " + requiredQuantity + ", Available: " + factoryStock.getQuantity());
-            }
-            factoryStock.setQuantity(factoryStock.getQuantity() - requiredQuantity);
-            productStockRepository.save(factoryStock);
-
-            // --- NEW LOGIC: Step 2: Increment the Dealer's stock ---
-            DealerStock dealerStock = dealerStockRepository.findByDealerAndProduct(dealer, product)
-                    .orElseGet(() -> DealerStock.builder()
-                            .dealer(dealer)
-                            .product(product)
-                            .build());
-
-            dealerStock.setQuantity(dealerStock.getQuantity() + requiredQuantity);
-            dealerStockRepository.save(dealerStock);
+        // Step 1: Atomically decrement the Factory's stock; any short row rejects the whole order
+        List<Long> shortProducts = productStockRepository.decrementQuantities(fulfillingFactory.getId(), requiredByProduct);
+        if (!shortProducts.isEmpty()) {
+            throw new ConflictException(describeShortStock(fulfillingFactory, shortProducts, productsById, requiredByProduct));
         }
 
+        // Step 2: Increment the Dealer's stock, creating rows for products they did not hold yet
+        dealerStockRepository.incrementQuantities(dealer.getUserId(), requiredByProduct);
+
+        // Step 3: Record the units sold against today's rollup rows for the dashboard rankings
+        productSalesRollupRepository.addSales(LocalDate.now(), requiredByProduct);
+
         order.setStatus(DealerOrderStatus.APPROVED);
         order.setUpdatedBy(centralOfficer);
         dealerOrderRepository.save(order);
 
+        String invoiceId = businessIdGenerator.next(BusinessIdType.DEALER_INVOICE);
         DealerInvoice invoice = DealerInvoice.builder()
+                .invoiceId(invoiceId)
                 .dealer(dealer)
                 .order(order)
-                .url("/invoices/dealer/" + order.getOrderId() + ".pdf")
+                .url("/api/invoices/dealer/" + invoiceId + "/pdf")
                 .build();
 
-        DealerInvoice savedInvoice = dealerInvoiceRepository.saveAndFlush(invoice);
-        entityManager.refresh(savedInvoice);
+        DealerInvoice savedInvoice = dealerInvoiceRepository.save(invoice);
 
         // Send notification to the dealer
-        String subject = "Your Order has been Fulfilled: " + order.getOrderId();
-        String body = String.format(
-                "<p>Hello %s,</p>" +
-                        "<p>Great news! Your order <b>%s</b> has been fulfilled and the products have been added to your inventory.</p>" +
-                        "<p>Your invoice (<b>%s</b>) has been generated.</p>",
-                dealer.getName(),
-                order.getOrderId(),
-                savedInvoice.getInvoiceId()
-        );
-        emailService.sendEmail(dealer.getEmail(), subject, body);
+        emailService.send(dealer.getEmail(),
+                new Notification.DealerOrderFulfilled(dealer.getName(), order.getOrderId(), savedInvoice.getInvoiceId()));
+
+        eventPublisher.publishEvent(new DealerOrderFulfilledEvent(order.getOrderId(), order.getTotalPrice(), order.getCreatedAt()));
+        // The PDF is rendered after commit, off this thread
+        eventPublisher.publishEvent(new InvoiceIssuedEvent(InvoiceType.DEALER, invoiceId));
 
         return toDealerInvoiceDto(savedInvoice);
     }
 
+    /**
+     * Builds the rejection message for a fulfilment. Only runs on the failure path, so the
+     * extra read does not cost anything on successful orders.
+     */
+    private String describeShortStock(Factory factory, List<Long> shortProducts,
+                                      Map<Long, Product> productsById, Map<Long, Long> requiredByProduct) {
+        Map<Long, Long> available = productStockRepository.findByFactoryAndProductIdIn(factory, shortProducts).stream()
+                .collect(Collectors.toMap(stock -> stock.getProduct().getId(), ProductStock::getQuantity));
+
+        Long productId = shortProducts.get(0);
+        Product product = productsById.get(productId);
+        if (!available.containsKey(productId)) {
+            return "Factory '" + factory.getName() + "' has no stock record for product: " + product.getName();
+        }
+        return "Insufficient stock at factory '" + factory.getName() + "' for product '" + product.getName() + "'. Required: " + requiredByProduct.get(productId) + ", Available: " + available.get(productId);
+    }
+
+    /**
+     * Sum of unit price times quantity over the order lines. Package-private for the JMH benchmarks.
+     */
+    static BigDecimal orderTotal(List<DealerOrderMapping> lines) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (DealerOrderMapping line : lines) {
+            total = total.add(line.getUnitPrice().multiply(BigDecimal.valueOf(line.getQuantity())));
+        }
+        return total;
+    }
+
+    /**
+     * Loads every product referenced by the order lines with a single IN query.
+     */
+    private Map<String, Product> findProductsByProductId(List<OrderItemDto> items) {
+        Set<String> productIds = items.stream()
+                .map(OrderItemDto::getProductId)
+                .collect(Collectors.toSet());
+
+        Map<String, Product> products = productRepository.findByProductIdIn(productIds).stream()
+                .collect(Collectors.toMap(Product::getProductId, Function.identity()));
+
+        for (OrderItemDto item : items) {
+            if (!products.containsKey(item.getProductId())) {
+                throw new ResourceNotFoundException("Product not found with ID: " + item.getProductId());
+            }
+        }
+        return products;
+    }
+
     /**
      * Retrieves a paginated list of all dealer orders.
      * Can be enhanced later with filtering by status, dealer, etc.
@@ -191,7 +233,19 @@ public class OrderService {
     public Page<DealerOrderDto> getAllDealerOrders(PageableDto pageReq) {
         Pageable pageable = PageRequest.of(pageReq.getPage(), pageReq.getSize(), Sort.by("createdAt").descending());
         Page<DealerOrder> orderPage = dealerOrderRepository.findAll(pageable);
-        return orderPage.map(this::toDto);
+        return orderPage.map(OrderService::toDto);
+    }
+
+    /**
+     * Keyset variant of {@link #getAllDealerOrders}: constant cost per slice and no count query.
+     */
+    public CursorPageDto<DealerOrderDto> scrollAllDealerOrders(PageableDto pageReq) {
+        Sort sort = Sort.by("createdAt").descending();
+        ScrollPosition position = KeysetCursor.decode(pageReq.getCursor(), sort);
+        Window<DealerOrder> window = dealerOrderRepository.findBy(
+                (Specification<DealerOrder>) (root, query, cb) -> cb.conjunction(),
+                q -> q.sortBy(sort).limit(pageReq.getSize()).scroll(position));
+        return KeysetCursor.toPage(window, sort, orders -> orders.stream().map(OrderService::toDto).toList());
     }
 
     /**
@@ -199,7 +253,7 @@ public class OrderService {
      */
     public DealerOrderDto getDealerOrderById(String orderId) {
         return dealerOrderRepository.findByOrderId(orderId)
-                .map(this::toDto)
+                .map(OrderService::toDto)
                 .orElseThrow(() -> new ResourceNotFoundException("Dealer Order not found with ID: " + orderId));
     }
 
@@ -218,7 +272,7 @@ public class OrderService {
     }
 
     // --- DTO CONVERTER ---
-    private DealerOrderDto toDto(DealerOrder order) {
+    static DealerOrderDto toDto(DealerOrder order) {
         List<OrderItemDto> items = order.getItems().stream()
                 .map(mapping -> {
                     OrderItemDto itemDto = new OrderItemDto();
@@ -0,0 +1,24 @@
+package com.example.sellerhelp.product.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * One production record as exported, read straight from JDBC without loading the entity.
+ */
+public record ProductionExportRow(
+        Long id,
+        String factoryId,
+        String factoryName,
+        String productId,
+        String productName,
+        Long productionQuantity,
+        LocalDate productionDate
+) {
+    public static final List<String> COLUMNS = List.of(
+            "id", "factoryId", "factoryName", "productId", "productName", "productionQuantity", "productionDate");
+
+    public Object[] values() {
+        return new Object[]{id, factoryId, factoryName, productId, productName, productionQuantity, productionDate};
+    }
+}
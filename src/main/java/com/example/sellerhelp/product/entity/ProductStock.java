@@ -5,7 +5,10 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "product_stock")
+@Table(
+        name = "product_stock",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"factory_id", "product_id"})
+)
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class ProductStock {
 
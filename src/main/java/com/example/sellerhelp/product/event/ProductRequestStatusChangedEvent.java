@@ -0,0 +1,11 @@
+package com.example.sellerhelp.product.event;
+
+import com.example.sellerhelp.constant.ProductRequestStatus;
+
+/**
+ * Published when a product request is created ({@code previousStatus} is null) or changes status.
+ */
+public record ProductRequestStatusChangedEvent(String requestNumber,
+                                               ProductRequestStatus previousStatus,
+                                               ProductRequestStatus newStatus) {
+}
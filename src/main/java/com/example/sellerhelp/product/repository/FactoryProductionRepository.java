@@ -2,12 +2,18 @@ package com.example.sellerhelp.product.repository;
 
 import com.example.sellerhelp.factory.entity.Factory;
 import com.example.sellerhelp.product.entity.FactoryProduction;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface FactoryProductionRepository extends JpaRepository<FactoryProduction, Long> {
+public interface FactoryProductionRepository extends JpaRepository<FactoryProduction, Long>, FactoryProductionRepositoryCustom {
     Page<FactoryProduction> findByFactory(Factory factory, Pageable pageable);
+
+    Window<FactoryProduction> findByFactory(Factory factory, ScrollPosition position, Limit limit, Sort sort);
 }
\ No newline at end of file
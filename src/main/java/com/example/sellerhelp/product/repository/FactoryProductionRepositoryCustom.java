@@ -0,0 +1,23 @@
+package com.example.sellerhelp.product.repository;
+
+import com.example.sellerhelp.product.dto.ProductionExportRow;
+
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+/**
+ * Forward-only reads of {@code factory_production} for exports.
+ */
+public interface FactoryProductionRepositoryCustom {
+
+    /**
+     * Streams production records in id order over a JDBC cursor. Every filter is optional (null
+     * means no restriction). Must be consumed inside a transaction and closed.
+     *
+     * @param factoryId primary key of the factory
+     * @param productId primary key of the product
+     * @param from      inclusive lower bound on {@code production_date}
+     * @param to        inclusive upper bound on {@code production_date}
+     */
+    Stream<ProductionExportRow> streamForExport(Long factoryId, Long productId, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,51 @@
+package com.example.sellerhelp.product.repository;
+
+import com.example.sellerhelp.common.JdbcStreams;
+import com.example.sellerhelp.product.dto.ProductionExportRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+class FactoryProductionRepositoryImpl implements FactoryProductionRepositoryCustom {
+
+    private static final String EXPORT_SQL =
+            "SELECT fp.id, f.factory_id, f.name, p.product_id, p.name, fp.production_quantity, fp.production_date " +
+            "FROM factory_production fp " +
+            "JOIN factory f ON f.id = fp.factory_id " +
+            "JOIN product p ON p.id = fp.product_id WHERE 1 = 1";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Stream<ProductionExportRow> streamForExport(Long factoryId, Long productId, LocalDate from, LocalDate to) {
+        StringBuilder sql = new StringBuilder(EXPORT_SQL);
+        List<Object> args = new ArrayList<>();
+        if (factoryId != null) {
+            sql.append(" AND fp.factory_id = ?");
+            args.add(factoryId);
+        }
+        if (productId != null) {
+            sql.append(" AND fp.product_id = ?");
+            args.add(productId);
+        }
+        if (from != null) {
+            sql.append(" AND fp.production_date >= ?");
+            args.add(Date.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND fp.production_date <= ?");
+            args.add(Date.valueOf(to));
+        }
+        sql.append(" ORDER BY fp.id");
+
+        return JdbcStreams.forwardOnly(jdbcTemplate, sql.toString(), args, (rs, rowNum) -> new ProductionExportRow(
+                rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5),
+                rs.getLong(6), rs.getDate(7).toLocalDate()));
+    }
+}
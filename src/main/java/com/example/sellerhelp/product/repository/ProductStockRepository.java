@@ -8,11 +8,14 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ProductStockRepository extends JpaRepository<ProductStock, Long> {
+public interface ProductStockRepository extends JpaRepository<ProductStock, Long>, ProductStockRepositoryCustom {
     Optional<ProductStock> findByFactoryAndProduct(Factory factory, Product product);
+    List<ProductStock> findByFactoryAndProductIdIn(Factory factory, Collection<Long> productIds);
     Page<ProductStock> findByFactory(Factory factory, Pageable pageable);
     Page<ProductStock> findByProduct(Product product, Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.example.sellerhelp.product.repository;
+
+import com.example.sellerhelp.product.entity.FactoryProduction;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set-based writes for {@code product_stock} and the production records that feed it,
+ * executed as single JDBC batches.
+ */
+public interface ProductStockRepositoryCustom {
+
+    /**
+     * Atomically decrements a factory's stock for every product in one batch. A row is only
+     * updated when it still holds at least the requested quantity, so concurrent fulfilments
+     * cannot oversell.
+     *
+     * @param factoryId             primary key of the factory
+     * @param quantitiesByProductId quantity to remove, keyed by product primary key
+     * @return product ids whose row was not updated (missing or insufficient stock)
+     */
+    List<Long> decrementQuantities(Long factoryId, Map<Long, Long> quantitiesByProductId);
+
+    /**
+     * Adds produced units to a factory's stock for every product in one batch, then inserts rows
+     * in a second batch for the products the factory did not stock yet. If a concurrent import
+     * inserts one of those rows first, the unique (factory, product) key rejects ours and the
+     * units are added to that row instead (see {@link com.example.sellerhelp.common.JdbcUpserts}).
+     * Must run inside a transaction.
+     *
+     * @param factoryId             primary key of the factory
+     * @param quantitiesByProductId quantity to add, keyed by product primary key
+     */
+    void addQuantities(Long factoryId, Map<Long, Long> quantitiesByProductId);
+
+    /**
+     * Inserts production records in one batch, bypassing the persistence context. Each record
+     * only needs its factory and product ids, quantity and date.
+     */
+    void insertProductionRecords(List<FactoryProduction> records);
+}
@@ -0,0 +1,71 @@
+package com.example.sellerhelp.product.repository;
+
+import com.example.sellerhelp.common.JdbcUpserts;
+import com.example.sellerhelp.product.entity.FactoryProduction;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+class ProductStockRepositoryImpl implements ProductStockRepositoryCustom {
+
+    private static final String DECREMENT_SQL =
+            "UPDATE product_stock SET quantity = quantity - ? " +
+            "WHERE factory_id = ? AND product_id = ? AND quantity >= ?";
+
+    private static final String ADD_SQL =
+            "UPDATE product_stock SET quantity = quantity + ? WHERE factory_id = ? AND product_id = ?";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO product_stock (factory_id, product_id, quantity) VALUES (?, ?, ?)";
+
+    private static final String INSERT_PRODUCTION_SQL =
+            "INSERT INTO factory_production (factory_id, product_id, production_quantity, production_date) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Long> decrementQuantities(Long factoryId, Map<Long, Long> quantitiesByProductId) {
+        List<Long> productIds = new ArrayList<>(quantitiesByProductId.keySet());
+        List<Object[]> args = new ArrayList<>(productIds.size());
+        for (Long productId : productIds) {
+            Long quantity = quantitiesByProductId.get(productId);
+            args.add(new Object[]{quantity, factoryId, productId, quantity});
+        }
+
+        int[] counts = jdbcTemplate.batchUpdate(DECREMENT_SQL, args);
+
+        List<Long> shortRows = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                shortRows.add(productIds.get(i));
+            }
+        }
+        return shortRows;
+    }
+
+    @Override
+    public void addQuantities(Long factoryId, Map<Long, Long> quantitiesByProductId) {
+        List<Object[]> updates = new ArrayList<>(quantitiesByProductId.size());
+        List<Object[]> inserts = new ArrayList<>(quantitiesByProductId.size());
+        quantitiesByProductId.forEach((productId, quantity) -> {
+            updates.add(new Object[]{quantity, factoryId, productId});
+            inserts.add(new Object[]{factoryId, productId, quantity});
+        });
+        JdbcUpserts.updateOrInsert(jdbcTemplate, ADD_SQL, updates, INSERT_SQL, inserts);
+    }
+
+    @Override
+    public void insertProductionRecords(List<FactoryProduction> records) {
+        List<Object[]> args = new ArrayList<>(records.size());
+        for (FactoryProduction record : records) {
+            args.add(new Object[]{record.getFactory().getId(), record.getProduct().getId(),
+                    record.getProductionQuantity(), Date.valueOf(record.getProductionDate())});
+        }
+        jdbcTemplate.batchUpdate(INSERT_PRODUCTION_SQL, args);
+    }
+}
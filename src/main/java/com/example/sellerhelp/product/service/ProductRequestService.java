@@ -2,28 +2,36 @@ package com.example.sellerhelp.product.service;
 
 import com.example.sellerhelp.appuser.dto.PageableDto;
 import com.example.sellerhelp.appuser.entity.User;
+import com.example.sellerhelp.common.CursorPageDto;
+import com.example.sellerhelp.common.KeysetCursor;
+import com.example.sellerhelp.common.BusinessIdGenerator;
+import com.example.sellerhelp.common.BusinessIdType;
+import com.example.sellerhelp.common.ReferenceDataCache;
 import com.example.sellerhelp.constant.ProductRequestStatus;
 import com.example.sellerhelp.exception.BadRequestException;
 import com.example.sellerhelp.exception.ResourceNotFoundException;
 import com.example.sellerhelp.factory.entity.Factory;
-import com.example.sellerhelp.factory.repository.FactoryRepository;
 import com.example.sellerhelp.notification.service.EmailService;
+import com.example.sellerhelp.notification.template.Notification;
 import com.example.sellerhelp.product.dto.CreateProductRequestDto;
 import com.example.sellerhelp.product.dto.ProductRequestDto;
 import com.example.sellerhelp.product.dto.ProductRequestItemDto;
 import com.example.sellerhelp.product.entity.Product;
 import com.example.sellerhelp.product.entity.ProductRequest;
 import com.example.sellerhelp.product.entity.ProductRequestMapping;
-import com.example.sellerhelp.product.repository.ProductRepository;
+import com.example.sellerhelp.product.event.ProductRequestStatusChangedEvent;
 import com.example.sellerhelp.product.repository.ProductRequestMappingRepository;
 import com.example.sellerhelp.product.repository.ProductRequestRepository;
 import com.example.sellerhelp.security.SecurityService;
-import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -37,30 +45,30 @@ public class ProductRequestService {
 
     private final ProductRequestRepository productRequestRepository;
     private final ProductRequestMappingRepository productRequestMappingRepository;
-    private final ProductRepository productRepository;
-    private final FactoryRepository factoryRepository;
+    private final ReferenceDataCache referenceDataCache;
     private final SecurityService securityService;
-    private final EntityManager entityManager;
+    private final BusinessIdGenerator businessIdGenerator;
     private final EmailService emailService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ProductRequestDto createProductRequest(CreateProductRequestDto dto) {
         User centralOfficer = securityService.getCurrentUser();
-        Factory factory = factoryRepository.findByFactoryId(dto.getFactoryId())
+        Factory factory = referenceDataCache.findFactory(dto.getFactoryId())
                 .orElseThrow(() -> new ResourceNotFoundException("Factory not found with ID: " + dto.getFactoryId()));
 
         ProductRequest request = ProductRequest.builder()
+                .requestNumber(businessIdGenerator.next(BusinessIdType.PRODUCT_REQUEST))
                 .centralOfficer(centralOfficer)
                 .factory(factory)
                 .status(ProductRequestStatus.REQUESTED)
                 .build();
 
-        ProductRequest savedRequest = productRequestRepository.saveAndFlush(request);
-        entityManager.refresh(savedRequest);
+        ProductRequest savedRequest = productRequestRepository.save(request);
 
         List<ProductRequestMapping> mappings = new ArrayList<>();
         for (ProductRequestItemDto item : dto.getProducts()) {
-            Product product = productRepository.findByProductId(item.getProductId())
+            Product product = referenceDataCache.findProduct(item.getProductId())
                     .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + item.getProductId()));
 
             ProductRequestMapping mapping = ProductRequestMapping.builder()
@@ -76,19 +84,12 @@ public class ProductRequestService {
 
         User plantHead = factory.getPlantHead();
         if (plantHead != null && plantHead.getEmail() != null) {
-            String subject = "New Product Request Received: " + savedRequest.getRequestNumber();
-            String body = String.format(
-                    "<p>Hello %s,</p>" +
-                            "<p>A new product request from the Central Office is assigned to your factory, <b>%s</b>.</p>" +
-                            "<p>Request Number: <b>%s</b></p>" +
-                            "<p>Please log in to the SellerHelp application to review and approve the request.</p>",
-                    plantHead.getName(),
-                    factory.getName(),
-                    savedRequest.getRequestNumber()
-            );
-            emailService.sendEmail(plantHead.getEmail(), subject, body);
+            emailService.send(plantHead.getEmail(),
+                    new Notification.ProductRequestCreated(plantHead.getName(), factory.getName(), savedRequest.getRequestNumber()));
         }
 
+        eventPublisher.publishEvent(new ProductRequestStatusChangedEvent(savedRequest.getRequestNumber(), null, ProductRequestStatus.REQUESTED));
+
         return toDto(savedRequest);
     }
 
@@ -104,17 +105,11 @@ public class ProductRequestService {
         request.setStatus(ProductRequestStatus.FULFILLED);
         ProductRequest savedRequest = productRequestRepository.save(request);
 
-
         User centralOfficer = savedRequest.getCentralOfficer();
-        String subject = "Product Request Approved: " + savedRequest.getRequestNumber();
-        String body = String.format(
-                "<p>Hello %s,</p>" +
-                        "<p>Your product request <b>%s</b> for factory <b>%s</b> has been approved.</p>",
-                centralOfficer.getName(),
-                savedRequest.getRequestNumber(),
-                savedRequest.getFactory().getName()
-        );
-        emailService.sendEmail(centralOfficer.getEmail(), subject, body);
+        emailService.send(centralOfficer.getEmail(),
+                new Notification.ProductRequestApproved(centralOfficer.getName(), savedRequest.getRequestNumber(), savedRequest.getFactory().getName()));
+
+        eventPublisher.publishEvent(new ProductRequestStatusChangedEvent(savedRequest.getRequestNumber(), ProductRequestStatus.REQUESTED, ProductRequestStatus.FULFILLED));
 
         return toDto(savedRequest);
     }
@@ -132,16 +127,10 @@ public class ProductRequestService {
         ProductRequest savedRequest = productRequestRepository.save(request);
 
         User centralOfficer = savedRequest.getCentralOfficer();
-        String subject = "Product Request Rejected: " + savedRequest.getRequestNumber();
-        String body = String.format(
-                "<p>Hello %s,</p>" +
-                        "<p>Your product request <b>%s</b> for factory <b>%s</b> has been rejected.</p>" +
-                        "<p>Please log in for more details.</p>",
-                centralOfficer.getName(),
-                savedRequest.getRequestNumber(),
-                savedRequest.getFactory().getName()
-        );
-        emailService.sendEmail(centralOfficer.getEmail(), subject, body);
+        emailService.send(centralOfficer.getEmail(),
+                new Notification.ProductRequestRejected(centralOfficer.getName(), savedRequest.getRequestNumber(), savedRequest.getFactory().getName()));
+
+        eventPublisher.publishEvent(new ProductRequestStatusChangedEvent(savedRequest.getRequestNumber(), ProductRequestStatus.REQUESTED, ProductRequestStatus.REJECTED));
 
         return toDto(savedRequest);
     }
@@ -151,8 +140,17 @@ public class ProductRequestService {
         return productRequestRepository.findAll(pageable).map(this::toDto);
     }
 
+    public CursorPageDto<ProductRequestDto> scrollAllProductRequests(PageableDto pageReq) {
+        Sort sort = Sort.by("createdAt").descending();
+        ScrollPosition position = KeysetCursor.decode(pageReq.getCursor(), sort);
+        Window<ProductRequest> window = productRequestRepository.findBy(
+                (Specification<ProductRequest>) (root, query, cb) -> cb.conjunction(),
+                q -> q.sortBy(sort).limit(pageReq.getSize()).scroll(position));
+        return KeysetCursor.toPage(window, sort, requests -> requests.stream().map(this::toDto).toList());
+    }
+
     public Page<ProductRequestDto> getProductRequestsByFactory(String factoryId, PageableDto pageReq) {
-        Factory factory = factoryRepository.findByFactoryId(factoryId)
+        Factory factory = referenceDataCache.findFactory(factoryId)
                 .orElseThrow(() -> new ResourceNotFoundException("Factory not found with ID: " + factoryId));
         Pageable pageable = PageRequest.of(pageReq.getPage(), pageReq.getSize(), Sort.by("createdAt").descending());
         return productRequestRepository.findByFactory(factory, pageable).map(this::toDto);
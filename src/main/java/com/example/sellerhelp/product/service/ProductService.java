@@ -2,6 +2,9 @@ package com.example.sellerhelp.product.service;
 
 import com.example.sellerhelp.appuser.dto.PageableDto;
 import com.example.sellerhelp.appuser.entity.User;
+import com.example.sellerhelp.common.BusinessIdGenerator;
+import com.example.sellerhelp.common.BusinessIdType;
+import com.example.sellerhelp.common.ReferenceDataCache;
 import com.example.sellerhelp.constant.ProductRequestStatus;
 import com.example.sellerhelp.notification.service.EmailService;
 import com.example.sellerhelp.product.dto.CreateProductDto;
@@ -12,7 +15,6 @@ import com.example.sellerhelp.product.entity.Product;
 import com.example.sellerhelp.product.entity.ProductCategory;
 import com.example.sellerhelp.product.repository.ProductCategoryRepository;
 import com.example.sellerhelp.product.repository.ProductRepository;
-import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -32,7 +34,8 @@ public class ProductService {
 
     private final ProductRepository productRepository;
     private final ProductCategoryRepository productCategoryRepository;
-    private final EntityManager entityManager;
+    private final ReferenceDataCache referenceDataCache;
+    private final BusinessIdGenerator businessIdGenerator;
     private final EmailService emailService;
 
     // --- CATEGORY MANAGEMENT (ADMIN) ---
@@ -46,11 +49,13 @@ public class ProductService {
                 .name(dto.getName())
                 .description(dto.getDescription())
                 .build();
-        return toDto(productCategoryRepository.save(category));
+        ProductCategory savedCategory = productCategoryRepository.save(category);
+        referenceDataCache.invalidateProductCategories();
+        return toDto(savedCategory);
     }
 
     public List<ProductCategoryDto> getAllProductCategories() {
-        return productCategoryRepository.findAll(Sort.by("name")).stream()
+        return referenceDataCache.productCategories().stream()
                 .map(this::toDto)
                 .toList();
     }
@@ -62,10 +67,11 @@ public class ProductService {
         if (productRepository.existsByNameIgnoreCase(dto.getName())) {
             throw new IllegalStateException("A product with this name already exists.");
         }
-        ProductCategory category = productCategoryRepository.findById(dto.getCategoryId())
+        ProductCategory category = referenceDataCache.findProductCategory(dto.getCategoryId())
                 .orElseThrow(() -> new IllegalArgumentException("Product category not found with ID: " + dto.getCategoryId()));
 
         Product product = Product.builder()
+                .productId(businessIdGenerator.next(BusinessIdType.PRODUCT))
                 .name(dto.getName())
                 .description(dto.getDescription())
                 .imageUrl(dto.getImageUrl())
@@ -74,8 +80,8 @@ public class ProductService {
                 .isActive(ProductRequestStatus.REQUESTED)
                 .build();
 
-        Product savedProduct = productRepository.saveAndFlush(product);
-        entityManager.refresh(savedProduct);
+        Product savedProduct = productRepository.save(product);
+        referenceDataCache.invalidateProduct(savedProduct.getProductId());
 
         return toDto(savedProduct);
     }
@@ -92,12 +98,14 @@ public class ProductService {
         if (dto.getStatus() != null) product.setIsActive(dto.getStatus());
 
         if (dto.getCategoryId() != null) {
-            ProductCategory newCategory = productCategoryRepository.findById(dto.getCategoryId())
+            ProductCategory newCategory = referenceDataCache.findProductCategory(dto.getCategoryId())
                     .orElseThrow(() -> new IllegalArgumentException("Product category not found with ID: " + dto.getCategoryId()));
             product.setCategory(newCategory);
         }
 
-        return toDto(productRepository.save(product));
+        Product savedProduct = productRepository.save(product);
+        referenceDataCache.invalidateProduct(productId);
+        return toDto(savedProduct);
     }
 
     @Transactional
@@ -111,6 +119,7 @@ public class ProductService {
 
         product.setIsActive(ProductRequestStatus.INACTIVE);
         productRepository.save(product);
+        referenceDataCache.invalidateProduct(productId);
     }
 
     public Page<ProductDto> getAllProducts(PageableDto pageReq) {
@@ -119,7 +128,7 @@ public class ProductService {
     }
 
     public ProductDto getProductById(String productId) {
-        return productRepository.findByProductId(productId)
+        return referenceDataCache.findProduct(productId)
                 .map(this::toDto)
                 .orElseThrow(() -> new NoSuchElementException("Product not found with ID: " + productId));
     }
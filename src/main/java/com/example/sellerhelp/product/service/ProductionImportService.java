@@ -0,0 +1,121 @@
+package com.example.sellerhelp.product.service;
+
+import com.example.sellerhelp.appuser.entity.User;
+import com.example.sellerhelp.common.ImportResultDto;
+import com.example.sellerhelp.common.ImportRowReader;
+import com.example.sellerhelp.common.ReferenceDataCache;
+import com.example.sellerhelp.factory.entity.Factory;
+import com.example.sellerhelp.factory.entity.UserFactoryMapping;
+import com.example.sellerhelp.product.entity.FactoryProduction;
+import com.example.sellerhelp.product.entity.Product;
+import com.example.sellerhelp.product.repository.ProductStockRepository;
+import com.example.sellerhelp.security.SecurityService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bulk version of {@link ProductionService#recordProduction} for the caller's own factory. The
+ * upload is streamed row by row with columns {@code productId}, {@code productionQuantity} and
+ * {@code productionDate}; every {@code imports.batch-size} valid rows the production records are
+ * inserted and the stock increments, summed per product, are applied as JDBC batches. Invalid rows
+ * are skipped and reported, and everything else is applied in one transaction.
+ */
+@Slf4j
+@Service
+public class ProductionImportService {
+
+    private final ProductStockRepository productStockRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final SecurityService securityService;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxErrors;
+
+    public ProductionImportService(ProductStockRepository productStockRepository,
+                                   ReferenceDataCache referenceDataCache,
+                                   SecurityService securityService,
+                                   ObjectMapper objectMapper,
+                                   @Value("${imports.batch-size:500}") int batchSize,
+                                   @Value("${imports.max-errors:1000}") int maxErrors) {
+        this.productStockRepository = productStockRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.securityService = securityService;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+    }
+
+    @Transactional
+    public ImportResultDto importProduction(InputStream body, String contentType) {
+        User currentUser = securityService.getCurrentUser();
+        Factory factory = currentUser.getFactoryMappings().stream()
+                .map(UserFactoryMapping::getFactory)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("You are not assigned to a factory and cannot record production."));
+
+        long start = System.nanoTime();
+        ImportResultDto result = new ImportResultDto(maxErrors);
+        // Per-upload memo of product lookups, so a file full of one unknown id does not hit the database per line
+        Map<String, Optional<Product>> products = new HashMap<>();
+        List<FactoryProduction> pendingRecords = new ArrayList<>(batchSize);
+
+        try (ImportRowReader reader = new ImportRowReader(body, contentType, objectMapper)) {
+            for (ImportRowReader.Row row = reader.next(); row != null; row = reader.next()) {
+                if (row.error() != null) {
+                    result.reject(row.lineNumber(), row.error());
+                    continue;
+                }
+                try {
+                    String productId = row.requireText("productId");
+                    FactoryProduction record = FactoryProduction.builder()
+                            .factory(factory)
+                            .productionQuantity(row.requirePositiveLong("productionQuantity"))
+                            .productionDate(row.requireDate("productionDate"))
+                            .product(products.computeIfAbsent(productId, referenceDataCache::findProduct)
+                                    .orElseThrow(() -> new IllegalArgumentException("Product not found with ID: " + productId)))
+                            .build();
+                    pendingRecords.add(record);
+                } catch (IllegalArgumentException e) {
+                    result.reject(row.lineNumber(), e.getMessage());
+                    continue;
+                }
+                if (pendingRecords.size() == batchSize) {
+                    flush(factory, pendingRecords, result);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (!pendingRecords.isEmpty()) {
+            flush(factory, pendingRecords, result);
+        }
+
+        log.info("Imported production for factory {}: {} rows applied, {} rejected in {} ms", factory.getFactoryId(),
+                result.getImportedRows(), result.getRejectedRows(), (System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
+    private void flush(Factory factory, List<FactoryProduction> records, ImportResultDto result) {
+        Map<Long, Long> quantitiesByProductId = new LinkedHashMap<>();
+        for (FactoryProduction record : records) {
+            quantitiesByProductId.merge(record.getProduct().getId(), record.getProductionQuantity(), Long::sum);
+        }
+        productStockRepository.insertProductionRecords(records);
+        productStockRepository.addQuantities(factory.getId(), quantitiesByProductId);
+        result.imported(records.size());
+        records.clear();
+    }
+}
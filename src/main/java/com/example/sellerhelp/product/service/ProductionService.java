@@ -2,10 +2,12 @@ package com.example.sellerhelp.product.service;
 
 import com.example.sellerhelp.appuser.dto.PageableDto;
 import com.example.sellerhelp.appuser.entity.User;
+import com.example.sellerhelp.common.CursorPageDto;
+import com.example.sellerhelp.common.KeysetCursor;
+import com.example.sellerhelp.common.ReferenceDataCache;
 import com.example.sellerhelp.exception.ResourceNotFoundException;
 import com.example.sellerhelp.factory.entity.Factory;
 import com.example.sellerhelp.factory.entity.UserFactoryMapping;
-import com.example.sellerhelp.factory.repository.FactoryRepository;
 import com.example.sellerhelp.product.dto.FactoryProductionDto;
 import com.example.sellerhelp.product.dto.ProductStockDto;
 import com.example.sellerhelp.product.dto.RecordProductionDto;
@@ -13,18 +15,21 @@ import com.example.sellerhelp.product.entity.FactoryProduction;
 import com.example.sellerhelp.product.entity.Product;
 import com.example.sellerhelp.product.entity.ProductStock;
 import com.example.sellerhelp.product.repository.FactoryProductionRepository;
-import com.example.sellerhelp.product.repository.ProductRepository;
 import com.example.sellerhelp.product.repository.ProductStockRepository;
 import com.example.sellerhelp.security.SecurityService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 
 @Service
@@ -32,10 +37,9 @@ import java.util.NoSuchElementException;
 @Transactional(readOnly = true)
 public class ProductionService {
 
-    private final ProductRepository productRepository;
     private final ProductStockRepository productStockRepository;
     private final FactoryProductionRepository factoryProductionRepository;
-    private final FactoryRepository factoryRepository;
+    private final ReferenceDataCache referenceDataCache;
     private final SecurityService securityService;
 
     // --- PRODUCTION & STOCK MANAGEMENT (PLANT_HEAD) ---
@@ -49,7 +53,7 @@ public class ProductionService {
                 .map(UserFactoryMapping::getFactory)
                 .findFirst()
                 .orElseThrow(() -> new IllegalArgumentException("You are not assigned to a factory and cannot record production."));
-        Product product = productRepository.findByProductId(dto.getProductId())
+        Product product = referenceDataCache.findProduct(dto.getProductId())
                 .orElseThrow(() -> new NoSuchElementException("Product not found with ID: " + dto.getProductId()));
 
         FactoryProduction productionRecord = FactoryProduction.builder()
@@ -61,14 +65,8 @@ public class ProductionService {
 
         FactoryProduction savedRecord = factoryProductionRepository.save(productionRecord);
 
-        ProductStock stock = productStockRepository.findByFactoryAndProduct(factory, product)
-                .orElseGet(() -> ProductStock.builder()
-                        .factory(factory)
-                        .product(product)
-                        .build());
-
-        stock.setQuantity(stock.getQuantity() + dto.getProductionQuantity());
-        productStockRepository.save(stock);
+        // Atomic increment, so concurrent recordings for the same product cannot lose units
+        productStockRepository.addQuantities(factory.getId(), Map.of(product.getId(), dto.getProductionQuantity()));
 
         return toDto(savedRecord);
     }
@@ -76,7 +74,7 @@ public class ProductionService {
     // --- VIEWING METHODS ---
 
     public Page<ProductStockDto> getStockByFactory(String factoryId, PageableDto pageReq) {
-        Factory factory = factoryRepository.findByFactoryId(factoryId)
+        Factory factory = referenceDataCache.findFactory(factoryId)
                 .orElseThrow(() -> new NoSuchElementException("Factory not found with ID: " + factoryId));
 
         Pageable pageable = PageRequest.of(pageReq.getPage(), pageReq.getSize(), Sort.by("product.name"));
@@ -84,13 +82,24 @@ public class ProductionService {
     }
 
     public Page<FactoryProductionDto> getProductionRecordsByFactory(String factoryId, PageableDto pageReq) {
-        Factory factory = factoryRepository.findByFactoryId(factoryId)
+        Factory factory = referenceDataCache.findFactory(factoryId)
                 .orElseThrow(() -> new NoSuchElementException("Factory not found with ID: " + factoryId));
 
         Pageable pageable = PageRequest.of(pageReq.getPage(), pageReq.getSize(), Sort.by("productionDate").descending());
         return factoryProductionRepository.findByFactory(factory, pageable).map(this::toDto);
     }
 
+    public CursorPageDto<FactoryProductionDto> scrollProductionRecordsByFactory(String factoryId, PageableDto pageReq) {
+        Factory factory = referenceDataCache.findFactory(factoryId)
+                .orElseThrow(() -> new NoSuchElementException("Factory not found with ID: " + factoryId));
+
+        Sort sort = Sort.by("productionDate").descending();
+        ScrollPosition position = KeysetCursor.decode(pageReq.getCursor(), sort);
+        Window<FactoryProduction> window = factoryProductionRepository.findByFactory(
+                factory, position, Limit.of(pageReq.getSize()), sort);
+        return KeysetCursor.toPage(window, sort, records -> records.stream().map(this::toDto).toList());
+    }
+
     /**
      * Retrieves a list of stock levels for a specific product across all factories.
      * This provides the visibility needed for the Central Office to make fulfillment decisions.
@@ -98,7 +107,7 @@ public class ProductionService {
      * @return A List of ProductStockDto objects, one for each factory that stocks the product.
      */
     public Page<ProductStockDto> getStockLevelsForProduct(String productId, PageableDto pageReq) {
-        Product product = productRepository.findByProductId(productId)
+        Product product = referenceDataCache.findProduct(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + productId));
 
         Pageable pageable = PageRequest.of(pageReq.getPage(), pageReq.getSize(), Sort.by("quantity").descending());
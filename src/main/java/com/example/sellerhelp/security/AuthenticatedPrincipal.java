@@ -0,0 +1,26 @@
+package com.example.sellerhelp.security;
+
+import com.example.sellerhelp.appuser.entity.User;
+import com.example.sellerhelp.constant.ActiveStatus;
+import com.example.sellerhelp.constant.UserRole;
+
+/**
+ * The slice of a User that the security layer needs on every request.
+ * Kept small and immutable so it can be cached between requests.
+ */
+public record AuthenticatedPrincipal(Long id, String userId, String email, UserRole role, ActiveStatus status) {
+
+    public static AuthenticatedPrincipal from(User user) {
+        return new AuthenticatedPrincipal(
+                user.getId(),
+                user.getUserId(),
+                user.getEmail(),
+                user.getRole() != null ? user.getRole().getName() : null,
+                user.getIsActive()
+        );
+    }
+
+    public boolean isActive() {
+        return status == ActiveStatus.ACTIVE;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.sellerhelp.security;
+
+import com.example.sellerhelp.appuser.entity.User;
+import com.example.sellerhelp.appuser.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+
+/**
+ * Resolves the authenticated User at most once per HTTP request.
+ * The JWT filter stores the principal's database id on the request, so the first lookup is a
+ * primary-key find; later lookups in the same request reuse the managed instance.
+ * Outside a request (scheduled jobs, tests) it falls back to a lookup by email.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentUserResolver {
+
+    public static final String PRINCIPAL_ID_ATTRIBUTE = CurrentUserResolver.class.getName() + ".principalId";
+    private static final String USER_ATTRIBUTE = CurrentUserResolver.class.getName() + ".user";
+    private static final String RESOLUTIONS_ATTRIBUTE = CurrentUserResolver.class.getName() + ".resolutions";
+
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+
+    public Optional<User> resolve() {
+        String email = currentEmail();
+        if (email == null) {
+            return Optional.empty();
+        }
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return userRepository.findByEmail(email);
+        }
+
+        // Reuse the instance if it still belongs to the current persistence context
+        User cached = (User) attributes.getAttribute(USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (cached != null && email.equals(cached.getEmail()) && entityManager.contains(cached)) {
+            return Optional.of(cached);
+        }
+
+        Long id = cached != null && email.equals(cached.getEmail())
+                ? cached.getId()
+                : (Long) attributes.getAttribute(PRINCIPAL_ID_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+
+        Optional<User> user = id != null
+                ? Optional.ofNullable(entityManager.find(User.class, id))
+                : userRepository.findByEmail(email);
+
+        attributes.setAttribute(RESOLUTIONS_ATTRIBUTE, resolutionCount() + 1, RequestAttributes.SCOPE_REQUEST);
+        user.ifPresent(u -> attributes.setAttribute(USER_ATTRIBUTE, u, RequestAttributes.SCOPE_REQUEST));
+        return user;
+    }
+
+    /**
+     * Number of times the current request had to load the user rather than reuse it.
+     */
+    public int resolutionCount() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return 0;
+        }
+        Integer count = (Integer) attributes.getAttribute(RESOLUTIONS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return count != null ? count : 0;
+    }
+
+    private String currentEmail() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || "anonymousUser".equals(authentication.getPrincipal())) {
+            return null;
+        }
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof UserDetails userDetails) {
+            return userDetails.getUsername();
+        }
+        return principal != null ? principal.toString() : null;
+    }
+}
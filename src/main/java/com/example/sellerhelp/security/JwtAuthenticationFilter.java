@@ -1,12 +1,12 @@
 package com.example.sellerhelp.security;
 
-import com.example.sellerhelp.appuser.repository.UserRepository;
 import com.example.sellerhelp.common.ApiResponseDto;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -18,13 +18,24 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Set;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final CurrentUserResolver currentUserResolver;
+
+    // Health is public, and the scraper authenticates with its own token (MetricsScrapeTokenFilter)
+    private static final Set<String> UNFILTERED_PATHS = Set.of("/actuator/health", MetricsScrapeTokenFilter.PATH);
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return UNFILTERED_PATHS.contains(request.getRequestURI());
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -48,12 +59,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String token = authHeader.substring(7);
-        String email;
-
-
+        VerifiedToken verifiedToken;
 
         try {
-            email = jwtUtil.extractEmail(token);
+            // Single signature check per request; repeat tokens are served from JwtUtil's cache
+            verifiedToken = jwtUtil.verify(token);
         } catch (Exception e) {
             ApiResponseDto<?> error = ApiResponseDto.error("Invalid or malformed token", HttpStatus.UNAUTHORIZED);
 
@@ -69,19 +79,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
+        String email = verifiedToken.subject();
         if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            var userOptional = userRepository.findByEmail(email);
+            // Served from the principal cache; only a miss reaches the users table
+            var principalOptional = principalCache.get(email);
 
-            if (userOptional.isPresent() && jwtUtil.isTokenValid(token, email)) {
-                var user = userOptional.get();
-                var authority = new SimpleGrantedAuthority("ROLE_" + user.getRole().getName().name());
-                var authToken = new UsernamePasswordAuthenticationToken(user.getEmail(), null, List.of(authority));
+            if (principalOptional.isPresent() && jwtUtil.isTokenValid(verifiedToken, email)) {
+                var principal = principalOptional.get();
+                var authority = new SimpleGrantedAuthority("ROLE_" + principal.role().name());
+                var authToken = new UsernamePasswordAuthenticationToken(principal.email(), null, List.of(authority));
 
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
+                // Lets CurrentUserResolver load the user by primary key instead of by email
+                request.setAttribute(CurrentUserResolver.PRINCIPAL_ID_ATTRIBUTE, principal.id());
             }
         }
 
         filterChain.doFilter(request, response);
+
+        if (log.isDebugEnabled()) {
+            log.debug("{} {} resolved the current user {} time(s)",
+                    request.getMethod(), request.getRequestURI(), currentUserResolver.resolutionCount());
+        }
     }
 }
\ No newline at end of file
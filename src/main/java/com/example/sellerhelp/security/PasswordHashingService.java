@@ -0,0 +1,134 @@
+package com.example.sellerhelp.security;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs BCrypt hashing on a dedicated pool sized to the CPU count, so a burst of sign-ups cannot
+ * occupy every request thread with 100 ms of hashing each. The queue is bounded: once it is full,
+ * callers get a RejectedExecutionException (mapped to 503) instead of piling up behind it.
+ * <p>
+ * Callers hash before opening their transaction, so no database connection is held while waiting.
+ */
+@Slf4j
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong queueWaitNanos = new AtomicLong();
+    private final AtomicLong hashed = new AtomicLong();
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  @Value("${security.password-hashing.threads:0}") int threads,
+                                  @Value("${security.password-hashing.queue-capacity:256}") int queueCapacity) {
+        this.passwordEncoder = passwordEncoder;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory(), (task, pool) -> {
+                    rejected.incrementAndGet();
+                    throw new RejectedExecutionException("Password hashing queue is full");
+                });
+        log.info("Password hashing pool: {} threads, queue capacity {}", poolSize, queueCapacity);
+    }
+
+    /**
+     * Hashes one password on the pool and waits for the result.
+     */
+    public String encode(String rawPassword) {
+        return join(submit(List.of(rawPassword))).get(0);
+    }
+
+    /**
+     * Hashes a list of passwords in parallel. The list is cut into one slice per pool thread, so a
+     * large bulk request takes a handful of queue slots rather than one per password.
+     *
+     * @return the hashes, in the same order as the input
+     */
+    public List<String> encodeAll(List<String> rawPasswords) {
+        if (rawPasswords.isEmpty()) {
+            return List.of();
+        }
+        int slices = Math.min(executor.getMaximumPoolSize(), rawPasswords.size());
+        int sliceSize = (rawPasswords.size() + slices - 1) / slices;
+        List<CompletableFuture<List<String>>> futures = new ArrayList<>(slices);
+        for (int from = 0; from < rawPasswords.size(); from += sliceSize) {
+            futures.add(submit(rawPasswords.subList(from, Math.min(from + sliceSize, rawPasswords.size()))));
+        }
+        List<String> hashes = new ArrayList<>(rawPasswords.size());
+        futures.forEach(future -> hashes.addAll(join(future)));
+        return hashes;
+    }
+
+    /**
+     * Pool and queue counters, for the admin endpoint.
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("poolSize", executor.getMaximumPoolSize());
+        stats.put("active", executor.getActiveCount());
+        stats.put("queued", executor.getQueue().size());
+        stats.put("queueRemainingCapacity", executor.getQueue().remainingCapacity());
+        stats.put("hashed", hashed.get());
+        stats.put("rejected", rejected.get());
+        long tasks = executor.getCompletedTaskCount();
+        stats.put("avgQueueWaitMs", tasks == 0 ? 0.0 : queueWaitNanos.get() / 1_000_000.0 / tasks);
+        return stats;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private CompletableFuture<List<String>> submit(List<String> rawPasswords) {
+        long queuedAt = System.nanoTime();
+        return CompletableFuture.supplyAsync(() -> {
+            queueWaitNanos.addAndGet(System.nanoTime() - queuedAt);
+            List<String> hashes = new ArrayList<>(rawPasswords.size());
+            for (String rawPassword : rawPasswords) {
+                hashes.add(passwordEncoder.encode(rawPassword));
+            }
+            hashed.addAndGet(hashes.size());
+            return hashes;
+        }, executor);
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, "password-hash-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.sellerhelp.security;
+
+import com.example.sellerhelp.appuser.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Bounded, TTL-evicting cache of authenticated principals keyed by the token subject (email).
+ * The JWT filter reads from here instead of querying the users table on every request.
+ * Writers that change a user's role or status must call one of the invalidate methods.
+ */
+@Component
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, AuthenticatedPrincipal> cache;
+
+    public PrincipalCache(UserRepository userRepository,
+                          @Value("${security.principal-cache.max-size:10000}") long maxSize,
+                          @Value("${security.principal-cache.ttl:5m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the principal for the given email, loading it from the database on a miss.
+     * Unknown emails are not cached, so a user created later is picked up immediately.
+     */
+    public Optional<AuthenticatedPrincipal> get(String email) {
+        return Optional.ofNullable(cache.get(email, this::load));
+    }
+
+    public void invalidate(String email) {
+        runNowAndAfterCommit(() -> cache.invalidate(email));
+    }
+
+    /**
+     * Invalidates by public user id, for writers that only know the userId (e.g. status updates).
+     */
+    public void invalidateByUserId(String userId) {
+        runNowAndAfterCommit(() -> cache.asMap().values().removeIf(p -> userId.equals(p.userId())));
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Exposes the underlying cache so it can be bound to a metrics registry.
+     */
+    public Cache<String, AuthenticatedPrincipal> nativeCache() {
+        return cache;
+    }
+
+    private AuthenticatedPrincipal load(String email) {
+        return userRepository.findByEmail(email)
+                .map(AuthenticatedPrincipal::from)
+                .orElse(null);
+    }
+
+    // Evict immediately, and again once the writing transaction commits, so a concurrent
+    // request cannot re-populate the cache with the pre-commit row.
+    private void runNowAndAfterCommit(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
@@ -3,7 +3,10 @@ package com.example.sellerhelp.security;
 import com.example.sellerhelp.appuser.entity.Role;
 import com.example.sellerhelp.appuser.entity.User;
 import com.example.sellerhelp.appuser.repository.UserRepository;
-import com.example.sellerhelp.appuser.repository.RoleRepository;
+import com.example.sellerhelp.appuser.search.UserSearchIndex;
+import com.example.sellerhelp.common.BusinessIdGenerator;
+import com.example.sellerhelp.common.BusinessIdType;
+import com.example.sellerhelp.common.ReferenceDataCache;
 import com.example.sellerhelp.constant.UserRole;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -16,12 +19,11 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.PrintWriter;
 
@@ -33,14 +35,14 @@ import java.io.PrintWriter;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final MetricsScrapeTokenFilter metricsScrapeTokenFilter;
     private final JwtUtil jwtUtil;
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
-
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
+    private final BusinessIdGenerator businessIdGenerator;
+    private final ReferenceDataCache referenceDataCache;
+    private final PasswordHashingService passwordHashingService;
+    private final UserSearchIndex userSearchIndex;
+    private final TransactionTemplate transactionTemplate;
 
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
@@ -54,6 +56,9 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         // Permit login, signup, and OAuth2 endpoints
                         .requestMatchers("/api/auth/**", "/oauth2/**").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        // Only the Prometheus scraper, authenticated by MetricsScrapeTokenFilter
+                        .requestMatchers(MetricsScrapeTokenFilter.PATH).hasRole(MetricsScrapeTokenFilter.ROLE)
                         // All other requests require authentication
                         .anyRequest().authenticated()
                 )
@@ -61,6 +66,7 @@ public class SecurityConfig {
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(metricsScrapeTokenFilter, JwtAuthenticationFilter.class)
                 .exceptionHandling(ex -> ex
                         .authenticationEntryPoint((request, response, authException) -> {
                             response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Unauthorized");
@@ -73,16 +79,23 @@ public class SecurityConfig {
 
                             String email = (String) oAuth2User.getAttributes().get("email");
 
-                            // Find or create a user in your database
+                            // Find or create a user in your database; a new user is indexed for search in the same transaction.
+                            // The dummy password is hashed before that transaction opens, so no connection is held for the BCrypt work.
                             User user = userRepository.findByEmail(email)
                                     .orElseGet(() -> {
-                                        User newUser = new User();
-                                        newUser.setEmail(email);
-                                        newUser.setName((String) oAuth2User.getAttributes().get("name"));
-                                         Role customerRole = roleRepository.findByName(UserRole.valueOf("DEALER")).orElseThrow();
-                                         newUser.setRole(customerRole);
-                                        newUser.setPassword(passwordEncoder().encode("OAUTH2_DUMMY_PASSWORD")); // Dummy password
-                                        return userRepository.save(newUser);
+                                        String passwordHash = passwordHashingService.encode("OAUTH2_DUMMY_PASSWORD"); // Dummy password
+                                        return transactionTemplate.execute(status -> {
+                                            User newUser = new User();
+                                            newUser.setUserId(businessIdGenerator.next(BusinessIdType.USER));
+                                            newUser.setEmail(email);
+                                            newUser.setName((String) oAuth2User.getAttributes().get("name"));
+                                            Role customerRole = referenceDataCache.findRole(UserRole.DEALER).orElseThrow();
+                                            newUser.setRole(customerRole);
+                                            newUser.setPassword(passwordHash);
+                                            User savedUser = userRepository.save(newUser);
+                                            userSearchIndex.index(savedUser);
+                                            return savedUser;
+                                        });
                                     });
 
                             String jwtToken = jwtUtil.generateToken(user.getEmail());
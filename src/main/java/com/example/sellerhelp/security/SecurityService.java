@@ -1,10 +1,9 @@
 package com.example.sellerhelp.security;
 
 import com.example.sellerhelp.appuser.entity.User;
-import com.example.sellerhelp.appuser.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.util.NoSuchElementException;
@@ -13,28 +12,23 @@ import java.util.NoSuchElementException;
 @RequiredArgsConstructor
 public class SecurityService {
 
-    private final UserRepository userRepository;
+    private final CurrentUserResolver currentUserResolver;
 
     /**
      * Retrieves the full User entity for the currently authenticated user.
      * This is the single source of truth for identifying the current user.
+     * Resolved at most once per request, see {@link CurrentUserResolver}.
      * @return The authenticated User entity.
      * @throws NoSuchElementException if the authenticated user cannot be found in the database.
      */
     public User getCurrentUser() {
-        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        String email;
-
-        if (principal instanceof UserDetails) {
-            email = ((UserDetails) principal).getUsername();
-        } else if (principal != null) {
-            email = principal.toString();
-        } else {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication.getPrincipal() == null) {
             // This case should ideally not be hit if endpoints are properly secured
             throw new IllegalStateException("Authentication principal is null, cannot identify current user.");
         }
 
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new NoSuchElementException("Authenticated user '" + email + "' not found in database."));
+        return currentUserResolver.resolve()
+                .orElseThrow(() -> new NoSuchElementException("Authenticated user '" + authentication.getName() + "' not found in database."));
     }
 }
\ No newline at end of file
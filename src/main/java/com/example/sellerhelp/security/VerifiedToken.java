@@ -0,0 +1,14 @@
+package com.example.sellerhelp.security;
+
+import java.time.Instant;
+
+/**
+ * Claims of a JWT whose signature has already been checked.
+ * Produced once per request by {@link JwtUtil#verify(String)} and shared by every consumer.
+ */
+public record VerifiedToken(String subject, Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
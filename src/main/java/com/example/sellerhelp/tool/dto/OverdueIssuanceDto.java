@@ -0,0 +1,21 @@
+package com.example.sellerhelp.tool.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * An overdue issuance as read by the overdue scan, with the names its notifications need.
+ */
+@Getter
+@AllArgsConstructor
+public class OverdueIssuanceDto {
+    private Long issuanceId;
+    private Long factoryId;
+    private String factoryName;
+    private String toolName;
+    private String workerName;
+    private Long quantity;
+    private LocalDateTime returnDate;
+}
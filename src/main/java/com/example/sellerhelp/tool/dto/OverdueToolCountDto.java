@@ -0,0 +1,11 @@
+package com.example.sellerhelp.tool.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class OverdueToolCountDto {
+    private String factoryId;
+    private long overdueCount;
+}
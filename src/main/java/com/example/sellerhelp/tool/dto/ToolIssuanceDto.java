@@ -2,6 +2,7 @@ package com.example.sellerhelp.tool.dto;
 
 import com.example.sellerhelp.constant.ToolIssuanceStatus;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -9,6 +10,7 @@ import java.time.LocalDateTime;
 
 @Getter
 @Builder
+@AllArgsConstructor
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class ToolIssuanceDto {
     private Long issuanceId;
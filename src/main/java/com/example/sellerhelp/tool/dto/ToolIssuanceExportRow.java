@@ -0,0 +1,32 @@
+package com.example.sellerhelp.tool.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One tool issuance as exported, read straight from JDBC without loading the entity.
+ */
+public record ToolIssuanceExportRow(
+        Long id,
+        String factoryId,
+        String toolId,
+        String toolName,
+        String workerId,
+        String workerName,
+        String issuerName,
+        Long quantity,
+        String status,
+        LocalDateTime issuedAt,
+        LocalDateTime returnDate,
+        LocalDateTime returnedAt,
+        LocalDateTime overdueAt
+) {
+    public static final List<String> COLUMNS = List.of(
+            "id", "factoryId", "toolId", "toolName", "workerId", "workerName", "issuerName", "quantity", "status",
+            "issuedAt", "returnDate", "returnedAt", "overdueAt");
+
+    public Object[] values() {
+        return new Object[]{id, factoryId, toolId, toolName, workerId, workerName, issuerName, quantity, status,
+                issuedAt, returnDate, returnedAt, overdueAt};
+    }
+}
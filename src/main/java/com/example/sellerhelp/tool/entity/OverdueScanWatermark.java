@@ -0,0 +1,23 @@
+package com.example.sellerhelp.tool.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * How far the overdue scan has got: every issuance due before {@code scannedUpTo} has been
+ * processed. The row is locked for the duration of a run, so only one node scans at a time.
+ */
+@Entity
+@Table(name = "overdue_scan_watermark")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class OverdueScanWatermark {
+
+    @Id
+    @Column(name = "scan_name", length = 50)
+    private String scanName;
+
+    @Column(name = "scanned_up_to", nullable = false)
+    private LocalDateTime scannedUpTo;
+}
@@ -11,7 +11,10 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tool_issuance")
+@Table(name = "tool_issuance", indexes = {
+        // Serves the supervisor overdue list: factory, then status IN (...), then return_date range
+        @Index(name = "idx_tool_issuance_factory_status_return", columnList = "factory_id, issuance_status, return_date")
+})
 @EntityListeners(AuditingEntityListener.class)
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class ToolIssuance {
@@ -56,4 +59,8 @@ public class ToolIssuance {
 
     @Column(name = "returned_at")
     private LocalDateTime returnedAt;
+
+    // Set when the overdue scan (or an extension decision) counts this issuance as overdue
+    @Column(name = "overdue_at")
+    private LocalDateTime overdueAt;
 }
\ No newline at end of file
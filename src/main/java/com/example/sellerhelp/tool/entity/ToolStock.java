@@ -10,7 +10,10 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tool_stock")
+@Table(
+        name = "tool_stock",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"factory_id", "tool_id"})
+)
 @EntityListeners(AuditingEntityListener.class)
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class ToolStock {
@@ -0,0 +1,41 @@
+package com.example.sellerhelp.tool.job;
+
+import org.quartz.JobBuilder;
+import org.quartz.JobDetail;
+import org.quartz.SimpleScheduleBuilder;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Registers the overdue scan with the auto-configured Quartz scheduler.
+ */
+@Configuration
+public class OverdueToolJobConfig {
+
+    @Bean
+    public JobDetail overdueToolJobDetail() {
+        return JobBuilder.newJob(OverdueToolJob.class)
+                .withIdentity("overdueToolScan", "tools")
+                .storeDurably()
+                .build();
+    }
+
+    @Bean
+    public Trigger overdueToolJobTrigger(JobDetail overdueToolJobDetail,
+                                         @Value("${tools.overdue.scan-interval:5m}") Duration scanInterval) {
+        return TriggerBuilder.newTrigger()
+                .forJob(overdueToolJobDetail)
+                .withIdentity("overdueToolScanTrigger", "tools")
+                .withSchedule(SimpleScheduleBuilder.simpleSchedule()
+                        .withIntervalInMilliseconds(scanInterval.toMillis())
+                        .repeatForever()
+                        .withMisfireHandlingInstructionNextWithRemainingCount())
+                .startNow()
+                .build();
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.sellerhelp.tool.repository;
+
+import com.example.sellerhelp.tool.entity.OverdueScanWatermark;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface OverdueScanWatermarkRepository extends JpaRepository<OverdueScanWatermark, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM OverdueScanWatermark w WHERE w.scanName = :scanName")
+    Optional<OverdueScanWatermark> findForUpdate(@Param("scanName") String scanName);
+}
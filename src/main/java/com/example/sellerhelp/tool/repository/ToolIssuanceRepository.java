@@ -1,30 +1,84 @@
 package com.example.sellerhelp.tool.repository;
 
-import com.example.sellerhelp.appuser.entity.User;
 import com.example.sellerhelp.constant.ToolIssuanceStatus;
-import com.example.sellerhelp.factory.entity.Factory;
+import com.example.sellerhelp.tool.dto.OverdueIssuanceDto;
+import com.example.sellerhelp.tool.dto.ToolIssuanceDto;
 import com.example.sellerhelp.tool.entity.ToolIssuance;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
-public interface ToolIssuanceRepository extends JpaRepository<ToolIssuance, Long> {
-    // In ToolIssuanceRepository.java
-    Page<ToolIssuance> findByWorkerAndStatusIn(User worker, List<ToolIssuanceStatus> statuses, Pageable pageable);
+public interface ToolIssuanceRepository extends JpaRepository<ToolIssuance, Long>, ToolIssuanceRepositoryCustom {
 
-    @Query("SELECT ti FROM ToolIssuance ti WHERE ti.factory = :factory " +
-            "AND ti.returnDate < :overdueDate " +
-            "AND ti.status IN :statuses")
-    Page<ToolIssuance> findOverdueTools(
-            @Param("factory") Factory factory,
+    String ISSUANCE_DTO_SELECT = "SELECT new com.example.sellerhelp.tool.dto.ToolIssuanceDto(" +
+            "ti.id, t.name, w.name, i.name, ti.status, ti.issuedAt, ti.returnDate) " +
+            "FROM ToolIssuance ti JOIN ti.tool t JOIN ti.worker w LEFT JOIN ti.issuer i ";
+
+    // List screens read these projections: one joined select per page plus a join-free count
+    @Query(value = ISSUANCE_DTO_SELECT +
+            "WHERE ti.worker.id = :workerId AND ti.status IN :statuses",
+            countQuery = "SELECT COUNT(ti) FROM ToolIssuance ti WHERE ti.worker.id = :workerId AND ti.status IN :statuses")
+    Page<ToolIssuanceDto> findDtosByWorker(
+            @Param("workerId") Long workerId,
+            @Param("statuses") List<ToolIssuanceStatus> statuses,
+            Pageable pageable
+    );
+
+    // Row lock so the same issuance cannot be returned or confiscated twice concurrently
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT ti FROM ToolIssuance ti WHERE ti.id = :id")
+    Optional<ToolIssuance> findByIdForUpdate(@Param("id") Long id);
+
+    @Query(value = ISSUANCE_DTO_SELECT +
+            "WHERE ti.factory.id = :factoryId AND ti.returnDate < :overdueDate AND ti.status IN :statuses",
+            countQuery = "SELECT COUNT(ti) FROM ToolIssuance ti " +
+                    "WHERE ti.factory.id = :factoryId AND ti.returnDate < :overdueDate AND ti.status IN :statuses")
+    Page<ToolIssuanceDto> findOverdueDtos(
+            @Param("factoryId") Long factoryId,
             @Param("overdueDate") LocalDateTime overdueDate,
             @Param("statuses") List<ToolIssuanceStatus> statuses,
             Pageable pageable
     );
 
+    String OVERDUE_DTO_SELECT = "SELECT new com.example.sellerhelp.tool.dto.OverdueIssuanceDto(" +
+            "ti.id, f.id, f.name, t.name, w.name, ti.quantity, ti.returnDate) " +
+            "FROM ToolIssuance ti JOIN ti.factory f JOIN ti.tool t JOIN ti.worker w ";
+
+    // Overdue scan: flags every open issuance that fell due inside [from, to) and is not flagged yet.
+    // Rows flagged concurrently by an extension decision fail the IS NULL re-check and are skipped.
+    @Modifying
+    @Query("UPDATE ToolIssuance ti SET ti.overdueAt = :flaggedAt " +
+            "WHERE ti.status IN :statuses AND ti.returnDate >= :from AND ti.returnDate < :to AND ti.overdueAt IS NULL")
+    int flagOverdue(
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("statuses") List<ToolIssuanceStatus> statuses,
+            @Param("flaggedAt") LocalDateTime flaggedAt
+    );
+
+    @Query(OVERDUE_DTO_SELECT +
+            "WHERE ti.status IN :statuses AND ti.returnDate >= :from AND ti.returnDate < :to AND ti.overdueAt = :flaggedAt")
+    List<OverdueIssuanceDto> findFlaggedOverdue(
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("statuses") List<ToolIssuanceStatus> statuses,
+            @Param("flaggedAt") LocalDateTime flaggedAt
+    );
+
+    @Query(OVERDUE_DTO_SELECT +
+            "WHERE ti.status IN :statuses AND ti.returnDate >= :from AND ti.returnDate < :to AND ti.overdueAt IS NOT NULL")
+    List<OverdueIssuanceDto> findStillOverdue(
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("statuses") List<ToolIssuanceStatus> statuses
+    );
 }
@@ -0,0 +1,23 @@
+package com.example.sellerhelp.tool.repository;
+
+import com.example.sellerhelp.constant.ToolIssuanceStatus;
+import com.example.sellerhelp.tool.dto.ToolIssuanceExportRow;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Forward-only reads of {@code tool_issuance} for exports.
+ */
+public interface ToolIssuanceRepositoryCustom {
+
+    /**
+     * Streams issuances in id order over a JDBC cursor. Every filter is optional (null means no
+     * restriction). Must be consumed inside a transaction and closed.
+     *
+     * @param factoryId primary key of the factory
+     * @param from      inclusive lower bound on {@code issued_at}
+     * @param to        exclusive upper bound on {@code issued_at}
+     */
+    Stream<ToolIssuanceExportRow> streamForExport(Long factoryId, ToolIssuanceStatus status, LocalDateTime from, LocalDateTime to);
+}
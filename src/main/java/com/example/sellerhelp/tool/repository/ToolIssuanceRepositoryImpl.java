@@ -0,0 +1,60 @@
+package com.example.sellerhelp.tool.repository;
+
+import com.example.sellerhelp.common.JdbcStreams;
+import com.example.sellerhelp.constant.ToolIssuanceStatus;
+import com.example.sellerhelp.tool.dto.ToolIssuanceExportRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+class ToolIssuanceRepositoryImpl implements ToolIssuanceRepositoryCustom {
+
+    private static final String EXPORT_SQL =
+            "SELECT ti.id, f.factory_id, t.tool_id, t.name, w.user_id, w.name, i.name, ti.quantity, ti.issuance_status, " +
+            "ti.issued_at, ti.return_date, ti.returned_at, ti.overdue_at " +
+            "FROM tool_issuance ti " +
+            "JOIN factory f ON f.id = ti.factory_id " +
+            "JOIN tools t ON t.id = ti.tool_id " +
+            "JOIN users w ON w.id = ti.worker_id " +
+            "LEFT JOIN users i ON i.id = ti.issuer_id WHERE 1 = 1";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Stream<ToolIssuanceExportRow> streamForExport(Long factoryId, ToolIssuanceStatus status, LocalDateTime from, LocalDateTime to) {
+        StringBuilder sql = new StringBuilder(EXPORT_SQL);
+        List<Object> args = new ArrayList<>();
+        if (factoryId != null) {
+            sql.append(" AND ti.factory_id = ?");
+            args.add(factoryId);
+        }
+        if (status != null) {
+            sql.append(" AND ti.issuance_status = ?");
+            args.add(status.name());
+        }
+        if (from != null) {
+            sql.append(" AND ti.issued_at >= ?");
+            args.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND ti.issued_at < ?");
+            args.add(Timestamp.valueOf(to));
+        }
+        sql.append(" ORDER BY ti.id");
+
+        return JdbcStreams.forwardOnly(jdbcTemplate, sql.toString(), args, (rs, rowNum) -> new ToolIssuanceExportRow(
+                rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5), rs.getString(6),
+                rs.getString(7), rs.getLong(8), rs.getString(9), toLocalDateTime(rs.getTimestamp(10)),
+                toLocalDateTime(rs.getTimestamp(11)), toLocalDateTime(rs.getTimestamp(12)), toLocalDateTime(rs.getTimestamp(13))));
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -1,7 +1,18 @@
 package com.example.sellerhelp.tool.repository;
 
 import com.example.sellerhelp.tool.entity.ToolRequest;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
 
 public interface ToolRequestRepository extends JpaRepository<ToolRequest, Long> {
+
+    // Row lock so a request cannot be issued twice by concurrent supervisors
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT tr FROM ToolRequest tr WHERE tr.id = :id")
+    Optional<ToolRequest> findByIdForUpdate(@Param("id") Long id);
 }
@@ -14,15 +14,22 @@ import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
 @Repository
-public interface ToolStockRepository extends JpaRepository<ToolStock, Long> {
+public interface ToolStockRepository extends JpaRepository<ToolStock, Long>, ToolStockRepositoryCustom {
     Optional<ToolStock> findByFactoryAndTool(Factory factory, Tool tool);
     Page<ToolStock> findByFactory(Factory factory, Pageable pageable);
 
-    @Modifying(clearAutomatically = true)
-    @Query("UPDATE ToolStock ts SET ts.totalQuantity = ts.totalQuantity + :quantity, ts.availableQuantity = ts.availableQuantity + :quantity WHERE ts.id = :stockId")
-    void incrementStock(@Param("stockId") Long stockId, @Param("quantity") Long quantity);
+    // Guarded stock movements. Each returns the number of rows updated: 0 means the guard failed
+    // (not enough stock) or the row does not exist, and the caller must abort the transaction.
+    // Issuing goes through the batched ToolStockRepositoryCustom#issueStock.
 
-    @Modifying(clearAutomatically = true)
-    @Query(value = "INSERT INTO tool_stock (factory_id, tool_id, total_quantity, available_quantity, issued_quantity, last_updated_at) VALUES (:factoryId, :toolId, :quantity, :quantity, 0, NOW())", nativeQuery = true)
-    void insertNewStock(@Param("factoryId") Long factoryId, @Param("toolId") Long toolId, @Param("quantity") Long quantity);
+    // Fit units go back on the shelf, unfit units are written off; both leave the issued count
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ToolStock ts SET ts.issuedQuantity = ts.issuedQuantity - (:fitQuantity + :unfitQuantity), ts.availableQuantity = ts.availableQuantity + :fitQuantity, ts.totalQuantity = ts.totalQuantity - :unfitQuantity, ts.lastUpdatedAt = CURRENT_TIMESTAMP " +
+            "WHERE ts.factory.id = :factoryId AND ts.tool.id = :toolId AND ts.issuedQuantity >= (:fitQuantity + :unfitQuantity)")
+    int returnStock(@Param("factoryId") Long factoryId, @Param("toolId") Long toolId, @Param("fitQuantity") Long fitQuantity, @Param("unfitQuantity") Long unfitQuantity);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ToolStock ts SET ts.issuedQuantity = ts.issuedQuantity - :quantity, ts.totalQuantity = ts.totalQuantity - :quantity, ts.lastUpdatedAt = CURRENT_TIMESTAMP " +
+            "WHERE ts.factory.id = :factoryId AND ts.tool.id = :toolId AND ts.issuedQuantity >= :quantity")
+    int confiscateStock(@Param("factoryId") Long factoryId, @Param("toolId") Long toolId, @Param("quantity") Long quantity);
 }
@@ -0,0 +1,32 @@
+package com.example.sellerhelp.tool.repository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set-based stock writes for {@code tool_stock}, executed as single JDBC batches.
+ */
+public interface ToolStockRepositoryCustom {
+
+    /**
+     * Issues every tool of a request in one batch, moving units from available to issued.
+     * A row is only updated when it still has enough available units.
+     *
+     * @param factoryId          primary key of the factory
+     * @param quantitiesByToolId quantity to issue, keyed by tool primary key
+     * @return tool ids whose row was not updated (missing or insufficient stock)
+     */
+    List<Long> issueStock(Long factoryId, Map<Long, Long> quantitiesByToolId);
+
+    /**
+     * Adds units to a factory's stock for every tool in one batch, then inserts rows in a second
+     * batch for the tools the factory did not stock yet. If a concurrent import inserts one of
+     * those rows first, the unique (factory, tool) key rejects ours and the units are added to
+     * that row instead (see {@link com.example.sellerhelp.common.JdbcUpserts}). Must run inside
+     * a transaction.
+     *
+     * @param factoryId          primary key of the factory
+     * @param quantitiesByToolId quantity to add, keyed by tool primary key
+     */
+    void addStock(Long factoryId, Map<Long, Long> quantitiesByToolId);
+}
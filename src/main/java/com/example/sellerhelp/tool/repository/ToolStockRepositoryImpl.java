@@ -0,0 +1,60 @@
+package com.example.sellerhelp.tool.repository;
+
+import com.example.sellerhelp.common.JdbcUpserts;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+class ToolStockRepositoryImpl implements ToolStockRepositoryCustom {
+
+    private static final String ISSUE_SQL =
+            "UPDATE tool_stock SET available_quantity = available_quantity - ?, " +
+            "issued_quantity = issued_quantity + ?, last_updated_at = CURRENT_TIMESTAMP " +
+            "WHERE factory_id = ? AND tool_id = ? AND available_quantity >= ?";
+
+    private static final String ADD_SQL =
+            "UPDATE tool_stock SET total_quantity = total_quantity + ?, " +
+            "available_quantity = available_quantity + ?, last_updated_at = CURRENT_TIMESTAMP " +
+            "WHERE factory_id = ? AND tool_id = ?";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO tool_stock (factory_id, tool_id, total_quantity, available_quantity, issued_quantity, last_updated_at) " +
+            "VALUES (?, ?, ?, ?, 0, CURRENT_TIMESTAMP)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Long> issueStock(Long factoryId, Map<Long, Long> quantitiesByToolId) {
+        List<Long> toolIds = new ArrayList<>(quantitiesByToolId.keySet());
+        List<Object[]> args = new ArrayList<>(toolIds.size());
+        for (Long toolId : toolIds) {
+            Long quantity = quantitiesByToolId.get(toolId);
+            args.add(new Object[]{quantity, quantity, factoryId, toolId, quantity});
+        }
+
+        int[] counts = jdbcTemplate.batchUpdate(ISSUE_SQL, args);
+
+        List<Long> shortRows = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                shortRows.add(toolIds.get(i));
+            }
+        }
+        return shortRows;
+    }
+
+    @Override
+    public void addStock(Long factoryId, Map<Long, Long> quantitiesByToolId) {
+        List<Object[]> updates = new ArrayList<>(quantitiesByToolId.size());
+        List<Object[]> inserts = new ArrayList<>(quantitiesByToolId.size());
+        quantitiesByToolId.forEach((toolId, quantity) -> {
+            updates.add(new Object[]{quantity, quantity, factoryId, toolId});
+            inserts.add(new Object[]{factoryId, toolId, quantity, quantity});
+        });
+        JdbcUpserts.updateOrInsert(jdbcTemplate, ADD_SQL, updates, INSERT_SQL, inserts);
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.sellerhelp.tool.service;
+
+import com.example.sellerhelp.appuser.entity.User;
+import com.example.sellerhelp.appuser.repository.UserRepository;
+import com.example.sellerhelp.constant.ToolIssuanceStatus;
+import com.example.sellerhelp.constant.UserRole;
+import com.example.sellerhelp.factory.entity.Factory;
+import com.example.sellerhelp.factory.repository.FactoryRepository;
+import com.example.sellerhelp.notification.service.EmailService;
+import com.example.sellerhelp.notification.template.Notification;
+import com.example.sellerhelp.tool.dto.OverdueIssuanceDto;
+import com.example.sellerhelp.tool.entity.OverdueScanWatermark;
+import com.example.sellerhelp.tool.repository.OverdueScanWatermarkRepository;
+import com.example.sellerhelp.tool.repository.ToolIssuanceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Background overdue detection for tool issuances. Each run only looks at issuances whose return
+ * date passed since the previous run (tracked by {@link OverdueScanWatermark}), flags them, bumps
+ * the per-factory overdue counter and sends one digest per chief supervisor. Issuances still open
+ * {@code tools.overdue.escalate-after} past their due date are escalated to the plant head once.
+ */
+@Slf4j
+@Service
+public class OverdueToolService {
+
+    static final String SCAN_NAME = "tool-overdue";
+    static final List<ToolIssuanceStatus> OPEN_STATUSES = List.of(ToolIssuanceStatus.ISSUED, ToolIssuanceStatus.EXTENDED);
+
+    private static final LocalDateTime FIRST_SCAN_FROM = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final DateTimeFormatter DUE_DATE_FORMAT = DateTimeFormatter.ofPattern("dd MMM yyyy HH:mm");
+
+    private final ToolIssuanceRepository toolIssuanceRepository;
+    private final OverdueScanWatermarkRepository watermarkRepository;
+    private final FactoryRepository factoryRepository;
+    private final UserRepository userRepository;
+    private final EmailService emailService;
+    private final Duration escalateAfter;
+
+    public OverdueToolService(ToolIssuanceRepository toolIssuanceRepository,
+                              OverdueScanWatermarkRepository watermarkRepository,
+                              FactoryRepository factoryRepository,
+                              UserRepository userRepository,
+                              EmailService emailService,
+                              @Value("${tools.overdue.escalate-after:3d}") Duration escalateAfter) {
+        this.toolIssuanceRepository = toolIssuanceRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.factoryRepository = factoryRepository;
+        this.userRepository = userRepository;
+        this.emailService = emailService;
+        this.escalateAfter = escalateAfter;
+    }
+
+    /**
+     * Processes everything that fell due since the last run. The watermark row lock serialises
+     * runs across nodes, and the flags, counters, queued emails and new watermark commit together.
+     *
+     * @return the number of issuances newly flagged as overdue
+     */
+    @Transactional
+    public int scan() {
+        // Millisecond precision so the flag written below compares equal when read back on any database
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        OverdueScanWatermark watermark = watermarkRepository.findForUpdate(SCAN_NAME)
+                .orElseGet(() -> watermarkRepository.save(new OverdueScanWatermark(SCAN_NAME, FIRST_SCAN_FROM)));
+        LocalDateTime from = watermark.getScannedUpTo();
+        if (!now.isAfter(from)) {
+            return 0;
+        }
+
+        int flagged = toolIssuanceRepository.flagOverdue(from, now, OPEN_STATUSES, now);
+        if (flagged > 0) {
+            List<OverdueIssuanceDto> newlyOverdue = toolIssuanceRepository.findFlaggedOverdue(from, now, OPEN_STATUSES, now);
+            newlyOverdue.stream()
+                    .collect(Collectors.groupingBy(OverdueIssuanceDto::getFactoryId, Collectors.counting()))
+                    .forEach(factoryRepository::adjustOverdueToolCount);
+            notifySupervisors(newlyOverdue);
+        }
+
+        List<OverdueIssuanceDto> toEscalate = toolIssuanceRepository.findStillOverdue(
+                from.minus(escalateAfter), now.minus(escalateAfter), OPEN_STATUSES);
+        escalateToPlantHeads(toEscalate);
+
+        watermark.setScannedUpTo(now);
+        log.info("Overdue scan up to {}: {} newly overdue, {} escalated", now, flagged, toEscalate.size());
+        return flagged;
+    }
+
+    /**
+     * Current number of overdue issuances in a factory, read from the maintained counter.
+     */
+    @Transactional(readOnly = true)
+    public long getOverdueCount(Long factoryId) {
+        return factoryRepository.findOverdueToolCount(factoryId).orElse(0L);
+    }
+
+    private void notifySupervisors(List<OverdueIssuanceDto> overdue) {
+        Map<Long, List<OverdueIssuanceDto>> byFactory = groupByFactory(overdue);
+        Map<String, User> supervisors = new LinkedHashMap<>();
+        Map<String, List<OverdueIssuanceDto>> digests = new LinkedHashMap<>();
+        for (Map.Entry<Long, List<OverdueIssuanceDto>> entry : byFactory.entrySet()) {
+            Factory factory = factoryRepository.getReferenceById(entry.getKey());
+            for (User supervisor : userRepository.findUsersByFactoryAndRole(factory, UserRole.CHIEF_SUPERVISOR)) {
+                supervisors.putIfAbsent(supervisor.getEmail(), supervisor);
+                digests.computeIfAbsent(supervisor.getEmail(), email -> new ArrayList<>()).addAll(entry.getValue());
+            }
+        }
+        digests.forEach((email, items) -> emailService.send(email,
+                new Notification.OverdueToolsDigest(supervisors.get(email).getName(), toLines(items))));
+    }
+
+    private void escalateToPlantHeads(List<OverdueIssuanceDto> overdue) {
+        if (overdue.isEmpty()) {
+            return;
+        }
+        Map<Long, List<OverdueIssuanceDto>> byFactory = groupByFactory(overdue);
+        Map<Long, Factory> factories = factoryRepository.findAllById(byFactory.keySet()).stream()
+                .collect(Collectors.toMap(Factory::getId, Function.identity()));
+
+        Map<String, User> plantHeads = new LinkedHashMap<>();
+        Map<String, List<OverdueIssuanceDto>> escalations = new LinkedHashMap<>();
+        byFactory.forEach((factoryId, items) -> {
+            User plantHead = factories.get(factoryId).getPlantHead();
+            if (plantHead == null) {
+                return;
+            }
+            plantHeads.putIfAbsent(plantHead.getEmail(), plantHead);
+            escalations.computeIfAbsent(plantHead.getEmail(), email -> new ArrayList<>()).addAll(items);
+        });
+        escalations.forEach((email, items) -> emailService.send(email,
+                new Notification.OverdueToolsEscalation(plantHeads.get(email).getName(), escalateAfter.toDays(), toLines(items))));
+    }
+
+    private static Map<Long, List<OverdueIssuanceDto>> groupByFactory(List<OverdueIssuanceDto> overdue) {
+        return overdue.stream().collect(Collectors.groupingBy(
+                OverdueIssuanceDto::getFactoryId, LinkedHashMap::new, Collectors.toList()));
+    }
+
+    private static List<Notification.OverdueTool> toLines(List<OverdueIssuanceDto> items) {
+        return items.stream()
+                .map(item -> new Notification.OverdueTool(item.getFactoryName(), item.getToolName(),
+                        item.getWorkerName(), item.getQuantity(), item.getReturnDate().format(DUE_DATE_FORMAT)))
+                .toList();
+    }
+}
@@ -2,11 +2,16 @@ package com.example.sellerhelp.tool.service;
 
 import com.example.sellerhelp.appuser.entity.User;
 import com.example.sellerhelp.appuser.repository.UserRepository;
+import com.example.sellerhelp.common.BusinessIdGenerator;
+import com.example.sellerhelp.common.BusinessIdType;
+import com.example.sellerhelp.common.ReferenceDataCache;
 import com.example.sellerhelp.constant.ToolNature;
 import com.example.sellerhelp.constant.UserRole;
 import com.example.sellerhelp.factory.entity.Factory;
 import com.example.sellerhelp.factory.entity.UserFactoryMapping;
 import com.example.sellerhelp.notification.service.EmailService;
+import com.example.sellerhelp.notification.template.Notification;
+import com.example.sellerhelp.security.SecurityService;
 import com.example.sellerhelp.tool.dto.CreateToolRequestDto;
 import com.example.sellerhelp.tool.dto.ToolIssuanceDto;
 import com.example.sellerhelp.tool.dto.ToolRequestDto;
@@ -14,14 +19,10 @@ import com.example.sellerhelp.tool.dto.ToolRequestItemDto;
 import com.example.sellerhelp.tool.entity.Tool;
 import com.example.sellerhelp.tool.entity.ToolRequest;
 import com.example.sellerhelp.tool.entity.ToolRequestMapping;
-import com.example.sellerhelp.tool.repository.ToolRepository;
 import com.example.sellerhelp.tool.repository.ToolRequestMappingRepository;
 import com.example.sellerhelp.tool.repository.ToolRequestRepository;
 import com.example.sellerhelp.constant.ToolRequestStatus;
-import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -37,11 +38,12 @@ public class ToolRequestService {
 
     private final ToolRequestRepository toolRequestRepository;
     private final ToolRequestMappingRepository toolRequestMappingRepository;
-    private final ToolRepository toolRepository;
+    private final ReferenceDataCache referenceDataCache;
     private final ToolService toolService;
     private final UserRepository userRepository;
-    private final EntityManager entityManager;
+    private final BusinessIdGenerator businessIdGenerator;
     private final EmailService emailService;
+    private final SecurityService securityService;
 
 
     /**
@@ -51,7 +53,7 @@ public class ToolRequestService {
      * @return A list of the newly created tool issuance records.
      */
     public List<ToolIssuanceDto> approveAndIssueToolRequest(Long toolRequestId) {
-        ToolRequest request = toolRequestRepository.findById(toolRequestId)
+        ToolRequest request = toolRequestRepository.findByIdForUpdate(toolRequestId)
                 .orElseThrow(() -> new NoSuchElementException("Tool Request not found with ID: " + toolRequestId));
 
         if (request.getStatus() != ToolRequestStatus.PENDING) {
@@ -64,15 +66,8 @@ public class ToolRequestService {
 
         // --- NEW NOTIFICATION LOGIC ---
         User worker = request.getWorker();
-        String subject = "Your Tool Request has been Approved: " + request.getRequestNumber();
-        String body = String.format(
-                "<p>Hello %s,</p>" +
-                        "<p>Good news! Your tool request <b>%s</b> has been approved and the tools have been issued to you.</p>" +
-                        "<p>Please check your 'My Tools' section in the application for details and return dates.</p>",
-                worker.getName(),
-                request.getRequestNumber()
-        );
-        emailService.sendEmail(worker.getEmail(), subject, body);
+        emailService.send(worker.getEmail(),
+                new Notification.ToolRequestApproved(worker.getName(), request.getRequestNumber()));
 
         return issuances;
     }
@@ -93,16 +88,8 @@ public class ToolRequestService {
 
         // --- NEW NOTIFICATION LOGIC ---
         User worker = request.getWorker();
-        String subject = "Your Tool Request has been Rejected: " + request.getRequestNumber();
-        String body = String.format(
-                "<p>Hello %s,</p>" +
-                        "<p>Your tool request <b>%s</b> has been rejected.</p>" +
-                        "<p><b>Reason:</b> %s</p>",
-                worker.getName(),
-                request.getRequestNumber(),
-                comment
-        );
-        emailService.sendEmail(worker.getEmail(), subject, body);
+        emailService.send(worker.getEmail(),
+                new Notification.ToolRequestRejected(worker.getName(), request.getRequestNumber(), comment));
     }
 
     /**
@@ -119,6 +106,7 @@ public class ToolRequestService {
         Factory factory = userMapping.getFactory();
 
         ToolRequest toolRequest = ToolRequest.builder()
+                .requestNumber(businessIdGenerator.next(BusinessIdType.TOOL_REQUEST))
                 .factory(factory)
                 .worker(worker)
                 .nature(ToolNature.FRESH)
@@ -126,12 +114,11 @@ public class ToolRequestService {
                 .comment(dto.getComment())
                 .build();
 
-        ToolRequest savedRequest = toolRequestRepository.saveAndFlush(toolRequest);
-        entityManager.refresh(savedRequest);
+        ToolRequest savedRequest = toolRequestRepository.save(toolRequest);
 
         List<ToolRequestMapping> mappings = new ArrayList<>();
         for (ToolRequestItemDto item : dto.getTools()) {
-            Tool tool = toolRepository.findByToolId(item.getToolId())
+            Tool tool = referenceDataCache.findTool(item.getToolId())
                     .orElseThrow(() -> new NoSuchElementException("Tool not found with ID: " + item.getToolId()));
 
             ToolRequestMapping mapping = ToolRequestMapping.builder()
@@ -149,17 +136,8 @@ public class ToolRequestService {
         // Find the supervisors for this factory to notify them.
         List<User> supervisors = userRepository.findUsersByFactoryAndRole(factory, UserRole.CHIEF_SUPERVISOR);
         for (User supervisor : supervisors) {
-            String subject = "New Tool Request Pending Approval: " + savedRequest.getRequestNumber();
-            String body = String.format(
-                    "<p>Hello %s,</p>" +
-                            "<p>A new tool request from worker <b>%s</b> is waiting for your approval.</p>" +
-                            "<p>Request Number: <b>%s</b></p>" +
-                            "<p>Please log in to the SellerHelp application to review the details.</p>",
-                    supervisor.getName(),
-                    worker.getName(),
-                    savedRequest.getRequestNumber()
-            );
-            emailService.sendEmail(supervisor.getEmail(), subject, body);
+            emailService.send(supervisor.getEmail(),
+                    new Notification.ToolRequestPending(supervisor.getName(), worker.getName(), savedRequest.getRequestNumber()));
         }
         // --- END NOTIFICATION LOGIC ---
 
@@ -167,15 +145,7 @@ public class ToolRequestService {
     }
 
     private User getCurrentUser() {
-        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        String email;
-        if (principal instanceof UserDetails) {
-            email = ((UserDetails) principal).getUsername();
-        } else {
-            email = principal.toString();
-        }
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new IllegalStateException("Authenticated user not found in the database."));
+        return securityService.getCurrentUser();
     }
 
     private ToolRequestDto toToolRequestDto(ToolRequest request) {
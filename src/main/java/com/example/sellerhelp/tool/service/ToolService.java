@@ -3,6 +3,9 @@ package com.example.sellerhelp.tool.service;
 import com.example.sellerhelp.appuser.dto.PageableDto;
 import com.example.sellerhelp.appuser.entity.User;
 import com.example.sellerhelp.appuser.repository.UserRepository;
+import com.example.sellerhelp.common.BusinessIdGenerator;
+import com.example.sellerhelp.common.BusinessIdType;
+import com.example.sellerhelp.common.ReferenceDataCache;
 import com.example.sellerhelp.constant.ToolIssuanceStatus;
 import com.example.sellerhelp.constant.ToolRequestStatus;
 import com.example.sellerhelp.exception.BadRequestException;
@@ -16,22 +19,20 @@ import com.example.sellerhelp.security.SecurityService;
 import com.example.sellerhelp.tool.dto.*;
 import com.example.sellerhelp.tool.entity.*;
 import com.example.sellerhelp.tool.repository.*;
-import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.Optional;
+import java.util.TreeMap;
 
 @Service
 @RequiredArgsConstructor
@@ -42,13 +43,15 @@ public class ToolService {
     private final ToolCategoryRepository toolCategoryRepository;
     private final ToolStockRepository toolStockRepository;
     private final FactoryRepository factoryRepository;
+    private final ReferenceDataCache referenceDataCache;
     private final ToolRequestRepository toolRequestRepository;
     private final ToolIssuanceRepository toolIssuanceRepository;
     private final ToolReturnRepository toolReturnRepository;
     private final UserRepository userRepository;
-    private final EntityManager entityManager;
+    private final BusinessIdGenerator businessIdGenerator;
     private final SecurityService securityService;
     private final EmailService emailService;
+    private final OverdueToolService overdueToolService;
 
     // --- CATEGORY MANAGEMENT ---
     @Transactional
@@ -57,11 +60,13 @@ public class ToolService {
             throw new IllegalArgumentException("A tool category with this name already exists.");
         }
         ToolCategory category = ToolCategory.builder().name(dto.getName()).description(dto.getDescription()).build();
-        return toToolCategoryDto(toolCategoryRepository.save(category));
+        ToolCategory savedCategory = toolCategoryRepository.save(category);
+        referenceDataCache.invalidateToolCategories();
+        return toToolCategoryDto(savedCategory);
     }
 
     public List<ToolCategoryDto> getAllToolCategories() {
-        return toolCategoryRepository.findAll().stream().map(this::toToolCategoryDto).toList();
+        return referenceDataCache.toolCategories().stream().map(ToolService::toToolCategoryDto).toList();
     }
 
     // --- MASTER TOOL MANAGEMENT ---
@@ -71,10 +76,11 @@ public class ToolService {
             throw new IllegalArgumentException("A tool with this name already exists.");
         }
 
-        ToolCategory category = toolCategoryRepository.findById(dto.getCategoryId())
+        ToolCategory category = referenceDataCache.findToolCategory(dto.getCategoryId())
                 .orElseThrow(() -> new NoSuchElementException("Tool category not found with ID: " + dto.getCategoryId()));
 
         Tool tool = Tool.builder()
+                .toolId(businessIdGenerator.next(BusinessIdType.TOOL))
                 .name(dto.getName())
                 .category(category)
                 .imageUrl(dto.getImageUrl())
@@ -83,42 +89,29 @@ public class ToolService {
                 .threshold(dto.getThreshold())
                 .build();
 
-        // Save and flush to execute the INSERT statement, which fires the database trigger
-        Tool savedTool = toolRepository.saveAndFlush(tool);
-
-        entityManager.refresh(savedTool);
+        Tool savedTool = toolRepository.save(tool);
+        referenceDataCache.invalidateTool(savedTool.getToolId());
 
         return toToolDto(savedTool);
     }
 
     public Page<ToolDto> getAllMasterTools(PageableDto pageReq) {
         Pageable pageable = PageRequest.of(pageReq.getPage(), pageReq.getSize(), Sort.by("name").ascending());
-        return toolRepository.findAll(pageable).map(this::toToolDto);
+        return toolRepository.findAll(pageable).map(ToolService::toToolDto);
     }
 
     // --- FACTORY STOCK MANAGEMENT ---
     @Transactional
     public ToolStockDto addStockToFactory(String factoryId, AddToolStockDto dto) {
-        Factory factory = factoryRepository.findByFactoryId(factoryId)
+        Factory factory = referenceDataCache.findFactory(factoryId)
                 .orElseThrow(() -> new NoSuchElementException("Factory not found with ID: " + factoryId));
 
-        Tool tool = toolRepository.findByToolId(dto.getToolId())
+        Tool tool = referenceDataCache.findTool(dto.getToolId())
                 .orElseThrow(() -> new NoSuchElementException("Tool not found with ID: ".concat(dto.getToolId())));
 
-        // Try to find the existing stock record
-        Optional<ToolStock> existingStockOpt = toolStockRepository.findByFactoryAndTool(factory, tool);
-
-        if (existingStockOpt.isPresent()) {
-            // --- CASE 1: STOCK ALREADY EXISTS ---
-            // Use the safe, direct UPDATE query we created before.
-            ToolStock existingStock = existingStockOpt.get();
-            toolStockRepository.incrementStock(existingStock.getId(), dto.getQuantity());
-        } else {
-            // --- CASE 2: THIS IS A NEW STOCK ENTRY ---
-            // Use the safe, direct NATIVE INSERT query.
-            // This completely bypasses the save() method and all entity lifecycle events.
-            toolStockRepository.insertNewStock(factory.getId(), tool.getId(), dto.getQuantity());
-        }
+        // Atomic increment, or a new row if the factory did not stock this tool yet; concurrent
+        // additions for the same tool cannot lose units or create a second row
+        toolStockRepository.addStock(factory.getId(), Map.of(tool.getId(), dto.getQuantity()));
 
         // After either updating or inserting, we MUST refetch the record to get the latest state for our DTO.
         ToolStock updatedStock = toolStockRepository.findByFactoryAndTool(factory, tool)
@@ -140,8 +133,7 @@ public class ToolService {
         Pageable pageable = PageRequest.of(pageReq.getPage(), pageReq.getSize(), Sort.by("returnDate").ascending());
         List<ToolIssuanceStatus> activeStatuses = List.of(ToolIssuanceStatus.ISSUED, ToolIssuanceStatus.EXTENDED, ToolIssuanceStatus.EXTENSION_REQUESTED);
 
-        return toolIssuanceRepository.findByWorkerAndStatusIn(worker, activeStatuses, pageable)
-                .map(this::toToolIssuanceDto);
+        return toolIssuanceRepository.findDtosByWorker(worker.getId(), activeStatuses, pageable);
     }
 
     @Transactional
@@ -166,10 +158,10 @@ public class ToolService {
     }
 
     public Page<ToolStockDto> getToolsByFactory(String factoryId, PageableDto pageReq) {
-        Factory factory = factoryRepository.findByFactoryId(factoryId)
+        Factory factory = referenceDataCache.findFactory(factoryId)
                 .orElseThrow(() -> new NoSuchElementException("Factory not found with ID: " + factoryId));
         Pageable pageable = PageRequest.of(pageReq.getPage(), pageReq.getSize());
-        return toolStockRepository.findByFactory(factory, pageable).map(this::toToolStockDto);
+        return toolStockRepository.findByFactory(factory, pageable).map(ToolService::toToolStockDto);
     }
 
 
@@ -177,36 +169,36 @@ public class ToolService {
     @Transactional
     public List<ToolIssuanceDto> issueToolsForRequest(Long toolRequestId) {
         User issuer = getCurrentUser();
-        ToolRequest request = toolRequestRepository.findById(toolRequestId)
+        ToolRequest request = toolRequestRepository.findByIdForUpdate(toolRequestId)
                 .orElseThrow(() -> new NoSuchElementException("Tool Request not found with ID: " + toolRequestId));
 
         if (request.getStatus() != ToolRequestStatus.APPROVED) {
             throw new IllegalStateException("Cannot issue tools for a request that is not approved.");
         }
 
-        List<ToolIssuance> issuances = new ArrayList<>();
-        for (ToolRequestMapping mapping : request.getToolRequestMappings()) {
-            Tool tool = mapping.getTool();
-            Long requestedQuantity = mapping.getQuantityRequested();
-
-            ToolStock stock = toolStockRepository.findByFactoryAndTool(request.getFactory(), tool)
-                    .orElseThrow(() -> new IllegalStateException("Tool stock not found for " + tool.getName() + " in this factory."));
+        Factory factory = request.getFactory();
 
-            if (stock.getAvailableQuantity() < requestedQuantity) {
-                throw new IllegalStateException("Insufficient stock for " + tool.getName() + ". Available: " + stock.getAvailableQuantity() + ", Requested: " + requestedQuantity);
-            }
+        // Sorted by tool id so concurrent issues lock stock rows in the same order
+        Map<Long, Long> requestedByTool = new TreeMap<>();
+        for (ToolRequestMapping mapping : request.getToolRequestMappings()) {
+            requestedByTool.merge(mapping.getTool().getId(), mapping.getQuantityRequested(), Long::sum);
+        }
 
-            stock.setAvailableQuantity(stock.getAvailableQuantity() - requestedQuantity);
-            stock.setIssuedQuantity(stock.getIssuedQuantity() + requestedQuantity);
-            toolStockRepository.save(stock);
+        // One guarded batch for the whole request; any short row aborts the issue
+        List<Long> shortTools = toolStockRepository.issueStock(factory.getId(), requestedByTool);
+        if (!shortTools.isEmpty()) {
+            throw new IllegalStateException(describeShortStock(factory, request, shortTools.get(0), requestedByTool));
+        }
 
+        List<ToolIssuance> issuances = new ArrayList<>();
+        for (ToolRequestMapping mapping : request.getToolRequestMappings()) {
             ToolIssuance issuance = ToolIssuance.builder()
-                    .factory(request.getFactory())
+                    .factory(factory)
                     .request(request)
                     .worker(request.getWorker())
                     .issuer(issuer)
-                    .tool(tool)
-                    .quantity(requestedQuantity)
+                    .tool(mapping.getTool())
+                    .quantity(mapping.getQuantityRequested())
                     .status(ToolIssuanceStatus.ISSUED)
                     .returnDate(LocalDateTime.now().plusDays(7))
                     .build();
@@ -216,14 +208,14 @@ public class ToolService {
         request.setStatus(ToolRequestStatus.FULFILLED);
         toolRequestRepository.save(request);
 
-        return toolIssuanceRepository.saveAll(issuances).stream().map(this::toToolIssuanceDto).toList();
+        return toolIssuanceRepository.saveAll(issuances).stream().map(ToolService::toToolIssuanceDto).toList();
     }
 
     // --- TOOL RETURN & CONFISCATION (CHIEF SUPERVISOR) ---
     @Transactional
     public void returnTool(Long issuanceId, Long fitQuantity, Long unfitQuantity) {
         User returnProcessor = getCurrentUser();
-        ToolIssuance issuance = toolIssuanceRepository.findById(issuanceId)
+        ToolIssuance issuance = toolIssuanceRepository.findByIdForUpdate(issuanceId)
                 .orElseThrow(() -> new NoSuchElementException("Tool issuance record not found with ID: " + issuanceId));
 
         if (issuance.getStatus() != ToolIssuanceStatus.ISSUED && issuance.getStatus() != ToolIssuanceStatus.EXTENDED) {
@@ -235,13 +227,10 @@ public class ToolService {
             throw new IllegalArgumentException("The sum of fit and unfit quantities (" + totalReturned + ") must equal the issued quantity (" + issuance.getQuantity() + ").");
         }
 
-        ToolStock stock = toolStockRepository.findByFactoryAndTool(issuance.getFactory(), issuance.getTool())
-                .orElseThrow(() -> new IllegalStateException("Critical error: Tool stock record disappeared for an issued tool."));
-
-        stock.setIssuedQuantity(stock.getIssuedQuantity() - issuance.getQuantity());
-        stock.setAvailableQuantity(stock.getAvailableQuantity() + fitQuantity);
-        stock.setTotalQuantity(stock.getTotalQuantity() - unfitQuantity);
-        toolStockRepository.save(stock);
+        int updated = toolStockRepository.returnStock(issuance.getFactory().getId(), issuance.getTool().getId(), fitQuantity, unfitQuantity);
+        if (updated == 0) {
+            throw new IllegalStateException("Critical error: Tool stock record disappeared for an issued tool.");
+        }
 
         ToolReturn toolReturn = ToolReturn.builder()
                 .toolIssuance(issuance)
@@ -255,11 +244,12 @@ public class ToolService {
         issuance.setStatus(ToolIssuanceStatus.RETURNED);
         issuance.setReturnedAt(LocalDateTime.now());
         toolIssuanceRepository.save(issuance);
+        releaseOverdueCount(issuance);
     }
 
     @Transactional
     public void confiscateTool(Long issuanceId) {
-        ToolIssuance issuance = toolIssuanceRepository.findById(issuanceId)
+        ToolIssuance issuance = toolIssuanceRepository.findByIdForUpdate(issuanceId)
                 .orElseThrow(() -> new NoSuchElementException("Tool issuance record not found with ID: " + issuanceId));
 
         if (issuance.getStatus() != ToolIssuanceStatus.ISSUED && issuance.getStatus() != ToolIssuanceStatus.EXTENDED) {
@@ -270,10 +260,24 @@ public class ToolService {
             throw new IllegalArgumentException("Cannot confiscate a tool that is not yet overdue.");
         }
 
-        returnTool(issuanceId, 0L, issuance.getQuantity());
+        int updated = toolStockRepository.confiscateStock(issuance.getFactory().getId(), issuance.getTool().getId(), issuance.getQuantity());
+        if (updated == 0) {
+            throw new IllegalStateException("Critical error: Tool stock record disappeared for an issued tool.");
+        }
+
+        ToolReturn toolReturn = ToolReturn.builder()
+                .toolIssuance(issuance)
+                .fitQuantity(0L)
+                .unfitQuantity(issuance.getQuantity())
+                .updatedBy(getCurrentUser())
+                .returnedAt(LocalDateTime.now())
+                .build();
+        toolReturnRepository.save(toolReturn);
 
         issuance.setStatus(ToolIssuanceStatus.CONFISCATED);
+        issuance.setReturnedAt(LocalDateTime.now());
         toolIssuanceRepository.save(issuance);
+        releaseOverdueCount(issuance);
     }
 
     // --- WORKER-CENTRIC VIEWS ---
@@ -284,7 +288,7 @@ public class ToolService {
 
         List<ToolIssuanceStatus> statuses = List.of(ToolIssuanceStatus.ISSUED, ToolIssuanceStatus.EXTENDED, ToolIssuanceStatus.EXTENSION_REQUESTED);
 
-        return toolIssuanceRepository.findByWorkerAndStatusIn(worker, statuses, pageable).map(this::toToolIssuanceDto);
+        return toolIssuanceRepository.findDtosByWorker(worker.getId(), statuses, pageable);
     }
 
 
@@ -324,7 +328,8 @@ public class ToolService {
      */
     @Transactional
     public ToolIssuanceDto processExtensionRequest(Long issuanceId, ApproveExtensionDto dto) {
-        ToolIssuance issuance = toolIssuanceRepository.findById(issuanceId)
+        // Locked so the overdue scan cannot flag this row while the decision is being applied
+        ToolIssuance issuance = toolIssuanceRepository.findByIdForUpdate(issuanceId)
                 .orElseThrow(() -> new ResourceNotFoundException("Tool issuance record not found with ID: " + issuanceId));
 
         // --- VALIDATION ---
@@ -343,6 +348,14 @@ public class ToolService {
             // Here you could trigger a notification to the worker.
         }
 
+        // The scan skips EXTENSION_REQUESTED rows, so a due date that passed while the request was
+        // pending has to be counted here
+        LocalDateTime now = LocalDateTime.now();
+        if (issuance.getOverdueAt() == null && issuance.getReturnDate().isBefore(now)) {
+            issuance.setOverdueAt(now);
+            factoryRepository.adjustOverdueToolCount(issuance.getFactory().getId(), 1);
+        }
+
         return toToolIssuanceDto(toolIssuanceRepository.save(issuance));
     }
 
@@ -353,38 +366,63 @@ public class ToolService {
      * @return A page of ToolIssuanceDto objects representing the overdue tools.
      */
     public Page<ToolIssuanceDto> getOverdueTools(PageableDto pageReq) {
-        User supervisor = securityService.getCurrentUser();
-
-        Factory factory = supervisor.getFactoryMappings().stream()
-                .map(UserFactoryMapping::getFactory)
-                .findFirst()
-                .orElseThrow(() -> new BadRequestException("You are not assigned to a factory."));
+        Factory factory = getSupervisorFactory();
 
         Pageable pageable = PageRequest.of(pageReq.getPage(), pageReq.getSize(), Sort.by("returnDate").ascending());
-        List<ToolIssuanceStatus> activeStatuses = List.of(ToolIssuanceStatus.ISSUED, ToolIssuanceStatus.EXTENDED);
 
-        // --- THIS IS THE FIX ---
-        // Call the new, explicit query method.
-        Page<ToolIssuance> overdueIssuances = toolIssuanceRepository.findOverdueTools(
-                factory,
+        return toolIssuanceRepository.findOverdueDtos(
+                factory.getId(),
                 LocalDateTime.now(),
-                activeStatuses,
+                OverdueToolService.OPEN_STATUSES,
                 pageable
         );
+    }
+
 
-        return overdueIssuances.map(this::toToolIssuanceDto);
+    /**
+     * Number of overdue issuances in the current supervisor's factory, read from the counter
+     * maintained by the overdue scan rather than by counting issuances.
+     */
+    public OverdueToolCountDto getOverdueToolCount() {
+        Factory factory = getSupervisorFactory();
+        return new OverdueToolCountDto(factory.getFactoryId(), overdueToolService.getOverdueCount(factory.getId()));
     }
 
 
     // --- HELPER & DTO METHODS ---
     private User getCurrentUser() {
-        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        String email = (principal instanceof UserDetails) ? ((UserDetails) principal).getUsername() : principal.toString();
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new IllegalStateException("Authenticated user not found in database"));
+        return securityService.getCurrentUser();
     }
 
-    private ToolCategoryDto toToolCategoryDto(ToolCategory category) {
+    private Factory getSupervisorFactory() {
+        return getCurrentUser().getFactoryMappings().stream()
+                .map(UserFactoryMapping::getFactory)
+                .findFirst()
+                .orElseThrow(() -> new BadRequestException("You are not assigned to a factory."));
+    }
+
+    // Closing an issuance the overdue scan had counted takes it off the factory's counter
+    private void releaseOverdueCount(ToolIssuance issuance) {
+        if (issuance.getOverdueAt() != null) {
+            factoryRepository.adjustOverdueToolCount(issuance.getFactory().getId(), -1);
+        }
+    }
+
+    // Failure path only: re-reads the stock row to explain why the issue was rejected
+    private String describeShortStock(Factory factory, ToolRequest request, Long toolId, Map<Long, Long> requestedByTool) {
+        Tool tool = request.getToolRequestMappings().stream()
+                .map(ToolRequestMapping::getTool)
+                .filter(t -> t.getId().equals(toolId))
+                .findFirst()
+                .orElseThrow();
+        return toolStockRepository.findByFactoryAndTool(factory, tool)
+                .map(stock -> "Insufficient stock for " + tool.getName() + ". Available: " + stock.getAvailableQuantity() + ", Requested: " + requestedByTool.get(toolId))
+                .orElse("Tool stock not found for " + tool.getName() + " in this factory.");
+    }
+
+    // Mappers are package-private for the JMH benchmarks
+
+    static ToolCategoryDto toToolCategoryDto(ToolCategory category) {
         return ToolCategoryDto.builder()
                 .id(category.getId())
                 .name(category.getName())
@@ -392,7 +430,7 @@ public class ToolService {
                 .build();
     }
 
-    private ToolIssuanceDto toToolIssuanceDto(ToolIssuance issuance) {
+    static ToolIssuanceDto toToolIssuanceDto(ToolIssuance issuance) {
         return ToolIssuanceDto.builder()
                 .issuanceId(issuance.getId())
                 .toolName(issuance.getTool().getName())
@@ -404,7 +442,7 @@ public class ToolService {
                 .build();
     }
 
-    private ToolDto toToolDto(Tool tool) {
+    static ToolDto toToolDto(Tool tool) {
         return ToolDto.builder()
                 .toolId(tool.getToolId())
                 .name(tool.getName())
@@ -417,7 +455,7 @@ public class ToolService {
                 .build();
     }
 
-    private ToolStockDto toToolStockDto(ToolStock stock) {
+    static ToolStockDto toToolStockDto(ToolStock stock) {
         return ToolStockDto.builder()
                 .toolId(stock.getTool().getToolId())
                 .toolName(stock.getTool().getName())
@@ -0,0 +1,15 @@
+-- Pooled sequences for the order line-item tables.
+-- DealerOrderMapping and CustomerOrderMapping allocate ids in blocks of 50 so that
+-- Hibernate can batch their inserts; INCREMENT BY must match allocationSize.
+
+ALTER TABLE dealer_order_mapping ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS dealer_order_mapping_id_seq INCREMENT BY 50;
+ALTER SEQUENCE dealer_order_mapping_id_seq INCREMENT BY 50;
+SELECT setval('dealer_order_mapping_id_seq', COALESCE((SELECT MAX(id) FROM dealer_order_mapping), 0) + 50, false);
+ALTER TABLE dealer_order_mapping ALTER COLUMN id SET DEFAULT nextval('dealer_order_mapping_id_seq');
+
+ALTER TABLE customer_order_mapping ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS customer_order_mapping_id_seq INCREMENT BY 50;
+ALTER SEQUENCE customer_order_mapping_id_seq INCREMENT BY 50;
+SELECT setval('customer_order_mapping_id_seq', COALESCE((SELECT MAX(id) FROM customer_order_mapping), 0) + 50, false);
+ALTER TABLE customer_order_mapping ALTER COLUMN id SET DEFAULT nextval('customer_order_mapping_id_seq');
@@ -0,0 +1,27 @@
+-- Turns the email table into a transactional outbox drained by EmailDispatcher.
+
+ALTER TABLE email ADD COLUMN IF NOT EXISTS recipient VARCHAR(255);
+ALTER TABLE email ADD COLUMN IF NOT EXISTS attempts INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE email ADD COLUMN IF NOT EXISTS next_attempt_at TIMESTAMP;
+ALTER TABLE email ADD COLUMN IF NOT EXISTS locked_until TIMESTAMP;
+ALTER TABLE email ADD COLUMN IF NOT EXISTS last_error VARCHAR(1000);
+ALTER TABLE email ADD COLUMN IF NOT EXISTS created_at TIMESTAMP;
+
+-- sent_at used to be the creation time; it is now only set once the mail is delivered
+UPDATE email SET created_at = sent_at WHERE created_at IS NULL;
+UPDATE email SET recipient = u.email FROM users u WHERE email.user_id = u.id AND email.recipient IS NULL;
+UPDATE email SET recipient = '' WHERE recipient IS NULL;
+ALTER TABLE email ALTER COLUMN recipient SET NOT NULL;
+ALTER TABLE email ALTER COLUMN created_at SET NOT NULL;
+ALTER TABLE email ALTER COLUMN sent_at DROP NOT NULL;
+ALTER TABLE email DROP CONSTRAINT IF EXISTS email_status_check;
+
+-- Batched inserts for fan-out notifications (allocationSize = 50)
+ALTER TABLE email ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS email_id_seq INCREMENT BY 50;
+ALTER SEQUENCE email_id_seq INCREMENT BY 50;
+SELECT setval('email_id_seq', COALESCE((SELECT MAX(id) FROM email), 0) + 50, false);
+ALTER TABLE email ALTER COLUMN id SET DEFAULT nextval('email_id_seq');
+
+-- Only due rows are scanned by the dispatcher
+CREATE INDEX IF NOT EXISTS idx_email_status_next_attempt ON email (status, next_attempt_at);
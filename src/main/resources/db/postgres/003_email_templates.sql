@@ -0,0 +1,5 @@
+-- Templated notifications: the outbox stores the template kind and a JSON model,
+-- and EmailDispatcher renders the HTML at send time.
+
+ALTER TABLE email ADD COLUMN IF NOT EXISTS template VARCHAR(50);
+ALTER TABLE email ADD COLUMN IF NOT EXISTS model TEXT;
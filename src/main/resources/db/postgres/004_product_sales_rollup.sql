@@ -0,0 +1,15 @@
+-- Daily per-product sales rollup behind the dashboard fast/slow-moving rankings.
+-- Rows are upserted by order fulfilment; ProductSalesRollupBackfill fills the table from
+-- existing approved orders on first start (or via POST /api/admin/product-sales-rollup/rebuild).
+
+CREATE TABLE IF NOT EXISTS product_sales_rollup (
+    id            BIGSERIAL PRIMARY KEY,
+    product_id    BIGINT NOT NULL REFERENCES product (id),
+    sale_date     DATE   NOT NULL,
+    quantity_sold BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_product_sales_rollup_product_date UNIQUE (product_id, sale_date)
+);
+
+-- Covers the ranking window scan (sale_date >= ?) without touching the heap
+CREATE INDEX IF NOT EXISTS idx_product_sales_rollup_date_product
+    ON product_sales_rollup (sale_date, product_id, quantity_sold);
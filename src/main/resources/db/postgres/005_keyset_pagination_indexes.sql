@@ -0,0 +1,14 @@
+-- Indexes backing keyset (cursor) pagination. Spring Data appends the primary key, ascending,
+-- as a tie-breaker to the requested sort, so each index matches (sort key, id) column for column.
+
+CREATE INDEX IF NOT EXISTS idx_dealer_order_created_at_id
+    ON dealer_order (created_at DESC, id ASC);
+
+CREATE INDEX IF NOT EXISTS idx_product_request_created_at_id
+    ON product_request (created_at DESC, id ASC);
+
+CREATE INDEX IF NOT EXISTS idx_factory_production_factory_date_id
+    ON factory_production (factory_id, production_date DESC, id ASC);
+
+CREATE INDEX IF NOT EXISTS idx_users_user_id_id
+    ON users (user_id, id);
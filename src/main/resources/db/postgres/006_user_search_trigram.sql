@@ -0,0 +1,18 @@
+-- Trigram indexes for the admin user search (TrigramUserSearchIndex).
+-- The indexed expressions must match the generated predicates exactly: lower(col) LIKE '%q%',
+-- and phone LIKE '%q%' as stored. Queries shorter than three characters match by prefix and
+-- use the text_pattern_ops B-trees instead, since GIN cannot extract a trigram from them.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_users_name_trgm    ON users USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_users_email_trgm   ON users USING gin (lower(email) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_users_phone_trgm   ON users USING gin (phone gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_users_user_id_trgm ON users USING gin (lower(user_id) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_users_name_prefix    ON users (lower(name) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_users_email_prefix   ON users (lower(email) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_users_phone_prefix   ON users (phone text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_users_user_id_prefix ON users (lower(user_id) text_pattern_ops);
+
+ANALYZE users;
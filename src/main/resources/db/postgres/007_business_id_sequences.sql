@@ -0,0 +1,88 @@
+-- Sequences behind BusinessIdGenerator.
+-- Public ids are now assigned by the application before INSERT, so creates no longer need
+-- saveAndFlush + refresh. Each nextval reserves a block of 50 numbers for one app node;
+-- INCREMENT BY must match business-id.block-size, and the application refuses to start otherwise.
+--
+-- Every sequence is seeded past the highest numeric suffix already issued by the old triggers,
+-- so new ids cannot collide with existing ones whatever their prefix. The application keeps
+-- the prefix and zero padding of the newest existing id in each table.
+
+-- The legacy BEFORE INSERT triggers would overwrite the application-assigned id, so every
+-- trigger whose function assigns one of these columns is disabled here. Their names are not
+-- fixed, so they are found through the catalog; each one is reported with a NOTICE, and can be
+-- switched back on with ALTER TABLE ... ENABLE TRIGGER if the old build must be restored.
+DO $$
+DECLARE
+    legacy record;
+BEGIN
+    FOR legacy IN
+        SELECT t.tgname AS trigger_name, c.relname AS table_name
+        FROM (VALUES ('users', 'user_id'),
+                     ('factory', 'factory_id'),
+                     ('product', 'product_id'),
+                     ('tools', 'tool_id'),
+                     ('dealer_order', 'order_id'),
+                     ('dealer_invoice', 'invoice_id'),
+                     ('customer_order', 'order_id'),
+                     ('customer_invoice', 'invoice_id'),
+                     ('product_request', 'request_number'),
+                     ('tool_request', 'request_number')) AS id_column(table_name, column_name)
+        JOIN pg_class c ON c.relname = id_column.table_name AND c.relnamespace = current_schema()::regnamespace
+        JOIN pg_trigger t ON t.tgrelid = c.oid AND NOT t.tgisinternal AND t.tgenabled <> 'D'
+        JOIN pg_proc p ON p.oid = t.tgfoid
+        WHERE p.prosrc ~* ('new\.' || id_column.column_name || '\s*:?=')
+    LOOP
+        EXECUTE format('ALTER TABLE %I DISABLE TRIGGER %I', legacy.table_name, legacy.trigger_name);
+        RAISE NOTICE 'Disabled legacy id trigger % on %', legacy.trigger_name, legacy.table_name;
+    END LOOP;
+END $$;
+
+CREATE SEQUENCE IF NOT EXISTS users_business_id_seq INCREMENT BY 50;
+ALTER SEQUENCE users_business_id_seq INCREMENT BY 50;
+SELECT setval('users_business_id_seq',
+    COALESCE((SELECT MAX(NULLIF(regexp_replace(user_id, '\D', '', 'g'), '')::bigint) FROM users), 0) + 1, false);
+
+CREATE SEQUENCE IF NOT EXISTS factory_business_id_seq INCREMENT BY 50;
+ALTER SEQUENCE factory_business_id_seq INCREMENT BY 50;
+SELECT setval('factory_business_id_seq',
+    COALESCE((SELECT MAX(NULLIF(regexp_replace(factory_id, '\D', '', 'g'), '')::bigint) FROM factory), 0) + 1, false);
+
+CREATE SEQUENCE IF NOT EXISTS product_business_id_seq INCREMENT BY 50;
+ALTER SEQUENCE product_business_id_seq INCREMENT BY 50;
+SELECT setval('product_business_id_seq',
+    COALESCE((SELECT MAX(NULLIF(regexp_replace(product_id, '\D', '', 'g'), '')::bigint) FROM product), 0) + 1, false);
+
+CREATE SEQUENCE IF NOT EXISTS tools_business_id_seq INCREMENT BY 50;
+ALTER SEQUENCE tools_business_id_seq INCREMENT BY 50;
+SELECT setval('tools_business_id_seq',
+    COALESCE((SELECT MAX(NULLIF(regexp_replace(tool_id, '\D', '', 'g'), '')::bigint) FROM tools), 0) + 1, false);
+
+CREATE SEQUENCE IF NOT EXISTS dealer_order_business_id_seq INCREMENT BY 50;
+ALTER SEQUENCE dealer_order_business_id_seq INCREMENT BY 50;
+SELECT setval('dealer_order_business_id_seq',
+    COALESCE((SELECT MAX(NULLIF(regexp_replace(order_id, '\D', '', 'g'), '')::bigint) FROM dealer_order), 0) + 1, false);
+
+CREATE SEQUENCE IF NOT EXISTS dealer_invoice_business_id_seq INCREMENT BY 50;
+ALTER SEQUENCE dealer_invoice_business_id_seq INCREMENT BY 50;
+SELECT setval('dealer_invoice_business_id_seq',
+    COALESCE((SELECT MAX(NULLIF(regexp_replace(invoice_id, '\D', '', 'g'), '')::bigint) FROM dealer_invoice), 0) + 1, false);
+
+CREATE SEQUENCE IF NOT EXISTS customer_order_business_id_seq INCREMENT BY 50;
+ALTER SEQUENCE customer_order_business_id_seq INCREMENT BY 50;
+SELECT setval('customer_order_business_id_seq',
+    COALESCE((SELECT MAX(NULLIF(regexp_replace(order_id, '\D', '', 'g'), '')::bigint) FROM customer_order), 0) + 1, false);
+
+CREATE SEQUENCE IF NOT EXISTS customer_invoice_business_id_seq INCREMENT BY 50;
+ALTER SEQUENCE customer_invoice_business_id_seq INCREMENT BY 50;
+SELECT setval('customer_invoice_business_id_seq',
+    COALESCE((SELECT MAX(NULLIF(regexp_replace(invoice_id, '\D', '', 'g'), '')::bigint) FROM customer_invoice), 0) + 1, false);
+
+CREATE SEQUENCE IF NOT EXISTS product_request_business_id_seq INCREMENT BY 50;
+ALTER SEQUENCE product_request_business_id_seq INCREMENT BY 50;
+SELECT setval('product_request_business_id_seq',
+    COALESCE((SELECT MAX(NULLIF(regexp_replace(request_number, '\D', '', 'g'), '')::bigint) FROM product_request), 0) + 1, false);
+
+CREATE SEQUENCE IF NOT EXISTS tool_request_business_id_seq INCREMENT BY 50;
+ALTER SEQUENCE tool_request_business_id_seq INCREMENT BY 50;
+SELECT setval('tool_request_business_id_seq',
+    COALESCE((SELECT MAX(NULLIF(regexp_replace(request_number, '\D', '', 'g'), '')::bigint) FROM tool_request), 0) + 1, false);
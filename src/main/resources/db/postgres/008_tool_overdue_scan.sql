@@ -0,0 +1,26 @@
+-- Background overdue detection for tool issuances (OverdueToolService, run by Quartz).
+-- The scan flags issuances whose return_date passed since the previous run, keeps a
+-- per-factory counter on factory.overdue_tool_count and remembers how far it got in
+-- overdue_scan_watermark.
+
+ALTER TABLE tool_issuance ADD COLUMN IF NOT EXISTS overdue_at TIMESTAMP;
+ALTER TABLE factory ADD COLUMN IF NOT EXISTS overdue_tool_count BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS overdue_scan_watermark (
+    scan_name     VARCHAR(50) PRIMARY KEY,
+    scanned_up_to TIMESTAMP   NOT NULL
+);
+
+-- Start from the beginning so the first run counts every issuance that is already overdue
+INSERT INTO overdue_scan_watermark (scan_name, scanned_up_to)
+VALUES ('tool-overdue', TIMESTAMP '1970-01-01 00:00:00')
+ON CONFLICT (scan_name) DO NOTHING;
+
+-- Supervisor overdue list: factory_id = ? AND issuance_status IN (...) AND return_date < ?
+CREATE INDEX IF NOT EXISTS idx_tool_issuance_factory_status_return
+    ON tool_issuance (factory_id, issuance_status, return_date);
+
+-- Scan windows across all factories: return_date >= ? AND return_date < ? on open issuances only
+CREATE INDEX IF NOT EXISTS idx_tool_issuance_open_return_date
+    ON tool_issuance (return_date)
+    WHERE issuance_status IN ('ISSUED', 'EXTENDED');
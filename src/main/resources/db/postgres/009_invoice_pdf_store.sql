@@ -0,0 +1,14 @@
+-- Rendered invoice PDFs (InvoiceRenderingService). The PDF lives in a content-addressed file
+-- store; content_hash is its SHA-256 and doubles as the download ETag. It stays NULL until the
+-- asynchronous render after commit has finished.
+
+ALTER TABLE dealer_invoice ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64);
+ALTER TABLE customer_invoice ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64);
+
+-- Point existing rows at the download endpoint; the old /invoices/dealer/{orderId}.pdf was never served.
+-- Their PDFs are rendered on first download.
+UPDATE dealer_invoice SET url = '/api/invoices/dealer/' || invoice_id || '/pdf'
+WHERE url IS NULL OR url LIKE '/invoices/dealer/%';
+
+UPDATE customer_invoice SET url = '/api/invoices/customer/' || invoice_id || '/pdf'
+WHERE url IS NULL;
@@ -0,0 +1,6 @@
+-- EmailDispatcher now clears body and model once a row is SENT or FAILED, so the outbox does
+-- not keep message content (such as the old welcome emails with temporary passwords) forever.
+-- Clear the rows that were finalised before this change.
+
+UPDATE email SET body = NULL, model = NULL
+WHERE status IN ('SENT', 'FAILED') AND (body IS NOT NULL OR model IS NOT NULL);
@@ -0,0 +1,7 @@
+-- Short user-search queries now match substrings like every other query (lower(col) LIKE '%q%'),
+-- so nothing uses the prefix B-trees from 006 any more.
+
+DROP INDEX IF EXISTS idx_users_name_prefix;
+DROP INDEX IF EXISTS idx_users_email_prefix;
+DROP INDEX IF EXISTS idx_users_phone_prefix;
+DROP INDEX IF EXISTS idx_users_user_id_prefix;
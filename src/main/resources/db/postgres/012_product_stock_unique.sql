@@ -0,0 +1,23 @@
+-- One product_stock row per (factory, product), so concurrent production imports that both find
+-- the row missing cannot each insert one. The losing insert hits this key and is retried as an
+-- update by ProductStockRepositoryImpl.addQuantities.
+--
+-- Rows duplicated by the old unguarded insert are merged first: the oldest row keeps the summed
+-- quantity and the others are deleted.
+
+UPDATE product_stock s
+SET quantity = totals.quantity
+FROM (SELECT MIN(id) AS keep_id, SUM(quantity) AS quantity
+      FROM product_stock
+      GROUP BY factory_id, product_id
+      HAVING COUNT(*) > 1) totals
+WHERE s.id = totals.keep_id;
+
+DELETE FROM product_stock s
+USING product_stock keep
+WHERE keep.factory_id = s.factory_id
+  AND keep.product_id = s.product_id
+  AND keep.id < s.id;
+
+ALTER TABLE product_stock
+    ADD CONSTRAINT uk_product_stock_factory_product UNIQUE (factory_id, product_id);
@@ -0,0 +1,28 @@
+-- One tool_stock row per (factory, tool), so concurrent stock additions that both find the row
+-- missing cannot each insert one. The losing insert hits this key and is retried as an update by
+-- ToolStockRepositoryImpl.addStock.
+--
+-- Rows duplicated by the old unguarded insert are merged first: the oldest row keeps the summed
+-- quantities and the others are deleted.
+
+UPDATE tool_stock s
+SET total_quantity = totals.total_quantity,
+    available_quantity = totals.available_quantity,
+    issued_quantity = totals.issued_quantity
+FROM (SELECT MIN(id) AS keep_id,
+             SUM(total_quantity) AS total_quantity,
+             SUM(available_quantity) AS available_quantity,
+             SUM(issued_quantity) AS issued_quantity
+      FROM tool_stock
+      GROUP BY factory_id, tool_id
+      HAVING COUNT(*) > 1) totals
+WHERE s.id = totals.keep_id;
+
+DELETE FROM tool_stock s
+USING tool_stock keep
+WHERE keep.factory_id = s.factory_id
+  AND keep.tool_id = s.tool_id
+  AND keep.id < s.id;
+
+ALTER TABLE tool_stock
+    ADD CONSTRAINT uk_tool_stock_factory_tool UNIQUE (factory_id, tool_id);
@@ -0,0 +1,143 @@
+package com.example.sellerhelp.appuser.search;
+
+import com.example.sellerhelp.appuser.dto.UserFilterDto;
+import com.example.sellerhelp.appuser.entity.User;
+import com.example.sellerhelp.appuser.repository.UserRepository;
+import com.example.sellerhelp.appuser.repository.UserSearchTokenRepository;
+import com.example.sellerhelp.appuser.repository.UserSpecifications;
+import com.example.sellerhelp.constant.ActiveStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exercises the portable (H2) search index through the same specifications the user endpoints use.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:user-search;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "search.users.strategy=token"
+})
+@Import(UserSearchConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TokenTableUserSearchIndexTest {
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserSearchTokenRepository tokenRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM user_search_token");
+        jdbcTemplate.update("DELETE FROM users");
+        transactionTemplate.executeWithoutResult(status -> {
+            save("U-001", "Maria Lopez", "maria@example.com", "9876500001");
+            save("U-002", "Mario Rossi", "rossi@example.com", "9876500002");
+            save("U-003", "Rosa Maria Diaz", "rdiaz@example.com", "9876500003");
+            save("U-004", "John Smith", "jsmith@example.com", "5550001111");
+        });
+    }
+
+    @Test
+    void globalSearchFindsSubstringsAndRanksPrefixMatchesFirst() {
+        List<String> names = search(UserSpecifications.globalSearch("mari", userSearchIndex));
+
+        // Prefix matches first (alphabetical among equals), then the mid-string match
+        assertThat(names).containsExactly("Maria Lopez", "Mario Rossi", "Rosa Maria Diaz");
+    }
+
+    @Test
+    void searchIsCaseInsensitiveAndShortQueriesStillMatch() {
+        assertThat(search(UserSpecifications.globalSearch("JSMITH@", userSearchIndex))).containsExactly("John Smith");
+        assertThat(search(UserSpecifications.globalSearch("zz", userSearchIndex))).isEmpty();
+        assertThat(search(UserSpecifications.globalSearch("jo", userSearchIndex))).containsExactly("John Smith");
+    }
+
+    @Test
+    void fieldFiltersUseTheIndex() {
+        UserFilterDto filter = new UserFilterDto();
+        filter.setPhone("50000");
+
+        assertThat(search(UserSpecifications.withFilter(filter, userSearchIndex)))
+                .containsExactlyInAnyOrder("Maria Lopez", "Mario Rossi", "Rosa Maria Diaz");
+    }
+
+    @Test
+    void reindexingPicksUpRenamedUsers() {
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = userRepository.findByUserId("U-004").orElseThrow();
+            user.setName("Johanna Marino");
+            userSearchIndex.index(userRepository.save(user));
+        });
+
+        assertThat(search(UserSpecifications.globalSearch("marino", userSearchIndex))).containsExactly("Johanna Marino");
+    }
+
+    @Test
+    void backfillIndexesUsersWrittenWithoutTokensAcrossPages() {
+        int count = TokenTableUserSearchIndex.BACKFILL_PAGE_SIZE + 3;
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{"U-B" + i, "Bulk Person " + i, "bulk" + i + "@example.com"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (user_id, name, email, password, is_active, created_at, updated_at) " +
+                "VALUES (?, ?, ?, 'x', 'ACTIVE', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", rows);
+        long tokensBefore = tokenRepository.count();
+
+        ((TokenTableUserSearchIndex) userSearchIndex).backfillMissing();
+
+        assertThat(search(UserSpecifications.globalSearch("bulk" + (count - 1) + "@", userSearchIndex)))
+                .containsExactly("Bulk Person " + (count - 1));
+        assertThat(userRepository.count(UserSpecifications.globalSearch("bulk person", userSearchIndex))).isEqualTo(count);
+
+        // Already-indexed users are left alone on the next run
+        long tokensAfter = tokenRepository.count();
+        assertThat(tokensAfter).isGreaterThan(tokensBefore);
+        ((TokenTableUserSearchIndex) userSearchIndex).backfillMissing();
+        assertThat(tokenRepository.count()).isEqualTo(tokensAfter);
+    }
+
+    private List<String> search(Specification<User> spec) {
+        return userRepository.findAll(spec, PageRequest.of(0, 10)).map(User::getName).getContent();
+    }
+
+    private void save(String userId, String name, String email, String phone) {
+        User user = userRepository.save(User.builder()
+                .userId(userId)
+                .name(name)
+                .email(email)
+                .phone(phone)
+                .password("x")
+                .isActive(ActiveStatus.ACTIVE)
+                .build());
+        userSearchIndex.index(user);
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.sellerhelp.appuser.service;
+
+import com.example.sellerhelp.appuser.dto.PageableDto;
+import com.example.sellerhelp.appuser.dto.UserDto;
+import com.example.sellerhelp.appuser.entity.Role;
+import com.example.sellerhelp.appuser.entity.User;
+import com.example.sellerhelp.appuser.repository.RoleRepository;
+import com.example.sellerhelp.appuser.repository.UserRepository;
+import com.example.sellerhelp.appuser.search.UserSearchConfig;
+import com.example.sellerhelp.common.BusinessIdGenerator;
+import com.example.sellerhelp.common.ReferenceDataCache;
+import com.example.sellerhelp.constant.ActiveStatus;
+import com.example.sellerhelp.constant.UserRole;
+import com.example.sellerhelp.factory.entity.Factory;
+import com.example.sellerhelp.factory.entity.FactoryBay;
+import com.example.sellerhelp.factory.entity.UserFactoryMapping;
+import com.example.sellerhelp.factory.repository.FactoryBayRepository;
+import com.example.sellerhelp.factory.repository.FactoryRepository;
+import com.example.sellerhelp.factory.repository.UserFactoryMappingRepository;
+import com.example.sellerhelp.media.MediaUploadService;
+import com.example.sellerhelp.security.PasswordHashingService;
+import com.example.sellerhelp.security.PrincipalCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the user list endpoints issue a fixed number of statements per page,
+ * independent of how many users (and factory mappings) are on it.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:user-listing;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({UserService.class, UserSearchConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserServiceListingTest {
+
+    private static final int USERS = 30;
+
+    @MockitoBean
+    private PasswordHashingService passwordHashingService;
+
+    @MockitoBean
+    private MediaUploadService mediaUploadService;
+
+    @MockitoBean
+    private PrincipalCache principalCache;
+
+    @MockitoBean
+    private BusinessIdGenerator businessIdGenerator;
+
+    @MockitoBean
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private FactoryRepository factoryRepository;
+
+    @Autowired
+    private FactoryBayRepository factoryBayRepository;
+
+    @Autowired
+    private UserFactoryMappingRepository userFactoryMappingRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM user_factory_mapping");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("DELETE FROM factory_bay");
+        jdbcTemplate.update("DELETE FROM factory");
+        jdbcTemplate.update("DELETE FROM role");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Role worker = roleRepository.save(Role.builder().name(UserRole.WORKER).build());
+            Factory factory = factoryRepository.save(Factory.builder()
+                    .factoryId("F-LIST").name("Listing Factory").isActive(ActiveStatus.ACTIVE).build());
+            FactoryBay bay = factoryBayRepository.save(FactoryBay.builder()
+                    .bayId("B-LIST").name("Bay 1").factory(factory).build());
+
+            for (int i = 0; i < USERS; i++) {
+                User user = userRepository.save(User.builder()
+                        .userId(String.format("U-%03d", i))
+                        .name("Worker " + i)
+                        .email("worker" + i + "@example.com")
+                        .password("x")
+                        .role(worker)
+                        .isActive(ActiveStatus.ACTIVE)
+                        .build());
+                userFactoryMappingRepository.save(UserFactoryMapping.builder()
+                        .user(user).factory(factory).bay(bay).assignedRole(worker).build());
+            }
+        });
+    }
+
+    @Test
+    void factoryWorkerPagesUseConstantStatementCount() {
+        long smallPage = statementsFor(() -> assertPage(userService.getFactoryWorkers("F-LIST", page(5)), 5));
+        long largePage = statementsFor(() -> assertPage(userService.getFactoryWorkers("F-LIST", page(25)), 25));
+
+        // page select + count + one batch select for factory/bay names
+        assertThat(smallPage).isEqualTo(3);
+        assertThat(largePage).isEqualTo(smallPage);
+    }
+
+    @Test
+    void searchPagesUseConstantStatementCount() {
+        long smallPage = statementsFor(() -> userService.globalSearch("worker", page(5)));
+        long largePage = statementsFor(() -> userService.globalSearch("worker", page(25)));
+
+        assertThat(largePage).isEqualTo(smallPage);
+    }
+
+    private static void assertPage(Page<UserDto> page, int size) {
+        assertThat(page.getContent()).hasSize(size);
+        assertThat(page.getTotalElements()).isEqualTo(USERS);
+        assertThat(page.getContent()).allSatisfy(dto -> {
+            assertThat(dto.getRoleName()).isEqualTo(UserRole.WORKER.name());
+            assertThat(dto.getFactories()).isEqualTo(List.of("Listing Factory"));
+            assertThat(dto.getBay()).isEqualTo("Bay 1");
+        });
+    }
+
+    private long statementsFor(Runnable call) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        call.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private static PageableDto page(int size) {
+        PageableDto dto = new PageableDto();
+        dto.setSize(size);
+        return dto;
+    }
+}
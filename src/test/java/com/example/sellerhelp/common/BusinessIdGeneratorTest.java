@@ -0,0 +1,120 @@
+package com.example.sellerhelp.common;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Allocates ids from two generators sharing one database, standing in for two app nodes,
+ * and checks that no id is handed out twice, and that startup seeds and validates the sequences.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:business-id;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "business-id.block-size=10"
+})
+@Import(BusinessIdGenerator.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BusinessIdGeneratorTest {
+
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 250;
+
+    @Autowired
+    private BusinessIdGenerator generator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void formatsWithTypePrefixAndZeroPadding() {
+        assertThat(BusinessIdType.DEALER_ORDER.getDefaultFormat().format(42)).isEqualTo("DO-000042");
+        assertThat(BusinessIdType.TOOL_REQUEST.getDefaultFormat().format(1234567)).isEqualTo("TR-1234567");
+        assertThat(generator.next(BusinessIdType.FACTORY)).startsWith("FAC-");
+    }
+
+    @Test
+    void formatIsReadFromAnExistingId() {
+        BusinessIdFormat fallback = BusinessIdType.PRODUCT.getDefaultFormat();
+
+        assertThat(BusinessIdFormat.of("PRD0042", fallback)).isEqualTo(new BusinessIdFormat("PRD", 4));
+        assertThat(BusinessIdFormat.of("P-17", fallback)).isEqualTo(new BusinessIdFormat("P-", 2));
+        assertThat(BusinessIdFormat.of(null, fallback)).isEqualTo(fallback);
+        assertThat(BusinessIdFormat.of("LEGACY", fallback)).isEqualTo(fallback);
+    }
+
+    @Test
+    void missingSequenceIsSeededPastExistingIdsInTheirFormat() {
+        jdbcTemplate.update("INSERT INTO factory (factory_id, name, is_active) VALUES ('FCT00120', 'Old Works', 'ACTIVE')");
+        jdbcTemplate.update("INSERT INTO factory (factory_id, name, is_active) VALUES ('FCT00123', 'Older Works', 'ACTIVE')");
+        jdbcTemplate.execute("DROP SEQUENCE factory_business_id_seq");
+        try {
+            BusinessIdGenerator restarted = new BusinessIdGenerator(jdbcTemplate, entityManagerFactory, 10);
+            restarted.initialise();
+
+            assertThat(restarted.next(BusinessIdType.FACTORY)).isEqualTo("FCT00124");
+        } finally {
+            jdbcTemplate.update("DELETE FROM factory");
+        }
+    }
+
+    @Test
+    void startupFailsWhenTheSequenceIncrementDiffersFromTheBlockSize() {
+        BusinessIdGenerator misconfigured = new BusinessIdGenerator(jdbcTemplate, entityManagerFactory, 7);
+
+        assertThatThrownBy(misconfigured::initialise)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("INCREMENT BY 10");
+    }
+
+    @Test
+    void concurrentAllocationAcrossNodesNeverRepeatsAnId() throws Exception {
+        BusinessIdGenerator otherNode = new BusinessIdGenerator(jdbcTemplate, entityManagerFactory, 10);
+        otherNode.initialise();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<List<String>>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            BusinessIdGenerator node = t % 2 == 0 ? generator : otherNode;
+            futures.add(executor.submit(() -> {
+                List<String> ids = new ArrayList<>();
+                for (int i = 0; i < IDS_PER_THREAD; i++) {
+                    ids.add(node.next(BusinessIdType.DEALER_ORDER));
+                }
+                return ids;
+            }));
+        }
+
+        Set<String> issued = new HashSet<>();
+        for (Future<List<String>> future : futures) {
+            issued.addAll(future.get());
+        }
+        executor.shutdown();
+
+        assertThat(issued).hasSize(THREADS * IDS_PER_THREAD);
+        assertThat(issued).allMatch(id -> id.startsWith("DO-"));
+    }
+}
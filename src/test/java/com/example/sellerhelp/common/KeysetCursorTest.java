@@ -0,0 +1,86 @@
+package com.example.sellerhelp.common;
+
+import com.example.sellerhelp.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A cursor decodes back to the position it was made from, and anything else a client sends is a 400.
+ */
+class KeysetCursorTest {
+
+    private static final Sort SORT = Sort.by("createdAt").descending().and(Sort.by("orderId"));
+
+    @Test
+    void positionSurvivesARoundTrip() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("createdAt", LocalDateTime.of(2024, 3, 1, 9, 30, 15, 123_000_000));
+        keys.put("orderId", "DO|00:42%");
+        keys.put("id", 42L);
+        keys.put("totalPrice", new BigDecimal("1250.50"));
+        keys.put("note", null);
+
+        String cursor = KeysetCursor.encode(ScrollPosition.forward(keys), SORT);
+        ScrollPosition decoded = KeysetCursor.decode(cursor, SORT);
+
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+        assertThat(decoded).isInstanceOf(KeysetScrollPosition.class);
+        assertThat(((KeysetScrollPosition) decoded).getKeys()).containsExactlyEntriesOf(keys);
+    }
+
+    @Test
+    void blankCursorStartsFromTheBeginning() {
+        assertThat(KeysetCursor.decode(null, SORT)).isEqualTo(ScrollPosition.keyset());
+        assertThat(KeysetCursor.decode(" ", SORT)).isEqualTo(ScrollPosition.keyset());
+    }
+
+    @Test
+    void cursorIsRejectedForADifferentSort() {
+        String cursor = KeysetCursor.encode(ScrollPosition.forward(Map.of("orderId", "DO-1")), SORT);
+
+        assertThatThrownBy(() -> KeysetCursor.decode(cursor, Sort.by("orderId")))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("different sort");
+    }
+
+    @Test
+    void tamperedCursorsAreRejected() {
+        String sortKey = URLEncoder.encode(SORT.toString(), StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> KeysetCursor.decode("not base64 at all!", SORT)).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(encoded("v2|" + sortKey + "|id:L:1"), SORT))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(encoded("v1|" + sortKey + "|id:X:1"), SORT))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(encoded("v1|" + sortKey + "|id:L:one"), SORT))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(encoded("v1|" + sortKey + "|id"), SORT))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(encoded("v1"), SORT)).isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void unsupportedKeyTypesCannotBeEncoded() {
+        KeysetScrollPosition position = ScrollPosition.forward(Map.of("status", Thread.State.NEW));
+
+        assertThatThrownBy(() -> KeysetCursor.encode(position, Sort.by("status")))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private static String encoded(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.sellerhelp.common;
+
+import com.example.sellerhelp.constant.ActiveStatus;
+import com.example.sellerhelp.factory.entity.Factory;
+import com.example.sellerhelp.factory.repository.FactoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that repeated lookups are served from the cache, that misses are not remembered,
+ * and that a writer's invalidation makes the committed row visible, including plant-head changes.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reference-data;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import(ReferenceDataCache.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReferenceDataCacheTest {
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private FactoryRepository factoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM factory");
+        jdbcTemplate.update("DELETE FROM users");
+        referenceDataCache.nativeCaches().values().forEach(cache -> cache.invalidateAll());
+        factoryRepository.save(Factory.builder()
+                .factoryId("F-REF").name("Reference Works").isActive(ActiveStatus.ACTIVE).build());
+    }
+
+    @Test
+    void secondLookupIsAHit() {
+        Factory first = referenceDataCache.findFactory("F-REF").orElseThrow();
+        // Stats are cumulative over the shared cache, so compare against the count before the lookup
+        long hitsBefore = factoryHits();
+        Factory second = referenceDataCache.findFactory("F-REF").orElseThrow();
+
+        assertThat(second).isSameAs(first);
+        assertThat(factoryHits()).isEqualTo(hitsBefore + 1);
+    }
+
+    @Test
+    void unknownIdIsNotCachedAsMissing() {
+        assertThat(referenceDataCache.findFactory("F-NEW")).isEmpty();
+
+        factoryRepository.save(Factory.builder()
+                .factoryId("F-NEW").name("New Works").isActive(ActiveStatus.ACTIVE).build());
+
+        assertThat(referenceDataCache.findFactory("F-NEW")).isPresent();
+    }
+
+    @Test
+    void invalidationFromWriterShowsCommittedChange() {
+        referenceDataCache.findFactory("F-REF").orElseThrow();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Factory factory = factoryRepository.findByFactoryId("F-REF").orElseThrow();
+            factory.setName("Renamed Works");
+            referenceDataCache.invalidateFactory("F-REF");
+            // A reader between the write and the commit still sees the old row and re-caches it
+            assertThat(referenceDataCache.findFactory("F-REF").orElseThrow().getName()).isEqualTo("Reference Works");
+        });
+
+        assertThat(referenceDataCache.findFactory("F-REF").orElseThrow().getName()).isEqualTo("Renamed Works");
+    }
+
+    @Test
+    void plantHeadChangeEvictsOnlyTheFactoriesTheyHead() {
+        jdbcTemplate.update("INSERT INTO users (user_id, name, email, password, is_active, created_at, updated_at) " +
+                "VALUES ('U-HEAD', 'Old Name', 'head@ref.test', 'x', 'ACTIVE', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+        Long headId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE user_id = 'U-HEAD'", Long.class);
+        jdbcTemplate.update("INSERT INTO factory (factory_id, name, is_active, plant_head_id) VALUES ('F-HEADED', 'Headed Works', 'ACTIVE', ?)", headId);
+        Factory other = referenceDataCache.findFactory("F-REF").orElseThrow();
+        assertThat(referenceDataCache.findFactory("F-HEADED").orElseThrow().getPlantHead().getName()).isEqualTo("Old Name");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE users SET name = 'New Name' WHERE id = ?", headId);
+            referenceDataCache.invalidateFactoriesHeadedBy(headId);
+        });
+
+        assertThat(referenceDataCache.findFactory("F-HEADED").orElseThrow().getPlantHead().getName()).isEqualTo("New Name");
+        assertThat(referenceDataCache.findFactory("F-REF").orElseThrow()).isSameAs(other);
+    }
+
+    private long factoryHits() {
+        return referenceDataCache.nativeCaches().get("factories").stats().hitCount();
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.sellerhelp.dashboard.service;
+
+import com.example.sellerhelp.constant.ProductRequestStatus;
+import com.example.sellerhelp.dashboard.dto.CentralOfficeDashboardDto;
+import com.example.sellerhelp.dashboard.repository.DashboardQueryRepository;
+import com.example.sellerhelp.order.event.DealerOrderFulfilledEvent;
+import com.example.sellerhelp.order.event.DealerOrderPlacedEvent;
+import com.example.sellerhelp.product.event.ProductRequestStatusChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Applies a series of order and product-request changes to the database, feeds the matching
+ * after-commit events to the service, and checks that the patched snapshot equals a fresh load.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:dashboard;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import({DashboardService.class, DashboardQueryRepository.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DashboardServiceTest {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private DashboardQueryRepository dashboardQueryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDateTime now = LocalDateTime.now();
+    private Long dealerId;
+    private Long factoryId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM dealer_invoice");
+        jdbcTemplate.update("DELETE FROM dealer_order");
+        jdbcTemplate.update("DELETE FROM product_request");
+        jdbcTemplate.update("DELETE FROM factory");
+        jdbcTemplate.update("DELETE FROM users");
+        dashboardService.nativeCache().invalidateAll();
+
+        jdbcTemplate.update("INSERT INTO users (user_id, name, email, password, is_active, created_at, updated_at) " +
+                "VALUES ('U-DASH', 'Dealer', 'dealer@dash.test', 'x', 'ACTIVE', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+        jdbcTemplate.update("INSERT INTO factory (factory_id, name, is_active) VALUES ('F-DASH', 'Dash Works', 'ACTIVE')");
+        dealerId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE user_id = 'U-DASH'", Long.class);
+        factoryId = jdbcTemplate.queryForObject("SELECT id FROM factory WHERE factory_id = 'F-DASH'", Long.class);
+
+        order("DO-1", "APPROVED", "100.00", now);
+        invoice("DI-1", "DO-1");
+        order("DO-2", "PENDING", "40.00", now);
+        order("DO-3", "PENDING", "70.00", now.minusDays(40));
+        productRequest("PR-1", "REQUESTED");
+        productRequest("PR-2", "REQUESTED");
+    }
+
+    @Test
+    void patchedSnapshotMatchesAFreshLoad() {
+        CentralOfficeDashboardDto before = dashboardService.getDashboardData();
+        assertThat(before.getPendingDealerOrders()).isEqualTo(2);
+        assertThat(before.getSalesToday()).isEqualByComparingTo("100.00");
+
+        // A new order is placed
+        order("DO-4", "PENDING", "25.00", now);
+        dashboardService.onDealerOrderPlaced(new DealerOrderPlacedEvent("DO-4"));
+
+        // Today's order is fulfilled, and so is one placed before this month started
+        fulfil("DO-2", "40.00", now);
+        fulfil("DO-3", "70.00", now.minusDays(40));
+
+        // One request is fulfilled, one rejected, and a new one is raised
+        setRequestStatus("PR-1", ProductRequestStatus.REQUESTED, ProductRequestStatus.FULFILLED);
+        setRequestStatus("PR-2", ProductRequestStatus.REQUESTED, ProductRequestStatus.REJECTED);
+        productRequest("PR-3", "REQUESTED");
+        dashboardService.onProductRequestStatusChanged(
+                new ProductRequestStatusChangedEvent("PR-3", null, ProductRequestStatus.REQUESTED));
+
+        CentralOfficeDashboardDto patched = dashboardService.getDashboardData();
+        CentralOfficeDashboardDto fresh = new DashboardService(dashboardQueryRepository, Duration.ofMinutes(1), 30)
+                .getDashboardData();
+
+        assertThat(patched.getPendingDealerOrders()).isEqualTo(fresh.getPendingDealerOrders()).isEqualTo(1);
+        assertThat(patched.getPendingProductRequests()).isEqualTo(fresh.getPendingProductRequests()).isEqualTo(1);
+        assertThat(patched.getTotalInvoicesGenerated()).isEqualTo(fresh.getTotalInvoicesGenerated()).isEqualTo(3);
+        assertThat(patched.getSalesToday()).isEqualByComparingTo(fresh.getSalesToday()).isEqualByComparingTo("140.00");
+        assertThat(patched.getSalesThisWeek()).isEqualByComparingTo(fresh.getSalesThisWeek());
+        assertThat(patched.getSalesThisMonth()).isEqualByComparingTo(fresh.getSalesThisMonth());
+    }
+
+    // Same writes as OrderService.fulfillDealerOrder, followed by its after-commit event
+    private void fulfil(String orderId, String total, LocalDateTime createdAt) {
+        jdbcTemplate.update("UPDATE dealer_order SET status = 'APPROVED', updated_at = ? WHERE order_id = ?", now, orderId);
+        invoice("DI-" + orderId, orderId);
+        dashboardService.onDealerOrderFulfilled(new DealerOrderFulfilledEvent(orderId, new BigDecimal(total), createdAt));
+    }
+
+    private void setRequestStatus(String requestNumber, ProductRequestStatus previous, ProductRequestStatus next) {
+        jdbcTemplate.update("UPDATE product_request SET status = ? WHERE request_number = ?", next.name(), requestNumber);
+        dashboardService.onProductRequestStatusChanged(new ProductRequestStatusChangedEvent(requestNumber, previous, next));
+    }
+
+    private void order(String orderId, String status, String total, LocalDateTime createdAt) {
+        jdbcTemplate.update("INSERT INTO dealer_order (order_id, dealer_id, total_price, status, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", orderId, dealerId, new BigDecimal(total), status, createdAt, createdAt);
+    }
+
+    private void invoice(String invoiceId, String orderId) {
+        jdbcTemplate.update("INSERT INTO dealer_invoice (invoice_id, dealer_id, order_id, created_at) " +
+                "VALUES (?, ?, (SELECT id FROM dealer_order WHERE order_id = ?), CURRENT_TIMESTAMP)", invoiceId, dealerId, orderId);
+    }
+
+    private void productRequest(String requestNumber, String status) {
+        jdbcTemplate.update("INSERT INTO product_request (request_number, central_officer_id, factory_id, status, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", requestNumber, dealerId, factoryId, status);
+    }
+}
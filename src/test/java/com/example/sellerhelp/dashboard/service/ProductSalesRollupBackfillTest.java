@@ -0,0 +1,137 @@
+package com.example.sellerhelp.dashboard.service;
+
+import com.example.sellerhelp.dashboard.repository.ProductSalesRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Builds the sales rollup from approved orders on H2, then applies incremental sales on top of
+ * it, so both statements are checked on a database without PostgreSQL's upsert syntax.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sales-rollup;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import(ProductSalesRollupBackfill.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductSalesRollupBackfillTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final LocalDate YESTERDAY = TODAY.minusDays(1);
+
+    @Autowired
+    private ProductSalesRollupBackfill backfill;
+
+    @Autowired
+    private ProductSalesRollupRepository productSalesRollupRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long dealerId;
+    private Long boltId;
+    private Long nutId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM product_sales_rollup");
+        jdbcTemplate.update("DELETE FROM dealer_order_mapping");
+        jdbcTemplate.update("DELETE FROM dealer_order");
+        jdbcTemplate.update("DELETE FROM product");
+        jdbcTemplate.update("DELETE FROM users");
+
+        jdbcTemplate.update("INSERT INTO users (user_id, name, email, password, is_active, created_at, updated_at) " +
+                "VALUES ('U-ROLL', 'Dealer', 'dealer@rollup.test', 'x', 'ACTIVE', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+        dealerId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE user_id = 'U-ROLL'", Long.class);
+        boltId = product("P-BOLT", "Bolt");
+        nutId = product("P-NUT", "Nut");
+
+        // Approved yesterday and today; the pending order must not count
+        order("DO-1", "APPROVED", YESTERDAY, Map.of(boltId, 3L, nutId, 1L));
+        order("DO-2", "APPROVED", TODAY, Map.of(boltId, 2L));
+        order("DO-3", "APPROVED", TODAY, Map.of(boltId, 5L));
+        order("DO-4", "PENDING", TODAY, Map.of(nutId, 9L));
+    }
+
+    @Test
+    void backfillAggregatesApprovedOrdersPerProductAndDay() {
+        backfill.backfillIfEmpty();
+
+        assertThat(productSalesRollupRepository.count()).isEqualTo(3);
+        assertThat(sold(boltId, YESTERDAY)).isEqualTo(3);
+        assertThat(sold(nutId, YESTERDAY)).isEqualTo(1);
+        assertThat(sold(boltId, TODAY)).isEqualTo(7);
+        assertThat(sold(nutId, TODAY)).isZero();
+    }
+
+    @Test
+    void incrementalSalesUpdateExistingRowsAndCreateMissingOnes() {
+        backfill.rebuild();
+
+        transactionTemplate.executeWithoutResult(status ->
+                productSalesRollupRepository.addSales(TODAY, Map.of(boltId, 4L, nutId, 6L)));
+        transactionTemplate.executeWithoutResult(status ->
+                productSalesRollupRepository.addSales(TODAY, Map.of(nutId, 1L)));
+
+        assertThat(sold(boltId, TODAY)).isEqualTo(11);
+        assertThat(sold(nutId, TODAY)).isEqualTo(7);
+        assertThat(productSalesRollupRepository.count()).isEqualTo(4);
+    }
+
+    @Test
+    void rebuildReplacesDriftedRows() {
+        backfill.rebuild();
+        jdbcTemplate.update("UPDATE product_sales_rollup SET quantity_sold = 999");
+        jdbcTemplate.update("INSERT INTO product_sales_rollup (product_id, sale_date, quantity_sold) VALUES (?, ?, 5)",
+                nutId, Date.valueOf(TODAY.minusDays(10)));
+
+        int rows = backfill.rebuild();
+
+        assertThat(rows).isEqualTo(3);
+        assertThat(productSalesRollupRepository.count()).isEqualTo(3);
+        assertThat(sold(boltId, TODAY)).isEqualTo(7);
+    }
+
+    private Long product(String productId, String name) {
+        jdbcTemplate.update("INSERT INTO product (product_id, name, unit_price, is_active, created_at, updated_at) " +
+                "VALUES (?, ?, 1.00, 'FULFILLED', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", productId, name);
+        return jdbcTemplate.queryForObject("SELECT id FROM product WHERE product_id = ?", Long.class, productId);
+    }
+
+    private void order(String orderId, String status, LocalDate approvedOn, Map<Long, Long> lines) {
+        LocalDateTime at = approvedOn.atTime(12, 0);
+        jdbcTemplate.update("INSERT INTO dealer_order (order_id, dealer_id, total_price, status, created_at, updated_at) " +
+                "VALUES (?, ?, 0, ?, ?, ?)", orderId, dealerId, status, at.minusDays(3), at);
+        lines.forEach((productId, quantity) -> jdbcTemplate.update(
+                "INSERT INTO dealer_order_mapping (id, order_id, product_id, quantity, unit_price) " +
+                "VALUES (NEXT VALUE FOR dealer_order_mapping_id_seq, (SELECT id FROM dealer_order WHERE order_id = ?), ?, ?, 1.00)",
+                orderId, productId, quantity));
+    }
+
+    private long sold(Long productId, LocalDate day) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(quantity_sold), 0) FROM product_sales_rollup WHERE product_id = ? AND sale_date = ?",
+                Long.class, productId, Date.valueOf(day));
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.sellerhelp.media;
+
+import com.example.sellerhelp.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Uploads through the local filesystem storage: the spooled temp file is streamed into storage and
+ * removed afterwards, and repeated provider failures open the circuit so later uploads fail fast.
+ */
+class MediaUploadServiceTest {
+
+    @TempDir
+    Path spool;
+
+    @TempDir
+    Path storageRoot;
+
+    private MediaUploadService service;
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void uploadIsStoredAndSpoolFileRemoved() throws Exception {
+        service = service(new LocalMediaStorage(storageRoot), 3);
+
+        String url = service.upload(image("avatar.png", "png-bytes"), "sellerhelp/users").get();
+
+        Path stored = Path.of(URI.create(url));
+        assertThat(stored).startsWith(storageRoot.resolve("sellerhelp/users"));
+        assertThat(stored.toString()).endsWith(".png");
+        assertThat(Files.readString(stored)).isEqualTo("png-bytes");
+        try (var spooled = Files.list(spool)) {
+            assertThat(spooled).isEmpty();
+        }
+        assertThat(service.stats()).containsEntry("uploaded", 1L).containsEntry("circuitState", "CLOSED");
+    }
+
+    @Test
+    void repeatedFailuresOpenTheCircuit() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        service = service((file, folder, contentType) -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("provider down");
+        }, 2);
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> service.upload(image("a.jpg", "x"), "f").join())
+                    .isInstanceOf(CompletionException.class)
+                    .hasCauseInstanceOf(IllegalStateException.class);
+        }
+
+        assertThatThrownBy(() -> service.upload(image("a.jpg", "x"), "f"))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(calls).hasValue(2);
+        assertThat(service.stats()).containsEntry("circuitState", "OPEN").containsEntry("shortCircuited", 1L);
+        try (var spooled = Files.list(spool)) {
+            assertThat(spooled).isEmpty();
+        }
+    }
+
+    private MediaUploadService service(MediaStorage storage, int failureThreshold) {
+        return new MediaUploadService(storage, 1, 4, Duration.ofSeconds(5), spool,
+                failureThreshold, Duration.ofMinutes(1));
+    }
+
+    private static MockMultipartFile image(String name, String content) {
+        return new MockMultipartFile("file", name, "image/png", content.getBytes());
+    }
+}
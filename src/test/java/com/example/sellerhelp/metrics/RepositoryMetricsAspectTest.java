@@ -0,0 +1,106 @@
+package com.example.sellerhelp.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.data.repository.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Proxies a hand-written repository through the aspect and checks the timer tags and the row
+ * count summary.
+ */
+class RepositoryMetricsAspectTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void timesCallsAndRecordsRowCounts() {
+        SampleRepository repository = proxy(new InMemorySampleRepository());
+
+        repository.findAll();
+        repository.findAll();
+        repository.findByName("b");
+        repository.countAll();
+
+        assertThat(registry.get(RepositoryMetricsAspect.METRIC)
+                .tags("repository", "SampleRepository", "method", "findAll", "exception", "none")
+                .timer().count()).isEqualTo(2);
+        assertThat(registry.get(RepositoryMetricsAspect.ROWS_METRIC).tags("method", "findAll").summary().totalAmount())
+                .isEqualTo(6.0);
+        assertThat(registry.get(RepositoryMetricsAspect.ROWS_METRIC).tags("method", "findByName").summary().totalAmount())
+                .isEqualTo(1.0);
+        assertThat(registry.find(RepositoryMetricsAspect.ROWS_METRIC).tags("method", "countAll").summary()).isNull();
+    }
+
+    @Test
+    void failuresAreTaggedWithTheException() {
+        SampleRepository repository = proxy(new InMemorySampleRepository());
+
+        assertThatThrownBy(() -> repository.findByName(null)).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(registry.get(RepositoryMetricsAspect.METRIC)
+                .tags("method", "findByName", "exception", "IllegalArgumentException")
+                .timer().count()).isEqualTo(1);
+        assertThat(registry.find(RepositoryMetricsAspect.ROWS_METRIC).tags("method", "findByName").summary()).isNull();
+    }
+
+    @Test
+    void voidMethodsAreTimedWithoutARowCount() {
+        SampleRepository repository = proxy(new InMemorySampleRepository());
+
+        repository.deleteByName("a");
+
+        assertThat(registry.get(RepositoryMetricsAspect.METRIC).tags("method", "deleteByName").timer().count()).isEqualTo(1);
+        assertThat(registry.find(RepositoryMetricsAspect.ROWS_METRIC).tags("method", "deleteByName").summary()).isNull();
+    }
+
+    private SampleRepository proxy(SampleRepository target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(new RepositoryMetricsAspect(registry));
+        return factory.getProxy();
+    }
+
+    interface SampleRepository extends Repository<String, Long> {
+
+        List<String> findAll();
+
+        Optional<String> findByName(String name);
+
+        long countAll();
+
+        void deleteByName(String name);
+    }
+
+    private static class InMemorySampleRepository implements SampleRepository {
+
+        private final List<String> names = List.of("a", "b", "c");
+
+        @Override
+        public List<String> findAll() {
+            return names;
+        }
+
+        @Override
+        public Optional<String> findByName(String name) {
+            if (name == null) {
+                throw new IllegalArgumentException("name is required");
+            }
+            return names.stream().filter(name::equals).findFirst();
+        }
+
+        @Override
+        public long countAll() {
+            return names.size();
+        }
+
+        @Override
+        public void deleteByName(String name) {
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.sellerhelp.notification.service;
+
+import com.example.sellerhelp.constant.EmailStatus;
+import com.example.sellerhelp.notification.entity.Email;
+import com.example.sellerhelp.notification.repository.EmailRepository;
+import com.example.sellerhelp.notification.template.Notification;
+import com.example.sellerhelp.notification.template.NotificationRenderer;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.thymeleaf.ThymeleafAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the outbox end to end against an in-process SMTP server.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:email-outbox;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "mail.outbox.poll-interval=1h"
+})
+@Import({EmailService.class, EmailDispatcher.class, NotificationRenderer.class, EmailDispatcherTest.SmtpConfig.class})
+@ImportAutoConfiguration({ThymeleafAutoConfiguration.class, JacksonAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmailDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private EmailDispatcher emailDispatcher;
+
+    @Autowired
+    private EmailRepository emailRepository;
+
+    @Autowired
+    private NotificationRenderer notificationRenderer;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        emailRepository.deleteAll();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void dispatchesQueuedEmailsAndMarksThemSent() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> {
+            emailService.sendEmail("dealer@example.com", "Order received", "<p>Thanks</p>");
+            emailService.sendEmails(List.of("co1@example.com", "co2@example.com"), "New order", "<p>New order</p>");
+        });
+
+        int claimed = emailDispatcher.dispatchBatch();
+
+        assertThat(claimed).isEqualTo(3);
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(3);
+        assertThat(received[0].getSubject()).isEqualTo("Order received");
+        assertThat(emailRepository.findAll())
+                .allSatisfy(email -> {
+                    assertThat(email.getStatus()).isEqualTo(EmailStatus.SENT);
+                    assertThat(email.getSentAt()).isNotNull();
+                    assertThat(email.getAttempts()).isEqualTo(1);
+                    assertThat(email.getBody()).isNull();
+                });
+        assertThat(emailDispatcher.dispatchBatch()).isZero();
+    }
+
+    @Test
+    void templatedNotificationsAreRenderedAtDispatch() throws Exception {
+        transactionTemplate.executeWithoutResult(status ->
+                emailService.send("worker@example.com",
+                        new Notification.ToolRequestRejected("Asha <Worker>", "TR-001", "Out of stock")));
+
+        Email queued = emailRepository.findAll().get(0);
+        assertThat(queued.getBody()).isNull();
+        assertThat(queued.getSubject()).isEqualTo("Your Tool Request has been Rejected: TR-001");
+
+        emailDispatcher.dispatchBatch();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(1);
+        String html = received[0].getContent().toString();
+        assertThat(html).contains("Asha &lt;Worker&gt;").contains("<b>TR-001</b>").contains("Out of stock");
+        assertThat(emailRepository.findAll().get(0).getModel()).isNull();
+    }
+
+    @Test
+    void emailsFromRolledBackTransactionsAreNeverSent() {
+        transactionTemplate.executeWithoutResult(status -> {
+            emailService.sendEmail("dealer@example.com", "Order received", "<p>Thanks</p>");
+            status.setRollbackOnly();
+        });
+
+        assertThat(emailDispatcher.dispatchBatch()).isZero();
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+    }
+
+    @Test
+    void failedDeliveriesAreRetriedWithBackoffThenMarkedFailed() {
+        JavaMailSenderImpl unreachable = new JavaMailSenderImpl();
+        unreachable.setHost("localhost");
+        unreachable.setPort(1);
+        EmailDispatcher failing = new EmailDispatcher(emailRepository, unreachable, notificationRenderer, transactionManager,
+                10, 2, Duration.ofMinutes(5), Duration.ZERO, Duration.ZERO);
+
+        transactionTemplate.executeWithoutResult(status ->
+                emailService.sendEmail("dealer@example.com", "Order received", "<p>Thanks</p>"));
+
+        failing.dispatchBatch();
+        Email afterFirstAttempt = emailRepository.findAll().get(0);
+        assertThat(afterFirstAttempt.getStatus()).isEqualTo(EmailStatus.PENDING);
+        assertThat(afterFirstAttempt.getAttempts()).isEqualTo(1);
+        assertThat(afterFirstAttempt.getLastError()).isNotBlank();
+        assertThat(afterFirstAttempt.getBody()).isEqualTo("<p>Thanks</p>");
+
+        failing.dispatchBatch();
+        Email afterLastAttempt = emailRepository.findAll().get(0);
+        assertThat(afterLastAttempt.getStatus()).isEqualTo(EmailStatus.FAILED);
+        assertThat(afterLastAttempt.getAttempts()).isEqualTo(2);
+        assertThat(afterLastAttempt.getBody()).isNull();
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+    }
+
+    @TestConfiguration
+    static class SmtpConfig {
+
+        @Bean
+        JavaMailSender javaMailSender() {
+            JavaMailSenderImpl sender = new JavaMailSenderImpl();
+            sender.setHost("localhost");
+            sender.setPort(ServerSetupTest.SMTP.getPort());
+            return sender;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.sellerhelp.order.invoice;
+
+import com.example.sellerhelp.constant.InvoiceType;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Renders invoices and stores them: the output is a readable PDF, long orders continue onto more
+ * pages, and rendering the same invoice twice yields the same bytes and therefore one stored file.
+ */
+class InvoicePdfRendererTest {
+
+    @TempDir
+    Path storeRoot;
+
+    private final InvoicePdfRenderer renderer = new InvoicePdfRenderer();
+
+    @Test
+    void rendersReadableInvoice() throws Exception {
+        byte[] pdf = renderer.render(invoice(2));
+
+        try (PDDocument document = Loader.loadPDF(pdf)) {
+            String text = new PDFTextStripper().getText(document);
+            assertThat(text).contains("DINV-1", "DO-1", "Dealer One (U-7)", "P-1", "Widget 1", "Total", "30.00");
+        }
+    }
+
+    @Test
+    void longOrdersSpanSeveralPages() throws Exception {
+        try (PDDocument document = Loader.loadPDF(renderer.render(invoice(120)))) {
+            assertThat(document.getNumberOfPages()).isGreaterThan(1);
+        }
+    }
+
+    @Test
+    void sameInvoiceIsStoredOnce() throws Exception {
+        InvoiceFileStore store = new InvoiceFileStore(storeRoot);
+
+        String first = store.put(renderer.render(invoice(3)));
+        String second = store.put(renderer.render(invoice(3)));
+
+        assertThat(second).isEqualTo(first);
+        assertThat(store.find(first)).hasValueSatisfying(file -> assertThat(file).hasFileName(first + ".pdf"));
+        try (var files = Files.walk(storeRoot)) {
+            assertThat(files.filter(Files::isRegularFile)).hasSize(1);
+        }
+    }
+
+    private static InvoiceDocument invoice(int lines) {
+        List<InvoiceDocument.Line> items = IntStream.rangeClosed(1, lines)
+                .mapToObj(i -> new InvoiceDocument.Line("P-" + i, "Widget " + i, i, new BigDecimal("10.00")))
+                .toList();
+        BigDecimal total = items.stream().map(InvoiceDocument.Line::amount).reduce(BigDecimal.ZERO, BigDecimal::add);
+        return new InvoiceDocument(InvoiceType.DEALER, "DINV-1", "DO-1", LocalDateTime.of(2025, 5, 1, 10, 30),
+                "U-7", "Dealer One", "dealer@example.com", items, total);
+    }
+}
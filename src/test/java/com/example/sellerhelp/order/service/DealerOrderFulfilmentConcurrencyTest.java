@@ -0,0 +1,247 @@
+package com.example.sellerhelp.order.service;
+
+import com.example.sellerhelp.appuser.repository.UserRepository;
+import com.example.sellerhelp.common.BusinessIdGenerator;
+import com.example.sellerhelp.common.ReferenceDataCache;
+import com.example.sellerhelp.exception.ConflictException;
+import com.example.sellerhelp.notification.service.EmailService;
+import com.example.sellerhelp.order.dto.CreateDealerOrderDto;
+import com.example.sellerhelp.order.dto.FulfillOrderDto;
+import com.example.sellerhelp.order.dto.OrderItemDto;
+import com.example.sellerhelp.security.SecurityService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Fulfils dealer orders through OrderService, including from many threads at once: a short
+ * row rejects the whole order, factory stock never goes negative, and every unit that left
+ * the factory reaches the dealer and the sales rollup.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:dealer-fulfilment;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import({OrderService.class, BusinessIdGenerator.class, ReferenceDataCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DealerOrderFulfilmentConcurrencyTest {
+
+    private static final String DEALER = "U-DEALER";
+    private static final String OFFICER = "U-OFFICER";
+    private static final String FACTORY = "F-TEST";
+    private static final long INITIAL_STOCK = 500;
+    private static final int THREADS = 16;
+    private static final int ITERATIONS = 50;
+
+    @MockitoBean
+    private SecurityService securityService;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long factoryId;
+    private Long boltId;
+    private Long nutId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM dealer_invoice");
+        jdbcTemplate.update("DELETE FROM dealer_order_mapping");
+        jdbcTemplate.update("DELETE FROM dealer_order");
+        jdbcTemplate.update("DELETE FROM product_sales_rollup");
+        jdbcTemplate.update("DELETE FROM dealer_stock");
+        jdbcTemplate.update("DELETE FROM product_stock");
+        jdbcTemplate.update("DELETE FROM product");
+        jdbcTemplate.update("DELETE FROM factory");
+        jdbcTemplate.update("DELETE FROM users");
+        referenceDataCache.nativeCaches().values().forEach(cache -> cache.invalidateAll());
+
+        jdbcTemplate.update("INSERT INTO factory (factory_id, name, is_active) VALUES (?, 'Test Factory', 'ACTIVE')", FACTORY);
+        user(DEALER, "Dealer", "dealer@test.local");
+        user(OFFICER, "Officer", "officer@test.local");
+        factoryId = jdbcTemplate.queryForObject("SELECT id FROM factory WHERE factory_id = ?", Long.class, FACTORY);
+        boltId = product("P-BOLT", "Bolt");
+        nutId = product("P-NUT", "Nut");
+        // As on startup: a cache miss loads on a second connection, which racing fulfilments holding the pool would starve
+        referenceDataCache.warmUp();
+    }
+
+    @Test
+    void shortStockRejectsTheWholeOrder() {
+        String orderId = placeOrders(List.of(Map.of("P-BOLT", 5L, "P-NUT", INITIAL_STOCK + 1))).get(0);
+
+        assertThat(fulfil(orderId)).isFalse();
+        assertThat(factoryStock(boltId)).isEqualTo(INITIAL_STOCK);
+        assertThat(factoryStock(nutId)).isEqualTo(INITIAL_STOCK);
+        assertThat(dealerStock(boltId)).isZero();
+        assertThat(unitsSold(boltId)).isZero();
+        assertThat(orderStatus(orderId)).isEqualTo("PENDING");
+    }
+
+    @Test
+    void decrementTakesTheLastUnitsButNoMore() {
+        List<String> orderIds = placeOrders(List.of(Map.of("P-BOLT", INITIAL_STOCK), Map.of("P-BOLT", 1L)));
+
+        assertThat(fulfil(orderIds.get(0))).isTrue();
+        assertThat(fulfil(orderIds.get(1))).isFalse();
+
+        assertThat(factoryStock(boltId)).isZero();
+        assertThat(dealerStock(boltId)).isEqualTo(INITIAL_STOCK);
+        assertThat(orderStatus(orderIds.get(0))).isEqualTo("APPROVED");
+        assertThat(orderStatus(orderIds.get(1))).isEqualTo("PENDING");
+    }
+
+    @Test
+    void repeatedFulfilmentsAddToTheDealerRow() {
+        List<String> orderIds = placeOrders(List.of(Map.of("P-BOLT", 3L), Map.of("P-BOLT", 4L, "P-NUT", 2L)));
+
+        assertThat(fulfil(orderIds.get(0))).isTrue();
+        assertThat(fulfil(orderIds.get(1))).isTrue();
+
+        assertThat(dealerStock(boltId)).isEqualTo(7L);
+        assertThat(dealerStock(nutId)).isEqualTo(2L);
+        assertThat(unitsSold(boltId)).isEqualTo(7L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM dealer_stock", Long.class)).isEqualTo(2L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM dealer_invoice", Long.class)).isEqualTo(2L);
+    }
+
+    @Test
+    void racingFulfilmentsNeitherOversellNorLoseUnits() throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Map<String, Long>> lines = new ArrayList<>();
+        for (int i = 0; i < THREADS * ITERATIONS; i++) {
+            lines.add(Map.of("P-BOLT", random.nextLong(1, 4), "P-NUT", random.nextLong(1, 4)));
+        }
+        List<String> orderIds = placeOrders(lines);
+        AtomicLong boltsMoved = new AtomicLong();
+        AtomicLong nutsMoved = new AtomicLong();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                for (int i = thread * ITERATIONS; i < (thread + 1) * ITERATIONS; i++) {
+                    if (fulfil(orderIds.get(i))) {
+                        boltsMoved.addAndGet(lines.get(i).get("P-BOLT"));
+                        nutsMoved.addAndGet(lines.get(i).get("P-NUT"));
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // 16 threads x 50 orders x up to 3 units exceeds the stock, so some orders must have been refused
+        assertThat(factoryStock(boltId)).isBetween(0L, INITIAL_STOCK - 1);
+        assertThat(factoryStock(nutId)).isBetween(0L, INITIAL_STOCK - 1);
+        assertThat(dealerStock(boltId)).isEqualTo(boltsMoved.get()).isEqualTo(INITIAL_STOCK - factoryStock(boltId));
+        assertThat(dealerStock(nutId)).isEqualTo(nutsMoved.get()).isEqualTo(INITIAL_STOCK - factoryStock(nutId));
+        assertThat(unitsSold(boltId)).isEqualTo(boltsMoved.get());
+        assertThat(unitsSold(nutId)).isEqualTo(nutsMoved.get());
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM dealer_stock", Long.class)).isEqualTo(2L);
+    }
+
+    /**
+     * Places one order per entry as the dealer, single-threaded, and switches the current
+     * user to the central officer for the fulfilments that follow.
+     */
+    private List<String> placeOrders(List<Map<String, Long>> orders) {
+        when(securityService.getCurrentUser()).thenReturn(userRepository.findByUserId(DEALER).orElseThrow());
+        List<String> orderIds = new ArrayList<>();
+        for (Map<String, Long> quantities : orders) {
+            List<OrderItemDto> items = new ArrayList<>();
+            quantities.forEach((productId, quantity) -> {
+                OrderItemDto item = new OrderItemDto();
+                item.setProductId(productId);
+                item.setQuantity(quantity);
+                items.add(item);
+            });
+            CreateDealerOrderDto dto = new CreateDealerOrderDto();
+            dto.setProducts(items);
+            orderIds.add(orderService.createDealerOrder(dto).getOrderId());
+        }
+        when(securityService.getCurrentUser()).thenReturn(userRepository.findByUserId(OFFICER).orElseThrow());
+        return orderIds;
+    }
+
+    private boolean fulfil(String orderId) {
+        FulfillOrderDto dto = new FulfillOrderDto();
+        dto.setFactoryId(FACTORY);
+        try {
+            orderService.fulfillDealerOrder(orderId, dto);
+            return true;
+        } catch (ConflictException e) {
+            return false;
+        }
+    }
+
+    private void user(String userId, String name, String email) {
+        jdbcTemplate.update("INSERT INTO users (user_id, name, email, password, is_active, created_at, updated_at) " +
+                "VALUES (?, ?, ?, 'x', 'ACTIVE', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", userId, name, email);
+    }
+
+    private Long product(String productId, String name) {
+        jdbcTemplate.update("INSERT INTO product (product_id, name, unit_price, is_active, created_at, updated_at) " +
+                "VALUES (?, ?, 1.00, 'FULFILLED', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", productId, name);
+        Long id = jdbcTemplate.queryForObject("SELECT id FROM product WHERE product_id = ?", Long.class, productId);
+        jdbcTemplate.update("INSERT INTO product_stock (factory_id, product_id, quantity) VALUES (?, ?, ?)", factoryId, id, INITIAL_STOCK);
+        return id;
+    }
+
+    private long factoryStock(Long productId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT quantity FROM product_stock WHERE factory_id = ? AND product_id = ?", Long.class, factoryId, productId);
+    }
+
+    private long dealerStock(Long productId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(quantity), 0) FROM dealer_stock WHERE dealer_id = ? AND product_id = ?", Long.class, DEALER, productId);
+    }
+
+    private long unitsSold(Long productId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(quantity_sold), 0) FROM product_sales_rollup WHERE product_id = ?", Long.class, productId);
+    }
+
+    private String orderStatus(String orderId) {
+        return jdbcTemplate.queryForObject("SELECT status FROM dealer_order WHERE order_id = ?", String.class, orderId);
+    }
+}
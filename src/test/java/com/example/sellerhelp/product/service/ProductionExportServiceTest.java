@@ -0,0 +1,135 @@
+package com.example.sellerhelp.product.service;
+
+import com.example.sellerhelp.common.ExportFilterDto;
+import com.example.sellerhelp.common.ReferenceDataCache;
+import com.example.sellerhelp.constant.ActiveStatus;
+import com.example.sellerhelp.factory.entity.Factory;
+import com.example.sellerhelp.factory.repository.FactoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Streams production records out as CSV and NDJSON and checks the filters, the output format, and
+ * that an unknown id fails before anything is written.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:production-export;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import({ProductionExportService.class, ReferenceDataCache.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductionExportServiceTest {
+
+    @Autowired
+    private ProductionExportService productionExportService;
+
+    @Autowired
+    private FactoryRepository factoryRepository;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private MediaType openedAs;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM factory_production");
+        jdbcTemplate.update("DELETE FROM product");
+        jdbcTemplate.update("DELETE FROM factory");
+        referenceDataCache.nativeCaches().values().forEach(cache -> cache.invalidateAll());
+
+        Long factoryId = factoryRepository.save(Factory.builder()
+                .factoryId("F-EXP").name("Export Works").isActive(ActiveStatus.ACTIVE).build()).getId();
+        Long boltId = product("P-BOLT", "Bolt, steel");
+        Long nutId = product("P-NUT", "Nut \"M8\"");
+
+        production(factoryId, boltId, 100, "2025-03-01");
+        production(factoryId, nutId, 40, "2025-03-15");
+        production(factoryId, boltId, 60, "2025-04-02");
+    }
+
+    @Test
+    void csvExportAppliesDateRangeAndQuotesFields() throws Exception {
+        ExportFilterDto filter = new ExportFilterDto();
+        filter.setFrom(LocalDate.of(2025, 3, 1));
+        filter.setTo(LocalDate.of(2025, 3, 31));
+
+        long rows = productionExportService.exportProduction("F-EXP", filter, this::open);
+
+        assertThat(rows).isEqualTo(2);
+        assertThat(openedAs.getSubtype()).isEqualTo("csv");
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\r\n"))
+                .hasSize(3)
+                .startsWith("id,factoryId,factoryName,productId,productName,productionQuantity,productionDate")
+                .anySatisfy(line -> assertThat(line).endsWith(",F-EXP,Export Works,P-BOLT,\"Bolt, steel\",100,2025-03-01"))
+                .anySatisfy(line -> assertThat(line).endsWith(",F-EXP,Export Works,P-NUT,\"Nut \"\"M8\"\"\",40,2025-03-15"));
+    }
+
+    @Test
+    void ndjsonExportFiltersByProduct() throws Exception {
+        ExportFilterDto filter = new ExportFilterDto();
+        filter.setProductId("P-BOLT");
+        filter.setFormat("ndjson");
+
+        long rows = productionExportService.exportProduction("F-EXP", filter, this::open);
+
+        assertThat(rows).isEqualTo(2);
+        assertThat(openedAs).isEqualTo(MediaType.APPLICATION_NDJSON);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2).allSatisfy(line -> assertThat(line).startsWith("{\"id\":").contains("\"productId\":\"P-BOLT\""));
+        assertThat(lines[1]).contains("\"productionDate\":\"2025-04-02\"");
+    }
+
+    @Test
+    void unknownProductFailsBeforeTheResponseIsOpened() {
+        ExportFilterDto filter = new ExportFilterDto();
+        filter.setProductId("P-NOPE");
+
+        assertThatThrownBy(() -> productionExportService.exportProduction("F-EXP", filter, this::open))
+                .isInstanceOf(NoSuchElementException.class);
+        assertThat(openedAs).isNull();
+    }
+
+    private ByteArrayOutputStream open(MediaType mediaType) {
+        openedAs = mediaType;
+        return out;
+    }
+
+    private Long product(String productId, String name) {
+        jdbcTemplate.update("INSERT INTO product (product_id, name, unit_price, is_active, created_at, updated_at) "
+                + "VALUES (?, ?, 1.00, 'FULFILLED', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", productId, name);
+        return jdbcTemplate.queryForObject("SELECT id FROM product WHERE product_id = ?", Long.class, productId);
+    }
+
+    private void production(Long factoryId, Long productId, long quantity, String date) {
+        jdbcTemplate.update("INSERT INTO factory_production (factory_id, product_id, production_quantity, production_date) "
+                + "VALUES (?, ?, ?, ?)", factoryId, productId, quantity, Date.valueOf(date));
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.sellerhelp.product.service;
+
+import com.example.sellerhelp.appuser.entity.User;
+import com.example.sellerhelp.common.ImportResultDto;
+import com.example.sellerhelp.common.ReferenceDataCache;
+import com.example.sellerhelp.constant.ActiveStatus;
+import com.example.sellerhelp.factory.entity.Factory;
+import com.example.sellerhelp.factory.entity.UserFactoryMapping;
+import com.example.sellerhelp.factory.repository.FactoryRepository;
+import com.example.sellerhelp.security.SecurityService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+/**
+ * Streams small CSV and NDJSON production uploads with a tiny batch size, so rows are applied
+ * across several batches, and checks the production records, the resulting stock and the error
+ * report. Also races imports that all create the same missing stock row.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:production-import;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "imports.batch-size=2"
+})
+@Import({ProductionImportService.class, ReferenceDataCache.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductionImportServiceTest {
+
+    private static final int RACERS = 8;
+
+    @Autowired
+    private ProductionImportService productionImportService;
+
+    @Autowired
+    private FactoryRepository factoryRepository;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private SecurityService securityService;
+
+    private Long factoryId;
+    private Long boltId;
+    private Long nutId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM factory_production");
+        jdbcTemplate.update("DELETE FROM product_stock");
+        jdbcTemplate.update("DELETE FROM product");
+        jdbcTemplate.update("DELETE FROM factory");
+        referenceDataCache.nativeCaches().values().forEach(cache -> cache.invalidateAll());
+
+        Factory factory = factoryRepository.save(Factory.builder()
+                .factoryId("F-PROD").name("Production Works").isActive(ActiveStatus.ACTIVE).build());
+        factoryId = factory.getId();
+        boltId = product("P-BOLT", "Bolt");
+        nutId = product("P-NUT", "Nut");
+
+        User plantHead = User.builder().userId("U-PH").email("head@prod.test").build();
+        plantHead.setFactoryMappings(List.of(UserFactoryMapping.builder().user(plantHead).factory(factory).build()));
+        when(securityService.getCurrentUser()).thenReturn(plantHead);
+
+        // The bolt is already stocked, the nut is not
+        jdbcTemplate.update("INSERT INTO product_stock (factory_id, product_id, quantity) VALUES (?, ?, 10)", factoryId, boltId);
+    }
+
+    @Test
+    void csvRowsAreSummedAcrossBatchesAndBadRowsReported() {
+        String csv = """
+                productId,productionQuantity,productionDate
+                P-BOLT,5,2024-05-01
+                P-NUT,3,2024-05-01
+                P-NOPE,1,2024-05-01
+                P-BOLT,2,2024-05-02
+                P-NUT,0,2024-05-02
+
+                P-NUT,4,2024-05-03
+                """;
+
+        ImportResultDto result = productionImportService.importProduction(upload(csv), "text/csv");
+
+        assertThat(result.getImportedRows()).isEqualTo(4);
+        assertThat(result.getRejectedRows()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(ImportResultDto.RowError::getLine).containsExactly(4L, 6L);
+        assertThat(result.getErrors().get(0).getMessage()).contains("P-NOPE");
+
+        assertThat(stock(boltId)).isEqualTo(17L);
+        assertThat(stock(nutId)).isEqualTo(7L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM factory_production", Long.class)).isEqualTo(4);
+    }
+
+    @Test
+    void ndjsonUploadIsAccepted() {
+        String ndjson = """
+                {"productId": "P-NUT", "productionQuantity": 2, "productionDate": "2024-05-01"}
+                not json
+                {"productId": "P-NUT", "productionQuantity": 1, "productionDate": "2024-05-02"}
+                """;
+
+        ImportResultDto result = productionImportService.importProduction(upload(ndjson), "application/x-ndjson");
+
+        assertThat(result.getImportedRows()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(ImportResultDto.RowError::getLine).containsExactly(2L);
+        assertThat(stock(nutId)).isEqualTo(3L);
+    }
+
+    @Test
+    void concurrentImportsCreatingTheSameRowLoseNoUnits() throws Exception {
+        String csv = "productId,productionQuantity,productionDate\nP-NUT,5,2024-05-01\n";
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(RACERS);
+        List<Future<ImportResultDto>> futures = new ArrayList<>();
+        for (int i = 0; i < RACERS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return productionImportService.importProduction(upload(csv), "text/csv");
+            }));
+        }
+        start.countDown();
+        for (Future<ImportResultDto> future : futures) {
+            assertThat(future.get().getImportedRows()).isEqualTo(1);
+        }
+        executor.shutdown();
+
+        assertThat(stock(nutId)).isEqualTo(5L * RACERS);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM product_stock WHERE factory_id = ? AND product_id = ?", Long.class, factoryId, nutId))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void stockRowIsUniquePerFactoryAndProduct() {
+        assertThatThrownBy(() -> jdbcTemplate.update(
+                "INSERT INTO product_stock (factory_id, product_id, quantity) VALUES (?, ?, 1)", factoryId, boltId))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    private Long product(String productId, String name) {
+        jdbcTemplate.update("INSERT INTO product (product_id, name, unit_price, is_active, created_at, updated_at) " +
+                "VALUES (?, ?, 1.00, 'FULFILLED', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", productId, name);
+        return jdbcTemplate.queryForObject("SELECT id FROM product WHERE product_id = ?", Long.class, productId);
+    }
+
+    private Long stock(Long productId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT quantity FROM product_stock WHERE factory_id = ? AND product_id = ?", Long.class, factoryId, productId);
+    }
+
+    private static InputStream upload(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.sellerhelp.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Only the configured token on the scrape path grants the scraper role; anything else leaves the
+ * request unauthenticated for the security rules to reject.
+ */
+class MetricsScrapeTokenFilterTest {
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void matchingTokenGrantsOnlyTheScraperRole() throws Exception {
+        Authentication authentication = scrape(new MetricsScrapeTokenFilter("s3cret"), "/actuator/prometheus", "Bearer s3cret");
+
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_METRICS_SCRAPER");
+    }
+
+    @Test
+    void wrongMissingOrUnconfiguredTokenGrantsNothing() throws Exception {
+        assertThat(scrape(new MetricsScrapeTokenFilter("s3cret"), "/actuator/prometheus", "Bearer guess")).isNull();
+        assertThat(scrape(new MetricsScrapeTokenFilter("s3cret"), "/actuator/prometheus", null)).isNull();
+        assertThat(scrape(new MetricsScrapeTokenFilter(""), "/actuator/prometheus", "Bearer ")).isNull();
+    }
+
+    @Test
+    void tokenIsIgnoredOutsideTheScrapePath() throws Exception {
+        assertThat(scrape(new MetricsScrapeTokenFilter("s3cret"), "/api/users", "Bearer s3cret")).isNull();
+    }
+
+    private static Authentication scrape(MetricsScrapeTokenFilter filter, String path, String authorization) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
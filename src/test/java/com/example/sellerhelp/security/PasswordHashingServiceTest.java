@@ -0,0 +1,88 @@
+package com.example.sellerhelp.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the hashing pool with a trivial encoder: bulk hashing keeps input order, and a full queue
+ * rejects new work instead of blocking the caller.
+ */
+class PasswordHashingServiceTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private PasswordHashingService service;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        service.shutdown();
+    }
+
+    @Test
+    void encodeAllKeepsInputOrder() {
+        service = new PasswordHashingService(new ReversingEncoder(null), 3, 8);
+        List<String> raw = IntStream.range(0, 20).mapToObj(i -> "password-" + i).toList();
+
+        List<String> hashes = service.encodeAll(raw);
+
+        assertThat(hashes).hasSize(20);
+        for (int i = 0; i < raw.size(); i++) {
+            assertThat(hashes.get(i)).isEqualTo(new StringBuilder(raw.get(i)).reverse().toString());
+        }
+        assertThat(service.stats()).containsEntry("hashed", 20L);
+    }
+
+    @Test
+    void fullQueueRejectsInsteadOfBlocking() throws Exception {
+        service = new PasswordHashingService(new ReversingEncoder(release), 1, 1);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> service.encode("first"));
+        awaitStat("active", 1);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> service.encode("second"));
+        awaitStat("queued", 1);
+
+        assertThatThrownBy(() -> service.encode("third")).isInstanceOf(RejectedExecutionException.class);
+        assertThat(service.stats()).containsEntry("rejected", 1L);
+
+        release.countDown();
+        assertThat(running.get()).isEqualTo("tsrif");
+        assertThat(queued.get()).isEqualTo("dnoces");
+    }
+
+    private void awaitStat(String name, int expected) throws InterruptedException {
+        for (int i = 0; i < 500 && !Integer.valueOf(expected).equals(service.stats().get(name)); i++) {
+            Thread.sleep(10);
+        }
+        assertThat(service.stats()).containsEntry(name, expected);
+    }
+
+    private record ReversingEncoder(CountDownLatch gate) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            if (gate != null) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return new StringBuilder(rawPassword).reverse().toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
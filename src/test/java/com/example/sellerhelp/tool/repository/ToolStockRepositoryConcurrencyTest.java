@@ -0,0 +1,147 @@
+package com.example.sellerhelp.tool.repository;
+
+import com.example.sellerhelp.tool.entity.ToolStock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hammers a single factory/tool stock row from many threads through the guarded
+ * issue/return/confiscate statements and checks that the stock invariants hold.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:tool-stock;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ToolStockRepositoryConcurrencyTest {
+
+    private static final long INITIAL_STOCK = 50;
+    private static final int THREADS = 16;
+    private static final int ITERATIONS = 200;
+
+    @Autowired
+    private ToolStockRepository toolStockRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long factoryId;
+    private Long toolId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM tool_stock");
+        jdbcTemplate.update("DELETE FROM tools");
+        jdbcTemplate.update("DELETE FROM factory");
+
+        jdbcTemplate.update("INSERT INTO factory (factory_id, name, is_active) VALUES ('F-TEST', 'Test Factory', 'ACTIVE')");
+        jdbcTemplate.update("INSERT INTO tools (tool_id, name, is_perishable, is_expensive, threshold, created_at, updated_at) " +
+                "VALUES ('T-TEST', 'Test Tool', 'NON_PERISHABLE', 'INEXPENSIVE', 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+        factoryId = jdbcTemplate.queryForObject("SELECT id FROM factory WHERE factory_id = 'F-TEST'", Long.class);
+        toolId = jdbcTemplate.queryForObject("SELECT id FROM tools WHERE tool_id = 'T-TEST'", Long.class);
+
+        transactionTemplate.executeWithoutResult(status ->
+                toolStockRepository.addStock(factoryId, Map.of(toolId, INITIAL_STOCK)));
+    }
+
+    @Test
+    void concurrentMovementsPreserveStockInvariants() throws Exception {
+        AtomicLong writtenOff = new AtomicLong();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    long quantity = random.nextLong(1, 6);
+                    boolean issued = Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                            issue(quantity)));
+                    if (!issued) {
+                        continue;
+                    }
+                    assertStockInvariants();
+
+                    int outcome = random.nextInt(10);
+                    if (outcome == 0) {
+                        transactionTemplate.executeWithoutResult(status ->
+                                assertThat(toolStockRepository.confiscateStock(factoryId, toolId, quantity)).isEqualTo(1));
+                        writtenOff.addAndGet(quantity);
+                    } else {
+                        long unfit = outcome == 1 ? random.nextLong(0, quantity + 1) : 0;
+                        transactionTemplate.executeWithoutResult(status ->
+                                assertThat(toolStockRepository.returnStock(factoryId, toolId, quantity - unfit, unfit)).isEqualTo(1));
+                        writtenOff.addAndGet(unfit);
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        ToolStock stock = currentStock();
+        assertThat(stock.getIssuedQuantity()).isZero();
+        assertThat(stock.getTotalQuantity()).isEqualTo(INITIAL_STOCK - writtenOff.get());
+        assertThat(stock.getAvailableQuantity()).isEqualTo(stock.getTotalQuantity());
+    }
+
+    @Test
+    void issueIsRejectedWhenStockIsShort() {
+        Boolean issued = transactionTemplate.execute(status -> issue(INITIAL_STOCK + 1));
+
+        assertThat(issued).isFalse();
+        ToolStock stock = currentStock();
+        assertThat(stock.getAvailableQuantity()).isEqualTo(INITIAL_STOCK);
+        assertThat(stock.getIssuedQuantity()).isZero();
+    }
+
+    // The batched fragment used by issueToolsForRequest
+    private boolean issue(long quantity) {
+        return toolStockRepository.issueStock(factoryId, Map.of(toolId, quantity)).isEmpty();
+    }
+
+    private void assertStockInvariants() {
+        ToolStock stock = currentStock();
+        assertThat(stock.getAvailableQuantity()).isGreaterThanOrEqualTo(0);
+        assertThat(stock.getIssuedQuantity()).isGreaterThanOrEqualTo(0);
+        assertThat(stock.getTotalQuantity()).isEqualTo(stock.getAvailableQuantity() + stock.getIssuedQuantity());
+    }
+
+    private ToolStock currentStock() {
+        return jdbcTemplate.queryForObject(
+                "SELECT total_quantity, available_quantity, issued_quantity FROM tool_stock WHERE factory_id = ? AND tool_id = ?",
+                (rs, rowNum) -> ToolStock.builder()
+                        .totalQuantity(rs.getLong("total_quantity"))
+                        .availableQuantity(rs.getLong("available_quantity"))
+                        .issuedQuantity(rs.getLong("issued_quantity"))
+                        .build(),
+                factoryId, toolId);
+    }
+}
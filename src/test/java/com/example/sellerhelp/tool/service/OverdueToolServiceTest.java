@@ -0,0 +1,184 @@
+package com.example.sellerhelp.tool.service;
+
+import com.example.sellerhelp.appuser.entity.Role;
+import com.example.sellerhelp.appuser.entity.User;
+import com.example.sellerhelp.appuser.repository.RoleRepository;
+import com.example.sellerhelp.appuser.repository.UserRepository;
+import com.example.sellerhelp.constant.ActiveStatus;
+import com.example.sellerhelp.constant.Expensive;
+import com.example.sellerhelp.constant.Perishable;
+import com.example.sellerhelp.constant.ToolIssuanceStatus;
+import com.example.sellerhelp.constant.UserRole;
+import com.example.sellerhelp.factory.entity.Factory;
+import com.example.sellerhelp.factory.entity.UserFactoryMapping;
+import com.example.sellerhelp.factory.repository.FactoryRepository;
+import com.example.sellerhelp.factory.repository.UserFactoryMappingRepository;
+import com.example.sellerhelp.notification.service.EmailService;
+import com.example.sellerhelp.notification.template.Notification;
+import com.example.sellerhelp.tool.entity.Tool;
+import com.example.sellerhelp.tool.entity.ToolIssuance;
+import com.example.sellerhelp.tool.repository.ToolIssuanceRepository;
+import com.example.sellerhelp.tool.repository.ToolRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Runs the overdue scan against a small factory and checks flagging, the counter, the
+ * supervisor digest and plant head escalation, and that a second run finds nothing new.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:tool-overdue;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "tools.overdue.escalate-after=3d"
+})
+@Import(OverdueToolService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OverdueToolServiceTest {
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Autowired
+    private OverdueToolService overdueToolService;
+
+    @Autowired
+    private ToolIssuanceRepository toolIssuanceRepository;
+
+    @Autowired
+    private ToolRepository toolRepository;
+
+    @Autowired
+    private FactoryRepository factoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserFactoryMappingRepository userFactoryMappingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long factoryId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM tool_issuance");
+        jdbcTemplate.update("DELETE FROM overdue_scan_watermark");
+        jdbcTemplate.update("DELETE FROM user_factory_mapping");
+        jdbcTemplate.update("DELETE FROM factory");
+        jdbcTemplate.update("DELETE FROM tools");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("DELETE FROM role");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            User plantHead = user("U-PH", "Priya Head", role(UserRole.PLANT_HEAD));
+            Role supervisorRole = role(UserRole.CHIEF_SUPERVISOR);
+            User supervisor = user("U-CS", "Carlos Supervisor", supervisorRole);
+            User worker = user("U-WK", "Wen Worker", role(UserRole.WORKER));
+
+            Factory factory = factoryRepository.save(Factory.builder()
+                    .factoryId("F-OVD").name("Overdue Works").plantHead(plantHead).isActive(ActiveStatus.ACTIVE).build());
+            factoryId = factory.getId();
+            userFactoryMappingRepository.save(UserFactoryMapping.builder()
+                    .user(supervisor).factory(factory).assignedRole(supervisorRole).build());
+
+            Tool tool = toolRepository.save(Tool.builder()
+                    .toolId("T-OVD").name("Torque Wrench")
+                    .isPerishable(Perishable.NON_PERISHABLE).isExpensive(Expensive.EXPENSIVE).threshold(0L).build());
+
+            LocalDateTime now = LocalDateTime.now();
+            issue(factory, worker, tool, ToolIssuanceStatus.ISSUED, now.minusHours(1));
+            issue(factory, worker, tool, ToolIssuanceStatus.EXTENDED, now.minusDays(5));
+            issue(factory, worker, tool, ToolIssuanceStatus.RETURNED, now.minusHours(2));
+            issue(factory, worker, tool, ToolIssuanceStatus.ISSUED, now.plusDays(1));
+        });
+    }
+
+    @Test
+    void firstRunFlagsOverdueIssuancesAndNotifiesOnce() {
+        assertThat(overdueToolService.scan()).isEqualTo(2);
+
+        assertThat(overdueToolService.getOverdueCount(factoryId)).isEqualTo(2);
+        assertThat(toolIssuanceRepository.findAll())
+                .filteredOn(issuance -> issuance.getOverdueAt() != null)
+                .hasSize(2)
+                .allSatisfy(issuance -> assertThat(issuance.getStatus()).isIn(OverdueToolService.OPEN_STATUSES));
+
+        ArgumentCaptor<Notification> digest = ArgumentCaptor.forClass(Notification.class);
+        verify(emailService).send(eq("u-cs@example.com"), digest.capture());
+        assertThat(digest.getValue()).isInstanceOfSatisfying(Notification.OverdueToolsDigest.class,
+                d -> assertThat(d.tools()).hasSize(2));
+
+        // Only the issuance that is more than three days late reaches the plant head
+        ArgumentCaptor<Notification> escalation = ArgumentCaptor.forClass(Notification.class);
+        verify(emailService).send(eq("u-ph@example.com"), escalation.capture());
+        assertThat(escalation.getValue()).isInstanceOfSatisfying(Notification.OverdueToolsEscalation.class,
+                e -> assertThat(e.tools()).hasSize(1));
+    }
+
+    @Test
+    void secondRunOnlyLooksPastTheWatermark() {
+        overdueToolService.scan();
+        clearInvocations(emailService);
+
+        assertThat(overdueToolService.scan()).isZero();
+
+        assertThat(overdueToolService.getOverdueCount(factoryId)).isEqualTo(2);
+        verify(emailService, never()).send(any(), any());
+    }
+
+    private Role role(UserRole name) {
+        return roleRepository.save(Role.builder().name(name).build());
+    }
+
+    private User user(String userId, String name, Role role) {
+        return userRepository.save(User.builder()
+                .userId(userId)
+                .name(name)
+                .email(userId.toLowerCase() + "@example.com")
+                .password("x")
+                .role(role)
+                .isActive(ActiveStatus.ACTIVE)
+                .build());
+    }
+
+    private void issue(Factory factory, User worker, Tool tool, ToolIssuanceStatus status, LocalDateTime returnDate) {
+        toolIssuanceRepository.save(ToolIssuance.builder()
+                .factory(factory)
+                .worker(worker)
+                .tool(tool)
+                .quantity(1L)
+                .status(status)
+                .returnDate(returnDate)
+                .build());
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.sellerhelp.tool.service;
+
+import com.example.sellerhelp.common.ImportResultDto;
+import com.example.sellerhelp.common.ReferenceDataCache;
+import com.example.sellerhelp.constant.ActiveStatus;
+import com.example.sellerhelp.constant.Expensive;
+import com.example.sellerhelp.constant.Perishable;
+import com.example.sellerhelp.factory.entity.Factory;
+import com.example.sellerhelp.factory.repository.FactoryRepository;
+import com.example.sellerhelp.tool.entity.Tool;
+import com.example.sellerhelp.tool.repository.ToolRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Streams small CSV and NDJSON uploads through the stock import with a tiny batch size, so rows
+ * are applied across several batches, and checks the resulting stock and the error report.
+ * Also races imports that all create the same missing stock row.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:tool-stock-import;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "imports.batch-size=2"
+})
+@Import({ToolStockImportService.class, ReferenceDataCache.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ToolStockImportServiceTest {
+
+    private static final int RACERS = 8;
+
+    @Autowired
+    private ToolStockImportService toolStockImportService;
+
+    @Autowired
+    private FactoryRepository factoryRepository;
+
+    @Autowired
+    private ToolRepository toolRepository;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long factoryId;
+    private Long hammerId;
+    private Long drillId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM tool_stock");
+        jdbcTemplate.update("DELETE FROM tools");
+        jdbcTemplate.update("DELETE FROM factory");
+        referenceDataCache.nativeCaches().values().forEach(cache -> cache.invalidateAll());
+
+        factoryId = factoryRepository.save(Factory.builder()
+                .factoryId("F-IMP").name("Import Works").isActive(ActiveStatus.ACTIVE).build()).getId();
+        hammerId = tool("T-HAM", "Hammer");
+        drillId = tool("T-DRL", "Drill");
+
+        // The hammer is already stocked, the drill is not
+        jdbcTemplate.update("INSERT INTO tool_stock (factory_id, tool_id, total_quantity, available_quantity, issued_quantity, last_updated_at) "
+                + "VALUES (?, ?, 10, 4, 6, CURRENT_TIMESTAMP)", factoryId, hammerId);
+    }
+
+    @Test
+    void csvRowsAreSummedAcrossBatchesAndBadRowsReported() {
+        String csv = """
+                toolId,quantity
+                T-HAM,5
+                T-DRL,3
+                T-NOPE,1
+                T-HAM,2
+                T-DRL,zero
+
+                T-DRL,4
+                """;
+
+        ImportResultDto result = toolStockImportService.importStock("F-IMP", upload(csv), "text/csv");
+
+        assertThat(result.getImportedRows()).isEqualTo(4);
+        assertThat(result.getRejectedRows()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(ImportResultDto.RowError::getLine).containsExactly(4L, 6L);
+        assertThat(result.getErrors().get(0).getMessage()).contains("T-NOPE");
+
+        assertThat(stock(hammerId)).containsExactly(17L, 11L, 6L);
+        assertThat(stock(drillId)).containsExactly(7L, 7L, 0L);
+    }
+
+    @Test
+    void ndjsonUploadIsAccepted() {
+        String ndjson = """
+                {"toolId": "T-DRL", "quantity": 2}
+                not json
+                {"toolId": "T-DRL", "quantity": 1}
+                """;
+
+        ImportResultDto result = toolStockImportService.importStock("F-IMP", upload(ndjson), "application/x-ndjson");
+
+        assertThat(result.getImportedRows()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(ImportResultDto.RowError::getLine).containsExactly(2L);
+        assertThat(stock(drillId)).containsExactly(3L, 3L, 0L);
+    }
+
+    @Test
+    void concurrentImportsCreatingTheSameRowLoseNoUnits() throws Exception {
+        String csv = "toolId,quantity\nT-DRL,5\n";
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(RACERS);
+        List<Future<ImportResultDto>> futures = new ArrayList<>();
+        for (int i = 0; i < RACERS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return toolStockImportService.importStock("F-IMP", upload(csv), "text/csv");
+            }));
+        }
+        start.countDown();
+        for (Future<ImportResultDto> future : futures) {
+            assertThat(future.get().getImportedRows()).isEqualTo(1);
+        }
+        executor.shutdown();
+
+        assertThat(stock(drillId)).containsExactly(5L * RACERS, 5L * RACERS, 0L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tool_stock WHERE factory_id = ? AND tool_id = ?", Long.class, factoryId, drillId))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void stockRowIsUniquePerFactoryAndTool() {
+        assertThatThrownBy(() -> jdbcTemplate.update(
+                "INSERT INTO tool_stock (factory_id, tool_id, total_quantity, available_quantity, issued_quantity, last_updated_at) "
+                        + "VALUES (?, ?, 1, 1, 0, CURRENT_TIMESTAMP)", factoryId, hammerId))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    private Long tool(String toolId, String name) {
+        return toolRepository.save(Tool.builder()
+                .toolId(toolId).name(name)
+                .isPerishable(Perishable.NON_PERISHABLE).isExpensive(Expensive.INEXPENSIVE).threshold(0L).build()).getId();
+    }
+
+    private Object[] stock(Long toolId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT total_quantity, available_quantity, issued_quantity FROM tool_stock WHERE factory_id = ? AND tool_id = ?",
+                (rs, i) -> new Object[]{rs.getLong(1), rs.getLong(2), rs.getLong(3)}, factoryId, toolId);
+    }
+
+    private static InputStream upload(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}